@@ -0,0 +1,215 @@
+package ru.sedov.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.sedov.MyList;
+import ru.sedov.implementations.MyArrayList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение MyArrayList и java.util.ArrayList на списках разного размера и с разным распределением элементов:
+ * <ul>
+ *     <li>random - случайные числа</li>
+ *     <li>sorted - уже отсортированные числа</li>
+ *     <li>duplicates - случайные числа из 16 различных значений</li>
+ * </ul>
+ * Каждый метод выполняет операцию над всем списком, поэтому результат показывает время одного прохода.
+ * Бенчмарки, которые только читают списки, используют состояние Data, заполненное один раз. Бенчмарки,
+ * которые изменяют списки, используют состояния MyMutable, JdkMutable и UnsortedArray, заполняемые заново
+ * перед каждым вызовом: каждое состояние заполняет только то, что изменяет его бенчмарк.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MyArrayListBenchmark {
+
+    /**
+     * Элементы и списки, заполненные один раз для всех вызовов.
+     */
+    @State(Scope.Thread)
+    public static class Data {
+
+        @Param({ "1000", "100000" })
+        int size;
+
+        @Param({ "random", "sorted", "duplicates" })
+        String distribution;
+
+        Integer[] elements;
+
+        MyList<Integer> myList;
+
+        List<Integer> jdkList;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            Random rnd = new Random(154852600264L);
+            elements = new Integer[size];
+            for(int i = 0; i < size; i++)
+                elements[i] = switch (distribution) {
+                    case "sorted" -> i;
+                    case "duplicates" -> rnd.nextInt(16);
+                    default -> rnd.nextInt();
+                };
+            myList = myList(elements);
+            jdkList = new ArrayList<>(Arrays.asList(elements));
+        }
+    }
+
+    /**
+     * MyArrayList для бенчмарков, изменяющих его, заполняемый заново перед каждым вызовом.
+     */
+    @State(Scope.Thread)
+    public static class MyMutable {
+
+        MyList<Integer> list;
+
+        @Setup(Level.Invocation)
+        public void fill(Data data) {
+            list = myList(data.elements);
+        }
+    }
+
+    /**
+     * ArrayList для бенчмарков, изменяющих его, заполняемый заново перед каждым вызовом.
+     */
+    @State(Scope.Thread)
+    public static class JdkMutable {
+
+        List<Integer> list;
+
+        @Setup(Level.Invocation)
+        public void fill(Data data) {
+            list = new ArrayList<>(Arrays.asList(data.elements));
+        }
+    }
+
+    /**
+     * Неотсортированная копия элементов для Arrays.parallelSort, создаваемая заново перед каждым вызовом.
+     */
+    @State(Scope.Thread)
+    public static class UnsortedArray {
+
+        Integer[] array;
+
+        @Setup(Level.Invocation)
+        public void copy(Data data) {
+            array = data.elements.clone();
+        }
+    }
+
+    private static MyList<Integer> myList(Integer[] elements) {
+        MyList<Integer> list = new MyArrayList<>();
+        for(Integer element : elements)
+            list.add(element);
+        return list;
+    }
+
+    @Benchmark
+    public MyList<Integer> myAdd(Data data) {
+        MyList<Integer> list = new MyArrayList<>();
+        for(Integer element : data.elements)
+            list.add(element);
+        return list;
+    }
+
+    @Benchmark
+    public List<Integer> jdkAdd(Data data) {
+        List<Integer> list = new ArrayList<>();
+        for(Integer element : data.elements)
+            list.add(element);
+        return list;
+    }
+
+    /**
+     * Вставляет 100 элементов в середину списка.
+     */
+    @Benchmark
+    public MyList<Integer> myAddByIndex(Data data, MyMutable state) {
+        for(int i = 0; i < 100; i++)
+            state.list.add(data.elements[i], state.list.size() / 2);
+        return state.list;
+    }
+
+    @Benchmark
+    public List<Integer> jdkAddByIndex(Data data, JdkMutable state) {
+        for(int i = 0; i < 100; i++)
+            state.list.add(state.list.size() / 2, data.elements[i]);
+        return state.list;
+    }
+
+    /**
+     * Удаляет 100 элементов из середины списка.
+     */
+    @Benchmark
+    public MyList<Integer> myRemoveByIndex(MyMutable state) {
+        for(int i = 0; i < 100 && state.list.size() > 0; i++)
+            state.list.remove(state.list.size() / 2);
+        return state.list;
+    }
+
+    @Benchmark
+    public List<Integer> jdkRemoveByIndex(JdkMutable state) {
+        for(int i = 0; i < 100 && !state.list.isEmpty(); i++)
+            state.list.remove(state.list.size() / 2);
+        return state.list;
+    }
+
+    @Benchmark
+    public void myGet(Data data, Blackhole bh) {
+        for(int i = 0; i < data.myList.size(); i++)
+            bh.consume(data.myList.get(i));
+    }
+
+    @Benchmark
+    public void jdkGet(Data data, Blackhole bh) {
+        for(int i = 0; i < data.jdkList.size(); i++)
+            bh.consume(data.jdkList.get(i));
+    }
+
+    @Benchmark
+    public MyList<Integer> mySort(MyMutable state) {
+        state.list.sort(Comparator.naturalOrder());
+        return state.list;
+    }
+
+    @Benchmark
+    public List<Integer> jdkSort(JdkMutable state) {
+        state.list.sort(Comparator.naturalOrder());
+        return state.list;
+    }
+
+    @Benchmark
+    public MyList<Integer> myParallelSort(MyMutable state) {
+        state.list.parallelSort(Comparator.naturalOrder());
+        return state.list;
+    }
+
+    /**
+     * У ArrayList нет параллельной сортировки, поэтому сортируется заранее подготовленная копия элементов:
+     * как и в myParallelSort, измеряется только сама сортировка.
+     */
+    @Benchmark
+    public Integer[] jdkParallelSort(UnsortedArray state) {
+        Arrays.parallelSort(state.array, Comparator.naturalOrder());
+        return state.array;
+    }
+
+    @Benchmark
+    public Integer[] myToArray(Data data) {
+        return data.myList.toArray(Integer.class);
+    }
+
+    @Benchmark
+    public Integer[] jdkToArray(Data data) {
+        return data.jdkList.toArray(new Integer[0]);
+    }
+}
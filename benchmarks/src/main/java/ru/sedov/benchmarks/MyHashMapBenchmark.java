@@ -0,0 +1,191 @@
+package ru.sedov.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.sedov.MyMap;
+import ru.sedov.implementations.MyHashMap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение MyHashMap и java.util.HashMap на коллекциях разного размера и с разным распределением ключей:
+ * <ul>
+ *     <li>sequential - последовательные числа</li>
+ *     <li>random - случайные числа</li>
+ *     <li>clustered - числа, кратные 1024, у которых совпадают младшие биты хэш-кода</li>
+ * </ul>
+ * Каждый метод выполняет операцию для всех ключей, поэтому результат показывает время одного прохода.
+ * Бенчмарки, которые только читают коллекции, используют состояние Data, заполненное один раз. Бенчмарки,
+ * которые изменяют коллекции, используют состояния MyMutable и JdkMutable, заполняемые заново перед каждым
+ * вызовом: каждое состояние заполняет только ту коллекцию, которую изменяет его бенчмарк.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MyHashMapBenchmark {
+
+    /**
+     * Ключи и коллекции, заполненные один раз для всех вызовов.
+     */
+    @State(Scope.Thread)
+    public static class Data {
+
+        @Param({ "1000", "100000" })
+        int size;
+
+        @Param({ "sequential", "random", "clustered" })
+        String distribution;
+
+        Integer[] keys;
+
+        /**
+         * Ключи, которых нет в коллекциях.
+         */
+        Integer[] missingKeys;
+
+        MyMap<Integer, Integer> myMap;
+
+        Map<Integer, Integer> jdkMap;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            Random rnd = new Random(154852600264L);
+            keys = new Integer[size];
+            missingKeys = new Integer[size];
+            for(int i = 0; i < size; i++){
+                keys[i] = switch (distribution) {
+                    case "random" -> rnd.nextInt() | 1;
+                    case "clustered" -> i * 1024 + 1;
+                    default -> 2 * i + 1;
+                };
+                missingKeys[i] = keys[i] - 1;
+            }
+            myMap = myMap(keys);
+            jdkMap = jdkMap(keys);
+        }
+    }
+
+    /**
+     * MyHashMap для бенчмарков, изменяющих его, заполняемый заново перед каждым вызовом.
+     */
+    @State(Scope.Thread)
+    public static class MyMutable {
+
+        MyMap<Integer, Integer> map;
+
+        @Setup(Level.Invocation)
+        public void fill(Data data) {
+            map = myMap(data.keys);
+        }
+    }
+
+    /**
+     * HashMap для бенчмарков, изменяющих его, заполняемый заново перед каждым вызовом.
+     */
+    @State(Scope.Thread)
+    public static class JdkMutable {
+
+        Map<Integer, Integer> map;
+
+        @Setup(Level.Invocation)
+        public void fill(Data data) {
+            map = jdkMap(data.keys);
+        }
+    }
+
+    private static MyMap<Integer, Integer> myMap(Integer[] keys) {
+        MyMap<Integer, Integer> map = new MyHashMap<>();
+        for(Integer key : keys)
+            map.put(key, key);
+        return map;
+    }
+
+    private static Map<Integer, Integer> jdkMap(Integer[] keys) {
+        Map<Integer, Integer> map = new HashMap<>();
+        for(Integer key : keys)
+            map.put(key, key);
+        return map;
+    }
+
+    @Benchmark
+    public MyMap<Integer, Integer> myPut(Data data) {
+        MyMap<Integer, Integer> map = new MyHashMap<>();
+        for(Integer key : data.keys)
+            map.put(key, key);
+        return map;
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> jdkPut(Data data) {
+        Map<Integer, Integer> map = new HashMap<>();
+        for(Integer key : data.keys)
+            map.put(key, key);
+        return map;
+    }
+
+    @Benchmark
+    public void myGet(Data data, Blackhole bh) {
+        for(Integer key : data.keys)
+            bh.consume(data.myMap.get(key));
+    }
+
+    @Benchmark
+    public void jdkGet(Data data, Blackhole bh) {
+        for(Integer key : data.keys)
+            bh.consume(data.jdkMap.get(key));
+    }
+
+    @Benchmark
+    public void myGetMissing(Data data, Blackhole bh) {
+        for(Integer key : data.missingKeys)
+            bh.consume(data.myMap.get(key));
+    }
+
+    @Benchmark
+    public void jdkGetMissing(Data data, Blackhole bh) {
+        for(Integer key : data.missingKeys)
+            bh.consume(data.jdkMap.get(key));
+    }
+
+    @Benchmark
+    public MyMap<Integer, Integer> myRemove(Data data, MyMutable state) {
+        for(Integer key : data.keys)
+            state.map.remove(key);
+        return state.map;
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> jdkRemove(Data data, JdkMutable state) {
+        for(Integer key : data.keys)
+            state.map.remove(key);
+        return state.map;
+    }
+
+    /**
+     * Ищет отсутствующее значение, поэтому проходит всю коллекцию.
+     */
+    @Benchmark
+    public boolean myContainsValue(Data data) {
+        return data.myMap.containsValue(0);
+    }
+
+    @Benchmark
+    public boolean jdkContainsValue(Data data) {
+        return data.jdkMap.containsValue(0);
+    }
+
+    @Benchmark
+    public Integer[] myToKeyArray(Data data) {
+        return data.myMap.toKeyArray(Integer.class);
+    }
+
+    @Benchmark
+    public Integer[] jdkToKeyArray(Data data) {
+        return data.jdkMap.keySet().toArray(new Integer[0]);
+    }
+}
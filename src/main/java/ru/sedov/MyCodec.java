@@ -0,0 +1,34 @@
+package ru.sedov;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Интерфейс для преобразования объектов в последовательность байт и обратно. Используется коллекциями,
+ * которые хранят объекты не в куче Java, а в буферах ByteBuffer.
+ * @param <T> тип преобразуемых объектов
+ */
+public interface MyCodec<T> {
+
+    /**
+     * @param value объект
+     * @return количество байт, которое займет объект после преобразования
+     */
+    int size(T value);
+
+    /**
+     * Записывает объект в буфер, начиная с текущей позиции буфера. После записи позиция буфера
+     * увеличивается на size(value).
+     * @param value объект
+     * @param buffer буфер для записи
+     */
+    void write(T value, ByteBuffer buffer);
+
+    /**
+     * Читает объект из буфера, начиная с текущей позиции буфера. После чтения позиция буфера
+     * увеличивается на length.
+     * @param buffer буфер для чтения
+     * @param length количество байт, которое занимает объект
+     * @return прочитанный объект
+     */
+    T read(ByteBuffer buffer, int length);
+}
@@ -0,0 +1,25 @@
+package ru.sedov;
+
+/**
+ * Интерфейс, определяющий хэш-значение и равенство ключей хэш-коллекции вместо методов hashCode и equals
+ * самих ключей. Позволяет использовать в качестве ключей объекты, у которых эти методы не подходят
+ * (например, массивы byte[] или строки без учета регистра), не создавая объекты-обертки, а также
+ * защищать коллекцию от подбора ключей с одинаковым хэш-значением с помощью хэш-функции с секретным ключом.
+ * @param <T> тип ключей
+ */
+public interface MyHashStrategy<T> {
+
+    /**
+     * Вычисляет хэш-значение ключа. Равные по методу equals ключи должны иметь одинаковое хэш-значение.
+     * @param key ключ
+     * @return хэш-значение ключа
+     */
+    int hash(T key);
+
+    /**
+     * @param a первый ключ
+     * @param b второй ключ
+     * @return true - если ключи равны, false - если нет
+     */
+    boolean equals(T a, T b);
+}
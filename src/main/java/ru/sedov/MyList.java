@@ -1,13 +1,21 @@
 package ru.sedov;
 
-import java.util.Comparator;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <p> Интерфейс, содержащий основные методы для хранения элементов одного типа в коллекции, их
  * удаления, изменения и сортировки. </p>
+ * <br>
+ * <p> Коллекцию можно обходить циклом for-each и потоками stream() и parallelStream(). Итераторы
+ * коллекций являются fail-fast: если коллекция изменилась не через итератор, очередной вызов итератора
+ * выбрасывает ConcurrentModificationException. </p>
  * @param <T> тип элементов коллекции
  */
-public interface MyList<T> {
+public interface MyList<T> extends Iterable<T> {
 
     /**
      * <p> Возвращает текущее количество элементов находящихся в коллекции. </p>
@@ -63,6 +71,16 @@ public interface MyList<T> {
      */
     void sort(Comparator<T> comparator);
 
+    /**
+     * <p> Сортирует элементы коллекции в соответствии с переданным компаратором, используя несколько потоков
+     * общего пула ForkJoinPool. Реализация по умолчанию выполняет обычную сортировку sort(comparator). </p>
+     * @param comparator компаратор, который используется для сравнения элементов коллекции.
+     * @throws NullPointerException если передать в качестве параметра null значение
+     */
+    default void parallelSort(Comparator<T> comparator) {
+        sort(comparator);
+    }
+
     /**
      * <p> Заменяет существующий элемент с заданным индексом на новый элемент. Если элемента с таким индексом нет,
      * будет выброшено исключение IndexOutOfBoundsException.</p>
@@ -78,4 +96,158 @@ public interface MyList<T> {
      * @return массив элементов коллекции
      */
     T[] toArray(Class<T> clazz);
+
+    /**
+     * <p> Добавляет все элементы переданной коллекции в конец коллекции с сохранением их порядка. </p>
+     * @param elements коллекция, элементы которой будут добавлены
+     * @throws NullPointerException если передать в качестве параметра null значение
+     */
+    default void addAll(MyList<? extends T> elements) {
+        addAll(elements, size());
+    }
+
+    /**
+     * <p> Добавляет все элементы переданной коллекции в коллекцию, начиная с заданной позиции. Элементы,
+     * стоявшие на этой позиции и после нее, сдвигаются вправо. Если позиция больше количества элементов
+     * коллекции, будет выброшено исключение IndexOutOfBoundsException. </p>
+     * @param elements коллекция, элементы которой будут добавлены
+     * @param index индекс позиции, на которую будет добавлен первый из новых элементов
+     * @throws IndexOutOfBoundsException если index меньше 0 или больше количества элементов коллекции
+     * @throws NullPointerException если передать в качестве коллекции null значение
+     */
+    default void addAll(MyList<? extends T> elements, int index) {
+        if (index < 0 || index > size())
+            throw new IndexOutOfBoundsException();
+
+        Object[] added = new Object[elements.size()];
+        for(int i = 0; i < added.length; i++)
+            added[i] = elements.get(i);
+        for(int i = 0; i < added.length; i++){
+            @SuppressWarnings("unchecked")
+            T element = (T) added[i];
+            add(element, index + i);
+        }
+    }
+
+    /**
+     * <p> Удаляет из коллекции все элементы, удовлетворяющие условию. Условие проверяется для каждого
+     * элемента ровно один раз. </p>
+     * @param filter условие удаления элемента
+     * @return true, если был удален хотя бы один элемент
+     * @throws NullPointerException если передать в качестве параметра null значение
+     */
+    default boolean removeIf(Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+        boolean removed = false;
+        for(int i = size() - 1; i >= 0; i--)
+            if (filter.test(get(i))){
+                remove(i);
+                removed = true;
+            }
+        return removed;
+    }
+
+    /**
+     * <p> Удаляет из коллекции элементы с индексами от from включительно до to не включительно.
+     * Элементы, стоявшие после удаленных, сдвигаются влево. </p>
+     * @param from индекс первого удаляемого элемента
+     * @param to индекс, следующий за последним удаляемым элементом
+     * @throws IndexOutOfBoundsException если from меньше 0, to больше количества элементов или from больше to
+     */
+    default void removeRange(int from, int to) {
+        if (from < 0 || to > size() || from > to)
+            throw new IndexOutOfBoundsException();
+
+        for(int i = to - 1; i >= from; i--)
+            remove(i);
+    }
+
+    /**
+     * <p> Оставляет в коллекции только те элементы, которые равны какому-либо элементу переданной коллекции. </p>
+     * @param elements коллекция элементов, которые будут оставлены
+     * @return true, если был удален хотя бы один элемент
+     * @throws NullPointerException если передать в качестве параметра null значение
+     */
+    default boolean retainAll(MyList<?> elements) {
+        Set<Object> retained = new HashSet<>();
+        for(int i = 0; i < elements.size(); i++)
+            retained.add(elements.get(i));
+        return removeIf(element -> !retained.contains(element));
+    }
+
+    /**
+     * <p> Заменяет каждый элемент коллекции результатом применения к нему операции. </p>
+     * @param operator операция, применяемая к элементам коллекции
+     * @throws NullPointerException если передать в качестве параметра null значение
+     */
+    default void replaceAll(UnaryOperator<T> operator) {
+        Objects.requireNonNull(operator);
+        for(int i = 0; i < size(); i++)
+            replace(operator.apply(get(i)), i);
+    }
+
+    /**
+     * <p> Возвращает итератор элементов коллекции в порядке индексов. Реализация по умолчанию обращается
+     * к элементам методом get(index) и считает коллекцию измененной, если изменилось количество ее элементов.
+     * Метод remove() итератора удаляет последний возвращенный элемент. </p>
+     * @return итератор элементов коллекции
+     */
+    @Override
+    default Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int cursor = 0;
+            private int last = -1;
+            private int expectedSize = size();
+
+            @Override
+            public boolean hasNext() {
+                return cursor < expectedSize;
+            }
+
+            @Override
+            public T next() {
+                if (size() != expectedSize)
+                    throw new ConcurrentModificationException();
+                if (cursor >= expectedSize)
+                    throw new NoSuchElementException();
+                last = cursor;
+                return get(cursor++);
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0)
+                    throw new IllegalStateException();
+                if (size() != expectedSize)
+                    throw new ConcurrentModificationException();
+                MyList.this.remove(last);
+                cursor = last;
+                last = -1;
+                expectedSize--;
+            }
+        };
+    }
+
+    /**
+     * <p> Возвращает разделяемый Spliterator элементов коллекции с известным размером. </p>
+     * @return Spliterator элементов коллекции
+     */
+    @Override
+    default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED);
+    }
+
+    /**
+     * @return последовательный поток элементов коллекции
+     */
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * @return параллельный поток элементов коллекции
+     */
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
 }
@@ -1,11 +1,23 @@
 package ru.sedov;
 
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
- * Интерфейс содержащий набор основных методов для реазизации коллекций хранящей данные в виде объекта MyMap
+ * Интерфейс содержащий набор основных методов для реазизации коллекций хранящей данные в виде объекта MyMap.
+ * Коллекцию можно обходить циклом for-each по объектам Entry, методом forEach(action) и потоками
+ * stream() и parallelStream().
  * @param <K> тип ключа объекта коллекции
  * @param <V> тип значения объекта коллекции
  */
-public interface MyMap<K, V> {
+public interface MyMap<K, V> extends Iterable<MyMap.Entry<K, V>> {
 
     /**
      * Интерфейс объекта содержащий в себе пары ключ/значение, который используется внутри коллекции MyMap
@@ -68,6 +80,112 @@ public interface MyMap<K, V> {
      */
     V remove(K key);
 
+    /**
+     * Возвращает значение объекта с ключом key или defaultValue, если такого объекта нет.
+     * @param key ключ объекта
+     * @param defaultValue значение, возвращаемое при отсутствии объекта
+     * @return значение объекта или defaultValue
+     */
+    default V getOrDefault(K key, V defaultValue) {
+        V value = get(key);
+        return value != null || containsKey(key) ? value : defaultValue;
+    }
+
+    /**
+     * Помещает в коллекцию объект с ключом key и значением value, если объекта с таким ключом нет
+     * или его значение равно null.
+     * @param key ключ объекта
+     * @param value значение объекта
+     * @return текущее значение объекта или null, если значение было помещено
+     */
+    default V putIfAbsent(K key, V value) {
+        V old = get(key);
+        if (old == null)
+            put(key, value);
+        return old;
+    }
+
+    /**
+     * Если объекта с ключом key нет или его значение равно null, вычисляет значение функцией и помещает объект
+     * в коллекцию. Если функция вернула null, коллекция не изменяется.
+     * @param key ключ объекта
+     * @param function функция, вычисляющая значение по ключу
+     * @return текущее или вычисленное значение
+     * @throws NullPointerException если функция равна null
+     */
+    default V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+        Objects.requireNonNull(function);
+        V old = get(key);
+        if (old != null)
+            return old;
+
+        V value = function.apply(key);
+        if (value != null)
+            put(key, value);
+        return value;
+    }
+
+    /**
+     * Если значение объекта с ключом key не равно null, пересчитывает его функцией. Если функция вернула null,
+     * объект удаляется.
+     * @param key ключ объекта
+     * @param function функция, получающая ключ и текущее значение
+     * @return новое значение или null, если объекта нет или он удален
+     * @throws NullPointerException если функция равна null
+     */
+    default V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> function) {
+        Objects.requireNonNull(function);
+        V old = get(key);
+        if (old == null)
+            return null;
+
+        V value = function.apply(key, old);
+        if (value == null)
+            remove(key);
+        else
+            put(key, value);
+        return value;
+    }
+
+    /**
+     * Пересчитывает значение объекта с ключом key функцией. Если функция вернула null, объект удаляется.
+     * @param key ключ объекта
+     * @param function функция, получающая ключ и текущее значение (или null, если объекта нет)
+     * @return новое значение или null, если объекта нет или он удален
+     * @throws NullPointerException если функция равна null
+     */
+    default V compute(K key, BiFunction<? super K, ? super V, ? extends V> function) {
+        Objects.requireNonNull(function);
+        V old = get(key);
+        V value = function.apply(key, old);
+        if (value != null)
+            put(key, value);
+        else if (old != null || containsKey(key))
+            remove(key);
+        return value;
+    }
+
+    /**
+     * Помещает значение, если объекта с ключом key нет или его значение равно null, иначе объединяет
+     * текущее значение с заданным функцией. Если функция вернула null, объект удаляется.
+     * @param key ключ объекта
+     * @param value значение объекта
+     * @param function функция, объединяющая текущее и заданное значения
+     * @return новое значение или null, если объект удален
+     * @throws NullPointerException если значение или функция равны null
+     */
+    default V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> function) {
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(function);
+        V old = get(key);
+        V merged = old == null ? value : function.apply(old, value);
+        if (merged == null)
+            remove(key);
+        else
+            put(key, merged);
+        return merged;
+    }
+
     /**
      * @return количество элементов коллекции
      */
@@ -89,4 +207,46 @@ public interface MyMap<K, V> {
      * @return массив значений объектов коллекции
      */
     V[] toValueArray(Class<V> clazz);
+
+    /**
+     * Возвращает итератор объектов коллекции. Порядок обхода объектов не определен. Если реализация
+     * не оговаривает иное, итератор является fail-fast: при изменении коллекции не через итератор
+     * очередной вызов next() выбрасывает ConcurrentModificationException.
+     * @return итератор объектов коллекции
+     */
+    @Override
+    Iterator<Entry<K, V>> iterator();
+
+    /**
+     * @return Spliterator объектов коллекции с известным размером
+     */
+    @Override
+    default Spliterator<Entry<K, V>> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    /**
+     * @return последовательный поток объектов коллекции
+     */
+    default Stream<Entry<K, V>> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * @return параллельный поток объектов коллекции
+     */
+    default Stream<Entry<K, V>> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Выполняет действие для ключа и значения каждого объекта коллекции.
+     * @param action действие над ключом и значением объекта
+     * @throws NullPointerException если передать в качестве параметра null значение
+     */
+    default void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action);
+        for(var entry : this)
+            action.accept(entry.getKey(), entry.getValue());
+    }
 }
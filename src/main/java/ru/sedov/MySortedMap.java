@@ -0,0 +1,77 @@
+package ru.sedov;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Интерфейс коллекции MyMap, объекты которой упорядочены по ключу. Итератор, потоки и метод forEach
+ * обходят объекты в порядке возрастания ключей. Кроме поиска по ключу, коллекция позволяет найти
+ * ближайший ключ и получить представление диапазона ключей без копирования объектов.
+ * @param <K> тип ключа объекта коллекции
+ * @param <V> тип значения объекта коллекции
+ */
+public interface MySortedMap<K, V> extends MyMap<K, V> {
+
+    /**
+     * @return наименьший ключ коллекции
+     * @throws NoSuchElementException если коллекция пустая
+     */
+    K firstKey();
+
+    /**
+     * @return наибольший ключ коллекции
+     * @throws NoSuchElementException если коллекция пустая
+     */
+    K lastKey();
+
+    /**
+     * @param key ключ
+     * @return объект с наибольшим ключом, не превышающим key, или null, если такого объекта нет
+     */
+    Entry<K, V> floorEntry(K key);
+
+    /**
+     * @param key ключ
+     * @return объект с наименьшим ключом, не меньшим key, или null, если такого объекта нет
+     */
+    Entry<K, V> ceilingEntry(K key);
+
+    /**
+     * @param key ключ
+     * @return наибольший ключ, не превышающий key, или null, если такого ключа нет
+     */
+    default K floorKey(K key) {
+        var entry = floorEntry(key);
+        return entry == null ? null : entry.getKey();
+    }
+
+    /**
+     * @param key ключ
+     * @return наименьший ключ, не меньший key, или null, если такого ключа нет
+     */
+    default K ceilingKey(K key) {
+        var entry = ceilingEntry(key);
+        return entry == null ? null : entry.getKey();
+    }
+
+    /**
+     * Возвращает представление объектов коллекции с ключами от fromKey включительно до toKey не включительно.
+     * Изменения представления отражаются в коллекции и наоборот. Добавление в представление ключа вне
+     * диапазона выбрасывает IllegalArgumentException.
+     * @param fromKey нижняя граница диапазона, включительно
+     * @param toKey верхняя граница диапазона, не включительно
+     * @return представление диапазона коллекции
+     */
+    MySortedMap<K, V> subMap(K fromKey, K toKey);
+
+    /**
+     * @param toKey верхняя граница диапазона, не включительно
+     * @return представление объектов коллекции с ключами меньше toKey
+     */
+    MySortedMap<K, V> headMap(K toKey);
+
+    /**
+     * @param fromKey нижняя граница диапазона, включительно
+     * @return представление объектов коллекции с ключами не меньше fromKey
+     */
+    MySortedMap<K, V> tailMap(K fromKey);
+}
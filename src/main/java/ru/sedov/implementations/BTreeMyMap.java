@@ -0,0 +1,827 @@
+package ru.sedov.implementations;
+
+import ru.sedov.MySortedMap;
+
+import java.lang.reflect.Array;
+import java.util.*;
+
+/**
+ * <p>Реализация интерфейса MySortedMap в виде B+-дерева. Ключи и значения хранятся в листьях дерева
+ * в массивах по 64 элемента, упорядоченных по ключу, а внутренние узлы хранят в таких же массивах
+ * только разделяющие ключи и ссылки на дочерние узлы. Поэтому поиск просматривает несколько подряд
+ * расположенных массивов вместо длинной цепочки отдельных узлов, а высота дерева из миллиона объектов
+ * не превышает четырех. Листья связаны в двусвязный список, поэтому обход коллекции и диапазона ключей
+ * идет по листьям подряд. </p>
+ * <br>
+ * <p> Ключи сравниваются компаратором, переданным в конструктор, или методом compareTo, если компаратор
+ * не задан. Поиск, добавление и удаление объекта выполняются за O(log n). Поиск ближайшего ключа
+ * (floorEntry, ceilingEntry) также стоит O(log n), а обход диапазона ключей из k объектов - O(log n + k):
+ * представления subMap, headMap и tailMap не копируют объекты, а находят начало диапазона в дереве. </p>
+ * <br>
+ * <p> Итераторы являются fail-fast и не поддерживают удаление. Объекты, возвращаемые итератором и методами
+ * floorEntry и ceilingEntry, ссылаются на ячейку листа: их метод setValue записывает значение прямо
+ * в коллекцию, а после структурного изменения коллекции методы getValue и setValue выбрасывают
+ * ConcurrentModificationException. </p>
+ * <ul> Для работы с коллекций были определены следующий методы:
+ *     <li>containsKey(key) - проверка, находится ли в коллекции заданный ключ</li>
+ *     <li>containsValue(value) - проверка, находится ли в коллекции заданное значение</li>
+ *     <li>get(key) - получить значение по ключу</li>
+ *     <li>put(key, value) - поместить пару ключ/значение в коллекцию</li>
+ *     <li>remove(key) - удалить объект по ключу</li>
+ *     <li>firstKey(), lastKey() - получить наименьший и наибольший ключ</li>
+ *     <li>floorEntry(key), floorKey(key) - найти объект с наибольшим ключом, не превышающим заданный</li>
+ *     <li>ceilingEntry(key), ceilingKey(key) - найти объект с наименьшим ключом, не меньшим заданного</li>
+ *     <li>subMap(fromKey, toKey), headMap(toKey), tailMap(fromKey) - получить представление диапазона ключей</li>
+ *     <li>size() - получить количество объектов в коллекции</li>
+ *     <li>isEmpty() - проверить пуста ли коллекция</li>
+ *     <li>toKeyArray(clazz) - конвертировать все ключи в коллекции в массив</li>
+ *     <li>toValueArray(clazz) - конвертировать все значения в коллекции в массив</li>
+ *     <li>iterator(), stream() - обойти объекты коллекции в порядке возрастания ключей</li>
+ * </ul>
+ * @param <K> тип ключа объекта коллекции
+ * @param <V> тип значения объекта коллекции
+ */
+public class BTreeMyMap<K, V> implements MySortedMap<K, V> {
+
+    /**
+     * Максимальное количество ключей в узле дерева.
+     */
+    private static final int MAX_KEYS = 64;
+
+    /**
+     * Минимальное количество ключей в узле дерева, кроме корня. Узел, в котором осталось меньше ключей,
+     * забирает ключ у соседнего узла или объединяется с ним.
+     */
+    private static final int MIN_KEYS = MAX_KEYS / 2;
+
+    private final Comparator<? super K> comparator;
+
+    private Node root;
+
+    /**
+     * Первый и последний листья списка листьев.
+     */
+    private Leaf first, last;
+
+    private int size = 0;
+
+    /**
+     * Количество структурных изменений коллекции. Используется итераторами и объектами коллекции,
+     * чтобы обнаружить изменение коллекции.
+     */
+    private int modCount = 0;
+
+    /**
+     * Разделяющий ключ, полученный при последнем разбиении узла.
+     */
+    private Object splitKey;
+
+    /**
+     * Значение, удаленное последним вызовом delete.
+     */
+    private Object removedValue;
+
+    /**
+     * Представление всей коллекции, через которое выполняется обход.
+     */
+    private final Range whole = new Range(null, false, false, null, false, false);
+
+    public BTreeMyMap(Comparator<? super K> comparator){
+        this.comparator = comparator;
+        first = last = new Leaf();
+        root = first;
+    }
+    public BTreeMyMap(){
+        this(null);
+    }
+
+    /**
+     * Узел дерева. Массив keys содержит на один элемент больше максимума, чтобы узел можно было разбить
+     * уже после добавления ключа.
+     */
+    private abstract static class Node {
+        final Object[] keys = new Object[MAX_KEYS + 1];
+        int size;
+    }
+
+    /**
+     * Лист дерева, хранящий объекты коллекции.
+     */
+    private static final class Leaf extends Node {
+        final Object[] values = new Object[MAX_KEYS + 1];
+        Leaf prev, next;
+    }
+
+    /**
+     * Внутренний узел дерева. Все ключи поддерева children[i] меньше keys[i], а все ключи поддерева
+     * children[i + 1] не меньше keys[i].
+     */
+    private static final class Internal extends Node {
+        final Node[] children = new Node[MAX_KEYS + 2];
+    }
+
+    /**
+     * Позиция объекта в листе.
+     */
+    private static final class Cursor {
+        final Leaf leaf;
+        final int index;
+
+        Cursor(Leaf leaf, int index){
+            this.leaf = leaf;
+            this.index = index;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object a, Object b){
+        return comparator == null ? ((Comparable<Object>) a).compareTo(b) : comparator.compare((K) a, (K) b);
+    }
+
+    /**
+     * Двоичный поиск ключа в узле.
+     * @return индекс ключа или (-(точка вставки) - 1), если ключа нет
+     */
+    private int search(Node node, Object key){
+        int low = 0, high = node.size - 1;
+        while(low <= high){
+            int mid = (low + high) >>> 1;
+            int cmp = compare(node.keys[mid], key);
+            if (cmp < 0)
+                low = mid + 1;
+            else if (cmp > 0)
+                high = mid - 1;
+            else
+                return mid;
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * @return номер дочернего узла, в поддереве которого находится или должен находиться ключ
+     */
+    private int childIndex(Internal node, Object key){
+        int i = search(node, key);
+        return i >= 0 ? i + 1 : -i - 1;
+    }
+
+    private Leaf findLeaf(Object key){
+        Node node = root;
+        while(node instanceof Internal internal)
+            node = internal.children[childIndex(internal, key)];
+        return (Leaf) node;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(K key) {
+        Objects.requireNonNull(key);
+        Leaf leaf = findLeaf(key);
+        int i = search(leaf, key);
+        return i >= 0 ? (V) leaf.values[i] : null;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        Objects.requireNonNull(key);
+        return search(findLeaf(key), key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        for(Leaf leaf = first; leaf != null; leaf = leaf.next)
+            for(int i = 0; i < leaf.size; i++)
+                if (Objects.equals(leaf.values[i], value))
+                    return true;
+        return false;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        Objects.requireNonNull(key);
+        Node split = insert(root, key, value);
+        if (split != null){
+            Internal newRoot = new Internal();
+            newRoot.keys[0] = splitKey;
+            newRoot.children[0] = root;
+            newRoot.children[1] = split;
+            newRoot.size = 1;
+            root = newRoot;
+            splitKey = null;
+        }
+    }
+
+    /**
+     * Добавляет объект в поддерево или заменяет значение существующего объекта.
+     * @return новый правый соседний узел, если узел пришлось разбить (разделяющий ключ записывается
+     * в splitKey), или null
+     */
+    private Node insert(Node node, Object key, Object value){
+        if (node instanceof Leaf leaf){
+            int i = search(leaf, key);
+            if (i >= 0){
+                leaf.values[i] = value;
+                return null;
+            }
+
+            i = -i - 1;
+            System.arraycopy(leaf.keys, i, leaf.keys, i + 1, leaf.size - i);
+            System.arraycopy(leaf.values, i, leaf.values, i + 1, leaf.size - i);
+            leaf.keys[i] = key;
+            leaf.values[i] = value;
+            leaf.size++;
+            size++;
+            modCount++;
+            return leaf.size > MAX_KEYS ? splitLeaf(leaf) : null;
+        }
+
+        Internal internal = (Internal) node;
+        int c = childIndex(internal, key);
+        Node split = insert(internal.children[c], key, value);
+        if (split == null)
+            return null;
+
+        System.arraycopy(internal.keys, c, internal.keys, c + 1, internal.size - c);
+        System.arraycopy(internal.children, c + 1, internal.children, c + 2, internal.size - c);
+        internal.keys[c] = splitKey;
+        internal.children[c + 1] = split;
+        internal.size++;
+        return internal.size > MAX_KEYS ? splitInternal(internal) : null;
+    }
+
+    private Leaf splitLeaf(Leaf leaf){
+        Leaf right = new Leaf();
+        int mid = leaf.size / 2;
+        right.size = leaf.size - mid;
+        System.arraycopy(leaf.keys, mid, right.keys, 0, right.size);
+        System.arraycopy(leaf.values, mid, right.values, 0, right.size);
+        Arrays.fill(leaf.keys, mid, leaf.size, null);
+        Arrays.fill(leaf.values, mid, leaf.size, null);
+        leaf.size = mid;
+
+        right.prev = leaf;
+        right.next = leaf.next;
+        if (leaf.next != null)
+            leaf.next.prev = right;
+        else
+            last = right;
+        leaf.next = right;
+        splitKey = right.keys[0];
+        return right;
+    }
+
+    private Internal splitInternal(Internal node){
+        Internal right = new Internal();
+        int mid = node.size / 2;
+        splitKey = node.keys[mid];
+        right.size = node.size - mid - 1;
+        System.arraycopy(node.keys, mid + 1, right.keys, 0, right.size);
+        System.arraycopy(node.children, mid + 1, right.children, 0, right.size + 1);
+        Arrays.fill(node.keys, mid, node.size, null);
+        Arrays.fill(node.children, mid + 1, node.size + 1, null);
+        node.size = mid;
+        return right;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V remove(K key) {
+        Objects.requireNonNull(key);
+        if (!delete(root, key))
+            return null;
+
+        if (root instanceof Internal internal && internal.size == 0)
+            root = internal.children[0];
+        V value = (V) removedValue;
+        removedValue = null;
+        return value;
+    }
+
+    /**
+     * Удаляет объект из поддерева и восстанавливает минимальное заполнение дочерних узлов.
+     * Разделяющие ключи после удаления не обновляются: они по-прежнему разделяют ключи поддеревьев.
+     * @return true - если объект был удален
+     */
+    private boolean delete(Node node, Object key){
+        if (node instanceof Leaf leaf){
+            int i = search(leaf, key);
+            if (i < 0)
+                return false;
+
+            removedValue = leaf.values[i];
+            System.arraycopy(leaf.keys, i + 1, leaf.keys, i, leaf.size - i - 1);
+            System.arraycopy(leaf.values, i + 1, leaf.values, i, leaf.size - i - 1);
+            leaf.size--;
+            leaf.keys[leaf.size] = null;
+            leaf.values[leaf.size] = null;
+            size--;
+            modCount++;
+            return true;
+        }
+
+        Internal internal = (Internal) node;
+        int c = childIndex(internal, key);
+        if (!delete(internal.children[c], key))
+            return false;
+        if (internal.children[c].size < MIN_KEYS)
+            rebalance(internal, c);
+        return true;
+    }
+
+    /**
+     * Восстанавливает заполнение дочернего узла: забирает ключ у соседнего узла, если у него есть лишние
+     * ключи, иначе объединяет узел с соседним. У дочернего узла всегда есть сосед, так как внутренний узел
+     * содержит хотя бы один ключ.
+     * @param parent родительский узел
+     * @param c номер дочернего узла
+     */
+    private void rebalance(Internal parent, int c){
+        Node left = c > 0 ? parent.children[c - 1] : null;
+        Node right = c < parent.size ? parent.children[c + 1] : null;
+
+        if (left != null && left.size > MIN_KEYS)
+            borrowFromLeft(parent, c);
+        else if (right != null && right.size > MIN_KEYS)
+            borrowFromRight(parent, c);
+        else if (left != null)
+            merge(parent, c - 1);
+        else
+            merge(parent, c);
+    }
+
+    private void borrowFromLeft(Internal parent, int c){
+        Node child = parent.children[c], left = parent.children[c - 1];
+        System.arraycopy(child.keys, 0, child.keys, 1, child.size);
+
+        if (child instanceof Leaf leaf){
+            Leaf leftLeaf = (Leaf) left;
+            System.arraycopy(leaf.values, 0, leaf.values, 1, leaf.size);
+            leaf.keys[0] = leftLeaf.keys[leftLeaf.size - 1];
+            leaf.values[0] = leftLeaf.values[leftLeaf.size - 1];
+            leftLeaf.values[leftLeaf.size - 1] = null;
+            parent.keys[c - 1] = leaf.keys[0];
+        } else {
+            Internal internal = (Internal) child, leftInternal = (Internal) left;
+            System.arraycopy(internal.children, 0, internal.children, 1, internal.size + 1);
+            internal.keys[0] = parent.keys[c - 1];
+            internal.children[0] = leftInternal.children[leftInternal.size];
+            leftInternal.children[leftInternal.size] = null;
+            parent.keys[c - 1] = leftInternal.keys[leftInternal.size - 1];
+        }
+        left.keys[left.size - 1] = null;
+        left.size--;
+        child.size++;
+    }
+
+    private void borrowFromRight(Internal parent, int c){
+        Node child = parent.children[c], right = parent.children[c + 1];
+
+        if (child instanceof Leaf leaf){
+            Leaf rightLeaf = (Leaf) right;
+            leaf.keys[leaf.size] = rightLeaf.keys[0];
+            leaf.values[leaf.size] = rightLeaf.values[0];
+            System.arraycopy(rightLeaf.values, 1, rightLeaf.values, 0, rightLeaf.size - 1);
+            rightLeaf.values[rightLeaf.size - 1] = null;
+            parent.keys[c] = rightLeaf.keys[1];
+        } else {
+            Internal internal = (Internal) child, rightInternal = (Internal) right;
+            internal.keys[internal.size] = parent.keys[c];
+            internal.children[internal.size + 1] = rightInternal.children[0];
+            parent.keys[c] = rightInternal.keys[0];
+            System.arraycopy(rightInternal.children, 1, rightInternal.children, 0, rightInternal.size);
+            rightInternal.children[rightInternal.size] = null;
+        }
+        System.arraycopy(right.keys, 1, right.keys, 0, right.size - 1);
+        right.keys[right.size - 1] = null;
+        right.size--;
+        child.size++;
+    }
+
+    /**
+     * Объединяет дочерние узлы с номерами i и i + 1 в узел i.
+     */
+    private void merge(Internal parent, int i){
+        Node left = parent.children[i], right = parent.children[i + 1];
+
+        if (left instanceof Leaf leftLeaf){
+            Leaf rightLeaf = (Leaf) right;
+            System.arraycopy(rightLeaf.keys, 0, leftLeaf.keys, leftLeaf.size, rightLeaf.size);
+            System.arraycopy(rightLeaf.values, 0, leftLeaf.values, leftLeaf.size, rightLeaf.size);
+            leftLeaf.size += rightLeaf.size;
+            leftLeaf.next = rightLeaf.next;
+            if (rightLeaf.next != null)
+                rightLeaf.next.prev = leftLeaf;
+            else
+                last = leftLeaf;
+        } else {
+            Internal leftInternal = (Internal) left, rightInternal = (Internal) right;
+            leftInternal.keys[leftInternal.size] = parent.keys[i];
+            System.arraycopy(rightInternal.keys, 0, leftInternal.keys, leftInternal.size + 1, rightInternal.size);
+            System.arraycopy(rightInternal.children, 0, leftInternal.children, leftInternal.size + 1,
+                    rightInternal.size + 1);
+            leftInternal.size += rightInternal.size + 1;
+        }
+
+        System.arraycopy(parent.keys, i + 1, parent.keys, i, parent.size - i - 1);
+        System.arraycopy(parent.children, i + 2, parent.children, i + 1, parent.size - i - 1);
+        parent.size--;
+        parent.keys[parent.size] = null;
+        parent.children[parent.size + 1] = null;
+    }
+
+    /**
+     * @return позиция первого объекта с ключом больше (или равным, если inclusive) key, или null
+     */
+    private Cursor ceiling(Object key, boolean inclusive){
+        Leaf leaf = findLeaf(key);
+        int i = search(leaf, key);
+        i = i >= 0 ? (inclusive ? i : i + 1) : -i - 1;
+        if (i == leaf.size){
+            leaf = leaf.next;
+            i = 0;
+        }
+        return leaf == null || leaf.size == 0 ? null : new Cursor(leaf, i);
+    }
+
+    /**
+     * @return позиция последнего объекта с ключом меньше (или равным, если inclusive) key, или null
+     */
+    private Cursor floor(Object key, boolean inclusive){
+        Leaf leaf = findLeaf(key);
+        int i = search(leaf, key);
+        i = i >= 0 ? (inclusive ? i : i - 1) : -i - 2;
+        if (i < 0){
+            leaf = leaf.prev;
+            if (leaf == null)
+                return null;
+            i = leaf.size - 1;
+        }
+        return leaf.size == 0 ? null : new Cursor(leaf, i);
+    }
+
+    @Override
+    public K firstKey() {
+        return whole.firstKey();
+    }
+
+    @Override
+    public K lastKey() {
+        return whole.lastKey();
+    }
+
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        return whole.floorEntry(key);
+    }
+
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        return whole.ceilingEntry(key);
+    }
+
+    @Override
+    public MySortedMap<K, V> subMap(K fromKey, K toKey) {
+        return whole.subMap(fromKey, toKey);
+    }
+
+    @Override
+    public MySortedMap<K, V> headMap(K toKey) {
+        return whole.headMap(toKey);
+    }
+
+    @Override
+    public MySortedMap<K, V> tailMap(K fromKey) {
+        return whole.tailMap(fromKey);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public K[] toKeyArray(Class<K> clazz) {
+        return whole.toKeyArray(clazz);
+    }
+
+    @Override
+    public V[] toValueArray(Class<V> clazz) {
+        return whole.toValueArray(clazz);
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return whole.iterator();
+    }
+
+    @Override
+    public Spliterator<Entry<K, V>> spliterator() {
+        return Spliterators.spliterator(iterator(), size,
+                Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.ORDERED);
+    }
+
+    @Override
+    public String toString() {
+        return whole.toString();
+    }
+
+    /**
+     * Объект коллекции, ссылающийся на ячейку листа. Остается связан с ячейкой до следующего
+     * структурного изменения коллекции, после которого методы getValue и setValue выбрасывают
+     * ConcurrentModificationException.
+     */
+    private final class LeafEntry implements Entry<K, V> {
+        private final Leaf leaf;
+        private final int index;
+        private final K key;
+        private final int expectedModCount = modCount;
+
+        @SuppressWarnings("unchecked")
+        LeafEntry(Leaf leaf, int index){
+            this.leaf = leaf;
+            this.index = index;
+            this.key = (K) leaf.keys[index];
+        }
+
+        private void checkForComodification(){
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V getValue() {
+            checkForComodification();
+            return (V) leaf.values[index];
+        }
+
+        @Override
+        public void setValue(V value) {
+            checkForComodification();
+            leaf.values[index] = value;
+        }
+    }
+
+    /**
+     * Представление диапазона ключей коллекции. Границы хранятся вместе с признаками наличия и включения,
+     * поэтому одно представление описывает и всю коллекцию, и subMap, headMap, tailMap. Все операции
+     * выполняются над деревом коллекции, а размер диапазона считается обходом его объектов.
+     */
+    private final class Range implements MySortedMap<K, V> {
+        private final Object low, high;
+        private final boolean hasLow, lowInclusive, hasHigh, highInclusive;
+
+        Range(Object low, boolean hasLow, boolean lowInclusive, Object high, boolean hasHigh, boolean highInclusive){
+            this.low = low;
+            this.hasLow = hasLow;
+            this.lowInclusive = lowInclusive;
+            this.high = high;
+            this.hasHigh = hasHigh;
+            this.highInclusive = highInclusive;
+        }
+
+        private boolean tooLow(Object key){
+            if (!hasLow)
+                return false;
+            int cmp = compare(key, low);
+            return cmp < 0 || (cmp == 0 && !lowInclusive);
+        }
+
+        private boolean tooHigh(Object key){
+            if (!hasHigh)
+                return false;
+            int cmp = compare(key, high);
+            return cmp > 0 || (cmp == 0 && !highInclusive);
+        }
+
+        private boolean inRange(Object key){
+            return !tooLow(key) && !tooHigh(key);
+        }
+
+        private boolean inRange(Cursor cursor){
+            return cursor != null && inRange(cursor.leaf.keys[cursor.index]);
+        }
+
+        private Cursor lowest(){
+            Cursor cursor = hasLow ? ceiling(low, lowInclusive) : (size == 0 ? null : new Cursor(first, 0));
+            return inRange(cursor) ? cursor : null;
+        }
+
+        private Cursor highest(){
+            Cursor cursor = hasHigh ? floor(high, highInclusive) : (size == 0 ? null : new Cursor(last, last.size - 1));
+            return inRange(cursor) ? cursor : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private K keyAt(Cursor cursor){
+            if (cursor == null)
+                throw new NoSuchElementException();
+            return (K) cursor.leaf.keys[cursor.index];
+        }
+
+        private Entry<K, V> entryAt(Cursor cursor){
+            return cursor == null ? null : new LeafEntry(cursor.leaf, cursor.index);
+        }
+
+        @Override
+        public K firstKey() {
+            return keyAt(lowest());
+        }
+
+        @Override
+        public K lastKey() {
+            return keyAt(highest());
+        }
+
+        @Override
+        public Entry<K, V> floorEntry(K key) {
+            Objects.requireNonNull(key);
+            if (tooHigh(key))
+                return entryAt(highest());
+            Cursor cursor = floor(key, true);
+            return entryAt(inRange(cursor) ? cursor : null);
+        }
+
+        @Override
+        public Entry<K, V> ceilingEntry(K key) {
+            Objects.requireNonNull(key);
+            if (tooLow(key))
+                return entryAt(lowest());
+            Cursor cursor = ceiling(key, true);
+            return entryAt(inRange(cursor) ? cursor : null);
+        }
+
+        /**
+         * Возвращает пересечение диапазона с заданными границами.
+         */
+        private Range intersect(Object from, boolean hasFrom, Object to, boolean hasTo){
+            Object newLow = low, newHigh = high;
+            boolean newHasLow = hasLow, newLowInclusive = lowInclusive;
+            boolean newHasHigh = hasHigh, newHighInclusive = highInclusive;
+            if (hasFrom && (!hasLow || compare(from, low) > 0)){
+                newLow = from;
+                newHasLow = newLowInclusive = true;
+            }
+            if (hasTo && (!hasHigh || compare(to, high) <= 0)){
+                newHigh = to;
+                newHasHigh = true;
+                newHighInclusive = false;
+            }
+            return new Range(newLow, newHasLow, newLowInclusive, newHigh, newHasHigh, newHighInclusive);
+        }
+
+        @Override
+        public MySortedMap<K, V> subMap(K fromKey, K toKey) {
+            Objects.requireNonNull(fromKey);
+            Objects.requireNonNull(toKey);
+            if (compare(fromKey, toKey) > 0)
+                throw new IllegalArgumentException("fromKey > toKey");
+            return intersect(fromKey, true, toKey, true);
+        }
+
+        @Override
+        public MySortedMap<K, V> headMap(K toKey) {
+            Objects.requireNonNull(toKey);
+            return intersect(null, false, toKey, true);
+        }
+
+        @Override
+        public MySortedMap<K, V> tailMap(K fromKey) {
+            Objects.requireNonNull(fromKey);
+            return intersect(fromKey, true, null, false);
+        }
+
+        @Override
+        public boolean containsKey(K key) {
+            return inRange(key) && BTreeMyMap.this.containsKey(key);
+        }
+
+        @Override
+        public boolean containsValue(V value) {
+            for(var entry : this)
+                if (Objects.equals(entry.getValue(), value))
+                    return true;
+            return false;
+        }
+
+        @Override
+        public V get(K key) {
+            return inRange(key) ? BTreeMyMap.this.get(key) : null;
+        }
+
+        @Override
+        public void put(K key, V value) {
+            if (!inRange(key))
+                throw new IllegalArgumentException("Key out of range: " + key);
+            BTreeMyMap.this.put(key, value);
+        }
+
+        @Override
+        public V remove(K key) {
+            return inRange(key) ? BTreeMyMap.this.remove(key) : null;
+        }
+
+        @Override
+        public int size() {
+            int count = 0;
+            for(var it = iterator(); it.hasNext(); it.next())
+                count++;
+            return count;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return lowest() == null;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public K[] toKeyArray(Class<K> clazz) {
+            K[] arr = (K[]) Array.newInstance(clazz, size());
+            int i = 0;
+            for(var entry : this)
+                arr[i++] = entry.getKey();
+            return arr;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V[] toValueArray(Class<V> clazz) {
+            V[] arr = (V[]) Array.newInstance(clazz, size());
+            int i = 0;
+            for(var entry : this)
+                arr[i++] = entry.getValue();
+            return arr;
+        }
+
+        /**
+         * Возвращает итератор объектов диапазона в порядке возрастания ключей. Начало диапазона находится
+         * поиском в дереве, после чего итератор идет по листьям до первого ключа за верхней границей.
+         */
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new Iterator<>() {
+                private final int expectedModCount = modCount;
+                private Leaf leaf;
+                private int index;
+
+                {
+                    Cursor cursor = lowest();
+                    if (cursor != null){
+                        leaf = cursor.leaf;
+                        index = cursor.index;
+                    }
+                }
+
+                /**
+                 * @throws ConcurrentModificationException если дерево было изменено после создания итератора:
+                 * текущий лист мог быть разделен или объединен, и его ячейка может быть пустой
+                 */
+                @Override
+                public boolean hasNext() {
+                    if (modCount != expectedModCount)
+                        throw new ConcurrentModificationException();
+                    return leaf != null && !tooHigh(leaf.keys[index]);
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    if (!hasNext())
+                        throw new NoSuchElementException();
+
+                    var entry = new LeafEntry(leaf, index);
+                    if (++index == leaf.size){
+                        leaf = leaf.next;
+                        index = 0;
+                    }
+                    return entry;
+                }
+            };
+        }
+
+        @Override
+        public Spliterator<Entry<K, V>> spliterator() {
+            return Spliterators.spliteratorUnknownSize(iterator(),
+                    Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.ORDERED);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("[");
+            for(var entry : this)
+                sb.append(entry.getKey()).append(" : ").append(entry.getValue()).append(", ");
+
+            return (sb.length() > 1 ? sb.substring(0, sb.length() - 2) : sb.toString()) + "]";
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package ru.sedov.implementations;
+
+import ru.sedov.MyHashStrategy;
+import ru.sedov.MyMap;
+
+import java.lang.reflect.Array;
+import java.util.*;
+
+/**
+ * <p> Реализация интерфейса MyMap, в которой значения, как и ключи, уникальны. Объекты хранятся в двух
+ * коллекциях MyHashMap: по ключу и по значению, которые обновляются вместе при каждом изменении. Поэтому
+ * containsValue и поиск ключа по значению getKeyForValue выполняются за O(1), а не просмотром всех объектов,
+ * как в MyHashMap. Платой за это является второй поиск при каждом изменении и вдвое большее количество
+ * служебных объектов. </p>
+ * <br>
+ * <p> Попытка связать значение, уже связанное с другим ключом, методом put выбрасывает IllegalArgumentException,
+ * и коллекция не изменяется. Метод forcePut в этом случае сначала удаляет прежний объект с таким значением.
+ * Ключи и значения не могут быть равны null. Хэш-значение и равенство ключей и значений можно задать
+ * отдельными стратегиями MyHashStrategy. </p>
+ * <ul> Для работы с коллекций были определены следующий методы:
+ *     <li>containsKey(key) - проверка, находится ли в коллекции заданный ключ</li>
+ *     <li>containsValue(value) - проверка, находится ли в коллекции заданное значение</li>
+ *     <li>get(key) - получить значение по ключу</li>
+ *     <li>getKeyForValue(value) - получить ключ по значению</li>
+ *     <li>put(key, value) - поместить пару ключ/значение в коллекцию</li>
+ *     <li>forcePut(key, value) - поместить пару ключ/значение, удалив объект с таким же значением</li>
+ *     <li>remove(key) - удалить объект по ключу</li>
+ *     <li>removeValue(value) - удалить объект по значению</li>
+ *     <li>size() - получить количество объектов в коллекции</li>
+ *     <li>isEmpty() - проверить пуста ли коллекция</li>
+ *     <li>toKeyArray(clazz) - конвертировать все ключи в коллекции в массив</li>
+ *     <li>toValueArray(clazz) - конвертировать все значения в коллекции в массив</li>
+ *     <li>iterator(), stream(), parallelStream() - обойти объекты коллекции</li>
+ * </ul>
+ * @param <K> тип ключа объекта коллекции
+ * @param <V> тип значения объекта коллекции
+ */
+public class BiMyHashMap<K, V> implements MyMap<K, V> {
+
+    /**
+     * Стандартное количество списков для хранения объектов.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Стандартный коэффициент загрузки коллекции.
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * Объекты коллекции по ключу.
+     */
+    private final MyHashMap<K, Node> byKey;
+
+    /**
+     * Те же объекты по значению.
+     */
+    private final MyHashMap<V, Node> byValue;
+
+    /**
+     * @param capacity исходное количество списков каждой из внутренних коллекций
+     * @param keyStrategy стратегия хэш-значения и равенства ключей
+     * @param valueStrategy стратегия хэш-значения и равенства значений
+     * @throws IllegalArgumentException если capacity отрицательно
+     */
+    public BiMyHashMap(int capacity, MyHashStrategy<? super K> keyStrategy, MyHashStrategy<? super V> valueStrategy){
+        byKey = new MyHashMap<>(capacity, DEFAULT_LOAD_FACTOR, keyStrategy);
+        byValue = new MyHashMap<>(capacity, DEFAULT_LOAD_FACTOR, valueStrategy);
+    }
+    public BiMyHashMap(int capacity){
+        this(capacity, MyHashStrategies.natural(), MyHashStrategies.natural());
+    }
+    public BiMyHashMap(){
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Объект коллекции, общий для обеих внутренних коллекций. Изменение значения через setValue
+     * обновляет коллекцию по значению и подчиняется тем же правилам, что и put.
+     */
+    private final class Node implements MyMap.Entry<K, V> {
+
+        private final K key;
+
+        private V value;
+
+        Node(K key, V value){
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public void setValue(V value) {
+            if (byKey.get(key) != this)
+                throw new IllegalStateException("Entry was removed");
+            replaceValue(this, value);
+        }
+    }
+
+    /**
+     * Меняет значение объекта, проверив, что новое значение не связано с другим ключом. Старое значение
+     * всегда удаляется из обратного индекса, даже если оно равно новому по стратегии: иначе индекс продолжал бы
+     * хранить старый объект как ключ.
+     * @param node объект коллекции
+     * @param value новое значение
+     * @throws IllegalArgumentException если значение уже связано с другим ключом
+     */
+    private void replaceValue(Node node, V value){
+        Objects.requireNonNull(value);
+        var owner = byValue.get(value);
+        if (owner != null && owner != node)
+            throw new IllegalArgumentException("Value is already bound to key " + owner.key + ": " + value);
+
+        byValue.remove(node.value);
+        node.value = value;
+        byValue.put(value, node);
+    }
+
+    private void removeNode(Node node){
+        byKey.remove(node.key);
+        byValue.remove(node.value);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return byKey.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        return value != null && byValue.containsKey(value);
+    }
+
+    @Override
+    public V get(K key) {
+        var node = byKey.get(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Возвращает ключ объекта, значение которого равно value. Если такого объекта нет, то возвращается null.
+     * @param value значение объекта
+     * @return ключ объекта, если он есть, null - если нет
+     */
+    public K getKeyForValue(V value) {
+        if (value == null)
+            return null;
+
+        var node = byValue.get(value);
+        return node == null ? null : node.key;
+    }
+
+    /**
+     * Помещает в коллекцию объект с ключом key и значением value. Если объект с таким ключом уже существует
+     * в коллекции, то у объекта с таким ключом будет заменено значение.
+     * @param key ключ объекта
+     * @param value значение объекта
+     * @throws IllegalArgumentException если значение уже связано с другим ключом
+     * @throws NullPointerException если ключ или значение равны null
+     */
+    @Override
+    public void put(K key, V value) {
+        var node = byKey.get(key);
+        if (node != null){
+            replaceValue(node, value);
+            return;
+        }
+
+        Objects.requireNonNull(value);
+        var owner = byValue.get(value);
+        if (owner != null)
+            throw new IllegalArgumentException("Value is already bound to key " + owner.key + ": " + value);
+
+        node = new Node(key, value);
+        byKey.put(key, node);
+        byValue.put(value, node);
+    }
+
+    /**
+     * Помещает в коллекцию объект с ключом key и значением value. Если значение уже связано с другим ключом,
+     * объект с этим ключом предварительно удаляется.
+     * @param key ключ объекта
+     * @param value значение объекта
+     * @return ключ удаленного объекта или null, если значение не было связано с другим ключом
+     * @throws NullPointerException если ключ или значение равны null
+     */
+    public K forcePut(K key, V value) {
+        var node = byKey.get(key);
+        var owner = byValue.get(Objects.requireNonNull(value));
+        if (owner == null || owner == node){
+            put(key, value);
+            return null;
+        }
+
+        removeNode(owner);
+        put(key, value);
+        return owner.key;
+    }
+
+    @Override
+    public V remove(K key) {
+        var node = byKey.remove(key);
+        if (node == null)
+            return null;
+
+        byValue.remove(node.value);
+        return node.value;
+    }
+
+    /**
+     * Удаляет из коллекции объект со значением value и возвращает его ключ. Если такого объекта
+     * не существует, будет возвращен null.
+     * @param value значение объекта
+     * @return ключ удаленного объекта или null, если объекта с таким значением нет
+     */
+    public K removeValue(V value) {
+        if (value == null)
+            return null;
+
+        var node = byValue.remove(value);
+        if (node == null)
+            return null;
+
+        byKey.remove(node.key);
+        return node.key;
+    }
+
+    @Override
+    public int size() {
+        return byKey.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return byKey.isEmpty();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public K[] toKeyArray(Class<K> clazz) {
+        K[] keys = (K[]) Array.newInstance(clazz, size());
+        int i = 0;
+        for(var entry : byKey)
+            keys[i++] = entry.getKey();
+        return keys;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V[] toValueArray(Class<V> clazz) {
+        V[] values = (V[]) Array.newInstance(clazz, size());
+        int i = 0;
+        for(var entry : byKey)
+            values[i++] = entry.getValue().value;
+        return values;
+    }
+
+    /**
+     * Возвращает итератор объектов коллекции в порядке обхода коллекции по ключу. Итератор не поддерживает
+     * удаление и выбрасывает ConcurrentModificationException, если объекты были добавлены или удалены
+     * после его создания.
+     * @return итератор объектов коллекции
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        var it = byKey.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Entry<K, V> next() {
+                return it.next().getValue();
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for(var entry : byKey)
+            sb.append(entry.getKey()).append(" : ").append(entry.getValue().value).append(", ");
+
+        return (sb.length() > 1 ? sb.substring(0, sb.length() - 2) : sb.toString()) + "]";
+    }
+}
@@ -0,0 +1,370 @@
+package ru.sedov.implementations;
+
+import ru.sedov.MyMap;
+
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * <p> Реализация интерфейса MyMap с ограниченным размером, предназначенная для кэширования. Объекты хранятся
+ * в MyHashMap и дополнительно связаны в двусвязный список в порядке обращения к ним: get и put переносят
+ * объект в начало списка, а при превышении максимального веса вытесняются объекты с конца списка, к которым
+ * дольше всего не обращались (LRU). Перенос и вытеснение выполняются за O(1). </p>
+ * <br>
+ * <p> Вес объекта вычисляется функцией weigher при добавлении и изменении значения, по умолчанию вес
+ * каждого объекта равен 1, и максимальный вес ограничивает количество объектов. Для каждого вытесненного
+ * объекта вызывается слушатель вытеснения. Явное удаление методом remove и замена значения слушателя
+ * не вызывают. </p>
+ * <br>
+ * <p> В режиме допуска Admission.FREQUENCY коллекция дополнительно ведет приближенный счетчик обращений
+ * к ключам, в том числе к отсутствующим (TinyLFU). Новый объект, вытесняющий другие, остается в коллекции,
+ * только если к его ключу обращались чаще, чем к ключу вытесняемого объекта, иначе вытесняется он сам.
+ * Так редкие ключи, например при однократном проходе по большому набору данных, не вытесняют из кэша
+ * часто используемые. </p>
+ * <br>
+ * <p> Объекты обходятся от последнего использованного к давно не использованному. Так как get изменяет
+ * порядок объектов, вызов get во время обхода приводит к ConcurrentModificationException. </p>
+ * <ul> Для работы с коллекций были определены следующий методы:
+ *     <li>containsKey(key) - проверка, находится ли в коллекции заданный ключ</li>
+ *     <li>containsValue(value) - проверка, находится ли в коллекции заданное значение</li>
+ *     <li>get(key) - получить значение по ключу и отметить обращение к нему</li>
+ *     <li>put(key, value) - поместить пару ключ/значение в коллекцию, вытеснив при необходимости другие</li>
+ *     <li>remove(key) - удалить объект по ключу</li>
+ *     <li>size() - получить количество объектов в коллекции</li>
+ *     <li>isEmpty() - проверить пуста ли коллекция</li>
+ *     <li>weight() - получить суммарный вес объектов</li>
+ *     <li>maximumWeight() - получить максимальный вес объектов</li>
+ *     <li>toKeyArray(clazz) - конвертировать все ключи в коллекции в массив</li>
+ *     <li>toValueArray(clazz) - конвертировать все значения в коллекции в массив</li>
+ *     <li>iterator(), stream(), parallelStream() - обойти объекты коллекции</li>
+ * </ul>
+ * @param <K> тип ключа объекта коллекции
+ * @param <V> тип значения объекта коллекции
+ */
+public class CacheMyHashMap<K, V> implements MyMap<K, V> {
+
+    /**
+     * Политика допуска новых объектов в заполненную коллекцию.
+     */
+    public enum Admission {
+        /**
+         * Новый объект всегда допускается, вытесняются давно не использованные объекты (LRU).
+         */
+        ALWAYS,
+        /**
+         * Новый объект допускается, только если к его ключу обращались чаще, чем к вытесняемому (TinyLFU).
+         */
+        FREQUENCY
+    }
+
+    private final MyHashMap<K, Node> nodes = new MyHashMap<>();
+
+    private final long maximumWeight;
+
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+
+    private final BiConsumer<? super K, ? super V> listener;
+
+    private final MyFrequencySketch sketch;
+
+    /**
+     * Последний использованный и давно не использованный объекты.
+     */
+    private Node head, tail;
+
+    private long weight = 0;
+
+    private int modCount = 0;
+
+    /**
+     * @param maximumWeight максимальный суммарный вес объектов
+     * @param weigher функция, вычисляющая неотрицательный вес объекта
+     * @param admission политика допуска новых объектов
+     * @param listener слушатель, вызываемый для каждого вытесненного объекта
+     * @throws IllegalArgumentException если максимальный вес отрицателен
+     */
+    public CacheMyHashMap(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher,
+                          Admission admission, BiConsumer<? super K, ? super V> listener){
+        if (maximumWeight < 0)
+            throw new IllegalArgumentException("Illegal maximum weight: " + maximumWeight);
+
+        this.maximumWeight = maximumWeight;
+        this.weigher = Objects.requireNonNull(weigher);
+        this.listener = Objects.requireNonNull(listener);
+        this.sketch = Objects.requireNonNull(admission) == Admission.FREQUENCY
+                ? new MyFrequencySketch(maximumWeight) : null;
+    }
+    public CacheMyHashMap(int maximumSize, Admission admission, BiConsumer<? super K, ? super V> listener){
+        this(maximumSize, (k, v) -> 1, admission, listener);
+    }
+    public CacheMyHashMap(int maximumSize, Admission admission){
+        this(maximumSize, admission, (k, v) -> {});
+    }
+    public CacheMyHashMap(int maximumSize){
+        this(maximumSize, Admission.ALWAYS);
+    }
+
+    /**
+     * Объект коллекции, одновременно являющийся узлом списка в порядке обращения.
+     * Изменение значения через setValue пересчитывает вес, но не меняет порядок объектов.
+     */
+    private final class Node implements MyMap.Entry<K, V> {
+
+        private final K key;
+
+        private V value;
+
+        private int weight;
+
+        private Node prev, next;
+
+        Node(K key){
+            this.key = key;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public void setValue(V value) {
+            if (nodes.get(key) != this)
+                throw new IllegalStateException("Entry was evicted");
+            update(this, value);
+            evict(this);
+        }
+    }
+
+    /**
+     * Записывает значение объекта и пересчитывает его вес и суммарный вес коллекции.
+     */
+    private void update(Node node, V value){
+        int w = weigher.applyAsInt(node.key, value);
+        if (w < 0)
+            throw new IllegalArgumentException("Illegal weight: " + w);
+
+        node.value = value;
+        weight += w - node.weight;
+        node.weight = w;
+    }
+
+    private void linkFirst(Node node){
+        node.prev = null;
+        node.next = head;
+        if (head == null)
+            tail = node;
+        else
+            head.prev = node;
+        head = node;
+    }
+
+    private void unlink(Node node){
+        if (node.prev == null)
+            head = node.next;
+        else
+            node.prev.next = node.next;
+
+        if (node.next == null)
+            tail = node.prev;
+        else
+            node.next.prev = node.prev;
+        node.prev = node.next = null;
+    }
+
+    /**
+     * Отмечает обращение к объекту: переносит его в начало списка.
+     */
+    private void touch(Node node){
+        if (node != head){
+            unlink(node);
+            linkFirst(node);
+            modCount++;
+        }
+    }
+
+    /**
+     * Вытесняет давно не использованные объекты, пока суммарный вес превышает максимальный.
+     * В режиме Admission.FREQUENCY вместо более востребованного объекта вытесняется сам candidate.
+     * @param candidate добавленный или измененный объект
+     */
+    private void evict(Node candidate){
+        while(weight > maximumWeight){
+            Node victim = tail;
+            if (victim == candidate && victim.prev != null)
+                victim = victim.prev;
+            if (sketch != null && victim != candidate
+                    && sketch.frequency(candidate.key) <= sketch.frequency(victim.key))
+                victim = candidate;
+
+            removeNode(victim);
+            listener.accept(victim.key, victim.value);
+            if (victim == candidate)
+                return;
+        }
+    }
+
+    private void removeNode(Node node){
+        nodes.remove(node.key);
+        unlink(node);
+        weight -= node.weight;
+        modCount++;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return nodes.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        for(var node = head; node != null; node = node.next)
+            if (Objects.equals(node.value, value))
+                return true;
+        return false;
+    }
+
+    @Override
+    public V get(K key) {
+        if (sketch != null)
+            sketch.increment(key);
+
+        var node = nodes.get(key);
+        if (node == null)
+            return null;
+
+        touch(node);
+        return node.value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        if (sketch != null)
+            sketch.increment(key);
+
+        int size = nodes.size();
+        var node = nodes.computeIfAbsent(key, Node::new);
+        if (nodes.size() != size){
+            linkFirst(node);
+            modCount++;
+            try {
+                update(node, value);
+            } catch (RuntimeException e){
+                removeNode(node);
+                throw e;
+            }
+        } else {
+            update(node, value);
+            touch(node);
+        }
+        evict(node);
+    }
+
+    @Override
+    public V remove(K key) {
+        var node = nodes.get(key);
+        if (node == null)
+            return null;
+
+        removeNode(node);
+        return node.value;
+    }
+
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    /**
+     * @return суммарный вес объектов коллекции
+     */
+    public long weight() {
+        return weight;
+    }
+
+    /**
+     * @return максимальный суммарный вес объектов коллекции
+     */
+    public long maximumWeight() {
+        return maximumWeight;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public K[] toKeyArray(Class<K> clazz) {
+        K[] keys = (K[]) Array.newInstance(clazz, size());
+        int i = 0;
+        for(var node = head; node != null; node = node.next)
+            keys[i++] = node.key;
+        return keys;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V[] toValueArray(Class<V> clazz) {
+        V[] values = (V[]) Array.newInstance(clazz, size());
+        int i = 0;
+        for(var node = head; node != null; node = node.next)
+            values[i++] = node.value;
+        return values;
+    }
+
+    /**
+     * Возвращает итератор объектов от последнего использованного к давно не использованному.
+     * Итератор не поддерживает удаление и выбрасывает ConcurrentModificationException, если коллекция
+     * была изменена после его создания.
+     * @return итератор объектов коллекции
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new Iterator<>() {
+            private Node next = head;
+
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Entry<K, V> next() {
+                if (modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                if (next == null)
+                    throw new NoSuchElementException();
+
+                var node = next;
+                next = node.next;
+                return node;
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<Entry<K, V>> spliterator() {
+        return Spliterators.spliterator(iterator(), size(),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for(var node = head; node != null; node = node.next)
+            sb.append(node.key).append(" : ").append(node.value).append(", ");
+
+        return (sb.length() > 1 ? sb.substring(0, sb.length() - 2) : sb.toString()) + "]";
+    }
+}
@@ -0,0 +1,377 @@
+package ru.sedov.implementations;
+
+import ru.sedov.MyList;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * <p> Потокобезопасная реализация интерфейса MyList, в которую несколько потоков могут одновременно добавлять
+ * элементы без блокировок. Коллекция поддерживает только добавление в конец, чтение и замену элементов. </p>
+ * <br>
+ * <p> Элементы хранятся в блоках фиксированного размера по 1024 элемента. Блоки находятся по двухуровневому
+ * каталогу: верхний уровень создается вместе с коллекцией, а нижние уровни и сами блоки создаются при первом
+ * обращении к ним и устанавливаются с помощью CAS. Поэтому при росте коллекции добавляются новые блоки, а уже
+ * записанные элементы никогда не копируются. </p>
+ * <br>
+ * <p> Добавление резервирует номер ячейки с помощью CAS на счетчике зарезервированных ячеек, записывает
+ * элемент и продвигает счетчик опубликованных элементов, пока следующая ячейка уже записана. Продвигать счетчик
+ * помогают все добавляющие потоки, поэтому ни один из них не ждет другого. Размер коллекции равен количеству
+ * опубликованных элементов: элемент, добавленный медленным потоком, становится видим вместе со всеми
+ * последующими, когда его ячейка будет записана. </p>
+ * <br>
+ * <p> Чтение get(index) опубликованного элемента выполняется без ожидания: оно только сравнивает индекс
+ * с размером и читает элемент из блока. Итераторы и потоки обходят элементы, опубликованные на момент
+ * их создания, и не выбрасывают ConcurrentModificationException. Элементы не могут быть равны null,
+ * так как null в ячейке означает, что элемент еще не записан. Методы remove, clear, sort и add(element, index)
+ * выбрасывают UnsupportedOperationException. </p>
+ * <br>
+ * Для работы с коллекцией используются следующие методы:
+ *  <ul>
+ *      <li>size() - получение текущего количества опубликованных элементов в коллекции.</li>
+ *      <li>add(element) - добавление элемента в конец коллекции</li>
+ *      <li>addAll(elements) - добавление всех элементов другой коллекции одним резервированием</li>
+ *      <li>get(index) - получение элемента по заданному индексу</li>
+ *      <li>replace(element, index) - замена значения элемента по индексу</li>
+ *      <li>toArray(clazz) - копирование элементов коллекции в массив</li>
+ *      <li>iterator(), stream(), parallelStream() - обход опубликованных элементов коллекции</li>
+ *  </ul>
+ * @param <T> тип хранимых элементов в коллекции.
+ */
+public class ConcurrentChunkedMyList<T> implements MyList<T> {
+
+    /**
+     * Двоичный логарифм количества элементов в блоке.
+     */
+    private static final int CHUNK_SHIFT = 10;
+
+    private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+
+    /**
+     * Двоичный логарифм количества блоков в одном каталоге нижнего уровня.
+     */
+    private static final int SPINE_SHIFT = 10;
+
+    private static final int SPINE_MASK = (1 << SPINE_SHIFT) - 1;
+
+    /**
+     * Размер каталога верхнего уровня, достаточный для Integer.MAX_VALUE элементов.
+     */
+    private static final int DIRECTORY_SIZE = 1 << (31 - CHUNK_SHIFT - SPINE_SHIFT);
+
+    private static final VarHandle SPINES = MethodHandles.arrayElementVarHandle(Object[][][].class);
+
+    private static final VarHandle CHUNKS = MethodHandles.arrayElementVarHandle(Object[][].class);
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    /**
+     * Каталог верхнего уровня: массив каталогов нижнего уровня, каждый из которых является массивом блоков.
+     */
+    private final Object[][][] directory = new Object[DIRECTORY_SIZE][][];
+
+    /**
+     * Количество зарезервированных ячеек. Ячейки с меньшими номерами уже принадлежат добавляющим потокам.
+     */
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    /**
+     * Количество опубликованных элементов. Все ячейки с меньшими номерами записаны.
+     */
+    private final AtomicInteger published = new AtomicInteger();
+
+    /**
+     * Возвращает блок, содержащий ячейку с заданным номером, при необходимости создавая его. Если блок
+     * одновременно создают несколько потоков, в каталог попадает только один из созданных блоков.
+     * @param index номер ячейки
+     * @return блок элементов
+     */
+    private Object[] chunkFor(int index){
+        int chunk = index >>> CHUNK_SHIFT;
+        int top = chunk >>> SPINE_SHIFT, mid = chunk & SPINE_MASK;
+
+        var spine = (Object[][]) SPINES.getAcquire(directory, top);
+        if (spine == null){
+            var created = new Object[1 << SPINE_SHIFT][];
+            spine = (Object[][]) SPINES.compareAndExchange(directory, top, null, created);
+            if (spine == null)
+                spine = created;
+        }
+
+        var items = (Object[]) CHUNKS.getAcquire(spine, mid);
+        if (items == null){
+            var created = new Object[1 << CHUNK_SHIFT];
+            items = (Object[]) CHUNKS.compareAndExchange(spine, mid, null, created);
+            if (items == null)
+                items = created;
+        }
+        return items;
+    }
+
+    /**
+     * Возвращает блок, содержащий опубликованную ячейку. Блок заведомо создан до публикации ячейки, а чтение
+     * счетчика published упорядочивает это чтение после его создания, поэтому достаточно обычного чтения.
+     * @param index номер опубликованной ячейки
+     * @return блок элементов
+     */
+    private Object[] publishedChunk(int index){
+        int chunk = index >>> CHUNK_SHIFT;
+        return directory[chunk >>> SPINE_SHIFT][chunk & SPINE_MASK];
+    }
+
+    /**
+     * @return true, если ячейка с заданным номером уже записана
+     */
+    private boolean isWritten(int index){
+        int chunk = index >>> CHUNK_SHIFT;
+        var spine = (Object[][]) SPINES.getAcquire(directory, chunk >>> SPINE_SHIFT);
+        if (spine == null)
+            return false;
+        var items = (Object[]) CHUNKS.getAcquire(spine, chunk & SPINE_MASK);
+        return items != null && SLOTS.getVolatile(items, index & CHUNK_MASK) != null;
+    }
+
+    /**
+     * Резервирует count ячеек подряд.
+     * @param count количество ячеек
+     * @return номер первой зарезервированной ячейки
+     * @throws IllegalStateException если коллекция заполнена
+     */
+    private int reserve(int count){
+        int index;
+        do {
+            index = reserved.get();
+            if (index > Integer.MAX_VALUE - count)
+                throw new IllegalStateException("List is full");
+        } while(!reserved.compareAndSet(index, index + count));
+        return index;
+    }
+
+    /**
+     * Продвигает счетчик опубликованных элементов, пока следующая ячейка записана. Ячейки записываются
+     * и проверяются volatile-операциями: иначе запись ячейки могла бы переупорядочиться после чтения счетчиков,
+     * и два потока, закончив добавление одновременно, не увидели бы ячейки друг друга, оставив последний
+     * элемент неопубликованным.
+     */
+    private void publish(){
+        for(int p = published.get(); p < reserved.get() && isWritten(p); p = published.get())
+            published.compareAndSet(p, p + 1);
+    }
+
+    @Override
+    public int size() {
+        return published.get();
+    }
+
+    /**
+     * Добавляет элемент в конец коллекции. Элемент становится видим, когда записаны все элементы,
+     * для которых ячейки были зарезервированы раньше.
+     * @param element объект, который будет добавлен в конец коллекции
+     * @throws NullPointerException если элемент равен null
+     * @throws IllegalStateException если коллекция заполнена
+     */
+    @Override
+    public void add(T element) {
+        Objects.requireNonNull(element);
+        int index = reserve(1);
+        SLOTS.setVolatile(chunkFor(index), index & CHUNK_MASK, element);
+        publish();
+    }
+
+    /**
+     * Добавляет все элементы другой коллекции в конец коллекции, резервируя для них ячейки одним CAS.
+     * Элементы добавляются подряд и не перемешиваются с элементами, добавляемыми другими потоками.
+     * @param elements добавляемые элементы
+     * @throws NullPointerException если один из элементов равен null
+     * @throws IllegalStateException если коллекция заполнена
+     */
+    @Override
+    public void addAll(MyList<? extends T> elements) {
+        Object[] added = new Object[elements.size()];
+        for(int i = 0; i < added.length; i++)
+            added[i] = Objects.requireNonNull(elements.get(i));
+        if (added.length == 0)
+            return;
+
+        int index = reserve(added.length);
+        for(int i = 0; i < added.length; i++)
+            SLOTS.setVolatile(chunkFor(index + i), (index + i) & CHUNK_MASK, added[i]);
+        publish();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= published.get())
+            throw new IndexOutOfBoundsException();
+
+        return (T) SLOTS.getAcquire(publishedChunk(index), index & CHUNK_MASK);
+    }
+
+    @Override
+    public void replace(T element, int index) {
+        Objects.requireNonNull(element);
+        if (index < 0 || index >= published.get())
+            throw new IndexOutOfBoundsException();
+
+        SLOTS.setRelease(publishedChunk(index), index & CHUNK_MASK, element);
+    }
+
+    private static UnsupportedOperationException unsupported(){
+        return new UnsupportedOperationException("List supports only appending");
+    }
+
+    @Override
+    public void add(T element, int index) {
+        throw unsupported();
+    }
+
+    @Override
+    public void remove(int index) {
+        throw unsupported();
+    }
+
+    @Override
+    public void clear() {
+        throw unsupported();
+    }
+
+    @Override
+    public void sort(Comparator<T> comparator) {
+        throw unsupported();
+    }
+
+    @Override
+    public void parallelSort(Comparator<T> comparator) {
+        throw unsupported();
+    }
+
+    @Override
+    public void addAll(MyList<? extends T> elements, int index) {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        throw unsupported();
+    }
+
+    @Override
+    public void removeRange(int from, int to) {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean retainAll(MyList<?> elements) {
+        throw unsupported();
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<T> operator) {
+        throw unsupported();
+    }
+
+    /**
+     * Копирует в массив элементы, опубликованные на момент вызова, поблочно.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public T[] toArray(Class<T> clazz) {
+        int size = published.get();
+        T[] arr = (T[]) Array.newInstance(clazz, size);
+        for(int i = 0; i < size; i += 1 << CHUNK_SHIFT)
+            System.arraycopy(publishedChunk(i), 0, arr, i, Math.min(1 << CHUNK_SHIFT, size - i));
+        return arr;
+    }
+
+    /**
+     * Возвращает итератор элементов, опубликованных на момент его создания. Итератор не поддерживает удаление.
+     * @return итератор элементов коллекции
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ChunkSpliterator(0, published.get());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder()
+                .append("[");
+
+        int size = published.get();
+        for(int i = 0; i < size - 1; i++)
+            sb.append(get(i))
+                    .append(", ");
+
+        if (size > 0)
+            sb.append(get(size - 1));
+
+        sb.append("]");
+        return sb.toString();
+    }
+
+    /**
+     * Spliterator опубликованных элементов с индексами от index до fence. При разделении отдает первую
+     * половину своего участка, выровненную по границе блока.
+     */
+    private final class ChunkSpliterator implements Spliterator<T> {
+        private int index;
+        private final int fence;
+
+        ChunkSpliterator(int index, int fence){
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = ((index + fence) >>> 1) & ~CHUNK_MASK;
+            return mid <= index ? null : new ChunkSpliterator(index, index = mid);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            if (index >= fence)
+                return false;
+
+            action.accept((T) publishedChunk(index)[index & CHUNK_MASK]);
+            index++;
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            while(index < fence){
+                Object[] items = publishedChunk(index);
+                int end = Math.min(fence, (index | CHUNK_MASK) + 1);
+                for(; index < end; index++)
+                    action.accept((T) items[index & CHUNK_MASK]);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+    }
+}
@@ -0,0 +1,777 @@
+package ru.sedov.implementations;
+
+import ru.sedov.MyMap;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * <p>Потокобезопасная реализация интерфейса MyMap. Объекты хранятся в массиве ячеек, каждая из которых
+ * является односвязным списком узлов. Размер массива всегда является степенью двойки.</p>
+ * <br>
+ * <p> Чтение (get, containsKey, containsValue, toKeyArray, toValueArray) никогда не блокируется: ячейки массива
+ * читаются через volatile-доступ, а узлы списка публикуются только полностью построенными. Изменение
+ * (put, remove, compute и т.д.) блокирует только первый узел изменяемой ячейки, поэтому потоки, изменяющие
+ * разные ячейки, не мешают друг другу. Добавление в пустую ячейку выполняется без блокировки, с помощью CAS. </p>
+ * <br>
+ * <p> Когда количество объектов превышает 3/4 размера массива, создается вдвое больший массив. Перенос ячеек
+ * выполняется совместно: массив делится на участки по 16 ячеек, и каждый поток, обнаруживший идущий перенос
+ * при изменении коллекции, забирает себе свободные участки. Перенесенная ячейка заменяется
+ * узлом-перенаправлением, через который чтение и изменение продолжаются в новом массиве. </p>
+ * <br>
+ * <p> Операции putIfAbsent, computeIfAbsent, computeIfPresent, compute и merge выполняются атомарно.
+ * Ключи и значения не могут быть равны null, так как null в результате get означает отсутствие объекта.
+ * Методы size, containsValue, toKeyArray и toValueArray отражают состояние коллекции на момент обхода
+ * и могут не учитывать изменения, выполняемые одновременно с ними. </p>
+ * <ul> Для работы с коллекций были определены следующий методы:
+ *     <li>containsKey(key) - проверка, находится ли в коллекции заданный ключ</li>
+ *     <li>containsValue(value) - проверка, находится ли в коллекции заданное значение</li>
+ *     <li>get(key) - получить значение по ключу</li>
+ *     <li>put(key, value) - поместить пару ключ/значение в коллекцию</li>
+ *     <li>putIfAbsent(key, value) - поместить пару ключ/значение, если ключа еще нет в коллекции</li>
+ *     <li>computeIfAbsent(key, function) - вычислить значение для отсутствующего ключа</li>
+ *     <li>computeIfPresent(key, function) - пересчитать значение существующего ключа</li>
+ *     <li>compute(key, function) - пересчитать значение ключа</li>
+ *     <li>merge(key, value, function) - объединить значение ключа с заданным значением</li>
+ *     <li>remove(key) - удалить объект по ключу</li>
+ *     <li>size() - получить количество объектов в коллекции</li>
+ *     <li>isEmpty() - проверить пуста ли коллекция</li>
+ *     <li>toKeyArray(clazz) - конвертировать все ключи в коллекции в массив</li>
+ *     <li>toValueArray(clazz) - конвертировать все значения в коллекции в массив</li>
+ *     <li>iterator(), stream(), parallelStream() - обойти объекты коллекции</li>
+ *     <li>forEach(action) - выполнить действие для ключа и значения каждого объекта</li>
+ * </ul>
+ * @param <K> тип ключа объекта коллекции
+ * @param <V> тип значения объекта коллекции
+ */
+public class ConcurrentMyHashMap<K, V> implements MyMap<K, V> {
+
+    /**
+     * Стандартный размер массива ячеек.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Максимальный размер массива ячеек.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * Количество ячеек, которое поток забирает для переноса за один раз.
+     */
+    private static final int TRANSFER_STRIDE = 16;
+
+    /**
+     * Хэш-значение узла-перенаправления.
+     */
+    private static final int MOVED = -1;
+
+    /**
+     * Хэш-значение узла, резервирующего пустую ячейку на время вычисления значения.
+     */
+    private static final int RESERVED = -2;
+
+    /**
+     * Маска, оставляющая хэш-значения обычных узлов неотрицательными.
+     */
+    private static final int HASH_BITS = 0x7fffffff;
+
+    private static final VarHandle NODES = MethodHandles.arrayElementVarHandle(Node[].class);
+
+    /**
+     * Текущий массив ячеек.
+     */
+    private volatile Table<K, V> table;
+
+    /**
+     * Количество объектов в коллекции.
+     */
+    private final LongAdder count = new LongAdder();
+
+    public ConcurrentMyHashMap(int capacity){
+        if (capacity < 0)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        table = new Table<>(tableSizeFor(capacity + (capacity >>> 1) + 1));
+    }
+    public ConcurrentMyHashMap(){
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Узел односвязного списка ячейки.
+     */
+    private static class Node<K, V> implements MyMap.Entry<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next){
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public void setValue(V value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Узел, которым заменяется перенесенная ячейка. Указывает на новый массив.
+     */
+    private static final class ForwardingNode<K, V> extends Node<K, V> {
+        final Transfer<K, V> transfer;
+
+        ForwardingNode(Transfer<K, V> transfer){
+            super(MOVED, null, null, null);
+            this.transfer = transfer;
+        }
+    }
+
+    /**
+     * Узел, занимающий пустую ячейку, пока вычисляется значение для compute-операций.
+     */
+    private static final class ReservationNode<K, V> extends Node<K, V> {
+        ReservationNode(){
+            super(RESERVED, null, null, null);
+        }
+    }
+
+    /**
+     * Массив ячеек вместе с порогом его увеличения и состоянием переноса. Каждый массив переносится
+     * не более одного раза, поэтому начало переноса определяется одним CAS поля transfer.
+     */
+    private static final class Table<K, V> {
+        final Node<K, V>[] nodes;
+        final int threshold;
+        volatile Transfer<K, V> transfer;
+
+        private static final VarHandle TRANSFER;
+        static {
+            try {
+                TRANSFER = MethodHandles.lookup().findVarHandle(Table.class, "transfer", Transfer.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        Table(int capacity){
+            nodes = new Node[capacity];
+            threshold = capacity == MAXIMUM_CAPACITY ? Integer.MAX_VALUE : capacity - (capacity >>> 2);
+        }
+
+        boolean startTransfer(Transfer<K, V> t){
+            return TRANSFER.compareAndSet(this, null, t);
+        }
+    }
+
+    /**
+     * Состояние переноса ячеек из одного массива в другой.
+     */
+    private static final class Transfer<K, V> {
+        final Table<K, V> from;
+        final Table<K, V> to;
+        final ForwardingNode<K, V> forward;
+
+        /**
+         * Верхняя граница ячеек, которые еще не забрал ни один поток.
+         */
+        final AtomicInteger transferIndex;
+
+        /**
+         * Количество потоков, выполняющих перенос. Когда оно становится равным нулю, перенос завершен
+         * и присоединиться к нему больше нельзя.
+         */
+        final AtomicInteger helpers = new AtomicInteger(1);
+
+        Transfer(Table<K, V> from){
+            this.from = from;
+            this.to = new Table<>(from.nodes.length << 1);
+            this.forward = new ForwardingNode<>(this);
+            this.transferIndex = new AtomicInteger(from.nodes.length);
+        }
+
+        /**
+         * @return true - если поток присоединился к переносу, false - если перенос уже завершен
+         */
+        boolean join(){
+            for(int h = helpers.get(); h > 0; h = helpers.get())
+                if (helpers.compareAndSet(h, h + 1))
+                    return true;
+            return false;
+        }
+    }
+
+    /**
+     * Округляет размер массива вверх до ближайшей степени двойки.
+     * @param capacity желаемый размер массива
+     * @return степень двойки не меньшая capacity
+     */
+    private static int tableSizeFor(int capacity){
+        if (capacity >= MAXIMUM_CAPACITY || capacity < 0)
+            return MAXIMUM_CAPACITY;
+        return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Перемешивает старшие биты хэш-кода ключа с младшими и оставляет результат неотрицательным,
+     * так как отрицательные хэш-значения зарезервированы для служебных узлов.
+     * @param key ключ объекта
+     * @return хэш-значение ключа
+     */
+    private static int spread(Object key){
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & HASH_BITS;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V> tabAt(Node<K, V>[] tab, int i){
+        return (Node<K, V>) NODES.getVolatile(tab, i);
+    }
+
+    private static <K, V> boolean casTabAt(Node<K, V>[] tab, int i, Node<K, V> expected, Node<K, V> node){
+        return NODES.compareAndSet(tab, i, expected, node);
+    }
+
+    private static <K, V> void setTabAt(Node<K, V>[] tab, int i, Node<K, V> node){
+        NODES.setVolatile(tab, i, node);
+    }
+
+    /**
+     * Присоединяется к переносу, на который указывает узел-перенаправление.
+     * @param forward узел-перенаправление
+     * @return массив, в котором следует продолжить операцию
+     */
+    private Node<K, V>[] helpTransfer(Node<K, V> forward){
+        var t = ((ForwardingNode<K, V>) forward).transfer;
+        if (t.join())
+            transfer(t);
+        return t.to.nodes;
+    }
+
+    /**
+     * Забирает и переносит свободные участки массива, пока они не закончатся. Последний поток,
+     * завершивший перенос, делает новый массив текущим.
+     * @param t состояние переноса
+     */
+    private void transfer(Transfer<K, V> t){
+        int n = t.from.nodes.length;
+        for(int hi = t.transferIndex.get(); hi > 0; hi = t.transferIndex.get()){
+            int lo = Math.max(0, hi - TRANSFER_STRIDE);
+            if (t.transferIndex.compareAndSet(hi, lo))
+                for(int i = lo; i < hi; i++)
+                    transferBin(t, i, n);
+        }
+
+        if (t.helpers.decrementAndGet() == 0)
+            table = t.to;
+    }
+
+    /**
+     * Копирует ячейку старого массива в две ячейки нового массива и заменяет ее узлом-перенаправлением.
+     * Узлы копируются, поэтому потоки, читающие старый список, продолжают видеть его целиком.
+     */
+    private void transferBin(Transfer<K, V> t, int i, int n){
+        var from = t.from.nodes;
+        var to = t.to.nodes;
+        while(true){
+            var f = tabAt(from, i);
+            if (f == null){
+                if (casTabAt(from, i, null, t.forward))
+                    return;
+                continue;
+            }
+            if (f.hash == MOVED)
+                return;
+
+            synchronized (f){
+                if (tabAt(from, i) != f)
+                    continue;
+
+                Node<K, V> lo = null, hi = null;
+                for(var e = f; e != null; e = e.next)
+                    if ((e.hash & n) == 0)
+                        lo = new Node<>(e.hash, e.key, e.value, lo);
+                    else
+                        hi = new Node<>(e.hash, e.key, e.value, hi);
+
+                setTabAt(to, i, lo);
+                setTabAt(to, i + n, hi);
+                setTabAt(from, i, t.forward);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Изменяет счетчик объектов и, если порог текущего массива превышен, начинает перенос
+     * или присоединяется к уже идущему.
+     * @param delta изменение количества объектов
+     */
+    private void addCount(int delta){
+        count.add(delta);
+        if (delta <= 0)
+            return;
+
+        var tab = table;
+        if (count.sum() < tab.threshold || tab.nodes.length >= MAXIMUM_CAPACITY)
+            return;
+
+        var t = tab.transfer;
+        if (t == null){
+            t = new Transfer<>(tab);
+            if (tab.startTransfer(t)){
+                transfer(t);
+                return;
+            }
+            t = tab.transfer;
+        }
+        if (t.join())
+            transfer(t);
+    }
+
+    /**
+     * Находит узел с заданным ключом, не блокируя коллекцию.
+     * @param key ключ объекта
+     * @return узел или null, если объекта с таким ключом нет
+     */
+    private Node<K, V> getNode(Object key){
+        int hash = spread(key);
+        var tab = table.nodes;
+        var e = tabAt(tab, hash & (tab.length - 1));
+        while(e != null){
+            if (e.hash == MOVED){
+                tab = ((ForwardingNode<K, V>) e).transfer.to.nodes;
+                e = tabAt(tab, hash & (tab.length - 1));
+                continue;
+            }
+            if (e.hash == hash && e.key.equals(key))
+                return e;
+            e = e.next;
+        }
+        return null;
+    }
+
+    /**
+     * Обходит все узлы коллекции, следуя узлам-перенаправлениям в новые массивы.
+     * @param tab массив ячеек
+     * @param i номер ячейки
+     * @param action действие, выполняемое для каждого узла
+     */
+    private static <K, V> void traverse(Node<K, V>[] tab, int i, Consumer<Node<K, V>> action){
+        var e = tabAt(tab, i);
+        if (e != null && e.hash == MOVED){
+            var next = ((ForwardingNode<K, V>) e).transfer.to.nodes;
+            traverse(next, i, action);
+            traverse(next, i + tab.length, action);
+            return;
+        }
+        for(; e != null; e = e.next)
+            if (e.hash >= 0)
+                action.accept(e);
+    }
+
+    private void forEachNode(Consumer<Node<K, V>> action){
+        var tab = table.nodes;
+        for(int i = 0; i < tab.length; i++)
+            traverse(tab, i, action);
+    }
+
+    /**
+     * Помещает объект в коллекцию.
+     * @param key ключ объекта
+     * @param value значение объекта
+     * @param onlyIfAbsent не заменять значение существующего объекта
+     * @return предыдущее значение или null, если объекта с таким ключом не было
+     */
+    private V putValue(K key, V value, boolean onlyIfAbsent){
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+
+        int hash = spread(key);
+        var tab = table.nodes;
+        while(true){
+            int i = hash & (tab.length - 1);
+            var f = tabAt(tab, i);
+            if (f == null){
+                if (casTabAt(tab, i, null, new Node<>(hash, key, value, null)))
+                    break;
+            }
+            else if (f.hash == MOVED)
+                tab = helpTransfer(f);
+            else {
+                synchronized (f){
+                    if (tabAt(tab, i) != f)
+                        continue;
+
+                    for(var e = f; ; e = e.next){
+                        if (e.hash == hash && e.key.equals(key)){
+                            V old = e.value;
+                            if (!onlyIfAbsent)
+                                e.value = value;
+                            return old;
+                        }
+                        if (e.next == null){
+                            e.next = new Node<>(hash, key, value, null);
+                            break;
+                        }
+                    }
+                }
+                break;
+            }
+        }
+        addCount(1);
+        return null;
+    }
+
+    /**
+     * Атомарно пересчитывает значение объекта с заданным ключом.
+     * @param key ключ объекта
+     * @param function функция, получающая ключ и текущее значение (или null, если объекта нет)
+     *                 и возвращающая новое значение (или null, если объект нужно удалить)
+     * @return новое значение или null, если объекта нет
+     */
+    private V remap(K key, BiFunction<? super K, ? super V, ? extends V> function){
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(function);
+
+        int hash = spread(key);
+        int delta = 0;
+        V result = null;
+        var tab = table.nodes;
+        while(true){
+            int i = hash & (tab.length - 1);
+            var f = tabAt(tab, i);
+            if (f == null){
+                var r = new ReservationNode<K, V>();
+                synchronized (r){
+                    if (!casTabAt(tab, i, null, r))
+                        continue;
+
+                    Node<K, V> node = null;
+                    try {
+                        result = function.apply(key, null);
+                        if (result != null){
+                            node = new Node<>(hash, key, result, null);
+                            delta = 1;
+                        }
+                    } finally {
+                        setTabAt(tab, i, node);
+                    }
+                }
+                break;
+            }
+            else if (f.hash == MOVED)
+                tab = helpTransfer(f);
+            else {
+                synchronized (f){
+                    if (tabAt(tab, i) != f)
+                        continue;
+
+                    Node<K, V> pred = null, e = f;
+                    while(e != null && !(e.hash == hash && e.key.equals(key))){
+                        pred = e;
+                        e = e.next;
+                    }
+
+                    result = function.apply(key, e == null ? null : e.value);
+                    if (e != null && result != null)
+                        e.value = result;
+                    else if (e != null){
+                        delta = -1;
+                        if (pred == null)
+                            setTabAt(tab, i, e.next);
+                        else
+                            pred.next = e.next;
+                    }
+                    else if (result != null){
+                        delta = 1;
+                        pred.next = new Node<>(hash, key, result, null);
+                    }
+                }
+                break;
+            }
+        }
+        if (delta != 0)
+            addCount(delta);
+        return result;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return getNode(key) != null;
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        Objects.requireNonNull(value);
+        var tab = table.nodes;
+        boolean[] found = { false };
+        for(int i = 0; i < tab.length && !found[0]; i++)
+            traverse(tab, i, node -> found[0] |= value.equals(node.value));
+        return found[0];
+    }
+
+    @Override
+    public V get(K key) {
+        var node = getNode(key);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        putValue(key, value, false);
+    }
+
+    /**
+     * Атомарно помещает объект в коллекцию, если объекта с таким ключом еще нет.
+     * @param key ключ объекта
+     * @param value значение объекта
+     * @return текущее значение объекта с таким ключом или null, если его не было и значение было помещено
+     */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return putValue(key, value, true);
+    }
+
+    /**
+     * Атомарно вычисляет и помещает значение, если объекта с таким ключом нет. Функция вызывается не более
+     * одного раза и блокирует ячейку, поэтому она должна быть короткой и не должна изменять коллекцию.
+     * @param key ключ объекта
+     * @param function функция, вычисляющая значение по ключу
+     * @return текущее или вычисленное значение, null - если функция вернула null
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+        Objects.requireNonNull(function);
+        var node = getNode(key);
+        if (node != null)
+            return node.value;
+        return remap(key, (k, old) -> old != null ? old : function.apply(k));
+    }
+
+    /**
+     * Атомарно пересчитывает значение существующего объекта. Если функция вернула null, объект удаляется.
+     * @param key ключ объекта
+     * @param function функция, получающая ключ и текущее значение
+     * @return новое значение или null, если объекта нет
+     */
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> function) {
+        Objects.requireNonNull(function);
+        return remap(key, (k, old) -> old == null ? null : function.apply(k, old));
+    }
+
+    /**
+     * Атомарно пересчитывает значение объекта. Если функция вернула null, объект удаляется.
+     * @param key ключ объекта
+     * @param function функция, получающая ключ и текущее значение (или null, если объекта нет)
+     * @return новое значение или null, если объекта нет
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> function) {
+        return remap(key, function);
+    }
+
+    /**
+     * Атомарно помещает значение, если объекта с таким ключом нет, иначе объединяет текущее значение
+     * с заданным. Если функция вернула null, объект удаляется.
+     * @param key ключ объекта
+     * @param value значение объекта
+     * @param function функция, объединяющая текущее и заданное значения
+     * @return новое значение или null, если объект удален
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> function) {
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(function);
+        return remap(key, (k, old) -> old == null ? value : function.apply(old, value));
+    }
+
+    @Override
+    public V remove(K key) {
+        Objects.requireNonNull(key);
+
+        int hash = spread(key);
+        var tab = table.nodes;
+        while(true){
+            int i = hash & (tab.length - 1);
+            var f = tabAt(tab, i);
+            if (f == null)
+                return null;
+            if (f.hash == MOVED){
+                tab = helpTransfer(f);
+                continue;
+            }
+
+            synchronized (f){
+                if (tabAt(tab, i) != f)
+                    continue;
+
+                for(Node<K, V> pred = null, e = f; e != null; pred = e, e = e.next)
+                    if (e.hash == hash && e.key.equals(key)){
+                        if (pred == null)
+                            setTabAt(tab, i, e.next);
+                        else
+                            pred.next = e.next;
+                        addCount(-1);
+                        return e.value;
+                    }
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        long n = count.sum();
+        return n < 0 ? 0 : (int) Math.min(n, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count.sum() <= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public K[] toKeyArray(Class<K> clazz) {
+        List<K> keys = new ArrayList<>(size());
+        forEachNode(node -> keys.add(node.key));
+        return keys.toArray((K[]) Array.newInstance(clazz, keys.size()));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V[] toValueArray(Class<V> clazz) {
+        List<V> values = new ArrayList<>(size());
+        forEachNode(node -> values.add(node.value));
+        return values.toArray((V[]) Array.newInstance(clazz, values.size()));
+    }
+
+    /**
+     * Возвращает слабо согласованный итератор: он не выбрасывает ConcurrentModificationException, возвращает
+     * каждый объект не более одного раза и может не учитывать изменения, выполняемые во время обхода.
+     * Метод setValue возвращаемых объектов не поддерживается.
+     * @return итератор объектов коллекции
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Возвращает слабо согласованный Spliterator, который делит между потоками номера ячеек текущего массива.
+     * @return Spliterator объектов коллекции
+     */
+    @Override
+    public Spliterator<Entry<K, V>> spliterator() {
+        var tab = table.nodes;
+        return new BinSpliterator<>(tab, 0, tab.length, Math.max(count.sum(), 0));
+    }
+
+    /**
+     * Обходит все узлы коллекции без блокировок и промежуточных массивов.
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action);
+        forEachNode(node -> action.accept(node.key, node.value));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        forEachNode(node -> sb.append(node.key).append(" : ").append(node.value).append(", "));
+
+        return (sb.length() > 1 ? sb.substring(0, sb.length() - 2) : sb.toString()) + "]";
+    }
+
+    /**
+     * Spliterator узлов ячеек массива с номерами от index до fence. Узлы ячейки, перенесенной в новый массив,
+     * находятся через узел-перенаправление и сначала собираются в буфер.
+     */
+    private static final class BinSpliterator<K, V> implements Spliterator<Entry<K, V>> {
+        private final Node<K, V>[] tab;
+        private int index;
+        private final int fence;
+        private long estimate;
+        private final List<Node<K, V>> buffer = new ArrayList<>();
+        private int position = 0;
+
+        BinSpliterator(Node<K, V>[] tab, int index, int fence, long estimate){
+            this.tab = tab;
+            this.index = index;
+            this.fence = fence;
+            this.estimate = estimate;
+        }
+
+        @Override
+        public Spliterator<Entry<K, V>> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (index >= mid || position < buffer.size())
+                return null;
+            return new BinSpliterator<>(tab, index, index = mid, estimate >>>= 1);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Entry<K, V>> action) {
+            Objects.requireNonNull(action);
+            while(position >= buffer.size()){
+                if (index >= fence)
+                    return false;
+                buffer.clear();
+                position = 0;
+                traverse(tab, index++, buffer::add);
+            }
+            action.accept(buffer.get(position++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Entry<K, V>> action) {
+            Objects.requireNonNull(action);
+            while(position < buffer.size())
+                action.accept(buffer.get(position++));
+            for(; index < fence; index++)
+                traverse(tab, index, action::accept);
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.CONCURRENT | Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+    }
+}
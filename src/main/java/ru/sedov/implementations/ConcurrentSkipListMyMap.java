@@ -0,0 +1,922 @@
+package ru.sedov.implementations;
+
+import ru.sedov.MySortedMap;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * <p>Потокобезопасная реализация интерфейса MySortedMap в виде списка с пропусками (skip list), в которой
+ * ни одна операция не использует блокировки. Объекты хранятся в односвязном списке узлов, упорядоченном
+ * по ключу, а над ним построены уровни индексов: каждый узел с вероятностью 1/4 получает индекс следующего
+ * уровня, поэтому поиск, добавление и удаление выполняются в среднем за O(log n). </p>
+ * <br>
+ * <p> Добавление узла выполняется одним CAS ссылки next предыдущего узла. Удаление выполняется в три шага:
+ * CAS значения узла на null (после этого узел считается удаленным), добавление после узла узла-маркера,
+ * запрещающего вставку за удаленным узлом, и CAS ссылки предыдущего узла в обход удаленного. Поток,
+ * встретивший при поиске удаленный узел, сам завершает его исключение из списка, поэтому ни один поток
+ * не ждет другой. Чтение (get, containsKey, floorEntry, ceilingEntry, обход) только читает volatile-ссылки
+ * и никогда не блокируется, а изменения разных частей списка не мешают друг другу. </p>
+ * <br>
+ * <p> Итераторы, потоки и представления subMap, headMap и tailMap слабо согласованы: они обходят объекты
+ * в порядке возрастания ключей, никогда не выбрасывают ConcurrentModificationException и могут не учитывать
+ * изменения, выполняемые одновременно с обходом. Объекты, возвращаемые итератором и методами floorEntry
+ * и ceilingEntry, являются снимками и не поддерживают setValue. Метод size суммирует счетчик объектов
+ * и также может не учитывать одновременные изменения. </p>
+ * <br>
+ * <p> Операции putIfAbsent, computeIfAbsent, computeIfPresent, compute и merge выполняются атомарно
+ * с помощью CAS значения узла; при одновременном изменении того же ключа функция может быть вызвана
+ * повторно. Ключи и значения не могут быть равны null, так как null в значении узла означает удаленный узел. </p>
+ * <ul> Для работы с коллекций были определены следующий методы:
+ *     <li>containsKey(key) - проверка, находится ли в коллекции заданный ключ</li>
+ *     <li>containsValue(value) - проверка, находится ли в коллекции заданное значение</li>
+ *     <li>get(key) - получить значение по ключу</li>
+ *     <li>put(key, value) - поместить пару ключ/значение в коллекцию</li>
+ *     <li>putIfAbsent, computeIfAbsent, computeIfPresent, compute, merge - атомарно изменить значение ключа</li>
+ *     <li>remove(key) - удалить объект по ключу</li>
+ *     <li>firstKey(), lastKey() - получить наименьший и наибольший ключ</li>
+ *     <li>floorEntry(key), floorKey(key) - найти объект с наибольшим ключом, не превышающим заданный</li>
+ *     <li>ceilingEntry(key), ceilingKey(key) - найти объект с наименьшим ключом, не меньшим заданного</li>
+ *     <li>subMap(fromKey, toKey), headMap(toKey), tailMap(fromKey) - получить представление диапазона ключей</li>
+ *     <li>size() - получить количество объектов в коллекции</li>
+ *     <li>isEmpty() - проверить пуста ли коллекция</li>
+ *     <li>toKeyArray(clazz) - конвертировать все ключи в коллекции в массив</li>
+ *     <li>toValueArray(clazz) - конвертировать все значения в коллекции в массив</li>
+ *     <li>iterator(), stream() - обойти объекты коллекции в порядке возрастания ключей</li>
+ * </ul>
+ * @param <K> тип ключа объекта коллекции
+ * @param <V> тип значения объекта коллекции
+ */
+public class ConcurrentSkipListMyMap<K, V> implements MySortedMap<K, V> {
+
+    private static final VarHandle HEAD, NEXT, VALUE, RIGHT;
+
+    static {
+        try {
+            var lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(ConcurrentSkipListMyMap.class, "head", Index.class);
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+            VALUE = lookup.findVarHandle(Node.class, "value", Object.class);
+            RIGHT = lookup.findVarHandle(Index.class, "right", Index.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Максимальное количество уровней индексов.
+     */
+    private static final int MAX_LEVEL = 32;
+
+    private final Comparator<? super K> comparator;
+
+    /**
+     * Верхний индекс заголовка. Заголовок - узел без ключа, с которого начинается список узлов.
+     */
+    private volatile Index head;
+
+    /**
+     * Количество объектов в коллекции.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Представление всей коллекции, через которое выполняется обход.
+     */
+    private final Range whole = new Range(null, false, false, null, false, false);
+
+    public ConcurrentSkipListMyMap(Comparator<? super K> comparator){
+        this.comparator = comparator;
+        head = new Index(new Node(null, null, null), null, null);
+    }
+    public ConcurrentSkipListMyMap(){
+        this(null);
+    }
+
+    /**
+     * Узел списка объектов. Значение null означает удаленный узел. Узел без ключа и значения, следующий
+     * за удаленным узлом, является маркером, запрещающим вставку после удаленного узла.
+     */
+    private static final class Node {
+        final Object key;
+        volatile Object value;
+        volatile Node next;
+
+        Node(Object key, Object value, Node next){
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Индекс узла на одном из уровней. Ссылка down указывает на индекс того же узла уровнем ниже.
+     */
+    private static final class Index {
+        final Node node;
+        final Index down;
+        volatile Index right;
+
+        Index(Node node, Index down, Index right){
+            this.node = node;
+            this.down = down;
+            this.right = right;
+        }
+    }
+
+    /**
+     * Сравнивает ключи. Ключ null означает бесконечность и больше любого ключа.
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(Object a, Object b){
+        if (a == null)
+            return 1;
+        return comparator == null ? ((Comparable<Object>) a).compareTo(b) : comparator.compare((K) a, (K) b);
+    }
+
+    /**
+     * Исключает удаленный узел n из списка: добавляет после него маркер, если маркера еще нет,
+     * и переводит ссылку предыдущего узла b на узел, следующий за маркером.
+     */
+    private static void unlink(Node b, Node n){
+        Node f, p;
+        for(;;){
+            if ((f = n.next) != null && f.key == null){
+                p = f.next;
+                break;
+            }
+            if (NEXT.compareAndSet(n, f, new Node(null, null, f))){
+                p = f;
+                break;
+            }
+        }
+        NEXT.compareAndSet(b, n, p);
+    }
+
+    /**
+     * Спускается по индексам к последнему узлу нижнего уровня с ключом меньше key. По пути удаляет
+     * из уровней индексы удаленных узлов.
+     * @param key ключ или null для поиска последнего индексированного узла
+     * @return узел с ключом меньше key или заголовок
+     */
+    private Node findPredecessor(Object key){
+        Index q = head;
+        for(;;){
+            Index r = q.right;
+            while(r != null){
+                Node p = r.node;
+                if (p.value == null){
+                    RIGHT.compareAndSet(q, r, r.right);
+                    r = q.right;
+                } else if (compare(key, p.key) > 0){
+                    q = r;
+                    r = q.right;
+                } else
+                    break;
+            }
+            if (q.down == null)
+                return q.node;
+            q = q.down;
+        }
+    }
+
+    /**
+     * @return живой узел с ключом key или null
+     */
+    private Node findNode(Object key){
+        outer:
+        for(;;){
+            Node b = findPredecessor(key);
+            for(;;){
+                Node n = b.next;
+                if (n == null)
+                    return null;
+                if (n.key == null)
+                    // b удален, поиск начинается заново
+                    continue outer;
+                if (n.value == null){
+                    unlink(b, n);
+                    continue;
+                }
+                int c = compare(key, n.key);
+                if (c > 0)
+                    b = n;
+                else if (c == 0)
+                    return n;
+                else
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * Добавляет объект или заменяет значение существующего объекта.
+     * @param onlyIfAbsent не заменять значение существующего объекта
+     * @return предыдущее значение или null, если объект был добавлен
+     */
+    private Object doPut(Object key, Object value, boolean onlyIfAbsent){
+        outer:
+        for(;;){
+            Index h = head;
+            int levels = 0;
+            Index q = h;
+            for(;;){
+                Index r = q.right;
+                while(r != null){
+                    Node p = r.node;
+                    if (p.value == null){
+                        RIGHT.compareAndSet(q, r, r.right);
+                        r = q.right;
+                    } else if (compare(key, p.key) > 0){
+                        q = r;
+                        r = q.right;
+                    } else
+                        break;
+                }
+                if (q.down == null)
+                    break;
+                levels++;
+                q = q.down;
+            }
+
+            Node b = q.node, z;
+            for(;;){
+                Node n = b.next;
+                int c;
+                if (n == null){
+                    if (b.key == null)
+                        // Первый ключ сравнивается сам с собой, чтобы сразу проверить его тип
+                        compare(key, key);
+                    c = -1;
+                } else if (n.key == null)
+                    continue outer;
+                else if (n.value == null){
+                    unlink(b, n);
+                    continue;
+                } else if ((c = compare(key, n.key)) > 0){
+                    b = n;
+                    continue;
+                } else if (c == 0){
+                    Object old = n.value;
+                    if (old == null)
+                        continue;
+                    if (onlyIfAbsent || VALUE.compareAndSet(n, old, value))
+                        return old;
+                    continue;
+                }
+
+                Node created = new Node(key, value, n);
+                if (NEXT.compareAndSet(b, n, created)){
+                    z = created;
+                    break;
+                }
+            }
+
+            count.increment();
+            addIndices(h, levels, z);
+            return null;
+        }
+    }
+
+    /**
+     * Выбирает случайное количество уровней индексов для нового узла и вставляет индексы в уровни,
+     * начиная с верхнего. Если узлу выпал уровень выше текущего, добавляется новый верхний уровень.
+     * @param h верхний индекс заголовка на момент вставки узла
+     * @param levels количество уровней индексов под уровнем h
+     * @param z новый узел
+     */
+    private void addIndices(Index h, int levels, Node z){
+        int rnd = ThreadLocalRandom.current().nextInt();
+        if ((rnd & 3) != 0)
+            return;
+
+        int height = 1;
+        for(rnd >>>= 2; (rnd & 3) == 0 && height < MAX_LEVEL; rnd >>>= 2)
+            height++;
+
+        int available = levels + 1, towerHeight = Math.min(height, available);
+        Index x = null;
+        for(int i = 0; i < towerHeight; i++)
+            x = new Index(z, x, null);
+
+        if (insertIndex(h, available - towerHeight, x) && height > available && head == h){
+            Index top = new Index(z, x, null);
+            HEAD.compareAndSet(this, h, new Index(h.node, h, top));
+        }
+        if (z.value == null)
+            // Узел удален во время вставки индексов: поиск исключит их из уровней
+            findPredecessor(z.key);
+    }
+
+    /**
+     * Вставляет башню индексов x в уровни, начиная с индекса q. Верхний индекс башни вставляется
+     * на уровне, находящемся на skips уровней ниже q, остальные - на нижележащих уровнях.
+     * @return false - если узел башни оказался удален или уже проиндексирован
+     */
+    private boolean insertIndex(Index q, int skips, Index x){
+        Node z = x.node;
+        Object key = z.key;
+        boolean retrying = false;
+        for(;;){
+            Index r = q.right;
+            int c;
+            if (r != null){
+                Node p = r.node;
+                if (p.value == null){
+                    RIGHT.compareAndSet(q, r, r.right);
+                    continue;
+                }
+                c = compare(key, p.key);
+                if (c > 0){
+                    q = r;
+                    continue;
+                }
+                if (c == 0)
+                    return false;
+            }
+
+            Index d = q.down;
+            if (d != null && skips > 0){
+                skips--;
+                q = d;
+            } else if (d != null && !retrying && x.down != null && !insertIndex(d, 0, x.down))
+                return false;
+            else {
+                x.right = r;
+                if (RIGHT.compareAndSet(q, r, x))
+                    return true;
+                retrying = true;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V doRemove(Object key){
+        outer:
+        for(;;){
+            Node b = findPredecessor(key);
+            for(;;){
+                Node n = b.next;
+                if (n == null)
+                    return null;
+                if (n.key == null)
+                    continue outer;
+                Object value = n.value;
+                if (value == null){
+                    unlink(b, n);
+                    continue;
+                }
+                int c = compare(key, n.key);
+                if (c > 0){
+                    b = n;
+                    continue;
+                }
+                if (c < 0)
+                    return null;
+                if (VALUE.compareAndSet(n, value, null)){
+                    count.decrement();
+                    unlink(b, n);
+                    findPredecessor(key);
+                    return (V) value;
+                }
+            }
+        }
+    }
+
+    /**
+     * Находит первый живой узел с ключом больше (или равным, если inclusive) key. Идет по списку
+     * от предшественника, пропуская удаленные узлы и маркеры.
+     * @param key ключ или null для поиска первого узла
+     */
+    private Node ceilingNode(Object key, boolean inclusive){
+        Node n = key == null ? head.node.next : findPredecessor(key).next;
+        for(; n != null; n = n.next)
+            if (n.key != null && n.value != null && (key == null || compare(n.key, key) >= (inclusive ? 0 : 1)))
+                return n;
+        return null;
+    }
+
+    /**
+     * Находит последний живой узел с ключом меньше (или равным, если inclusive) key. Если между
+     * предшественником и key живых узлов нет, поиск повторяется для ключа предшественника.
+     * @param key ключ или null для поиска последнего узла
+     */
+    private Node floorNode(Object key, boolean inclusive){
+        for(;;){
+            Node b = findPredecessor(key), found = null;
+            for(Node n = b; n != null; n = n.next){
+                if (n.key == null || n.value == null)
+                    continue;
+                int c = key == null ? -1 : compare(n.key, key);
+                if (c > 0 || (c == 0 && !inclusive))
+                    break;
+                found = n;
+            }
+            if (found != null || b.key == null)
+                return found;
+            key = b.key;
+            inclusive = false;
+        }
+    }
+
+    private static void checkValue(Object value){
+        if (value == null)
+            throw new NullPointerException("Null values are not supported");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(K key) {
+        Objects.requireNonNull(key);
+        Node n = findNode(key);
+        return n == null ? null : (V) n.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        if (value == null)
+            return false;
+        for(Node n = head.node.next; n != null; n = n.next)
+            if (n.key != null && value.equals(n.value))
+                return true;
+        return false;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        Objects.requireNonNull(key);
+        checkValue(value);
+        doPut(key, value, false);
+    }
+
+    @Override
+    public V remove(K key) {
+        Objects.requireNonNull(key);
+        return doRemove(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V putIfAbsent(K key, V value) {
+        Objects.requireNonNull(key);
+        checkValue(value);
+        return (V) doPut(key, value, true);
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+        Objects.requireNonNull(function);
+        V value = get(key);
+        if (value != null)
+            return value;
+        return compute(key, (k, old) -> old != null ? old : function.apply(k));
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> function) {
+        Objects.requireNonNull(function);
+        return compute(key, (k, old) -> old == null ? null : function.apply(k, old));
+    }
+
+    /**
+     * Атомарно пересчитывает значение ключа. Значение узла заменяется CAS, поэтому если значение
+     * одновременно изменил другой поток, функция вызывается повторно с новым значением.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> function) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(function);
+        for(;;){
+            Node n = findNode(key);
+            if (n == null){
+                V value = function.apply(key, null);
+                if (value == null || doPut(key, value, true) == null)
+                    return value;
+                continue;
+            }
+
+            V old = (V) n.value;
+            if (old == null)
+                continue;
+            V value = function.apply(key, old);
+            if (value != null){
+                if (VALUE.compareAndSet(n, old, value))
+                    return value;
+            } else if (VALUE.compareAndSet(n, old, null)){
+                count.decrement();
+                findNode(key);
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> function) {
+        checkValue(value);
+        Objects.requireNonNull(function);
+        return compute(key, (k, old) -> old == null ? value : function.apply(old, value));
+    }
+
+    @Override
+    public K firstKey() {
+        return whole.firstKey();
+    }
+
+    @Override
+    public K lastKey() {
+        return whole.lastKey();
+    }
+
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        return whole.floorEntry(key);
+    }
+
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        return whole.ceilingEntry(key);
+    }
+
+    @Override
+    public MySortedMap<K, V> subMap(K fromKey, K toKey) {
+        return whole.subMap(fromKey, toKey);
+    }
+
+    @Override
+    public MySortedMap<K, V> headMap(K toKey) {
+        return whole.headMap(toKey);
+    }
+
+    @Override
+    public MySortedMap<K, V> tailMap(K fromKey) {
+        return whole.tailMap(fromKey);
+    }
+
+    @Override
+    public int size() {
+        long n = count.sum();
+        return n < 0 ? 0 : (int) Math.min(n, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return ceilingNode(null, true) == null;
+    }
+
+    @Override
+    public K[] toKeyArray(Class<K> clazz) {
+        return whole.toKeyArray(clazz);
+    }
+
+    @Override
+    public V[] toValueArray(Class<V> clazz) {
+        return whole.toValueArray(clazz);
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return whole.iterator();
+    }
+
+    @Override
+    public Spliterator<Entry<K, V>> spliterator() {
+        return whole.spliterator();
+    }
+
+    @Override
+    public String toString() {
+        return whole.toString();
+    }
+
+    /**
+     * Снимок объекта коллекции на момент его чтения.
+     */
+    private static final class SnapshotEntry<K, V> implements Entry<K, V> {
+        private final K key;
+        private final V value;
+
+        SnapshotEntry(K key, V value){
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public void setValue(V value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Представление диапазона ключей коллекции. Границы хранятся вместе с признаками наличия и включения,
+     * поэтому одно представление описывает и всю коллекцию, и subMap, headMap, tailMap. Все операции
+     * выполняются над списком коллекции, а размер диапазона считается обходом его объектов.
+     */
+    private final class Range implements MySortedMap<K, V> {
+        private final Object low, high;
+        private final boolean hasLow, lowInclusive, hasHigh, highInclusive;
+
+        Range(Object low, boolean hasLow, boolean lowInclusive, Object high, boolean hasHigh, boolean highInclusive){
+            this.low = low;
+            this.hasLow = hasLow;
+            this.lowInclusive = lowInclusive;
+            this.high = high;
+            this.hasHigh = hasHigh;
+            this.highInclusive = highInclusive;
+        }
+
+        private boolean tooLow(Object key){
+            if (!hasLow)
+                return false;
+            int cmp = compare(key, low);
+            return cmp < 0 || (cmp == 0 && !lowInclusive);
+        }
+
+        private boolean tooHigh(Object key){
+            if (!hasHigh)
+                return false;
+            int cmp = compare(key, high);
+            return cmp > 0 || (cmp == 0 && !highInclusive);
+        }
+
+        private boolean inRange(Object key){
+            return !tooLow(key) && !tooHigh(key);
+        }
+
+        private Node lowest(){
+            Node n = hasLow ? ceilingNode(low, lowInclusive) : ceilingNode(null, true);
+            return n != null && !tooHigh(n.key) ? n : null;
+        }
+
+        private Node highest(){
+            Node n = hasHigh ? floorNode(high, highInclusive) : floorNode(null, true);
+            return n != null && !tooLow(n.key) ? n : null;
+        }
+
+        /**
+         * Возвращает снимок узла. Если узел удален после того, как был найден, возвращается null.
+         */
+        @SuppressWarnings("unchecked")
+        private Entry<K, V> snapshot(Node n){
+            if (n == null)
+                return null;
+            Object value = n.value;
+            return value == null ? null : new SnapshotEntry<>((K) n.key, (V) value);
+        }
+
+        @SuppressWarnings("unchecked")
+        private K keyOf(Node n){
+            if (n == null)
+                throw new NoSuchElementException();
+            return (K) n.key;
+        }
+
+        @Override
+        public K firstKey() {
+            return keyOf(lowest());
+        }
+
+        @Override
+        public K lastKey() {
+            return keyOf(highest());
+        }
+
+        @Override
+        public Entry<K, V> floorEntry(K key) {
+            Objects.requireNonNull(key);
+            if (tooHigh(key))
+                return snapshot(highest());
+            Node n = floorNode(key, true);
+            return snapshot(n != null && !tooLow(n.key) ? n : null);
+        }
+
+        @Override
+        public Entry<K, V> ceilingEntry(K key) {
+            Objects.requireNonNull(key);
+            if (tooLow(key))
+                return snapshot(lowest());
+            Node n = ceilingNode(key, true);
+            return snapshot(n != null && !tooHigh(n.key) ? n : null);
+        }
+
+        /**
+         * Возвращает пересечение диапазона с заданными границами.
+         */
+        private Range intersect(Object from, boolean hasFrom, Object to, boolean hasTo){
+            Object newLow = low, newHigh = high;
+            boolean newHasLow = hasLow, newLowInclusive = lowInclusive;
+            boolean newHasHigh = hasHigh, newHighInclusive = highInclusive;
+            if (hasFrom && (!hasLow || compare(from, low) > 0)){
+                newLow = from;
+                newHasLow = newLowInclusive = true;
+            }
+            if (hasTo && (!hasHigh || compare(to, high) <= 0)){
+                newHigh = to;
+                newHasHigh = true;
+                newHighInclusive = false;
+            }
+            return new Range(newLow, newHasLow, newLowInclusive, newHigh, newHasHigh, newHighInclusive);
+        }
+
+        @Override
+        public MySortedMap<K, V> subMap(K fromKey, K toKey) {
+            Objects.requireNonNull(fromKey);
+            Objects.requireNonNull(toKey);
+            if (compare(fromKey, toKey) > 0)
+                throw new IllegalArgumentException("fromKey > toKey");
+            return intersect(fromKey, true, toKey, true);
+        }
+
+        @Override
+        public MySortedMap<K, V> headMap(K toKey) {
+            Objects.requireNonNull(toKey);
+            return intersect(null, false, toKey, true);
+        }
+
+        @Override
+        public MySortedMap<K, V> tailMap(K fromKey) {
+            Objects.requireNonNull(fromKey);
+            return intersect(fromKey, true, null, false);
+        }
+
+        private void checkRange(K key){
+            Objects.requireNonNull(key);
+            if (!inRange(key))
+                throw new IllegalArgumentException("Key out of range: " + key);
+        }
+
+        @Override
+        public boolean containsKey(K key) {
+            return inRange(key) && ConcurrentSkipListMyMap.this.containsKey(key);
+        }
+
+        @Override
+        public boolean containsValue(V value) {
+            for(var entry : this)
+                if (entry.getValue().equals(value))
+                    return true;
+            return false;
+        }
+
+        @Override
+        public V get(K key) {
+            return inRange(key) ? ConcurrentSkipListMyMap.this.get(key) : null;
+        }
+
+        @Override
+        public void put(K key, V value) {
+            checkRange(key);
+            ConcurrentSkipListMyMap.this.put(key, value);
+        }
+
+        @Override
+        public V remove(K key) {
+            return inRange(key) ? ConcurrentSkipListMyMap.this.remove(key) : null;
+        }
+
+        @Override
+        public V putIfAbsent(K key, V value) {
+            checkRange(key);
+            return ConcurrentSkipListMyMap.this.putIfAbsent(key, value);
+        }
+
+        @Override
+        public V compute(K key, BiFunction<? super K, ? super V, ? extends V> function) {
+            checkRange(key);
+            return ConcurrentSkipListMyMap.this.compute(key, function);
+        }
+
+        @Override
+        public V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+            checkRange(key);
+            return ConcurrentSkipListMyMap.this.computeIfAbsent(key, function);
+        }
+
+        @Override
+        public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> function) {
+            checkRange(key);
+            return ConcurrentSkipListMyMap.this.computeIfPresent(key, function);
+        }
+
+        @Override
+        public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> function) {
+            checkRange(key);
+            return ConcurrentSkipListMyMap.this.merge(key, value, function);
+        }
+
+        @Override
+        public int size() {
+            int count = 0;
+            for(var it = iterator(); it.hasNext(); it.next())
+                count++;
+            return count;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return lowest() == null;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public K[] toKeyArray(Class<K> clazz) {
+            List<K> keys = new ArrayList<>();
+            for(var entry : this)
+                keys.add(entry.getKey());
+            return keys.toArray((K[]) Array.newInstance(clazz, keys.size()));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V[] toValueArray(Class<V> clazz) {
+            List<V> values = new ArrayList<>();
+            for(var entry : this)
+                values.add(entry.getValue());
+            return values.toArray((V[]) Array.newInstance(clazz, values.size()));
+        }
+
+        /**
+         * Возвращает слабо согласованный итератор объектов диапазона в порядке возрастания ключей. Начало
+         * диапазона находится поиском по индексам, после чего итератор идет по списку узлов, пропуская
+         * удаленные узлы, до первого ключа за верхней границей. Следующий узел находится заранее, поэтому
+         * hasNext и next согласованы между собой.
+         */
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new Iterator<>() {
+                private Node next = lowest();
+                private Entry<K, V> entry = advance();
+
+                /**
+                 * Делает снимок текущего узла, пропуская узлы, удаленные после того, как были найдены.
+                 */
+                private Entry<K, V> advance(){
+                    for(; next != null; next = next.next){
+                        if (next.key == null)
+                            continue;
+                        if (tooHigh(next.key)){
+                            next = null;
+                            return null;
+                        }
+                        var snapshot = snapshot(next);
+                        if (snapshot != null){
+                            next = next.next;
+                            return snapshot;
+                        }
+                    }
+                    return null;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return entry != null;
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    if (entry == null)
+                        throw new NoSuchElementException();
+                    var result = entry;
+                    entry = advance();
+                    return result;
+                }
+            };
+        }
+
+        @Override
+        public Spliterator<Entry<K, V>> spliterator() {
+            return Spliterators.spliteratorUnknownSize(iterator(),
+                    Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.ORDERED | Spliterator.CONCURRENT);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("[");
+            for(var entry : this)
+                sb.append(entry.getKey()).append(" : ").append(entry.getValue()).append(", ");
+
+            return (sb.length() > 1 ? sb.substring(0, sb.length() - 2) : sb.toString()) + "]";
+        }
+    }
+}
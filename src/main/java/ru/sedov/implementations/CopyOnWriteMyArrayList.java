@@ -0,0 +1,286 @@
+package ru.sedov.implementations;
+
+import ru.sedov.MyList;
+
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * <p> Потокобезопасная реализация интерфейса MyList для коллекций, которые часто читаются и редко изменяются.
+ * Элементы хранятся в массиве, который никогда не изменяется после публикации: каждое изменение создает
+ * новый массив и записывает ссылку на него в volatile-поле. </p>
+ * <br>
+ * <p> Чтение (size, get, toArray) и обход не блокируются и не копируют элементы. Итераторы и потоки обходят
+ * снимок массива на момент своего создания, никогда не выбрасывают ConcurrentModificationException и
+ * не поддерживают удаление. Изменения выполняются под общей блокировкой и копируют массив целиком, поэтому
+ * групповые изменения (addAll, removeIf, removeRange, retainAll, replaceAll) выгоднее последовательности
+ * одиночных: каждое из них копирует массив один раз. </p>
+ * <br>
+ * Для работы с коллекцией используются следующие методы:
+ *  <ul>
+ *      <li>size() - получение текущего количества элементов в коллекции.</li>
+ *      <li>add(element) - добавление элемента в коллекцию</li>
+ *      <li>add(element, index) - добавление элемента в коллекцию на заданный индекс</li>
+ *      <li>get(index) - получение элемента по заданному индексу</li>
+ *      <li>remove(index) - удаление элемента по индексу</li>
+ *      <li>addAll(elements), addAll(elements, index) - добавление всех элементов другой коллекции</li>
+ *      <li>removeIf(filter) - удаление всех элементов, удовлетворяющих условию</li>
+ *      <li>removeRange(from, to) - удаление элементов с индексами от from до to</li>
+ *      <li>retainAll(elements) - удаление всех элементов, которых нет в другой коллекции</li>
+ *      <li>replaceAll(operator) - замена каждого элемента результатом операции над ним</li>
+ *      <li>clear() - очистка коллекции</li>
+ *      <li>sort(comparator), parallelSort(comparator) - устойчивая сортировка коллекции по компаратору</li>
+ *      <li>replace(element, index) - замена значения элемента по индексу</li>
+ *      <li>iterator(), stream(), parallelStream() - обход снимка элементов коллекции</li>
+ *      <li>freeze() - получение неизменяемого снимка коллекции без копирования элементов</li>
+ *  </ul>
+ * @param <T> тип хранимых элементов в коллекции.
+ */
+public class CopyOnWriteMyArrayList<T> implements MyList<T> {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    /**
+     * Блокировка, под которой выполняются изменения коллекции.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * Массив элементов коллекции. Длина массива всегда равна количеству элементов.
+     */
+    private volatile Object[] items = EMPTY;
+
+    public CopyOnWriteMyArrayList(MyList<? extends T> elements){
+        items = toObjectArray(elements);
+    }
+    public CopyOnWriteMyArrayList(){
+    }
+
+    @Override
+    public int size() {
+        return items.length;
+    }
+
+    @Override
+    public void add(T element) {
+        synchronized (lock){
+            Object[] arr = Arrays.copyOf(items, items.length + 1);
+            arr[arr.length - 1] = element;
+            items = arr;
+        }
+    }
+
+    @Override
+    public void add(T element, int index) {
+        synchronized (lock){
+            Object[] old = items;
+            if (index < 0 || index > old.length)
+                throw new IndexOutOfBoundsException();
+
+            Object[] arr = new Object[old.length + 1];
+            System.arraycopy(old, 0, arr, 0, index);
+            System.arraycopy(old, index, arr, index + 1, old.length - index);
+            arr[index] = element;
+            items = arr;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index) {
+        Object[] arr = items;
+        if (index < 0 || index >= arr.length)
+            throw new IndexOutOfBoundsException();
+
+        return (T) arr[index];
+    }
+
+    @Override
+    public void remove(int index) {
+        synchronized (lock){
+            Object[] old = items;
+            if (index < 0 || index >= old.length)
+                throw new IndexOutOfBoundsException();
+
+            Object[] arr = new Object[old.length - 1];
+            System.arraycopy(old, 0, arr, 0, index);
+            System.arraycopy(old, index + 1, arr, index, old.length - index - 1);
+            items = arr;
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (lock){
+            items = EMPTY;
+        }
+    }
+
+    @Override
+    public void sort(Comparator<T> comparator) {
+        Objects.requireNonNull(comparator);
+        synchronized (lock){
+            Object[] arr = items.clone();
+            MyTimSort.sort(arr, 0, arr.length, comparator);
+            items = arr;
+        }
+    }
+
+    @Override
+    public void parallelSort(Comparator<T> comparator) {
+        Objects.requireNonNull(comparator);
+        synchronized (lock){
+            Object[] arr = items.clone();
+            MyParallelSort.sort(arr, 0, arr.length, comparator);
+            items = arr;
+        }
+    }
+
+    @Override
+    public void replace(T element, int index) {
+        synchronized (lock){
+            Object[] old = items;
+            if (index < 0 || index >= old.length)
+                throw new IndexOutOfBoundsException();
+
+            Object[] arr = old.clone();
+            arr[index] = element;
+            items = arr;
+        }
+    }
+
+    @Override
+    public void addAll(MyList<? extends T> elements) {
+        Object[] added = toObjectArray(elements);
+        synchronized (lock){
+            insertAll(added, items.length);
+        }
+    }
+
+    @Override
+    public void addAll(MyList<? extends T> elements, int index) {
+        Object[] added = toObjectArray(elements);
+        synchronized (lock){
+            if (index < 0 || index > items.length)
+                throw new IndexOutOfBoundsException();
+            insertAll(added, index);
+        }
+    }
+
+    /**
+     * Вставляет элементы, начиная с заданного индекса, одним копированием массива. Вызывается под блокировкой.
+     * @param added вставляемые элементы
+     * @param index индекс позиции, на которую будет вставлен первый элемент
+     */
+    private void insertAll(Object[] added, int index){
+        Object[] old = items, arr = new Object[old.length + added.length];
+        System.arraycopy(old, 0, arr, 0, index);
+        System.arraycopy(added, 0, arr, index, added.length);
+        System.arraycopy(old, index, arr, index + added.length, old.length - index);
+        items = arr;
+    }
+
+    /**
+     * Возвращает элементы другой коллекции в виде массива. Элементы копируются до блокировки, поэтому
+     * коллекцию можно передать саму себе. Массив другой CopyOnWriteMyArrayList не изменяется и не копируется.
+     * @param elements коллекция элементов
+     * @return массив элементов коллекции
+     */
+    private static Object[] toObjectArray(MyList<?> elements){
+        if (elements instanceof CopyOnWriteMyArrayList<?> list)
+            return list.items;
+
+        Object[] arr = new Object[elements.size()];
+        for(int i = 0; i < arr.length; i++)
+            arr[i] = elements.get(i);
+        return arr;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+        synchronized (lock){
+            Object[] old = items, kept = new Object[old.length];
+            int count = 0;
+            for(Object element : old)
+                if (!filter.test((T) element))
+                    kept[count++] = element;
+            if (count == old.length)
+                return false;
+
+            items = Arrays.copyOf(kept, count);
+            return true;
+        }
+    }
+
+    @Override
+    public void removeRange(int from, int to) {
+        synchronized (lock){
+            Object[] old = items;
+            if (from < 0 || to > old.length || from > to)
+                throw new IndexOutOfBoundsException();
+            if (from == to)
+                return;
+
+            Object[] arr = new Object[old.length - (to - from)];
+            System.arraycopy(old, 0, arr, 0, from);
+            System.arraycopy(old, to, arr, from, old.length - to);
+            items = arr;
+        }
+    }
+
+    @Override
+    public boolean retainAll(MyList<?> elements) {
+        Set<Object> retained = new HashSet<>(Arrays.asList(toObjectArray(elements)));
+        return removeIf(element -> !retained.contains(element));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void replaceAll(UnaryOperator<T> operator) {
+        Objects.requireNonNull(operator);
+        synchronized (lock){
+            Object[] arr = items.clone();
+            for(int i = 0; i < arr.length; i++)
+                arr[i] = operator.apply((T) arr[i]);
+            items = arr;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T[] toArray(Class<T> clazz) {
+        Object[] arr = items;
+        T[] result = (T[]) Array.newInstance(clazz, arr.length);
+        System.arraycopy(arr, 0, result, 0, arr.length);
+        return result;
+    }
+
+    /**
+     * Возвращает неизменяемый снимок текущего состояния коллекции. Снимок использует массив коллекции
+     * без копирования, так как этот массив больше никогда не изменяется.
+     * @return неизменяемый снимок элементов коллекции
+     */
+    public MyList<T> freeze() {
+        Object[] arr = items;
+        return new FrozenMyList<>(arr, arr.length);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(items, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    @Override
+    public String toString() {
+        return freeze().toString();
+    }
+}
@@ -0,0 +1,147 @@
+package ru.sedov.implementations;
+
+import ru.sedov.MyList;
+
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * <p> Неизменяемое представление первых size элементов массива, возвращаемое методами freeze() коллекций
+ * MyArrayList и CopyOnWriteMyArrayList. Массив не копируется: коллекция, создавшая представление, обязуется
+ * не изменять его первые size элементов и перед изменением копирует массив. </p>
+ * <br>
+ * <p> Все поля представления неизменяемы, поэтому его можно передавать другим потокам без синхронизации,
+ * а чтение и обход не требуют ни блокировок, ни копирования. Методы, изменяющие коллекцию, выбрасывают
+ * UnsupportedOperationException. </p>
+ * @param <T> тип элементов коллекции
+ */
+final class FrozenMyList<T> implements MyList<T> {
+
+    private final Object[] items;
+
+    private final int size;
+
+    FrozenMyList(Object[] items, int size){
+        this.items = items;
+        this.size = size;
+    }
+
+    private static UnsupportedOperationException unsupported(){
+        return new UnsupportedOperationException("Frozen list can not be modified");
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+
+        return (T) items[index];
+    }
+
+    @Override
+    public void add(T element) {
+        throw unsupported();
+    }
+
+    @Override
+    public void add(T element, int index) {
+        throw unsupported();
+    }
+
+    @Override
+    public void remove(int index) {
+        throw unsupported();
+    }
+
+    @Override
+    public void clear() {
+        throw unsupported();
+    }
+
+    @Override
+    public void sort(Comparator<T> comparator) {
+        throw unsupported();
+    }
+
+    @Override
+    public void parallelSort(Comparator<T> comparator) {
+        throw unsupported();
+    }
+
+    @Override
+    public void replace(T element, int index) {
+        throw unsupported();
+    }
+
+    @Override
+    public void addAll(MyList<? extends T> elements) {
+        throw unsupported();
+    }
+
+    @Override
+    public void addAll(MyList<? extends T> elements, int index) {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        throw unsupported();
+    }
+
+    @Override
+    public void removeRange(int from, int to) {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean retainAll(MyList<?> elements) {
+        throw unsupported();
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<T> operator) {
+        throw unsupported();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T[] toArray(Class<T> clazz) {
+        T[] arr = (T[]) Array.newInstance(clazz, size);
+        System.arraycopy(items, 0, arr, 0, size);
+        return arr;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(items, 0, size, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder()
+                .append("[");
+
+        for(int i = 0; i < size - 1; i++)
+            sb.append(items[i])
+                    .append(", ");
+
+        if (size > 0)
+            sb.append(items[size - 1]);
+
+        sb.append("]");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,457 @@
+package ru.sedov.implementations;
+
+import ru.sedov.MyMap;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Коллекция пар ключ/значение, где и ключ, и значение имеют тип long. В отличие от MyHashMap&lt;Long, Long&gt;
+ * коллекция не упаковывает числа в объекты Long и не создает объектов MyEntry: ключи и значения хранятся
+ * в двух параллельных массивах long[], размер которых всегда является степенью двойки.</p>
+ * <br>
+ * <p> Коллизии решаются линейным пробированием, при удалении последующие объекты цепочки сдвигаются назад.
+ * Пустая ячейка массива обозначается ключом 0, поэтому объект с ключом 0 хранится в отдельных полях.
+ * Когда количество объектов превышает 3/4 размера массивов, массивы увеличиваются вдвое. </p>
+ * <br>
+ * <p> Если объекта с заданным ключом нет, методы get, put и remove возвращают значение-признак отсутствия,
+ * которое задается в конструкторе (по умолчанию 0). Для кода, работающего с интерфейсом MyMap,
+ * метод asMyMap() возвращает представление коллекции в виде MyMap&lt;Long, Long&gt;. </p>
+ * <ul> Для работы с коллекций были определены следующий методы:
+ *     <li>containsKey(key) - проверка, находится ли в коллекции заданный ключ</li>
+ *     <li>containsValue(value) - проверка, находится ли в коллекции заданное значение</li>
+ *     <li>get(key) - получить значение по ключу</li>
+ *     <li>put(key, value) - поместить пару ключ/значение в коллекцию</li>
+ *     <li>remove(key) - удалить объект по ключу</li>
+ *     <li>size() - получить количество объектов в коллекции</li>
+ *     <li>isEmpty() - проверить пуста ли коллекция</li>
+ *     <li>toKeyArray() - конвертировать все ключи в коллекции в массив</li>
+ *     <li>toValueArray() - конвертировать все значения в коллекции в массив</li>
+ *     <li>asMyMap() - получить представление коллекции в виде MyMap</li>
+ * </ul>
+ */
+public class LongLongMyHashMap {
+
+    /**
+     * Стандартный размер массивов для хранения объектов.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Максимальный размер массивов для хранения объектов.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * Значение, возвращаемое при отсутствии объекта с заданным ключом.
+     */
+    private final long noEntryValue;
+
+    private long[] keys;
+
+    private long[] values;
+
+    /**
+     * Находится ли в коллекции объект с ключом 0.
+     */
+    private boolean hasZeroKey;
+
+    /**
+     * Значение объекта с ключом 0.
+     */
+    private long zeroValue;
+
+    private int size = 0;
+
+    /**
+     * Количество объектов в массивах, при превышении которого массивы увеличиваются вдвое.
+     */
+    private int threshold;
+
+    /**
+     * Количество структурных изменений коллекции. Используется итераторами представления asMyMap(),
+     * чтобы обнаружить изменение коллекции во время обхода.
+     */
+    private int modCount = 0;
+
+    private MyMap<Long, Long> view;
+
+    public LongLongMyHashMap(int capacity, long noEntryValue){
+        if (capacity < 0)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+
+        this.noEntryValue = noEntryValue;
+        allocate(tableSizeFor(capacity + (capacity >>> 1) + 1));
+    }
+    public LongLongMyHashMap(int capacity){
+        this(capacity, 0);
+    }
+    public LongLongMyHashMap(){
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Округляет размер массива вверх до ближайшей степени двойки.
+     * @param capacity желаемый размер массива
+     * @return степень двойки не меньшая capacity
+     */
+    private static int tableSizeFor(int capacity){
+        if (capacity >= MAXIMUM_CAPACITY || capacity < 0)
+            return MAXIMUM_CAPACITY;
+        return capacity <= 4 ? 4 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Перемешивает биты ключа, чтобы последовательные ключи не образовывали непрерывных кластеров.
+     * @param key ключ объекта
+     * @return хэш-значение ключа
+     */
+    private static int spread(long key){
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Создает пустые массивы заданного размера.
+     * @param capacity размер массивов
+     */
+    private void allocate(int capacity){
+        keys = new long[capacity];
+        values = new long[capacity];
+        threshold = capacity == MAXIMUM_CAPACITY ? capacity - 1 : capacity - (capacity >>> 2);
+    }
+
+    /**
+     * Находит ячейку, в которой хранится объект с заданным ненулевым ключом.
+     * @param key ключ объекта
+     * @return номер ячейки или -1, если такого объекта нет
+     */
+    private int indexOf(long key){
+        int mask = keys.length - 1;
+        for(int index = spread(key) & mask; keys[index] != 0; index = (index + 1) & mask)
+            if (keys[index] == key)
+                return index;
+        return -1;
+    }
+
+    /**
+     * Размещает объект с ненулевым ключом, которого заведомо нет в массивах, в первой свободной ячейке.
+     * @param key ключ объекта
+     * @param value значение объекта
+     */
+    private void insert(long key, long value){
+        int mask = keys.length - 1;
+        int index = spread(key) & mask;
+        while(keys[index] != 0)
+            index = (index + 1) & mask;
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    /**
+     * Увеличивает массивы вдвое и заново размещает в них все объекты.
+     */
+    private void resize(){
+        if (keys.length == MAXIMUM_CAPACITY)
+            throw new IllegalStateException("Map is full");
+
+        long[] oldKeys = keys, oldValues = values;
+        allocate(keys.length * 2);
+        for(int i = 0; i < oldKeys.length; i++)
+            if (oldKeys[i] != 0)
+                insert(oldKeys[i], oldValues[i]);
+    }
+
+    /**
+     * Освобождает ячейку и сдвигает назад объекты, для которых она находится в цепочке пробирования.
+     * @param gap номер освобождаемой ячейки
+     */
+    private void shiftBack(int gap){
+        int mask = keys.length - 1;
+        for(int index = (gap + 1) & mask; keys[index] != 0; index = (index + 1) & mask){
+            int home = spread(keys[index]) & mask;
+            if (((index - home) & mask) >= ((index - gap) & mask)){
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = 0;
+    }
+
+    /**
+     * @return значение, возвращаемое при отсутствии объекта с заданным ключом
+     */
+    public long getNoEntryValue() {
+        return noEntryValue;
+    }
+
+    public boolean containsKey(long key) {
+        return key == 0 ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    public boolean containsValue(long value) {
+        if (hasZeroKey && zeroValue == value)
+            return true;
+        for(int i = 0; i < keys.length; i++)
+            if (keys[i] != 0 && values[i] == value)
+                return true;
+        return false;
+    }
+
+    /**
+     * @param key ключ объекта
+     * @return значение объекта или значение-признак отсутствия, если объекта с таким ключом нет
+     */
+    public long get(long key) {
+        if (key == 0)
+            return hasZeroKey ? zeroValue : noEntryValue;
+        int index = indexOf(key);
+        return index < 0 ? noEntryValue : values[index];
+    }
+
+    /**
+     * Помещает в коллекцию объект с ключом key и значением value. Если объект с таким ключом уже существует
+     * в коллекции, то у объекта с таким ключом будет заменено значение.
+     * @param key ключ объекта
+     * @param value значение объекта
+     * @return предыдущее значение объекта или значение-признак отсутствия, если объекта с таким ключом не было
+     */
+    public long put(long key, long value) {
+        if (key == 0){
+            long old = hasZeroKey ? zeroValue : noEntryValue;
+            if (!hasZeroKey){
+                size++;
+                modCount++;
+            }
+            hasZeroKey = true;
+            zeroValue = value;
+            return old;
+        }
+
+        int mask = keys.length - 1;
+        int index = spread(key) & mask;
+        for(; keys[index] != 0; index = (index + 1) & mask)
+            if (keys[index] == key){
+                long old = values[index];
+                values[index] = value;
+                return old;
+            }
+
+        keys[index] = key;
+        values[index] = value;
+        modCount++;
+        if (++size - (hasZeroKey ? 1 : 0) > threshold)
+            resize();
+        return noEntryValue;
+    }
+
+    /**
+     * Удаляет из коллекции объект с ключом key.
+     * @param key ключ объекта
+     * @return значение удаленного объекта или значение-признак отсутствия, если объекта с таким ключом нет
+     */
+    public long remove(long key) {
+        if (key == 0){
+            if (!hasZeroKey)
+                return noEntryValue;
+            hasZeroKey = false;
+            size--;
+            modCount++;
+            return zeroValue;
+        }
+
+        int index = indexOf(key);
+        if (index < 0)
+            return noEntryValue;
+
+        long old = values[index];
+        shiftBack(index);
+        size--;
+        modCount++;
+        return old;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return массив ключей объектов коллекции
+     */
+    public long[] toKeyArray() {
+        long[] arr = new long[size];
+        int j = 0;
+        if (hasZeroKey)
+            arr[j++] = 0;
+        for(long key : keys)
+            if (key != 0)
+                arr[j++] = key;
+        return arr;
+    }
+
+    /**
+     * @return массив значений объектов коллекции
+     */
+    public long[] toValueArray() {
+        long[] arr = new long[size];
+        int j = 0;
+        if (hasZeroKey)
+            arr[j++] = zeroValue;
+        for(int i = 0; i < keys.length; i++)
+            if (keys[i] != 0)
+                arr[j++] = values[i];
+        return arr;
+    }
+
+    /**
+     * Возвращает представление коллекции в виде MyMap. Представление не копирует объекты: все изменения
+     * коллекции видны в нем, а все изменения через него выполняются в коллекции. Метод get представления
+     * возвращает null, если объекта с заданным ключом нет.
+     * @return представление коллекции в виде MyMap&lt;Long, Long&gt;
+     */
+    public MyMap<Long, Long> asMyMap() {
+        if (view == null)
+            view = new View();
+        return view;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        if (hasZeroKey)
+            sb.append(0).append(" : ").append(zeroValue).append(", ");
+        for(int i = 0; i < keys.length; i++)
+            if (keys[i] != 0)
+                sb.append(keys[i]).append(" : ").append(values[i]).append(", ");
+
+        return (sb.length() > 1 ? sb.substring(0, sb.length() - 2) : sb.toString()) + "]";
+    }
+
+    /**
+     * Представление коллекции в виде MyMap&lt;Long, Long&gt;.
+     */
+    private final class View implements MyMap<Long, Long> {
+
+        @Override
+        public boolean containsKey(Long key) {
+            return key != null && LongLongMyHashMap.this.containsKey(key);
+        }
+
+        @Override
+        public boolean containsValue(Long value) {
+            return value != null && LongLongMyHashMap.this.containsValue(value);
+        }
+
+        @Override
+        public Long get(Long key) {
+            if (key == null)
+                return null;
+            if (key == 0)
+                return hasZeroKey ? zeroValue : null;
+            int index = indexOf(key);
+            return index < 0 ? null : values[index];
+        }
+
+        @Override
+        public void put(Long key, Long value) {
+            LongLongMyHashMap.this.put(key, value);
+        }
+
+        @Override
+        public Long remove(Long key) {
+            if (key == null || key == 0 && !hasZeroKey)
+                return null;
+            if (key == 0)
+                return LongLongMyHashMap.this.remove(0);
+
+            int index = indexOf(key);
+            if (index < 0)
+                return null;
+
+            long old = values[index];
+            shiftBack(index);
+            size--;
+            modCount++;
+            return old;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public Long[] toKeyArray(Class<Long> clazz) {
+            return Arrays.stream(LongLongMyHashMap.this.toKeyArray()).boxed().toArray(Long[]::new);
+        }
+
+        @Override
+        public Long[] toValueArray(Class<Long> clazz) {
+            return Arrays.stream(LongLongMyHashMap.this.toValueArray()).boxed().toArray(Long[]::new);
+        }
+
+        @Override
+        public Iterator<Entry<Long, Long>> iterator() {
+            return new Iterator<>() {
+                private int index = hasZeroKey ? -1 : nextSlot(0);
+                private final int expectedModCount = modCount;
+
+                private int nextSlot(int from){
+                    while(from < keys.length && keys[from] == 0)
+                        from++;
+                    return from;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return index < keys.length;
+                }
+
+                @Override
+                public Entry<Long, Long> next() {
+                    if (modCount != expectedModCount)
+                        throw new ConcurrentModificationException();
+                    if (index >= keys.length)
+                        throw new NoSuchElementException();
+
+                    var entry = index < 0 ? new ViewEntry(0, zeroValue) : new ViewEntry(keys[index], values[index]);
+                    index = nextSlot(index + 1);
+                    return entry;
+                }
+            };
+        }
+
+        @Override
+        public String toString() {
+            return LongLongMyHashMap.this.toString();
+        }
+    }
+
+    /**
+     * Объект представления asMyMap(). Метод setValue записывает новое значение в коллекцию.
+     */
+    private final class ViewEntry extends MyEntry<Long, Long> {
+        ViewEntry(long key, long value){
+            super(key, value);
+        }
+
+        @Override
+        public void setValue(Long value) {
+            super.setValue(value);
+            LongLongMyHashMap.this.put(getKey(), value);
+        }
+    }
+}
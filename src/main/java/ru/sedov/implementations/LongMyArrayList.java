@@ -0,0 +1,257 @@
+package ru.sedov.implementations;
+
+import ru.sedov.MyList;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.LongStream;
+
+/**
+ * <p> Коллекция чисел типа long, представляющая собой динамически расширяемый массив long[]. В отличие от
+ * MyArrayList&lt;Long&gt; коллекция не упаковывает числа в объекты Long, а сортирует их поразрядной
+ * сортировкой без компаратора. </p>
+ * <br>
+ * <p> После создания экземпляра класса внутри коллекции будет выделен массив на 16 элементов. Если массива
+ * недостаточно для хранения чисел, коллекция создаст новый массив, размер которого будет вдвое больше
+ * предыдущего. Для кода, работающего с интерфейсом MyList, метод asMyList() возвращает представление
+ * коллекции в виде MyList&lt;Long&gt;. </p>
+ * <br>
+ * Для работы с коллекцией используются следующие методы:
+ *  <ul>
+ *      <li>size() - получение текущего количества элементов в коллекции.</li>
+ *      <li>add(element) - добавление элемента в коллекцию</li>
+ *      <li>add(element, index) - добавление элемента в коллекцию на заданный индекс</li>
+ *      <li>get(index) - получение элемента по заданному индексу</li>
+ *      <li>remove(index) - удаление элемента по индексу</li>
+ *      <li>clear() - очистка коллекции</li>
+ *      <li>sort() - сортировка коллекции по возрастанию</li>
+ *      <li>replace(element, index) - замена значения элемента по индексу</li>
+ *      <li>toArray() - копирование элементов коллекции в массив</li>
+ *      <li>stream() - получение потока элементов коллекции</li>
+ *      <li>array() - получение массива, в котором хранятся элементы коллекции, без копирования</li>
+ *      <li>asMyList() - получение представления коллекции в виде MyList</li>
+ *  </ul>
+ */
+public class LongMyArrayList {
+
+    /**
+     * Стандартный размер массива для хранения элементов.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int size = 0;
+
+    private long[] items;
+
+    private MyList<Long> view;
+
+    public LongMyArrayList(int capacity){
+        if (capacity < 0)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+
+        items = new long[Math.max(capacity, 1)];
+    }
+    public LongMyArrayList(){
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Увеличивает размер массива так, чтобы в нем поместилось не меньше minCapacity элементов.
+     * @param minCapacity требуемый размер массива
+     */
+    private void grow(int minCapacity){
+        if (minCapacity <= items.length)
+            return;
+        if (minCapacity < 0)
+            throw new OutOfMemoryError("Required array size too large");
+
+        items = Arrays.copyOf(items, Math.max(items.length * 2, minCapacity));
+    }
+
+    private void checkIndex(int index){
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void add(long element) {
+        if (size == items.length)
+            grow(size + 1);
+        items[size++] = element;
+    }
+
+    /**
+     * Добавляет элемент на заданную позицию, сдвигая последующие элементы вправо.
+     * @param element добавляемый элемент
+     * @param index индекс позиции, на которую будет добавлен элемент
+     * @throws IndexOutOfBoundsException если index меньше 0 или больше количества элементов коллекции
+     */
+    public void add(long element, int index) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException();
+
+        if (size == items.length)
+            grow(size + 1);
+        System.arraycopy(items, index, items, index + 1, size - index);
+        items[index] = element;
+        size++;
+    }
+
+    /**
+     * Добавляет все элементы массива в конец коллекции.
+     * @param elements добавляемые элементы
+     */
+    public void addAll(long... elements) {
+        grow(size + elements.length);
+        System.arraycopy(elements, 0, items, size, elements.length);
+        size += elements.length;
+    }
+
+    public long get(int index) {
+        checkIndex(index);
+        return items[index];
+    }
+
+    public void remove(int index) {
+        checkIndex(index);
+        System.arraycopy(items, index + 1, items, index, size - index - 1);
+        size--;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Сортирует элементы коллекции по возрастанию поразрядной сортировкой.
+     */
+    public void sort() {
+        MyRadixSort.sort(items, 0, size);
+    }
+
+    public void replace(long element, int index) {
+        checkIndex(index);
+        items[index] = element;
+    }
+
+    /**
+     * @return новый массив, содержащий элементы коллекции
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(items, size);
+    }
+
+    /**
+     * Возвращает поток элементов коллекции без упаковки и копирования. Поток читает массив коллекции
+     * и не должен использоваться после ее изменения.
+     * @return поток элементов коллекции
+     */
+    public LongStream stream() {
+        return Arrays.stream(items, 0, size);
+    }
+
+    /**
+     * Возвращает массив, в котором коллекция хранит элементы, без копирования. Элементами коллекции являются
+     * первые size() ячеек массива. Массив остается связан с коллекцией только до следующего увеличения
+     * его размера.
+     * @return массив элементов коллекции
+     */
+    public long[] array() {
+        return items;
+    }
+
+    /**
+     * Возвращает представление коллекции в виде MyList. Представление не копирует элементы: все изменения
+     * коллекции видны в нем, а все изменения через него выполняются в коллекции.
+     * @return представление коллекции в виде MyList&lt;Long&gt;
+     */
+    public MyList<Long> asMyList() {
+        if (view == null)
+            view = new View();
+        return view;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder()
+                .append("[");
+
+        for(int i = 0; i < size - 1; i++)
+            sb.append(items[i])
+                    .append(", ");
+
+        if (size > 0)
+            sb.append(items[size - 1]);
+
+        sb.append("]");
+        return sb.toString();
+    }
+
+    /**
+     * Представление коллекции в виде MyList&lt;Long&gt;.
+     */
+    private final class View implements MyList<Long> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void add(Long element) {
+            LongMyArrayList.this.add(element);
+        }
+
+        @Override
+        public void add(Long element, int index) {
+            LongMyArrayList.this.add(element, index);
+        }
+
+        @Override
+        public Long get(int index) {
+            return LongMyArrayList.this.get(index);
+        }
+
+        @Override
+        public void remove(int index) {
+            LongMyArrayList.this.remove(index);
+        }
+
+        @Override
+        public void clear() {
+            LongMyArrayList.this.clear();
+        }
+
+        /**
+         * Сортирует элементы по компаратору. Элементы упаковываются во временный массив, сортируются
+         * устойчивой сортировкой и записываются обратно.
+         */
+        @Override
+        public void sort(Comparator<Long> comparator) {
+            Object[] boxed = new Object[size];
+            for(int i = 0; i < size; i++)
+                boxed[i] = items[i];
+            MyTimSort.sort(boxed, 0, size, comparator);
+            for(int i = 0; i < size; i++)
+                items[i] = (Long) boxed[i];
+        }
+
+        @Override
+        public void replace(Long element, int index) {
+            LongMyArrayList.this.replace(element, index);
+        }
+
+        @Override
+        public Long[] toArray(Class<Long> clazz) {
+            return Arrays.stream(items, 0, size).boxed().toArray(Long[]::new);
+        }
+
+        @Override
+        public String toString() {
+            return LongMyArrayList.this.toString();
+        }
+    }
+}
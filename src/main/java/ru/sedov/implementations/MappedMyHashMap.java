@@ -0,0 +1,492 @@
+package ru.sedov.implementations;
+
+import ru.sedov.MyCodec;
+import ru.sedov.MyMap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * <p>Реализация интерфейса MyMap, доступная только для чтения и работающая напрямую с файлом снимка,
+ * отображенным в память с помощью FileChannel.map. Снимок создается методом MyHashMap.writeSnapshot и уже
+ * содержит готовую хэш-таблицу, поэтому открытие снимка не читает и не перехэширует объекты: страницы файла
+ * загружаются операционной системой по мере обращения к ним, и коллекция может отвечать на get сразу после открытия.</p>
+ * <br>
+ * <p> Формат файла:</p>
+ * <ul>
+ *     <li>заголовок (32 байта): сигнатура, версия формата, количество ячеек индекса, количество объектов,
+ *     смещение записей и длина файла;</li>
+ *     <li>индекс - ячейки по 16 байт, содержащие смещение записи (0 - пустая ячейка) и хэш-значение ключа.
+ *     Коллизии решены линейным пробированием;</li>
+ *     <li>записи вида [длина ключа][длина значения][ключ][значение], преобразованные в байты с помощью MyCodec.
+ *     Записи разбиты на сегменты по 1 ГБ и не пересекают границу сегмента, поэтому файл может быть больше 2 ГБ.</li>
+ * </ul>
+ * <p> Ключи сравниваются по их байтовому представлению. Методы put и remove выбрасывают
+ * UnsupportedOperationException. Так как коллекция не изменяется, ее можно читать из нескольких потоков. </p>
+ * <ul> Для работы с коллекций были определены следующий методы:
+ *     <li>open(path, keyCodec, valueCodec) - открыть снимок</li>
+ *     <li>containsKey(key) - проверка, находится ли в коллекции заданный ключ</li>
+ *     <li>containsValue(value) - проверка, находится ли в коллекции заданное значение</li>
+ *     <li>get(key) - получить значение по ключу</li>
+ *     <li>size() - получить количество объектов в коллекции</li>
+ *     <li>isEmpty() - проверить пуста ли коллекция</li>
+ *     <li>toKeyArray(clazz) - конвертировать все ключи в коллекции в массив</li>
+ *     <li>toValueArray(clazz) - конвертировать все значения в коллекции в массив</li>
+ *     <li>iterator(), stream() - обойти объекты коллекции</li>
+ * </ul>
+ * @param <K> тип ключа объекта коллекции
+ * @param <V> тип значения объекта коллекции
+ */
+public class MappedMyHashMap<K, V> implements MyMap<K, V> {
+
+    /**
+     * Сигнатура файла снимка ("MYHM").
+     */
+    private static final int MAGIC = 0x4D59484D;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 32;
+
+    /**
+     * Размер ячейки индекса: смещение записи (8 байт), хэш-значение ключа (4 байта) и выравнивание (4 байта).
+     */
+    private static final int SLOT_SIZE = 16;
+
+    /**
+     * Размер заголовка записи: длина ключа и длина значения.
+     */
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    /**
+     * Размер сегмента записей, отображаемого в память одним MappedByteBuffer.
+     */
+    private static final int SEGMENT_SIZE = 1 << 30;
+
+    /**
+     * Максимальное количество ячеек индекса.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 26;
+
+    private final MyCodec<K> keyCodec;
+
+    private final MyCodec<V> valueCodec;
+
+    private final ByteBuffer index;
+
+    private final ByteBuffer[] segments;
+
+    private final int capacity;
+
+    private final int size;
+
+    private MappedMyHashMap(MyCodec<K> keyCodec, MyCodec<V> valueCodec, ByteBuffer index,
+                            ByteBuffer[] segments, int capacity, int size){
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.index = index;
+        this.segments = segments;
+        this.capacity = capacity;
+        this.size = size;
+    }
+
+    /**
+     * Открывает снимок, созданный методом MyHashMap.writeSnapshot. Файл отображается в память целиком,
+     * но его страницы читаются с диска только при обращении к ним.
+     * @param path путь к файлу снимка
+     * @param keyCodec кодек ключей, которым был записан снимок
+     * @param valueCodec кодек значений, которым был записан снимок
+     * @return коллекция, доступная только для чтения
+     * @throws IOException если файл не удалось прочитать или он не является снимком
+     */
+    public static <K, V> MappedMyHashMap<K, V> open(Path path, MyCodec<K> keyCodec, MyCodec<V> valueCodec)
+            throws IOException {
+        Objects.requireNonNull(keyCodec);
+        Objects.requireNonNull(valueCodec);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE)
+                throw new IOException("Not a snapshot file: " + path);
+
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC)
+                throw new IOException("Not a snapshot file: " + path);
+            int version = header.getInt();
+            if (version != VERSION)
+                throw new IOException("Unsupported snapshot version: " + version);
+
+            int capacity = header.getInt();
+            int size = header.getInt();
+            long recordsOffset = header.getLong();
+            long fileLength = header.getLong();
+            if (Integer.bitCount(capacity) != 1 || capacity > MAXIMUM_CAPACITY || size < 0 || size >= capacity
+                    || recordsOffset != HEADER_SIZE + (long) capacity * SLOT_SIZE || fileLength != channel.size())
+                throw new IOException("Corrupted snapshot file: " + path);
+
+            MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, (long) capacity * SLOT_SIZE);
+
+            long recordsLength = fileLength - recordsOffset;
+            ByteBuffer[] segments = new ByteBuffer[(int) ((recordsLength + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+            for(int i = 0; i < segments.length; i++){
+                long start = (long) i * SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, recordsOffset + start,
+                        Math.min(SEGMENT_SIZE, recordsLength - start));
+            }
+            return new MappedMyHashMap<>(keyCodec, valueCodec, index, segments, capacity, size);
+        }
+    }
+
+    /**
+     * Вычисляет хэш-значение байтового представления ключа.
+     * @param buffer буфер с представлением ключа
+     * @param offset смещение представления в буфере
+     * @param length длина представления в байтах
+     * @return хэш-значение ключа
+     */
+    private static int hashKey(ByteBuffer buffer, int offset, int length){
+        int h = 1;
+        for(int i = 0; i < length; i++)
+            h = 31 * h + buffer.get(offset + i);
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private ByteBuffer segmentOf(long address){
+        return segments[(int) ((address - 1) / SEGMENT_SIZE)];
+    }
+
+    private static int offsetOf(long address){
+        return (int) ((address - 1) % SEGMENT_SIZE);
+    }
+
+    /**
+     * Находит запись с заданным ключом.
+     * @param key ключ объекта
+     * @return адрес записи или 0, если объекта с таким ключом нет
+     */
+    private long find(K key){
+        int length = keyCodec.size(key);
+        ByteBuffer encoded = ByteBuffer.allocate(length);
+        keyCodec.write(key, encoded);
+
+        int hash = hashKey(encoded, 0, length);
+        int mask = capacity - 1;
+        for(int slot = hash & mask; ; slot = (slot + 1) & mask){
+            long address = index.getLong(slot * SLOT_SIZE);
+            if (address == 0)
+                return 0;
+            if (index.getInt(slot * SLOT_SIZE + 8) != hash)
+                continue;
+
+            var segment = segmentOf(address);
+            int offset = offsetOf(address);
+            if (segment.getInt(offset) == length
+                    && segment.slice(offset + RECORD_HEADER_SIZE, length).equals(encoded.rewind()))
+                return address;
+        }
+    }
+
+    private K readKey(long address){
+        var segment = segmentOf(address);
+        int offset = offsetOf(address);
+        int length = segment.getInt(offset);
+        return keyCodec.read(segment.slice(offset + RECORD_HEADER_SIZE, length), length);
+    }
+
+    private V readValue(long address){
+        var segment = segmentOf(address);
+        int offset = offsetOf(address);
+        int keyLength = segment.getInt(offset), length = segment.getInt(offset + 4);
+        return valueCodec.read(segment.slice(offset + RECORD_HEADER_SIZE + keyLength, length), length);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return find(key) != 0;
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        for(int slot = 0; slot < capacity; slot++){
+            long address = index.getLong(slot * SLOT_SIZE);
+            if (address != 0 && Objects.equals(readValue(address), value))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public V get(K key) {
+        long address = find(key);
+        return address == 0 ? null : readValue(address);
+    }
+
+    @Override
+    public void put(K key, V value) {
+        throw new UnsupportedOperationException("Snapshot is read-only");
+    }
+
+    @Override
+    public V remove(K key) {
+        throw new UnsupportedOperationException("Snapshot is read-only");
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public K[] toKeyArray(Class<K> clazz) {
+        K[] keys = (K[]) Array.newInstance(clazz, size);
+        int i = 0;
+        for(int slot = 0; slot < capacity; slot++){
+            long address = index.getLong(slot * SLOT_SIZE);
+            if (address != 0)
+                keys[i++] = readKey(address);
+        }
+        return keys;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V[] toValueArray(Class<V> clazz) {
+        V[] values = (V[]) Array.newInstance(clazz, size);
+        int i = 0;
+        for(int slot = 0; slot < capacity; slot++){
+            long address = index.getLong(slot * SLOT_SIZE);
+            if (address != 0)
+                values[i++] = readValue(address);
+        }
+        return values;
+    }
+
+    /**
+     * Возвращает итератор объектов коллекции в порядке ячеек индекса. Объекты читаются из файла при вызове
+     * next(), метод setValue объектов не поддерживается. Снимок не изменяется, поэтому несколько потоков
+     * могут обходить его одновременно.
+     * @return итератор объектов коллекции
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new Iterator<>() {
+            private int slot = nextSlot(0);
+
+            private int nextSlot(int from){
+                while(from < capacity && index.getLong(from * SLOT_SIZE) == 0)
+                    from++;
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return slot < capacity;
+            }
+
+            @Override
+            public Entry<K, V> next() {
+                if (slot >= capacity)
+                    throw new NoSuchElementException();
+
+                long address = index.getLong(slot * SLOT_SIZE);
+                slot = nextSlot(slot + 1);
+                return new ReadOnlyEntry<>(readKey(address), readValue(address));
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for(int slot = 0; slot < capacity; slot++){
+            long address = index.getLong(slot * SLOT_SIZE);
+            if (address != 0)
+                sb.append(readKey(address)).append(" : ").append(readValue(address)).append(", ");
+        }
+
+        return (sb.length() > 1 ? sb.substring(0, sb.length() - 2) : sb.toString()) + "]";
+    }
+
+    /**
+     * Объект снимка, значение которого нельзя изменить.
+     */
+    private static final class ReadOnlyEntry<K, V> extends MyEntry<K, V> {
+        ReadOnlyEntry(K key, V value){
+            super(key, value);
+        }
+
+        @Override
+        public void setValue(V value) {
+            throw new UnsupportedOperationException("Snapshot is read-only");
+        }
+    }
+
+    /**
+     * Последовательно записывает объекты во временный файл рядом с файлом снимка. Записи сразу пишутся в файл
+     * через буфер, а индекс строится в памяти и записывается в начало файла при вызове commit(), после чего
+     * временный файл сбрасывается на диск и атомарно заменяет файл снимка. Поэтому ошибка или сбой во время записи
+     * не портят предыдущий снимок, а читатели, уже отобразившие его в память, продолжают видеть его целиком.
+     * Если close() вызван без commit(), временный файл удаляется.
+     */
+    static final class Writer<K, V> implements Closeable {
+        private final Path path;
+        private final Path temp;
+        private final FileChannel channel;
+        private final MyCodec<K> keyCodec;
+        private final MyCodec<V> valueCodec;
+        private final int capacity;
+        private final long recordsOffset;
+
+        /**
+         * Смещения записей, увеличенные на 1, и хэш-значения ключей для каждой ячейки индекса.
+         */
+        private final long[] addresses;
+        private final int[] hashes;
+
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+
+        /**
+         * Смещение относительно начала записей, с которого будет записано содержимое буфера.
+         */
+        private long flushed = 0;
+
+        private int count = 0;
+
+        private boolean committed = false;
+
+        Writer(Path path, MyCodec<K> keyCodec, MyCodec<V> valueCodec, int size) throws IOException {
+            this.keyCodec = Objects.requireNonNull(keyCodec);
+            this.valueCodec = Objects.requireNonNull(valueCodec);
+
+            long wanted = size + (size / 3L) + 1;
+            if (wanted > MAXIMUM_CAPACITY)
+                throw new IllegalArgumentException("Too many entries for a snapshot: " + size);
+            capacity = wanted <= 4 ? 4 : Integer.highestOneBit((int) wanted - 1) << 1;
+            addresses = new long[capacity];
+            hashes = new int[capacity];
+            recordsOffset = HEADER_SIZE + (long) capacity * SLOT_SIZE;
+
+            this.path = path;
+            Path dir = path.toAbsolutePath().getParent();
+            temp = Files.createTempFile(dir, path.getFileName() + ".", ".tmp");
+            try {
+                channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+            } catch (IOException | RuntimeException e){
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+        }
+
+        private void writeFully(ByteBuffer buffer, long position) throws IOException {
+            while(buffer.hasRemaining())
+                position += channel.write(buffer, position);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            int length = buffer.remaining();
+            writeFully(buffer, recordsOffset + flushed);
+            flushed += length;
+            buffer.clear();
+        }
+
+        void add(K key, V value) throws IOException {
+            if (key == null || value == null)
+                throw new NullPointerException("Snapshot does not support null keys or values: " + key + " : " + value);
+            int keyLength = keyCodec.size(key), valueLength = valueCodec.size(value);
+            long recordSize = RECORD_HEADER_SIZE + (long) keyLength + valueLength;
+            if (recordSize > SEGMENT_SIZE)
+                throw new IllegalArgumentException("Record is too large: " + recordSize);
+            if (count == capacity - 1)
+                throw new IllegalStateException("More entries than declared");
+
+            long position = flushed + buffer.position();
+            if (position % SEGMENT_SIZE + recordSize > SEGMENT_SIZE){
+                flush();
+                flushed = position = (position / SEGMENT_SIZE + 1) * SEGMENT_SIZE;
+            }
+            if (buffer.remaining() < recordSize){
+                flush();
+                if (buffer.capacity() < recordSize)
+                    buffer = ByteBuffer.allocateDirect((int) recordSize);
+            }
+
+            int start = buffer.position();
+            buffer.putInt(keyLength).putInt(valueLength);
+            keyCodec.write(key, buffer);
+            valueCodec.write(value, buffer);
+            if (buffer.position() != start + recordSize)
+                throw new IllegalStateException("Codec wrote a different number of bytes than it reported");
+
+            int hash = hashKey(buffer, start + RECORD_HEADER_SIZE, keyLength);
+            int mask = capacity - 1;
+            int slot = hash & mask;
+            while(addresses[slot] != 0)
+                slot = (slot + 1) & mask;
+            addresses[slot] = position + 1;
+            hashes[slot] = hash;
+            count++;
+        }
+
+        /**
+         * Записывает индекс и заголовок, сбрасывает временный файл на диск и заменяет им файл снимка.
+         * @throws IOException если файл не удалось записать или переместить
+         */
+        void commit() throws IOException {
+            try {
+                flush();
+                long fileLength = recordsOffset + flushed;
+
+                for(int slot = 0; slot < capacity; slot++){
+                    if (buffer.remaining() < SLOT_SIZE){
+                        buffer.flip();
+                        writeFully(buffer, HEADER_SIZE + (long) (slot - buffer.remaining() / SLOT_SIZE) * SLOT_SIZE);
+                        buffer.clear();
+                    }
+                    buffer.putLong(addresses[slot]).putInt(hashes[slot]).putInt(0);
+                }
+                buffer.flip();
+                writeFully(buffer, HEADER_SIZE + (long) (capacity - buffer.remaining() / SLOT_SIZE) * SLOT_SIZE);
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(VERSION).putInt(capacity).putInt(count)
+                        .putLong(recordsOffset).putLong(fileLength).flip();
+                writeFully(header, 0);
+                channel.truncate(fileLength);
+                channel.force(true);
+            } finally {
+                channel.close();
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (committed)
+                return;
+            try {
+                channel.close();
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+}
@@ -2,17 +2,26 @@ package ru.sedov.implementations;
 
 import ru.sedov.MyList;
 import java.lang.reflect.Array;
-import java.util.Comparator;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * <p> Реализация интерфейса MyList, представляющая собой коллекцию для хранения элементов одного типа.
  * Коллекция представляет из себя динамически расширяемый массив данных. </p>
  * <br>
- * <p> После создания экземпляра класса внутри коллекции будет выделен массив на 16 элементов для хранения данных.
+ * <p> После создания экземпляра класса внутри коллекции будет выделен массив на 16 элементов для хранения данных
+ * (или на заданное в конструкторе количество элементов, если оно известно заранее).
  * Если данного массива будет недостаточно для хранения объектов, то при добавлении в уже заполненный массив
  * коллекция автоматически создаст новый массив, размер которого будет вдвое больше предыдущего и перезапишет
  * в него все готовые элементы коллекции. </p>
  * <br>
+ * <p> Для диагностики можно включить подсчет увеличений массива и сдвигов элементов методом enableStats().
+ * Кроме того, каждое увеличение массива записывается событием ru.sedov.MyArrayListResize в JDK Flight Recorder,
+ * если оно включено в текущей записи, а для коллекции с включенной статистикой раз в секунду записывается событие
+ * ru.sedov.MyArrayListStatistics со снимком stats(). </p>
+ * <br>
  * Для работы с коллекцией используются следующие методы:
  *  <ul>
  *      <li>size() - получение текущего количества элементов в коллекции.</li>
@@ -20,9 +29,18 @@ import java.util.Comparator;
  *      <li>add(element, index) - добавление элемента в коллекцию на заданный индекс</li>
  *      <li>get(index) - получение элемента по заданному индексу</li>
  *      <li>remove(index) - удаление элемента по индексу</li>
+ *      <li>addAll(elements), addAll(elements, index) - добавление всех элементов другой коллекции</li>
+ *      <li>removeIf(filter) - удаление всех элементов, удовлетворяющих условию</li>
+ *      <li>removeRange(from, to) - удаление элементов с индексами от from до to</li>
+ *      <li>retainAll(elements) - удаление всех элементов, которых нет в другой коллекции</li>
+ *      <li>replaceAll(operator) - замена каждого элемента результатом операции над ним</li>
  *      <li>clear() - очистка коллекции</li>
- *      <li>sort(comparator) - сортировка коллекции по компаратору</li>
+ *      <li>sort(comparator) - устойчивая сортировка коллекции по компаратору (TimSort)</li>
+ *      <li>parallelSort(comparator) - устойчивая параллельная сортировка коллекции по компаратору</li>
  *      <li>replace(element, index) - замена значения элемента по индексу</li>
+ *      <li>iterator(), stream(), parallelStream() - обход элементов коллекции</li>
+ *      <li>freeze() - получение неизменяемого представления коллекции без копирования элементов</li>
+ *      <li>enableStats(), stats() - включение подсчета операций и получение снимка статистики коллекции</li>
  *  </ul>
  * @param <T> тип хранимых элементов в коллекции.
  */
@@ -30,72 +48,161 @@ public class MyArrayList<T> implements MyList<T>{
     /**
      * <p> Стандартный фактический размер коллекции используемый в конструкторе по умолчанию. </p>
      */
-    private final int DEFAULT_CAPACITY = 16;
+    private static final int DEFAULT_CAPACITY = 16;
 
     /**
      * <p> Количество элементов в коллекции. </p>
      */
     private int size = 0;
 
+    /**
+     * <p> Количество структурных изменений коллекции. Используется итераторами, чтобы обнаружить изменение
+     * коллекции во время обхода. </p>
+     */
+    private int modCount = 0;
+
     /**
      * <p> Массив для хранения элементов коллекции. </p>
      */
-    private Object[] items = new Object[DEFAULT_CAPACITY];
+    private Object[] items;
+
+    /**
+     * <p> Признак того, что массив items используется представлениями, созданными методом freeze().
+     * Перед изменением уже записанных элементов такой массив копируется. </p>
+     */
+    private boolean shared = false;
+
+    /**
+     * <p> Счетчики операций для статистики. Равны null, пока статистика не включена методом enableStats(),
+     * поэтому без статистики операции выполняют только проверку на null. </p>
+     */
+    private Counters counters;
+
+    public MyArrayList(int capacity){
+        if (capacity < 0)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+
+        items = new Object[capacity];
+    }
+    public MyArrayList(){
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * <p> Счетчики операций коллекции. </p>
+     */
+    private static final class Counters {
+        long resizes, elementsCopied, shifts, shiftDistance, maxShiftDistance;
+
+        void shift(int distance){
+            shifts++;
+            shiftDistance += distance;
+            maxShiftDistance = Math.max(maxShiftDistance, distance);
+        }
+    }
 
     /**
      * <p> Увеличивает размер массива и копирует все элементы из текущего массива в новый с сохранением индексов. </p>
      */
     private void resize(){
-        Object[] newItems = new Object[items.length * 2];
-        System.arraycopy(items, 0, newItems, 0, items.length);
-        items = newItems;
+        grow(items.length + 1);
     }
 
     /**
-     * <p> Рекурсивно осуществляет быструю сортировку массива </p>
-     * @param left левый индекс сортируемого подмассива
-     * @param right правый индекс сортируемого подмассива
-     * @param comparator компаратор для сравнения элементов массива
+     * <p> Увеличивает размер массива так, чтобы в нем поместилось не меньше minCapacity элементов.
+     * Массив увеличивается не меньше чем вдвое, поэтому при добавлении многих элементов он расширяется
+     * один раз. </p>
+     * @param minCapacity требуемый размер массива
      */
-    private void quickSort(int left, int right, Comparator<T> comparator){
-        if (left >= right)
+    private void grow(int minCapacity){
+        if (minCapacity <= items.length)
             return;
+        if (minCapacity < 0)
+            throw new OutOfMemoryError("Required array size too large");
 
-        int mid = partition(left, right, comparator);
+        int newCapacity = items.length * 2;
+        if (newCapacity - minCapacity < 0)
+            newCapacity = minCapacity;
+        if (counters != null){
+            counters.resizes++;
+            counters.elementsCopied += size;
+        }
+        var event = new MyFlightEvents.ArrayListResize();
+        if (event.shouldCommit()){
+            event.oldCapacity = items.length;
+            event.newCapacity = newCapacity;
+            event.bytesCopied = (long) size * MyArrayListStats.REFERENCE_SIZE;
+            event.commit();
+        }
+        items = Arrays.copyOf(items, newCapacity);
+        shared = false;
+    }
 
-        quickSort(left, mid - 1, comparator);
-        quickSort(mid + 1, right, comparator);
+    /**
+     * <p> Копирует массив элементов, если он используется представлениями, созданными методом freeze().
+     * Вызывается перед любым изменением элементов с индексами меньше size. Добавление в конец коллекции
+     * массив не копирует, так как представления не видят элементы за пределами своего размера. </p>
+     */
+    private void unshare(){
+        if (shared){
+            items = Arrays.copyOf(items, items.length);
+            shared = false;
+        }
     }
 
     /**
-     * Сортирует подмассив от левого до правого индекса путем перемещения элементов относительно опорного элемента
-     * в соответствии с компаратором.
-     * @param left левый индекс сортируемого подмассива.
-     * @param right правый индекс сортируемого подмассива.
-     * @param comparator комапратор для сравнения элементов коллекции.
-     * @return индекс опорного элемента
+     * <p> Возвращает копию элементов коллекции в виде массива объектов. Если коллекция является MyArrayList,
+     * элементы копируются одним вызовом System.arraycopy. </p>
+     * @param elements коллекция элементов
+     * @return массив элементов коллекции
+     */
+    private static Object[] toObjectArray(MyList<?> elements){
+        if (elements instanceof MyArrayList<?> list)
+            return Arrays.copyOf(list.items, list.size);
+
+        Object[] arr = new Object[elements.size()];
+        for(int i = 0; i < arr.length; i++)
+            arr[i] = elements.get(i);
+        return arr;
+    }
+
+    /**
+     * <p> Удаляет элементы, удовлетворяющие условию. Сначала условие проверяется для всех элементов и
+     * результаты запоминаются в битовой маске, поэтому исключение в условии оставляет коллекцию без изменений.
+     * Затем оставшиеся элементы сдвигаются влево непрерывными участками с помощью System.arraycopy. </p>
+     * @param filter условие удаления элемента
+     * @return true, если был удален хотя бы один элемент
      */
     @SuppressWarnings("unchecked")
-    private int partition(int left, int right, Comparator<T> comparator){
-        int mid = (left + right) / 2,
-                i = left;
-
-        Object value = items[mid];
-        items[mid] = items[i];
-        items[i] = value;
-
-        for(int j = left + 1; j <= right; j++)
-            if (comparator.compare((T) items[left], (T) items[j]) > 0){
-                i++;
-                Object tmp = items[j];
-                items[j] = items[i];
-                items[i] = tmp;
+    private boolean removeMatching(Predicate<? super T> filter){
+        long[] removed = new long[(size + 63) >>> 6];
+        int count = 0;
+        for(int i = 0; i < size; i++)
+            if (filter.test((T) items[i])){
+                removed[i >>> 6] |= 1L << i;
+                count++;
             }
+        if (count == 0)
+            return false;
+
+        unshare();
 
-        items[left] = items[i];
-        items[i] = value;
+        int w = 0;
+        for(int r = 0; r < size;){
+            int start = r;
+            while(r < size && (removed[r >>> 6] & (1L << r)) == 0)
+                r++;
+            if (w != start)
+                System.arraycopy(items, start, items, w, r - start);
+            w += r - start;
+            while(r < size && (removed[r >>> 6] & (1L << r)) != 0)
+                r++;
+        }
 
-        return i;
+        Arrays.fill(items, w, size, null);
+        size = w;
+        modCount++;
+        return true;
     }
 
     @Override
@@ -108,6 +215,7 @@ public class MyArrayList<T> implements MyList<T>{
         if (size == items.length)
             resize();
         items[size++] = element;
+        modCount++;
     }
 
     @Override
@@ -117,11 +225,14 @@ public class MyArrayList<T> implements MyList<T>{
 
         if (size == items.length)
             resize();
+        unshare();
 
-        for(int i = size - 1; i >= index; i--)
-            items[i + 1] = items[i];
+        if (counters != null)
+            counters.shift(size - index);
+        System.arraycopy(items, index, items, index + 1, size - index);
         items[index] = element;
         size++;
+        modCount++;
     }
 
     @SuppressWarnings("unchecked")
@@ -138,17 +249,78 @@ public class MyArrayList<T> implements MyList<T>{
         if (index < 0 || index >= size)
             throw new IndexOutOfBoundsException();
 
-        for(int i = index + 1; i < size; i++)
-            items[i - 1] = items[i];
+        unshare();
+        if (counters != null)
+            counters.shift(size - index - 1);
+        System.arraycopy(items, index + 1, items, index, size - index - 1);
         items[size - 1] = null;
         size--;
+        modCount++;
+    }
+
+    @Override
+    public void addAll(MyList<? extends T> elements) {
+        addAll(elements, size);
+    }
+
+    @Override
+    public void addAll(MyList<? extends T> elements, int index) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException();
+
+        Object[] added = toObjectArray(elements);
+        grow(size + added.length);
+        unshare();
+        System.arraycopy(items, index, items, index + added.length, size - index);
+        System.arraycopy(added, 0, items, index, added.length);
+        size += added.length;
+        modCount++;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+        return removeMatching(filter);
+    }
+
+    @Override
+    public void removeRange(int from, int to) {
+        if (from < 0 || to > size || from > to)
+            throw new IndexOutOfBoundsException();
+
+        unshare();
+        System.arraycopy(items, to, items, from, size - to);
+        Arrays.fill(items, size - (to - from), size, null);
+        size -= to - from;
+        modCount++;
+    }
+
+    @Override
+    public boolean retainAll(MyList<?> elements) {
+        Set<Object> retained = new HashSet<>(Arrays.asList(toObjectArray(elements)));
+        return removeMatching(element -> !retained.contains(element));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void replaceAll(UnaryOperator<T> operator) {
+        Objects.requireNonNull(operator);
+        unshare();
+        for(int i = 0; i < size; i++)
+            items[i] = operator.apply((T) items[i]);
+        modCount++;
     }
 
     @Override
     public void clear() {
+        if (shared){
+            items = new Object[items.length];
+            shared = false;
+        }
         for(int i = 0; i < size; i++)
             items[i] = null;
         size = 0;
+        modCount++;
     }
 
     @Override
@@ -156,12 +328,36 @@ public class MyArrayList<T> implements MyList<T>{
         if (index < 0 || index >= size)
             throw new IndexOutOfBoundsException();
 
+        unshare();
         items[index] = element;
     }
 
     @Override
     public void sort(Comparator<T> comparator) {
-        quickSort(0, size - 1, comparator);
+        unshare();
+        MyTimSort.sort(items, 0, size, comparator);
+        modCount++;
+    }
+
+    /**
+     * <p> Сортирует коллекцию параллельной сортировкой слиянием в общем пуле ForkJoinPool. Коллекции, в которых
+     * меньше 8192 элементов, сортируются последовательно. </p>
+     */
+    @Override
+    public void parallelSort(Comparator<T> comparator) {
+        unshare();
+        MyParallelSort.sort(items, 0, size, comparator);
+        modCount++;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Itr();
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArraySpliterator(0, size, modCount);
     }
 
     @SuppressWarnings("unchecked")
@@ -173,6 +369,43 @@ public class MyArrayList<T> implements MyList<T>{
         return arr;
     }
 
+    /**
+     * <p> Возвращает неизменяемое представление текущего состояния коллекции без копирования элементов.
+     * Представление использует тот же массив, что и коллекция, пока она не изменит один из его элементов:
+     * перед первым таким изменением коллекция один раз копирует массив. Добавление в конец коллекции
+     * массив не копирует. </p>
+     * <br>
+     * <p> Представление не изменяется вместе с коллекцией, и его можно безопасно читать из других потоков. </p>
+     * @return неизменяемое представление элементов коллекции
+     */
+    public MyList<T> freeze() {
+        shared = true;
+        return new FrozenMyList<>(items, size);
+    }
+
+    /**
+     * <p> Включает подсчет увеличений массива и сдвигов элементов для статистики, возвращаемой методом stats().
+     * Снимок статистики также периодически записывается событием ru.sedov.MyArrayListStatistics
+     * в JDK Flight Recorder. </p>
+     */
+    public void enableStats() {
+        if (counters == null){
+            counters = new Counters();
+            MyFlightEvents.track(this);
+        }
+    }
+
+    /**
+     * <p> Возвращает снимок статистики коллекции. Счетчики операций равны нулю, если статистика не была
+     * включена методом enableStats(). </p>
+     * @return снимок статистики
+     */
+    public MyArrayListStats stats() {
+        var c = counters == null ? new Counters() : counters;
+        return new MyArrayListStats(size, items.length, c.resizes, c.elementsCopied,
+                c.shifts, c.shiftDistance, c.maxShiftDistance);
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder()
@@ -188,4 +421,99 @@ public class MyArrayList<T> implements MyList<T>{
         sb.append("]");
         return sb.toString();
     }
+
+    /**
+     * <p> Итератор элементов коллекции, читающий их прямо из массива items. </p>
+     */
+    private final class Itr implements Iterator<T> {
+        private int cursor = 0;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (cursor >= size)
+                throw new NoSuchElementException();
+            last = cursor;
+            return (T) items[cursor++];
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+
+            MyArrayList.this.remove(last);
+            cursor = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * <p> Spliterator элементов коллекции с индексами от index до fence. При разделении отдает первую половину
+     * своего участка, поэтому параллельный поток делит массив на равные части без копирования. </p>
+     */
+    private final class ArraySpliterator implements Spliterator<T> {
+        private int index;
+        private final int fence;
+        private final int expectedModCount;
+
+        ArraySpliterator(int index, int fence, int expectedModCount){
+            this.index = index;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (index + fence) >>> 1;
+            return index >= mid ? null : new ArraySpliterator(index, index = mid, expectedModCount);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            if (index >= fence)
+                return false;
+
+            T element = (T) items[index++];
+            action.accept(element);
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            Object[] arr = items;
+            for(; index < fence; index++)
+                action.accept((T) arr[index]);
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
 }
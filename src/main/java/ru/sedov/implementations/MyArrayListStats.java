@@ -0,0 +1,81 @@
+package ru.sedov.implementations;
+
+/**
+ * <p> Снимок статистики MyArrayList, возвращаемый методом MyArrayList.stats(). Счетчики ведутся только
+ * после вызова MyArrayList.enableStats() и до этого равны нулю. </p>
+ * <br>
+ * <p> Количество скопированных байт оценивается по размеру ссылки: 4 байта при куче меньше 32 Гб, когда
+ * JVM по умолчанию использует сжатые указатели, и 8 байт в остальных случаях. </p>
+ * <ul> Снимок предоставляет следующие методы:
+ *     <li>size() - количество элементов в коллекции</li>
+ *     <li>capacity() - размер массива элементов</li>
+ *     <li>resizes() - количество увеличений массива</li>
+ *     <li>elementsCopied(), bytesCopied() - количество элементов и байт, скопированных при увеличениях массива</li>
+ *     <li>shifts(), averageShiftDistance(), maxShiftDistance() - количество и длина сдвигов элементов
+ *     в add(element, index) и remove(index)</li>
+ * </ul>
+ */
+public final class MyArrayListStats {
+
+    /**
+     * Оценка размера ссылки в массиве объектов.
+     */
+    static final int REFERENCE_SIZE = Runtime.getRuntime().maxMemory() < (32L << 30) ? 4 : 8;
+
+    private final int size, capacity;
+
+    private final long resizes, elementsCopied, shifts, shiftDistance, maxShiftDistance;
+
+    MyArrayListStats(int size, int capacity, long resizes, long elementsCopied,
+                     long shifts, long shiftDistance, long maxShiftDistance){
+        this.size = size;
+        this.capacity = capacity;
+        this.resizes = resizes;
+        this.elementsCopied = elementsCopied;
+        this.shifts = shifts;
+        this.shiftDistance = shiftDistance;
+        this.maxShiftDistance = maxShiftDistance;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long resizes() {
+        return resizes;
+    }
+
+    public long elementsCopied() {
+        return elementsCopied;
+    }
+
+    public long bytesCopied() {
+        return elementsCopied * REFERENCE_SIZE;
+    }
+
+    public long shifts() {
+        return shifts;
+    }
+
+    /**
+     * @return среднее количество элементов, сдвинутых при одной вставке или удалении по индексу
+     */
+    public double averageShiftDistance() {
+        return shifts == 0 ? 0 : (double) shiftDistance / shifts;
+    }
+
+    public long maxShiftDistance() {
+        return maxShiftDistance;
+    }
+
+    @Override
+    public String toString() {
+        return "MyArrayListStats[size=" + size + ", capacity=" + capacity + ", resizes=" + resizes
+                + ", elementsCopied=" + elementsCopied + ", bytesCopied=" + bytesCopied() + ", shifts=" + shifts
+                + ", averageShiftDistance=" + averageShiftDistance() + ", maxShiftDistance=" + maxShiftDistance + "]";
+    }
+}
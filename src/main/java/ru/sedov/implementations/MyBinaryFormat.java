@@ -0,0 +1,342 @@
+package ru.sedov.implementations;
+
+import ru.sedov.MyCodec;
+import ru.sedov.MyList;
+import ru.sedov.MyMap;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+
+/**
+ * <p> Компактный двоичный формат для передачи коллекций MyList и MyMap между процессами через каналы NIO.
+ * Объекты преобразуются в байты с помощью MyCodec, поэтому формат не зависит от Java-сериализации и
+ * не записывает имена классов. </p>
+ * <br>
+ * <p> Формат сообщения:</p>
+ * <ul>
+ *     <li>заголовок (12 байт): сигнатура, версия формата, вид коллекции (список или отображение)
+ *     и количество объектов;</li>
+ *     <li>записи вида [длина][байты объекта] для каждого элемента списка или [ключ][значение] для каждого
+ *     объекта отображения. Длина записывается в формате varint и увеличивается на 1, а длина 0 обозначает
+ *     null, поэтому небольшой объект занимает всего на 1 байт больше своего представления.</li>
+ * </ul>
+ * <p> Экземпляр класса хранит два прямых буфера (для записи и для чтения) и использует их во всех вызовах,
+ * поэтому при передаче многих сообщений буферы не выделяются заново. Буфер увеличивается, только если
+ * в него не помещается одна запись. Читающие методы могут прочитать из канала больше байт, чем занимает
+ * сообщение: оставшиеся байты сохраняются в буфере и используются следующим вызовом, поэтому сообщения,
+ * записанные в один канал друг за другом, нужно читать одним экземпляром. Читатель создает коллекцию
+ * сразу нужного размера по количеству объектов из заголовка, так что во время чтения массивы коллекции
+ * не увеличиваются и объекты не перехэшируются. </p>
+ * <br>
+ * <p> Заголовку и длинам записей из канала нельзя доверять: поврежденное или подобранное сообщение может
+ * объявить миллиарды объектов или запись в несколько гигабайт. Поэтому заранее выделяется место не более
+ * чем для 65536 объектов, а большие коллекции увеличиваются обычным образом по мере чтения записей. Запись
+ * длиннее maxRecordSize байт (по умолчанию 64 МБ) считается повреждением сообщения и приводит к IOException
+ * до выделения памяти под нее. </p>
+ * <br>
+ * <p> Каналы должны работать в блокирующем режиме. Экземпляр класса не потокобезопасен. </p>
+ * <ul> Для работы с форматом были определены следующие методы:
+ *     <li>writeList(list, codec, channel) - записать список в канал</li>
+ *     <li>readList(channel, codec) - прочитать список из канала в новую коллекцию MyArrayList</li>
+ *     <li>writeMap(map, keyCodec, valueCodec, channel) - записать отображение в канал</li>
+ *     <li>readMap(channel, keyCodec, valueCodec) - прочитать отображение из канала в новую коллекцию MyHashMap</li>
+ * </ul>
+ */
+public final class MyBinaryFormat {
+
+    /**
+     * Сигнатура сообщения ("MYBF").
+     */
+    private static final int MAGIC = 0x4D594246;
+
+    private static final short VERSION = 1;
+
+    private static final short KIND_LIST = 1;
+
+    private static final short KIND_MAP = 2;
+
+    private static final int HEADER_SIZE = 12;
+
+    /**
+     * Максимальное количество байт, которое занимает длина записи в формате varint.
+     */
+    private static final int MAX_VARINT_SIZE = 5;
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private static final int DEFAULT_MAX_RECORD_SIZE = 1 << 26;
+
+    /**
+     * Наибольшее количество объектов, для которого читатель выделяет место заранее по заголовку сообщения.
+     */
+    private static final int MAX_PRESIZE = 1 << 16;
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private ByteBuffer writeBuffer;
+
+    /**
+     * Буфер чтения всегда находится в режиме чтения: байты между position и limit получены из канала,
+     * но еще не прочитаны.
+     */
+    private ByteBuffer readBuffer;
+
+    /**
+     * Наибольшая длина одной записи в байтах.
+     */
+    private final int maxRecordSize;
+
+    /**
+     * @param bufferSize исходный размер буферов записи и чтения
+     * @param maxRecordSize наибольшая длина одной записи в байтах
+     * @throws IllegalArgumentException если размер буфера меньше заголовка или maxRecordSize не положителен
+     */
+    public MyBinaryFormat(int bufferSize, int maxRecordSize){
+        if (bufferSize < HEADER_SIZE)
+            throw new IllegalArgumentException("Illegal buffer size: " + bufferSize);
+        if (maxRecordSize <= 0 || maxRecordSize > Integer.MAX_VALUE - MAX_VARINT_SIZE)
+            throw new IllegalArgumentException("Illegal max record size: " + maxRecordSize);
+
+        this.maxRecordSize = maxRecordSize;
+        writeBuffer = ByteBuffer.allocateDirect(bufferSize);
+        readBuffer = ByteBuffer.allocateDirect(bufferSize).flip();
+    }
+    public MyBinaryFormat(int bufferSize){
+        this(bufferSize, Math.max(bufferSize, DEFAULT_MAX_RECORD_SIZE));
+    }
+    public MyBinaryFormat(){
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Записывает список в канал.
+     * @param list список
+     * @param codec кодек для преобразования элементов в байты
+     * @param channel канал для записи
+     * @param <T> тип элементов списка
+     * @throws IOException если не удалось записать в канал
+     */
+    public <T> void writeList(MyList<? extends T> list, MyCodec<T> codec, WritableByteChannel channel)
+            throws IOException {
+        Objects.requireNonNull(codec);
+        int size = list.size();
+        writeBuffer.clear();
+        writeHeader(KIND_LIST, size);
+
+        int count = 0;
+        for(T element : list){
+            writeRecord(element, codec, channel);
+            count++;
+        }
+        if (count != size)
+            throw new ConcurrentModificationException();
+        flush(channel);
+    }
+
+    /**
+     * Записывает отображение в канал.
+     * @param map отображение
+     * @param keyCodec кодек для преобразования ключей в байты
+     * @param valueCodec кодек для преобразования значений в байты
+     * @param channel канал для записи
+     * @param <K> тип ключей
+     * @param <V> тип значений
+     * @throws IOException если не удалось записать в канал
+     */
+    public <K, V> void writeMap(MyMap<K, V> map, MyCodec<K> keyCodec, MyCodec<V> valueCodec,
+                                WritableByteChannel channel) throws IOException {
+        Objects.requireNonNull(keyCodec);
+        Objects.requireNonNull(valueCodec);
+        int size = map.size();
+        writeBuffer.clear();
+        writeHeader(KIND_MAP, size);
+
+        int count = 0;
+        for(var entry : map){
+            writeRecord(entry.getKey(), keyCodec, channel);
+            writeRecord(entry.getValue(), valueCodec, channel);
+            count++;
+        }
+        if (count != size)
+            throw new ConcurrentModificationException();
+        flush(channel);
+    }
+
+    /**
+     * Читает список из канала. Коллекция создается с массивом, в который помещаются все элементы сообщения,
+     * но не более чем на 65536 элементов.
+     * @param channel канал для чтения
+     * @param codec кодек для преобразования байтов в элементы
+     * @param <T> тип элементов списка
+     * @return новая коллекция с прочитанными элементами
+     * @throws IOException если не удалось прочитать из канала или сообщение повреждено
+     */
+    public <T> MyArrayList<T> readList(ReadableByteChannel channel, MyCodec<T> codec) throws IOException {
+        Objects.requireNonNull(codec);
+        int size = readHeader(channel, KIND_LIST);
+
+        MyArrayList<T> list = new MyArrayList<>(Math.min(size, MAX_PRESIZE));
+        for(int i = 0; i < size; i++)
+            list.add(readRecord(channel, codec));
+        return list;
+    }
+
+    /**
+     * Читает отображение из канала. Коллекция создается с таблицей такого размера, чтобы все объекты
+     * сообщения, но не более 65536, поместились в нее без увеличения.
+     * @param channel канал для чтения
+     * @param keyCodec кодек для преобразования байтов в ключи
+     * @param valueCodec кодек для преобразования байтов в значения
+     * @param <K> тип ключей
+     * @param <V> тип значений
+     * @return новая коллекция с прочитанными объектами
+     * @throws IOException если не удалось прочитать из канала или сообщение повреждено
+     */
+    public <K, V> MyHashMap<K, V> readMap(ReadableByteChannel channel, MyCodec<K> keyCodec,
+                                          MyCodec<V> valueCodec) throws IOException {
+        Objects.requireNonNull(keyCodec);
+        Objects.requireNonNull(valueCodec);
+        int size = readHeader(channel, KIND_MAP);
+
+        MyHashMap<K, V> map = new MyHashMap<>((int) Math.ceil(Math.min(size, MAX_PRESIZE) / LOAD_FACTOR),
+                LOAD_FACTOR);
+        for(int i = 0; i < size; i++){
+            K key = readRecord(channel, keyCodec);
+            map.put(key, readRecord(channel, valueCodec));
+        }
+        return map;
+    }
+
+    private void writeHeader(short kind, int size){
+        writeBuffer.putInt(MAGIC).putShort(VERSION).putShort(kind).putInt(size);
+    }
+
+    private <T> void writeRecord(T value, MyCodec<T> codec, WritableByteChannel channel) throws IOException {
+        if (value == null){
+            ensureWritable(1, channel);
+            writeBuffer.put((byte) 0);
+            return;
+        }
+
+        int length = codec.size(value);
+        if (length < 0 || length > maxRecordSize)
+            throw new IllegalArgumentException("Illegal record size: " + length);
+        ensureWritable(MAX_VARINT_SIZE + length, channel);
+
+        putVarInt(length + 1);
+        int start = writeBuffer.position();
+        codec.write(value, writeBuffer);
+        if (writeBuffer.position() != start + length)
+            throw new IllegalStateException("Codec wrote a different number of bytes than it reported");
+    }
+
+    private void putVarInt(int value){
+        while((value & ~0x7F) != 0){
+            writeBuffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writeBuffer.put((byte) value);
+    }
+
+    /**
+     * Освобождает в буфере записи место для length байт, записывая содержимое буфера в канал.
+     * Если запись не помещается в пустой буфер, буфер заменяется на больший.
+     */
+    private void ensureWritable(int length, WritableByteChannel channel) throws IOException {
+        if (writeBuffer.remaining() >= length)
+            return;
+
+        flush(channel);
+        if (writeBuffer.capacity() < length)
+            writeBuffer = ByteBuffer.allocateDirect(length);
+    }
+
+    private void flush(WritableByteChannel channel) throws IOException {
+        writeBuffer.flip();
+        while(writeBuffer.hasRemaining())
+            channel.write(writeBuffer);
+        writeBuffer.clear();
+    }
+
+    private int readHeader(ReadableByteChannel channel, short kind) throws IOException {
+        require(HEADER_SIZE, channel);
+        if (readBuffer.getInt() != MAGIC)
+            throw new IOException("Not a collection stream");
+        short version = readBuffer.getShort();
+        if (version != VERSION)
+            throw new IOException("Unsupported format version: " + version);
+        short actualKind = readBuffer.getShort();
+        if (actualKind != kind)
+            throw new IOException(kind == KIND_LIST ? "Stream contains a map, not a list"
+                    : "Stream contains a list, not a map");
+        int size = readBuffer.getInt();
+        if (size < 0)
+            throw new IOException("Corrupted stream: negative size " + size);
+        return size;
+    }
+
+    private <T> T readRecord(ReadableByteChannel channel, MyCodec<T> codec) throws IOException {
+        int header = readVarInt(channel);
+        if (header == 0)
+            return null;
+
+        int length = header - 1;
+        if (length < 0 || length > maxRecordSize)
+            throw new IOException("Corrupted stream: illegal record size " + length);
+        require(length, channel);
+        // Кодек получает только байты записи, поэтому поврежденная длина не дает ему прочитать следующую запись
+        ByteBuffer record = readBuffer.slice(readBuffer.position(), length).order(readBuffer.order());
+        T value;
+        try {
+            value = codec.read(record, length);
+        } catch (BufferUnderflowException e){
+            throw new IOException("Corrupted stream: record of " + length + " bytes is too short", e);
+        }
+        if (record.position() != length)
+            throw new IOException("Corrupted stream: codec read " + record.position() + " of " + length + " bytes");
+        readBuffer.position(readBuffer.position() + length);
+        return value;
+    }
+
+    private int readVarInt(ReadableByteChannel channel) throws IOException {
+        int value = 0;
+        for(int shift = 0; shift < MAX_VARINT_SIZE * 7; shift += 7){
+            require(1, channel);
+            byte b = readBuffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new IOException("Corrupted stream: malformed record size");
+    }
+
+    /**
+     * Читает из канала, пока в буфере чтения не окажется хотя бы length непрочитанных байт.
+     * Если length больше размера буфера, буфер заменяется на больший.
+     * @throws EOFException если канал закончился раньше
+     */
+    private void require(int length, ReadableByteChannel channel) throws IOException {
+        if (readBuffer.remaining() >= length)
+            return;
+
+        if (readBuffer.capacity() < length){
+            ByteBuffer larger = ByteBuffer.allocateDirect(length);
+            larger.put(readBuffer);
+            readBuffer = larger;
+        } else
+            readBuffer.compact();
+
+        while(readBuffer.position() < length)
+            if (channel.read(readBuffer) < 0){
+                readBuffer.flip();
+                throw new EOFException("Unexpected end of stream");
+            }
+        readBuffer.flip();
+    }
+}
@@ -0,0 +1,129 @@
+package ru.sedov.implementations;
+
+import ru.sedov.MyCodec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Класс, содержащий стандартные реализации интерфейса MyCodec:
+ * <ul>
+ *     <li>INTEGER - объекты Integer, 4 байта</li>
+ *     <li>LONG - объекты Long, 8 байт</li>
+ *     <li>DOUBLE - объекты Double, 8 байт</li>
+ *     <li>STRING - объекты String в кодировке UTF-8, переменная длина</li>
+ *     <li>BYTES - массивы byte[], переменная длина</li>
+ * </ul>
+ */
+public final class MyCodecs {
+
+    private MyCodecs(){
+    }
+
+    public static final MyCodec<Integer> INTEGER = new MyCodec<>() {
+        @Override
+        public int size(Integer value) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(Integer value, ByteBuffer buffer) {
+            buffer.putInt(value);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer, int length) {
+            return buffer.getInt();
+        }
+    };
+
+    public static final MyCodec<Long> LONG = new MyCodec<>() {
+        @Override
+        public int size(Long value) {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(Long value, ByteBuffer buffer) {
+            buffer.putLong(value);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer, int length) {
+            return buffer.getLong();
+        }
+    };
+
+    public static final MyCodec<Double> DOUBLE = new MyCodec<>() {
+        @Override
+        public int size(Double value) {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void write(Double value, ByteBuffer buffer) {
+            buffer.putDouble(value);
+        }
+
+        @Override
+        public Double read(ByteBuffer buffer, int length) {
+            return buffer.getDouble();
+        }
+    };
+
+    public static final MyCodec<String> STRING = new MyCodec<>() {
+        @Override
+        public int size(String value) {
+            int size = 0;
+            for(int i = 0; i < value.length(); i++){
+                char c = value.charAt(i);
+                if (c < 0x80)
+                    size += 1;
+                else if (c < 0x800)
+                    size += 2;
+                else if (!Character.isSurrogate(c))
+                    size += 3;
+                else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))){
+                    size += 4;
+                    i++;
+                }
+                else
+                    // Одиночный суррогат кодируется символом замены '?'
+                    size += 1;
+            }
+            return size;
+        }
+
+        @Override
+        public void write(String value, ByteBuffer buffer) {
+            buffer.put(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String read(ByteBuffer buffer, int length) {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    public static final MyCodec<byte[]> BYTES = new MyCodec<>() {
+        @Override
+        public int size(byte[] value) {
+            return value.length;
+        }
+
+        @Override
+        public void write(byte[] value, ByteBuffer buffer) {
+            buffer.put(value);
+        }
+
+        @Override
+        public byte[] read(ByteBuffer buffer, int length) {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return bytes;
+        }
+    };
+}
@@ -0,0 +1,232 @@
+package ru.sedov.implementations;
+
+import jdk.jfr.*;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * <p> События JDK Flight Recorder, которые коллекции записывают при увеличении внутренних массивов. </p>
+ * <br>
+ * <p> События записываются только во время записи JFR, в которой они включены (например,
+ * {@code -XX:StartFlightRecording}), и только в редких операциях, поэтому без записи их стоимость
+ * сводится к проверке shouldCommit(). </p>
+ * <br>
+ * <p> Кроме того, коллекции, для которых вызван enableStats(), регистрируются здесь по слабым ссылкам,
+ * и раз в секунду (период можно изменить в настройках записи) для каждой из них записывается периодическое
+ * событие со снимком stats(): гистограммой длин списков, заполненностью ячеек и средней длиной поиска
+ * для MyHashMap и количеством и длиной сдвигов для MyArrayList. Снимок делается потоком JFR, поэтому
+ * для изменяемой в это время коллекции он приблизителен. Коллекции без статистики не регистрируются
+ * и ничего не платят за эти события. </p>
+ */
+final class MyFlightEvents {
+
+    private MyFlightEvents(){}
+
+    /**
+     * Регистрирует коллекцию для периодического события MyHashMapStatistics.
+     */
+    static void track(MyHashMap<?, ?> map){
+        Periodic.MAPS.add(new WeakReference<>(map));
+    }
+
+    /**
+     * Регистрирует коллекцию для периодического события MyArrayListStatistics.
+     */
+    static void track(MyArrayList<?> list){
+        Periodic.LISTS.add(new WeakReference<>(list));
+    }
+
+    /**
+     * Зарегистрированные коллекции. Периодические события добавляются в JFR при первой регистрации
+     * коллекции, то есть только если статистика где-то включена.
+     */
+    private static final class Periodic {
+
+        static final Queue<WeakReference<MyHashMap<?, ?>>> MAPS = new ConcurrentLinkedQueue<>();
+
+        static final Queue<WeakReference<MyArrayList<?>>> LISTS = new ConcurrentLinkedQueue<>();
+
+        static {
+            FlightRecorder.addPeriodicEvent(HashMapStatistics.class, Periodic::emitMaps);
+            FlightRecorder.addPeriodicEvent(ArrayListStatistics.class, Periodic::emitLists);
+        }
+
+        private static void emitMaps(){
+            for(var it = MAPS.iterator(); it.hasNext(); ){
+                var map = it.next().get();
+                if (map == null){
+                    it.remove();
+                    continue;
+                }
+
+                MyHashMapStats stats;
+                try {
+                    stats = map.stats();
+                } catch (RuntimeException e){
+                    continue;
+                }
+                var event = new HashMapStatistics();
+                event.collectionId = System.identityHashCode(map);
+                event.size = stats.size();
+                event.capacity = stats.capacity();
+                event.occupiedBuckets = stats.occupiedBuckets();
+                event.treeBuckets = stats.treeBuckets();
+                event.chainLengthHistogram = Arrays.toString(stats.chainLengthHistogram());
+                event.gets = stats.gets();
+                event.averageGetProbes = stats.averageGetProbes();
+                event.puts = stats.puts();
+                event.averagePutProbes = stats.averagePutProbes();
+                event.resizes = stats.resizes();
+                event.rehashedEntries = stats.rehashedEntries();
+                event.commit();
+            }
+        }
+
+        private static void emitLists(){
+            for(var it = LISTS.iterator(); it.hasNext(); ){
+                var list = it.next().get();
+                if (list == null){
+                    it.remove();
+                    continue;
+                }
+
+                var stats = list.stats();
+                var event = new ArrayListStatistics();
+                event.collectionId = System.identityHashCode(list);
+                event.size = stats.size();
+                event.capacity = stats.capacity();
+                event.resizes = stats.resizes();
+                event.bytesCopied = stats.bytesCopied();
+                event.shifts = stats.shifts();
+                event.averageShiftDistance = stats.averageShiftDistance();
+                event.maxShiftDistance = stats.maxShiftDistance();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Увеличение массива списков MyHashMap.
+     */
+    @Name("ru.sedov.MyHashMapResize")
+    @Label("MyHashMap Resize")
+    @Category({"ru.sedov", "Collections"})
+    @StackTrace(false)
+    static final class HashMapResize extends Event {
+
+        @Label("Old Capacity")
+        int oldCapacity;
+
+        @Label("New Capacity")
+        int newCapacity;
+
+        @Label("Size")
+        int size;
+    }
+
+    /**
+     * Увеличение массива элементов MyArrayList.
+     */
+    @Name("ru.sedov.MyArrayListResize")
+    @Label("MyArrayList Resize")
+    @Category({"ru.sedov", "Collections"})
+    @StackTrace(false)
+    static final class ArrayListResize extends Event {
+
+        @Label("Old Capacity")
+        int oldCapacity;
+
+        @Label("New Capacity")
+        int newCapacity;
+
+        @Label("Bytes Copied")
+        @DataAmount
+        long bytesCopied;
+    }
+
+    /**
+     * Периодический снимок статистики MyHashMap с включенной статистикой.
+     */
+    @Name("ru.sedov.MyHashMapStatistics")
+    @Label("MyHashMap Statistics")
+    @Category({"ru.sedov", "Collections"})
+    @StackTrace(false)
+    @Period("1 s")
+    static final class HashMapStatistics extends Event {
+
+        @Label("Collection Id")
+        int collectionId;
+
+        @Label("Size")
+        int size;
+
+        @Label("Capacity")
+        int capacity;
+
+        @Label("Occupied Buckets")
+        int occupiedBuckets;
+
+        @Label("Tree Buckets")
+        int treeBuckets;
+
+        @Label("Chain Length Histogram")
+        String chainLengthHistogram;
+
+        @Label("Gets")
+        long gets;
+
+        @Label("Average Get Probes")
+        double averageGetProbes;
+
+        @Label("Puts")
+        long puts;
+
+        @Label("Average Put Probes")
+        double averagePutProbes;
+
+        @Label("Resizes")
+        long resizes;
+
+        @Label("Rehashed Entries")
+        long rehashedEntries;
+    }
+
+    /**
+     * Периодический снимок статистики MyArrayList с включенной статистикой.
+     */
+    @Name("ru.sedov.MyArrayListStatistics")
+    @Label("MyArrayList Statistics")
+    @Category({"ru.sedov", "Collections"})
+    @StackTrace(false)
+    @Period("1 s")
+    static final class ArrayListStatistics extends Event {
+
+        @Label("Collection Id")
+        int collectionId;
+
+        @Label("Size")
+        int size;
+
+        @Label("Capacity")
+        int capacity;
+
+        @Label("Resizes")
+        long resizes;
+
+        @Label("Bytes Copied")
+        @DataAmount
+        long bytesCopied;
+
+        @Label("Shifts")
+        long shifts;
+
+        @Label("Average Shift Distance")
+        double averageShiftDistance;
+
+        @Label("Max Shift Distance")
+        long maxShiftDistance;
+    }
+}
@@ -0,0 +1,103 @@
+package ru.sedov.implementations;
+
+/**
+ * <p> Приближенный счетчик частоты обращений к ключам (Count-Min Sketch) для политики допуска TinyLFU. </p>
+ * <br>
+ * <p> Счетчики занимают по 4 бита, по 16 счетчиков в одном long. Для каждого ключа выбираются четыре
+ * счетчика в разных ячейках массива, частотой ключа считается наименьший из них, поэтому коллизии могут
+ * только завысить частоту, но не занизить ее. Счетчик не превышает 15. После того как количество
+ * увеличений достигнет 10 размеров массива, все счетчики делятся пополам, и старые обращения постепенно
+ * перестают влиять на частоту. </p>
+ */
+final class MyFrequencySketch {
+
+    /**
+     * Множители для выбора ячеек массива, по одному на каждый из четырех счетчиков ключа.
+     */
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+
+    /**
+     * Маска, сбрасывающая старший бит каждого 4-битного счетчика после сдвига вправо.
+     */
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    /**
+     * Наибольшее количество ключей, под которое выделяется массив счетчиков (512 Кб). Для коллекций,
+     * ограниченных весом, а не количеством объектов, максимальный вес может быть очень большим.
+     */
+    private static final long MAXIMUM_SIZE = 1 << 16;
+
+    private final long[] table;
+
+    private final int mask;
+
+    private final int sampleSize;
+
+    private int additions = 0;
+
+    /**
+     * @param maximumSize ожидаемое количество различных ключей, частоту которых нужно различать
+     */
+    MyFrequencySketch(long maximumSize){
+        int length = Integer.highestOneBit((int) Math.max(Math.min(maximumSize, MAXIMUM_SIZE) - 1, 1)) << 1;
+        table = new long[length];
+        mask = length - 1;
+        sampleSize = 10 * length;
+    }
+
+    /**
+     * Перемешивает биты хэш-значения ключа, чтобы близкие хэш-значения попадали в разные ячейки.
+     */
+    private static int spread(Object key){
+        int h = key == null ? 0 : key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int indexOf(int hash, int i){
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & mask;
+    }
+
+    /**
+     * @param key ключ
+     * @return оценка количества обращений к ключу, от 0 до 15
+     */
+    int frequency(Object key){
+        int hash = spread(key), start = (hash & 3) << 2, frequency = 15;
+        for(int i = 0; i < 4; i++){
+            int shift = (start + i) << 2;
+            frequency = Math.min(frequency, (int) ((table[indexOf(hash, i)] >>> shift) & 15));
+        }
+        return frequency;
+    }
+
+    /**
+     * Учитывает обращение к ключу.
+     * @param key ключ
+     */
+    void increment(Object key){
+        int hash = spread(key), start = (hash & 3) << 2;
+        boolean added = false;
+        for(int i = 0; i < 4; i++){
+            int index = indexOf(hash, i), shift = (start + i) << 2;
+            if (((table[index] >>> shift) & 15) != 15){
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize)
+            reset();
+    }
+
+    /**
+     * Делит все счетчики пополам.
+     */
+    private void reset(){
+        for(int i = 0; i < table.length; i++)
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        additions >>>= 1;
+    }
+}
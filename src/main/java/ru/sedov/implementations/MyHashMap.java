@@ -1,28 +1,75 @@
 package ru.sedov.implementations;
 
+import ru.sedov.MyCodec;
+import ru.sedov.MyHashStrategy;
 import ru.sedov.MyMap;
 
+import java.io.IOException;
 import java.lang.reflect.Array;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * <p>Реализация интерфейса MyMap представляющая собой коллекцию, хранящую в себе объекты MyEntry.
- * Хранение элементов происходит во внутреннем массиве из 10 элементов. Исходный размер массива можно изменить
- * при создании экземпляра класса передав целочисленное значение в параметре capacity конструктора.
+ * Хранение элементов происходит во внутреннем массиве из 16 элементов. Исходный размер массива можно изменить
+ * при создании экземпляра класса передав целочисленное значение в параметре capacity конструктора, при этом
+ * размер всегда округляется вверх до ближайшей степени двойки.
  * Ячейка, в которой будет находиться объект определяется параметром key в объекте путем вычисления
  * хэш-значения. При добавлении объекта в пустую ячейку, в не создается стандартный java_LinkedList
  * для решения будущих коллизий. Если после удаления объекта из коллекции LinkedList остается пустым - он удаляется полностью.
  * Новые объекты всегда добавляются в конец соответственного списка. </p>
+ * <br>
+ * <p> По умолчанию хэш-значение и равенство ключей определяются их методами hashCode и equals. В конструктор
+ * можно передать другую стратегию MyHashStrategy, например, MyHashStrategies.BYTE_ARRAY для ключей byte[]
+ * или MyHashStrategies.CASE_INSENSITIVE для строк без учета регистра. Если ключи приходят из недоверенного
+ * источника, стратегия со случайным ключом хэш-функции (MyHashStrategies.randomizedStrings()) не позволяет
+ * заранее подобрать множество ключей, попадающих в одну ячейку. </p>
+ * <br>
+ * <p> Если в одной ячейке оказывается не менее 8 объектов, а массив содержит не менее 64 ячеек, список
+ * заменяется сбалансированным деревом, упорядоченным по хэш-значению ключа, а при совпадении хэш-значений -
+ * по имени класса ключа и по compareTo, если ключ реализует Comparable и коллекция использует стандартную
+ * стратегию сравнения ключей. Поиск в такой ячейке выполняется
+ * за логарифмическое время даже при большом количестве коллизий. Когда в дереве остается не более 6 объектов,
+ * оно снова заменяется списком. </p>
+ * <br>
+ * <p> Когда количество объектов превышает произведение размера массива на коэффициент загрузки (по умолчанию 0.75),
+ * коллекция создает новый массив вдвое большего размера. Перенос объектов в новый массив происходит постепенно:
+ * каждая операция put и remove переносит несколько списков из старого массива, поэтому ни одна операция
+ * не копирует всю коллекцию целиком. До окончания переноса поиск выполняется в том массиве, в котором
+ * сейчас находится соответствующий список. </p>
+ * <br>
+ * <p> Операции getOrDefault, putIfAbsent, computeIfAbsent, computeIfPresent, compute и merge вычисляют
+ * хэш-значение ключа один раз и просматривают ячейку один раз, поэтому, например, подсчет количества
+ * вхождений с помощью merge стоит одного поиска вместо трех (containsKey, get и put). Функции, переданные
+ * в эти операции, не должны изменять коллекцию, иначе будет выброшено ConcurrentModificationException. </p>
+ * <br>
+ * <p> Для диагностики можно включить подсчет длины поиска, увеличений массива и перенесенных объектов методом
+ * enableStats() и получить их вместе с гистограммой длин списков методом stats(). Кроме того, каждое
+ * увеличение массива записывается событием ru.sedov.MyHashMapResize в JDK Flight Recorder, если оно включено
+ * в текущей записи, а для коллекции с включенной статистикой раз в секунду записывается событие
+ * ru.sedov.MyHashMapStatistics со снимком stats(). </p>
  * <ul> Для работы с коллекций были определены следующий методы:
  *     <li>containsKey(key) - проверка, находится ли в коллекции заданный ключ</li>
- *     <li>containsValue(value) - проверка, находится ли в коллекции заданное значение</li>
+ *     <li>containsValue(value) - проверка, находится ли в коллекции заданное значение (просмотр всех объектов,
+ *     для поиска по значению за O(1) есть BiMyHashMap)</li>
  *     <li>get(key) - получить значение по ключу</li>
  *     <li>put(key, value) - поместить пару ключ/значение в коллекцию</li>
  *     <li>remove(key) - удалить объект по ключу</li>
+ *     <li>enableStats(), stats() - включить подсчет операций и получить снимок статистики коллекции</li>
+ *     <li>getOrDefault(key, defaultValue) - получить значение по ключу или значение по умолчанию</li>
+ *     <li>putIfAbsent(key, value) - поместить пару ключ/значение, если ключа еще нет в коллекции</li>
+ *     <li>computeIfAbsent, computeIfPresent, compute, merge - пересчитать значение ключа функцией</li>
  *     <li>size() - получить количество объектов в коллекции</li>
  *     <li>isEmpty() - проверить пуста ли коллекция</li>
  *     <li>toKeyArray(clazz) - конвертировать все ключи в коллекции в массив</li>
  *     <li>toValueArray(clazz) - конвертировать все значения в коллекции в массив</li>
+ *     <li>iterator(), stream(), parallelStream() - обойти объекты коллекции</li>
+ *     <li>forEach(action) - выполнить действие для ключа и значения каждого объекта</li>
+ *     <li>writeSnapshot(path, keyCodec, valueCodec) - записать коллекцию в файл снимка</li>
  * </ul>
  * @param <K>
  * @param <V>
@@ -32,106 +79,499 @@ public class MyHashMap<K, V> implements MyMap<K, V> {
     /**
      * Стандартное количество списков для хранения объектов.
      */
-    private static final int DEFAULT_CAPACITY = 10;
+    private static final int DEFAULT_CAPACITY = 16;
 
     /**
-     * Текущее количество списков для хранения объектов.
+     * Стандартный коэффициент загрузки коллекции.
      */
-    private final int buckets;
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * Максимальное количество списков для хранения объектов.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * Количество списков, переносимых из старого массива в новый за одну операцию.
+     */
+    private static final int MIGRATION_STEP = 4;
+
+    /**
+     * Количество объектов в списке, при достижении которого список заменяется деревом.
+     */
+    private static final int TREEIFY_THRESHOLD = 8;
+
+    /**
+     * Количество объектов в дереве, при котором дерево снова заменяется списком.
+     */
+    private static final int UNTREEIFY_THRESHOLD = 6;
+
+    /**
+     * Минимальное количество ячеек, при котором списки заменяются деревьями. В меньших массивах длинные
+     * списки устраняются увеличением массива.
+     */
+    private static final int MIN_TREEIFY_CAPACITY = 64;
+
+    /**
+     * Коэффициент загрузки, при превышении которого массив списков увеличивается вдвое.
+     */
+    private final float loadFactor;
+
+    /**
+     * Стратегия, определяющая хэш-значение и равенство ключей.
+     */
+    private final MyHashStrategy<? super K> strategy;
+
+    /**
+     * Количество объектов, при превышении которого начинается увеличение массива списков.
+     */
+    private int threshold;
 
     private int size = 0;
 
     /**
      * Массив списков для хранения объектов.
      */
-    private final List<MyEntry<K, V>>[] entryLists;
+    private Bucket<K, V>[] entryLists;
+
+    /**
+     * Предыдущий массив списков, объекты из которого еще не перенесены в entryLists.
+     * Равен null, если перенос не выполняется.
+     */
+    private Bucket<K, V>[] oldEntryLists;
+
+    /**
+     * Количество списков старого массива, которые уже перенесены в новый массив.
+     */
+    private int migrated;
+
+    /**
+     * Количество структурных изменений коллекции, включая перенос списков. Используется итераторами,
+     * чтобы обнаружить изменение коллекции во время обхода.
+     */
+    private int modCount = 0;
+
+    /**
+     * Счетчики операций для статистики. Равны null, пока статистика не включена методом enableStats(),
+     * поэтому без статистики операции выполняют только проверку на null.
+     */
+    private Counters counters;
+
+    /**
+     * Счетчики операций коллекции.
+     */
+    private static final class Counters {
+        long gets, getProbes, puts, putProbes, resizes, rehashedEntries;
+    }
 
     @SuppressWarnings("unchecked")
+    public MyHashMap(int capacity, float loadFactor, MyHashStrategy<? super K> strategy){
+        if (capacity < 0)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        if (loadFactor <= 0 || Float.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+
+        this.loadFactor = loadFactor;
+        this.strategy = Objects.requireNonNull(strategy);
+        entryLists = new Bucket[tableSizeFor(capacity)];
+        threshold = (int) (entryLists.length * loadFactor);
+    }
+    public MyHashMap(int capacity, float loadFactor){
+        this(capacity, loadFactor, MyHashStrategies.natural());
+    }
     public MyHashMap(int capacity){
-        buckets = capacity;
-        entryLists = new List[buckets];
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+    public MyHashMap(MyHashStrategy<? super K> strategy){
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, strategy);
     }
     public MyHashMap(){
         this(DEFAULT_CAPACITY);
     }
 
     /**
-     * Высчитывает целочисленное значение для определения в каком из списков осуществлять хранения объекта.
+     * Округляет размер массива вверх до ближайшей степени двойки.
+     * @param capacity желаемый размер массива
+     * @return степень двойки не меньшая capacity
+     */
+    private static int tableSizeFor(int capacity){
+        if (capacity >= MAXIMUM_CAPACITY)
+            return MAXIMUM_CAPACITY;
+        return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Вычисляет хэш-значение ключа стратегией коллекции и перемешивает его старшие биты с младшими,
+     * так как при выборе списка используются только младшие.
      * @param key ключ объекта
-     * @return номер списка
+     * @return хэш-значение ключа
      */
-    private int getHash(K key){
-        return Math.abs(key.hashCode() % buckets);
+    private int hash(K key){
+        int h = strategy.hash(key);
+        return h ^ (h >>> 16);
     }
 
-    @Override
-    public boolean containsKey(K key) {
-        int hash = getHash(key);
-        if (entryLists[hash] == null)
-            return false;
+    /**
+     * Находит список, в котором хранится или должен храниться объект с заданным хэш-значением.
+     * Пока идет перенос, списки старого массива с номером не меньше migrated еще не перенесены,
+     * поэтому объект находится в старом массиве.
+     * @param hash хэш-значение ключа
+     * @return массив, содержащий нужный список
+     */
+    private Bucket<K, V>[] tableFor(int hash){
+        if (oldEntryLists != null && (hash & (oldEntryLists.length - 1)) >= migrated)
+            return oldEntryLists;
+        return entryLists;
+    }
+
+    /**
+     * Переносит из старого массива в новый не более steps списков. Если все списки перенесены,
+     * старый массив освобождается.
+     * @param steps количество переносимых списков
+     */
+    private void migrate(int steps){
+        if (oldEntryLists == null)
+            return;
 
-        for(var entry : entryLists[hash])
-            if (entry.getKey().equals(key))
-                return true;
+        int mask = entryLists.length - 1;
+        for(; steps > 0 && migrated < oldEntryLists.length; steps--, migrated++){
+            var list = oldEntryLists[migrated];
+            if (list == null)
+                continue;
 
-        return false;
+            for(var entry : list){
+                int hash = hash(entry.getKey());
+                addEntry(entryLists, hash & mask, hash, entry);
+            }
+            if (counters != null)
+                counters.rehashedEntries += list.size();
+            oldEntryLists[migrated] = null;
+            modCount++;
+        }
+
+        if (migrated == oldEntryLists.length){
+            oldEntryLists = null;
+            migrated = 0;
+        }
+    }
+
+    /**
+     * Добавляет объект, ключа которого заведомо нет в коллекции, в ячейку массива. Если список в ячейке
+     * стал слишком длинным, он заменяется деревом.
+     * @param table массив ячеек
+     * @param index номер ячейки
+     * @param hash хэш-значение ключа
+     * @param entry добавляемый объект
+     */
+    private void addEntry(Bucket<K, V>[] table, int index, int hash, MyEntry<K, V> entry){
+        var bucket = table[index];
+        if (bucket == null)
+            bucket = table[index] = new ListBucket<>();
+
+        bucket.add(hash, entry, strategy);
+        if (bucket instanceof ListBucket<K, V> && bucket.size() >= TREEIFY_THRESHOLD
+                && table.length >= MIN_TREEIFY_CAPACITY){
+            var tree = new TreeBucket<K, V>();
+            for(var e : bucket)
+                tree.add(hash(e.getKey()), e, strategy);
+            table[index] = tree;
+        }
+    }
+
+    /**
+     * Создает вдвое больший массив списков и начинает постепенный перенос в него объектов.
+     * Если предыдущий перенос еще не закончен, он завершается полностью.
+     */
+    @SuppressWarnings("unchecked")
+    private void resize(){
+        if (entryLists.length >= MAXIMUM_CAPACITY)
+            return;
+
+        if (oldEntryLists != null)
+            migrate(oldEntryLists.length);
+
+        oldEntryLists = entryLists;
+        entryLists = new Bucket[oldEntryLists.length * 2];
+        migrated = 0;
+        threshold = (int) (entryLists.length * loadFactor);
+
+        if (counters != null)
+            counters.resizes++;
+        var event = new MyFlightEvents.HashMapResize();
+        if (event.shouldCommit()){
+            event.oldCapacity = oldEntryLists.length;
+            event.newCapacity = entryLists.length;
+            event.size = size;
+            event.commit();
+        }
+    }
+
+    /**
+     * Возвращает объект с заданным ключом или null, если такого объекта нет.
+     * @param key ключ объекта
+     * @return объект коллекции
+     */
+    private MyEntry<K, V> getEntry(K key){
+        int hash = hash(key);
+        var table = tableFor(hash);
+        var bucket = table[hash & (table.length - 1)];
+        if (counters != null){
+            counters.gets++;
+            counters.getProbes += bucket == null ? 0 : bucket.probes(hash, key, strategy);
+        }
+        return bucket == null ? null : bucket.find(hash, key, strategy);
+    }
+
+    /**
+     * Находит объект в ячейке для последующего изменения.
+     * @param table массив, содержащий ячейку
+     * @param index номер ячейки
+     * @param hash хэш-значение ключа
+     * @param key ключ объекта
+     * @return объект коллекции или null, если объекта с таким ключом нет
+     */
+    private MyEntry<K, V> findForUpdate(Bucket<K, V>[] table, int index, int hash, K key){
+        var bucket = table[index];
+        if (counters != null){
+            counters.puts++;
+            counters.putProbes += bucket == null ? 0 : bucket.probes(hash, key, strategy);
+        }
+        return bucket == null ? null : bucket.find(hash, key, strategy);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return getEntry(key) != null;
     }
 
     @Override
     public boolean containsValue(V value) {
-        for(var list : entryLists)
-            if (list != null)
-                for(var entry : list)
-                    if (entry.getValue().equals(value))
-                        return true;
+        for(var table : Arrays.asList(oldEntryLists, entryLists))
+            if (table != null)
+                for(var list : table)
+                    if (list != null)
+                        for(var entry : list)
+                            if (Objects.equals(entry.getValue(), value))
+                                return true;
         return false;
     }
 
     @Override
     public V get(K key) {
-        int hash = getHash(key);
-        if(entryLists[hash] == null)
+        var entry = getEntry(key);
+        return entry == null ? null : entry.getValue();
+    }
+
+    @Override
+    public void put(K key, V value) {
+        migrate(MIGRATION_STEP);
+
+        int hash = hash(key);
+        var table = tableFor(hash);
+        int index = hash & (table.length - 1);
+        var entry = findForUpdate(table, index, hash, key);
+        if (entry != null){
+            entry.setValue(value);
+            return;
+        }
+
+        insert(table, index, hash, key, value);
+    }
+
+    /**
+     * Добавляет объект, ключа которого заведомо нет в коллекции, в найденную ячейку и при необходимости
+     * начинает увеличение массива: при превышении порога заполнения или если список в ячейке стал слишком
+     * длинным, а массив еще меньше MIN_TREEIFY_CAPACITY.
+     * @param table массив, содержащий ячейку
+     * @param index номер ячейки
+     * @param hash хэш-значение ключа
+     * @param key ключ объекта
+     * @param value значение объекта
+     */
+    private void insert(Bucket<K, V>[] table, int index, int hash, K key, V value){
+        addEntry(table, index, hash, new MyEntry<>(key, value));
+        modCount++;
+        if (++size > threshold)
+            resize();
+        else if (entryLists.length < MIN_TREEIFY_CAPACITY && table[index] instanceof ListBucket<K, V> bucket
+                && bucket.size() >= TREEIFY_THRESHOLD)
+            resize();
+    }
+
+    @Override
+    public V remove(K key) {
+        migrate(MIGRATION_STEP);
+
+        int hash = hash(key);
+        var table = tableFor(hash);
+        int index = hash & (table.length - 1);
+        var entry = removeEntry(table, index, hash, key);
+        return entry == null ? null : entry.getValue();
+    }
+
+    /**
+     * Удаляет объект из найденной ячейки. Если в ячейке не осталось объектов, она освобождается,
+     * а слишком маленькое дерево снова заменяется списком.
+     * @param table массив, содержащий ячейку
+     * @param index номер ячейки
+     * @param hash хэш-значение ключа
+     * @param key ключ объекта
+     * @return удаленный объект или null, если объекта с таким ключом нет
+     */
+    private MyEntry<K, V> removeEntry(Bucket<K, V>[] table, int index, int hash, K key){
+        var bucket = table[index];
+        if (bucket == null)
             return null;
 
-        for(var entry : entryLists[hash])
-            if (entry.getKey().equals(key))
-                return entry.getValue();
+        var entry = bucket.remove(hash, key, strategy);
+        if (entry == null)
+            return null;
+
+        if (bucket.size() == 0)
+            table[index] = null;
+        else if (bucket instanceof TreeBucket<K, V> && bucket.size() <= UNTREEIFY_THRESHOLD){
+            var list = new ListBucket<K, V>();
+            for(var e : bucket)
+                list.add(0, e, strategy);
+            table[index] = list;
+        }
+        size--;
+        modCount++;
+        return entry;
+    }
+
+    /**
+     * Проверяет, что функция, переданная в compute-операцию, не изменила коллекцию, так как найденная
+     * ячейка могла перестать быть актуальной.
+     * @param expectedModCount количество изменений до вызова функции
+     */
+    private void checkForComodification(int expectedModCount){
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
 
-        return null;
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        var entry = getEntry(key);
+        return entry == null ? defaultValue : entry.getValue();
     }
 
     @Override
-    public void put(K key, V value) {
-        int hash = getHash(key);
-        if (entryLists[hash] == null)
-            entryLists[hash] = new LinkedList<>();
-
-        for(var entry : entryLists[hash])
-            if (entry.getKey().equals(key)){
-                entry.setValue(value);
-                return;
-            }
+    public V putIfAbsent(K key, V value) {
+        migrate(MIGRATION_STEP);
+
+        int hash = hash(key);
+        var table = tableFor(hash);
+        int index = hash & (table.length - 1);
+        var entry = findForUpdate(table, index, hash, key);
+        if (entry == null){
+            insert(table, index, hash, key, value);
+            return null;
+        }
 
-        entryLists[hash].addLast(new MyEntry<>(key, value));
-        size++;
+        V old = entry.getValue();
+        if (old == null)
+            entry.setValue(value);
+        return old;
     }
 
     @Override
-    public V remove(K key) {
-        int hash = getHash(key);
-        if (entryLists[hash] == null)
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+        Objects.requireNonNull(function);
+        migrate(MIGRATION_STEP);
+
+        int hash = hash(key);
+        var table = tableFor(hash);
+        int index = hash & (table.length - 1);
+        var entry = findForUpdate(table, index, hash, key);
+        if (entry != null && entry.getValue() != null)
+            return entry.getValue();
+
+        int expectedModCount = modCount;
+        V value = function.apply(key);
+        checkForComodification(expectedModCount);
+        if (value == null)
             return null;
 
-        for(int i = 0; i < entryLists[hash].size(); i++){
-            if (entryLists[hash].get(i).getKey().equals(key)){
-                var entry = entryLists[hash].remove(i);
-                if (entryLists[hash].isEmpty())
-                    entryLists[hash] = null;
-                size--;
-                return entry.getValue();
-            }
+        if (entry != null)
+            entry.setValue(value);
+        else
+            insert(table, index, hash, key, value);
+        return value;
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> function) {
+        Objects.requireNonNull(function);
+        migrate(MIGRATION_STEP);
+
+        int hash = hash(key);
+        var table = tableFor(hash);
+        int index = hash & (table.length - 1);
+        var entry = findForUpdate(table, index, hash, key);
+        if (entry == null || entry.getValue() == null)
+            return null;
+
+        int expectedModCount = modCount;
+        V value = function.apply(key, entry.getValue());
+        checkForComodification(expectedModCount);
+        if (value == null)
+            removeEntry(table, index, hash, key);
+        else
+            entry.setValue(value);
+        return value;
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> function) {
+        Objects.requireNonNull(function);
+        migrate(MIGRATION_STEP);
+
+        int hash = hash(key);
+        var table = tableFor(hash);
+        int index = hash & (table.length - 1);
+        var entry = findForUpdate(table, index, hash, key);
+
+        int expectedModCount = modCount;
+        V value = function.apply(key, entry == null ? null : entry.getValue());
+        checkForComodification(expectedModCount);
+        if (value == null){
+            if (entry != null)
+                removeEntry(table, index, hash, key);
+        } else if (entry != null)
+            entry.setValue(value);
+        else
+            insert(table, index, hash, key, value);
+        return value;
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> function) {
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(function);
+        migrate(MIGRATION_STEP);
+
+        int hash = hash(key);
+        var table = tableFor(hash);
+        int index = hash & (table.length - 1);
+        var entry = findForUpdate(table, index, hash, key);
+        if (entry == null){
+            insert(table, index, hash, key, value);
+            return value;
+        }
+        if (entry.getValue() == null){
+            entry.setValue(value);
+            return value;
         }
-        return null;
+
+        int expectedModCount = modCount;
+        V merged = function.apply(entry.getValue(), value);
+        checkForComodification(expectedModCount);
+        if (merged == null)
+            removeEntry(table, index, hash, key);
+        else
+            entry.setValue(merged);
+        return merged;
     }
 
     @Override
@@ -149,10 +589,12 @@ public class MyHashMap<K, V> implements MyMap<K, V> {
     public K[] toKeyArray(Class<K> clazz) {
         K[] keys = (K[]) Array.newInstance(clazz, size);
         int i = 0;
-        for(var list : entryLists)
-            if (list != null)
-                for(var entry : list)
-                    keys[i++] = entry.getKey();
+        for(var table : Arrays.asList(oldEntryLists, entryLists))
+            if (table != null)
+                for(var list : table)
+                    if (list != null)
+                        for(var entry : list)
+                            keys[i++] = entry.getKey();
         return keys;
     }
 
@@ -161,21 +603,558 @@ public class MyHashMap<K, V> implements MyMap<K, V> {
     public V[] toValueArray(Class<V> clazz) {
         V[] keys = (V[]) Array.newInstance(clazz, size);
         int i = 0;
-        for(var list : entryLists)
-            if (list != null)
-                for(var entry : list)
-                    keys[i++] = entry.getValue();
+        for(var table : Arrays.asList(oldEntryLists, entryLists))
+            if (table != null)
+                for(var list : table)
+                    if (list != null)
+                        for(var entry : list)
+                            keys[i++] = entry.getValue();
         return keys;
     }
 
+    /**
+     * Возвращает итератор объектов коллекции. Итератор не поддерживает удаление, так как удаление
+     * из коллекции продолжает перенос списков между массивами.
+     * @return итератор объектов коллекции
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Возвращает Spliterator, который делит между потоками номера ячеек старого и нового массивов,
+     * не копируя объекты коллекции.
+     * @return Spliterator объектов коллекции
+     */
+    @Override
+    public Spliterator<Entry<K, V>> spliterator() {
+        int oldLength = oldEntryLists == null ? 0 : oldEntryLists.length;
+        return new EntrySpliterator(oldEntryLists, entryLists, 0, oldLength + entryLists.length, size, true);
+    }
+
+    /**
+     * Обходит списки массивов напрямую, без итераторов и промежуточных массивов.
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action);
+        int expectedModCount = modCount;
+        for(var table : Arrays.asList(oldEntryLists, entryLists))
+            if (table != null)
+                for(var list : table)
+                    if (list != null)
+                        for(var entry : list)
+                            action.accept(entry.getKey(), entry.getValue());
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Записывает коллекцию в файл снимка, содержащий готовую хэш-таблицу. Снимок открывается методом
+     * MappedMyHashMap.open без чтения и перехэширования объектов. Снимок сначала записывается во временный файл
+     * в том же каталоге и только после записи на диск атомарно заменяет существующий файл, поэтому при ошибке
+     * предыдущий снимок остается нетронутым.
+     * @param path путь к файлу снимка. Существующий файл будет заменен
+     * @param keyCodec кодек для преобразования ключей в байты
+     * @param valueCodec кодек для преобразования значений в байты
+     * @throws IOException если файл не удалось записать
+     * @throws NullPointerException если коллекция содержит значение null
+     */
+    public void writeSnapshot(Path path, MyCodec<K> keyCodec, MyCodec<V> valueCodec) throws IOException {
+        try (var writer = new MappedMyHashMap.Writer<>(path, keyCodec, valueCodec, size)) {
+            for(var table : Arrays.asList(oldEntryLists, entryLists))
+                if (table != null)
+                    for(var list : table)
+                        if (list != null)
+                            for(var entry : list)
+                                writer.add(entry.getKey(), entry.getValue());
+            writer.commit();
+        }
+    }
+
+    /**
+     * Включает подсчет операций для статистики, возвращаемой методом stats(). После включения каждый поиск
+     * дополнительно считает количество сравниваемых ключей, поэтому статистику стоит включать только
+     * для диагностики. Снимок статистики также периодически записывается событием ru.sedov.MyHashMapStatistics
+     * в JDK Flight Recorder.
+     */
+    public void enableStats() {
+        if (counters == null){
+            counters = new Counters();
+            MyFlightEvents.track(this);
+        }
+    }
+
+    /**
+     * Возвращает снимок статистики коллекции. Заполненность ячеек вычисляется обходом массивов,
+     * а счетчики операций равны нулю, если статистика не была включена методом enableStats().
+     * @return снимок статистики
+     */
+    public MyHashMapStats stats() {
+        long[] histogram = new long[MyHashMapStats.HISTOGRAM_SIZE];
+        int capacity = 0, occupied = 0, trees = 0;
+        for(var table : Arrays.asList(oldEntryLists, entryLists))
+            if (table != null){
+                capacity += table.length;
+                for(var bucket : table)
+                    if (bucket != null && bucket.size() > 0){
+                        occupied++;
+                        if (bucket instanceof TreeBucket<K, V>)
+                            trees++;
+                        histogram[Math.min(bucket.size(), histogram.length - 1)]++;
+                    }
+            }
+
+        var c = counters == null ? new Counters() : counters;
+        return new MyHashMapStats(size, capacity, occupied, trees, histogram,
+                c.gets, c.getProbes, c.puts, c.putProbes, c.resizes, c.rehashedEntries);
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("[");
-        for(var list : entryLists)
-            if (list != null)
-                for(var entry : list)
-                    sb.append(entry.getKey()).append(" : ").append(entry.getValue()).append(", ");
+        for(var table : Arrays.asList(oldEntryLists, entryLists))
+            if (table != null)
+                for(var list : table)
+                    if (list != null)
+                        for(var entry : list)
+                            sb.append(entry.getKey()).append(" : ").append(entry.getValue()).append(", ");
 
         return (sb.length() > 1 ? sb.substring(0, sb.length() - 2) : sb.toString()) + "]";
     }
+
+    /**
+     * Spliterator объектов коллекции в ячейках с номерами от index до fence. Ячейки нумеруются подряд:
+     * сначала ячейки старого массива, затем ячейки нового.
+     */
+    private final class EntrySpliterator implements Spliterator<Entry<K, V>> {
+        private final Bucket<K, V>[] oldTable, table;
+        private int index;
+        private final int fence;
+        private long estimate;
+        private final boolean sized;
+        private final int expectedModCount = modCount;
+        private Iterator<MyEntry<K, V>> current;
+
+        EntrySpliterator(Bucket<K, V>[] oldTable, Bucket<K, V>[] table, int index, int fence,
+                         long estimate, boolean sized){
+            this.oldTable = oldTable;
+            this.table = table;
+            this.index = index;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.sized = sized;
+        }
+
+        private Bucket<K, V> bucket(int i){
+            int oldLength = oldTable == null ? 0 : oldTable.length;
+            return i < oldLength ? oldTable[i] : table[i - oldLength];
+        }
+
+        @Override
+        public Spliterator<Entry<K, V>> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (index >= mid || current != null)
+                return null;
+            return new EntrySpliterator(oldTable, table, index, index = mid, estimate >>>= 1, false);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Entry<K, V>> action) {
+            Objects.requireNonNull(action);
+            while(current == null || !current.hasNext()){
+                if (index >= fence)
+                    return false;
+                var bucket = bucket(index++);
+                current = bucket == null ? null : bucket.iterator();
+            }
+
+            action.accept(current.next());
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Entry<K, V>> action) {
+            Objects.requireNonNull(action);
+            if (current != null)
+                current.forEachRemaining(action);
+            current = null;
+            for(; index < fence; index++){
+                var bucket = bucket(index);
+                if (bucket != null)
+                    for(var entry : bucket)
+                        action.accept(entry);
+            }
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return (sized ? Spliterator.SIZED : 0) | Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+    }
+
+    /**
+     * Ячейка массива, хранящая объекты с одинаковым номером ячейки.
+     * @param <K> тип ключа объекта
+     * @param <V> тип значения объекта
+     */
+    private interface Bucket<K, V> extends Iterable<MyEntry<K, V>> {
+
+        /**
+         * @param hash хэш-значение ключа
+         * @param key ключ объекта
+         * @param strategy стратегия сравнения ключей
+         * @return объект с заданным ключом или null, если его нет
+         */
+        MyEntry<K, V> find(int hash, K key, MyHashStrategy<? super K> strategy);
+
+        /**
+         * Считает количество ключей, сравниваемых при поиске. Используется только для статистики.
+         * @param hash хэш-значение ключа
+         * @param key ключ объекта
+         * @param strategy стратегия сравнения ключей
+         * @return количество сравниваемых ключей
+         */
+        int probes(int hash, K key, MyHashStrategy<? super K> strategy);
+
+        /**
+         * Добавляет объект, ключа которого заведомо нет в ячейке.
+         * @param hash хэш-значение ключа
+         * @param entry добавляемый объект
+         * @param strategy стратегия сравнения ключей
+         */
+        void add(int hash, MyEntry<K, V> entry, MyHashStrategy<? super K> strategy);
+
+        /**
+         * @param hash хэш-значение ключа
+         * @param key ключ объекта
+         * @param strategy стратегия сравнения ключей
+         * @return удаленный объект или null, если объекта с таким ключом нет
+         */
+        MyEntry<K, V> remove(int hash, K key, MyHashStrategy<? super K> strategy);
+
+        /**
+         * @return количество объектов в ячейке
+         */
+        int size();
+    }
+
+    /**
+     * Ячейка, хранящая объекты в стандартном java_LinkedList. Новые объекты добавляются в конец списка.
+     */
+    private static final class ListBucket<K, V> implements Bucket<K, V> {
+        private final LinkedList<MyEntry<K, V>> entries = new LinkedList<>();
+
+        @Override
+        public MyEntry<K, V> find(int hash, K key, MyHashStrategy<? super K> strategy) {
+            for(var entry : entries)
+                if (strategy.equals(entry.getKey(), key))
+                    return entry;
+            return null;
+        }
+
+        @Override
+        public int probes(int hash, K key, MyHashStrategy<? super K> strategy) {
+            int probes = 0;
+            for(var entry : entries){
+                probes++;
+                if (strategy.equals(entry.getKey(), key))
+                    break;
+            }
+            return probes;
+        }
+
+        @Override
+        public void add(int hash, MyEntry<K, V> entry, MyHashStrategy<? super K> strategy) {
+            entries.addLast(entry);
+        }
+
+        @Override
+        public MyEntry<K, V> remove(int hash, K key, MyHashStrategy<? super K> strategy) {
+            for(var it = entries.iterator(); it.hasNext(); ){
+                var entry = it.next();
+                if (strategy.equals(entry.getKey(), key)){
+                    it.remove();
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+
+        @Override
+        public Iterator<MyEntry<K, V>> iterator() {
+            return entries.iterator();
+        }
+    }
+
+    /**
+     * Ячейка, хранящая объекты в АВЛ-дереве. Узлы упорядочены по хэш-значению ключа, затем по compareTo,
+     * если ключи одного класса реализуют Comparable. Ключи разных классов могут быть равны, поэтому их порядок
+     * при поиске не определяется. Для нестандартной стратегии порядок ключей с одинаковым хэш-значением
+     * не определяется, так как compareTo может не соответствовать равенству ключей по стратегии. Если порядок
+     * двух ключей определить нельзя, поиск выполняется в обоих поддеревьях, а при вставке сторона выбирается
+     * по имени класса и identityHashCode.
+     */
+    private static final class TreeBucket<K, V> implements Bucket<K, V> {
+
+        private static final class Node<K, V> {
+            int hash;
+            MyEntry<K, V> entry;
+            Node<K, V> left, right;
+            int height = 1;
+
+            Node(int hash, MyEntry<K, V> entry){
+                this.hash = hash;
+                this.entry = entry;
+            }
+        }
+
+        private Node<K, V> root;
+
+        private int size = 0;
+
+        /**
+         * Объект, удаленный последним вызовом removeFrom.
+         */
+        private MyEntry<K, V> removed;
+
+        /**
+         * Сравнивает ключ с ключом узла.
+         * @return отрицательное число, если ключ меньше ключа узла, положительное - если больше,
+         * 0 - если порядок определить нельзя
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static int compare(int hash, Object key, Node<?, ?> node, MyHashStrategy<?> strategy){
+            if (hash != node.hash)
+                return Integer.compare(hash, node.hash);
+            if (strategy != MyHashStrategies.natural())
+                return 0;
+
+            Object other = node.entry.getKey();
+            if (key.getClass() == other.getClass() && key instanceof Comparable comparable)
+                return Integer.signum(comparable.compareTo(other));
+            return 0;
+        }
+
+        /**
+         * Упорядочивает при вставке ключи, порядок которых compare определить не может.
+         * @return отрицательное число, если ключ a помещается левее ключа b, иначе положительное
+         */
+        private static int tieBreakOrder(Object a, Object b){
+            int order = a.getClass().getName().compareTo(b.getClass().getName());
+            if (order != 0)
+                return order;
+            return System.identityHashCode(a) <= System.identityHashCode(b) ? -1 : 1;
+        }
+
+        private static int height(Node<?, ?> node){
+            return node == null ? 0 : node.height;
+        }
+
+        private static <K, V> Node<K, V> rotateRight(Node<K, V> node){
+            var left = node.left;
+            node.left = left.right;
+            left.right = node;
+            node.height = Math.max(height(node.left), height(node.right)) + 1;
+            left.height = Math.max(height(left.left), height(left.right)) + 1;
+            return left;
+        }
+
+        private static <K, V> Node<K, V> rotateLeft(Node<K, V> node){
+            var right = node.right;
+            node.right = right.left;
+            right.left = node;
+            node.height = Math.max(height(node.left), height(node.right)) + 1;
+            right.height = Math.max(height(right.left), height(right.right)) + 1;
+            return right;
+        }
+
+        /**
+         * Восстанавливает баланс поддерева после вставки или удаления.
+         * @param node корень поддерева
+         * @return новый корень поддерева
+         */
+        private static <K, V> Node<K, V> balance(Node<K, V> node){
+            int diff = height(node.left) - height(node.right);
+            if (diff > 1){
+                if (height(node.left.left) < height(node.left.right))
+                    node.left = rotateLeft(node.left);
+                return rotateRight(node);
+            }
+            if (diff < -1){
+                if (height(node.right.right) < height(node.right.left))
+                    node.right = rotateRight(node.right);
+                return rotateLeft(node);
+            }
+            node.height = Math.max(height(node.left), height(node.right)) + 1;
+            return node;
+        }
+
+        private static <K, V> Node<K, V> findFrom(Node<K, V> node, int hash, K key,
+                                                  MyHashStrategy<? super K> strategy){
+            while(node != null){
+                if (node.hash == hash && strategy.equals(node.entry.getKey(), key))
+                    return node;
+
+                int dir = compare(hash, key, node, strategy);
+                if (dir < 0)
+                    node = node.left;
+                else if (dir > 0)
+                    node = node.right;
+                else {
+                    var found = findFrom(node.left, hash, key, strategy);
+                    if (found != null)
+                        return found;
+                    node = node.right;
+                }
+            }
+            return null;
+        }
+
+        private static <K, V> Node<K, V> insert(Node<K, V> node, int hash, MyEntry<K, V> entry,
+                                                MyHashStrategy<? super K> strategy){
+            if (node == null)
+                return new Node<>(hash, entry);
+
+            Object key = entry.getKey();
+            int dir = compare(hash, key, node, strategy);
+            if (dir == 0)
+                dir = tieBreakOrder(key, node.entry.getKey());
+
+            if (dir < 0)
+                node.left = insert(node.left, hash, entry, strategy);
+            else
+                node.right = insert(node.right, hash, entry, strategy);
+            return balance(node);
+        }
+
+        private Node<K, V> removeFrom(Node<K, V> node, int hash, K key, MyHashStrategy<? super K> strategy){
+            if (node == null)
+                return null;
+
+            if (node.hash == hash && strategy.equals(node.entry.getKey(), key)){
+                removed = node.entry;
+                if (node.left == null)
+                    return node.right;
+                if (node.right == null)
+                    return node.left;
+
+                var successor = node.right;
+                while(successor.left != null)
+                    successor = successor.left;
+                node.right = removeMin(node.right);
+                node.hash = successor.hash;
+                node.entry = successor.entry;
+                return balance(node);
+            }
+
+            int dir = compare(hash, key, node, strategy);
+            if (dir < 0)
+                node.left = removeFrom(node.left, hash, key, strategy);
+            else if (dir > 0)
+                node.right = removeFrom(node.right, hash, key, strategy);
+            else {
+                node.left = removeFrom(node.left, hash, key, strategy);
+                if (removed == null)
+                    node.right = removeFrom(node.right, hash, key, strategy);
+            }
+            return balance(node);
+        }
+
+        private static <K, V> Node<K, V> removeMin(Node<K, V> node){
+            if (node.left == null)
+                return node.right;
+            node.left = removeMin(node.left);
+            return balance(node);
+        }
+
+        @Override
+        public MyEntry<K, V> find(int hash, K key, MyHashStrategy<? super K> strategy) {
+            var node = findFrom(root, hash, key, strategy);
+            return node == null ? null : node.entry;
+        }
+
+        /**
+         * Считает длину пути от корня до ключа. Если порядок ключей определить нельзя, путь продолжается
+         * в том поддереве, где находится ключ.
+         */
+        @Override
+        public int probes(int hash, K key, MyHashStrategy<? super K> strategy) {
+            int probes = 0;
+            for(var node = root; node != null; probes++){
+                if (node.hash == hash && strategy.equals(node.entry.getKey(), key))
+                    return probes + 1;
+
+                int dir = compare(hash, key, node, strategy);
+                if (dir < 0)
+                    node = node.left;
+                else if (dir > 0)
+                    node = node.right;
+                else
+                    node = findFrom(node.left, hash, key, strategy) != null ? node.left : node.right;
+            }
+            return probes;
+        }
+
+        @Override
+        public void add(int hash, MyEntry<K, V> entry, MyHashStrategy<? super K> strategy) {
+            root = insert(root, hash, entry, strategy);
+            size++;
+        }
+
+        @Override
+        public MyEntry<K, V> remove(int hash, K key, MyHashStrategy<? super K> strategy) {
+            removed = null;
+            root = removeFrom(root, hash, key, strategy);
+            var entry = removed;
+            removed = null;
+            if (entry != null)
+                size--;
+            return entry;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<MyEntry<K, V>> iterator() {
+            Deque<Node<K, V>> stack = new ArrayDeque<>();
+            for(var node = root; node != null; node = node.left)
+                stack.push(node);
+
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return !stack.isEmpty();
+                }
+
+                @Override
+                public MyEntry<K, V> next() {
+                    if (stack.isEmpty())
+                        throw new NoSuchElementException();
+                    var node = stack.pop();
+                    for(var n = node.right; n != null; n = n.left)
+                        stack.push(n);
+                    return node.entry;
+                }
+            };
+        }
+    }
 }
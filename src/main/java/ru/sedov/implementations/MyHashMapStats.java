@@ -0,0 +1,113 @@
+package ru.sedov.implementations;
+
+import java.util.Arrays;
+
+/**
+ * <p> Снимок статистики MyHashMap, возвращаемый методом MyHashMap.stats(). </p>
+ * <br>
+ * <p> Заполненность ячеек и гистограмма длин списков вычисляются обходом массивов в момент создания снимка.
+ * Счетчики операций (количество и длина поисков, увеличения массива и перенесенные объекты) ведутся
+ * только после вызова MyHashMap.enableStats() и до этого равны нулю. </p>
+ * <ul> Снимок предоставляет следующие методы:
+ *     <li>size() - количество объектов в коллекции</li>
+ *     <li>capacity() - количество ячеек массива, включая старый массив во время переноса</li>
+ *     <li>occupiedBuckets() - количество непустых ячеек</li>
+ *     <li>treeBuckets() - количество ячеек, хранящих объекты в дереве</li>
+ *     <li>chainLengthHistogram() - количество непустых ячеек по количеству объектов в них</li>
+ *     <li>gets(), averageGetProbes() - количество поисков и средняя длина поиска в get и containsKey</li>
+ *     <li>puts(), averagePutProbes() - количество поисков и средняя длина поиска в put и compute-операциях</li>
+ *     <li>resizes() - количество увеличений массива</li>
+ *     <li>rehashedEntries() - количество объектов, перенесенных в новый массив</li>
+ * </ul>
+ */
+public final class MyHashMapStats {
+
+    /**
+     * Количество ячеек гистограммы. В последнюю попадают все ячейки с большим количеством объектов.
+     */
+    public static final int HISTOGRAM_SIZE = 16;
+
+    private final int size, capacity, occupiedBuckets, treeBuckets;
+
+    private final long[] chainLengthHistogram;
+
+    private final long gets, getProbes, puts, putProbes, resizes, rehashedEntries;
+
+    MyHashMapStats(int size, int capacity, int occupiedBuckets, int treeBuckets, long[] chainLengthHistogram,
+                   long gets, long getProbes, long puts, long putProbes, long resizes, long rehashedEntries){
+        this.size = size;
+        this.capacity = capacity;
+        this.occupiedBuckets = occupiedBuckets;
+        this.treeBuckets = treeBuckets;
+        this.chainLengthHistogram = chainLengthHistogram;
+        this.gets = gets;
+        this.getProbes = getProbes;
+        this.puts = puts;
+        this.putProbes = putProbes;
+        this.resizes = resizes;
+        this.rehashedEntries = rehashedEntries;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int occupiedBuckets() {
+        return occupiedBuckets;
+    }
+
+    public int treeBuckets() {
+        return treeBuckets;
+    }
+
+    /**
+     * @return массив, i-й элемент которого равен количеству ячеек ровно с i объектами, а последний -
+     * количеству ячеек с HISTOGRAM_SIZE - 1 и более объектами. Нулевой элемент всегда равен 0.
+     */
+    public long[] chainLengthHistogram() {
+        return chainLengthHistogram.clone();
+    }
+
+    public long gets() {
+        return gets;
+    }
+
+    /**
+     * @return среднее количество ключей, сравненных при одном поиске в get и containsKey
+     */
+    public double averageGetProbes() {
+        return gets == 0 ? 0 : (double) getProbes / gets;
+    }
+
+    public long puts() {
+        return puts;
+    }
+
+    /**
+     * @return среднее количество ключей, сравненных при одном поиске в put и compute-операциях
+     */
+    public double averagePutProbes() {
+        return puts == 0 ? 0 : (double) putProbes / puts;
+    }
+
+    public long resizes() {
+        return resizes;
+    }
+
+    public long rehashedEntries() {
+        return rehashedEntries;
+    }
+
+    @Override
+    public String toString() {
+        return "MyHashMapStats[size=" + size + ", capacity=" + capacity + ", occupiedBuckets=" + occupiedBuckets
+                + ", treeBuckets=" + treeBuckets + ", chainLengthHistogram=" + Arrays.toString(chainLengthHistogram)
+                + ", gets=" + gets + ", averageGetProbes=" + averageGetProbes() + ", puts=" + puts
+                + ", averagePutProbes=" + averagePutProbes() + ", resizes=" + resizes
+                + ", rehashedEntries=" + rehashedEntries + "]";
+    }
+}
@@ -0,0 +1,253 @@
+package ru.sedov.implementations;
+
+import ru.sedov.MyHashStrategy;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * Класс, содержащий стандартные реализации интерфейса MyHashStrategy:
+ * <ul>
+ *     <li>natural() - методы hashCode и equals самих ключей</li>
+ *     <li>identity() - сравнение ключей по ссылке</li>
+ *     <li>BYTE_ARRAY - массивы byte[] по содержимому</li>
+ *     <li>CASE_INSENSITIVE - строки без учета регистра</li>
+ *     <li>seededStrings(seed), seededByteArrays(seed) - строки и массивы byte[] с хэш-функцией SipHash-1-3,
+ *     ключ которой получается из seed</li>
+ *     <li>randomizedStrings(), randomizedByteArrays() - то же со случайным ключом</li>
+ * </ul>
+ * <p> Хэш-значения стратегий natural, BYTE_ARRAY и CASE_INSENSITIVE легко предсказать, поэтому множество ключей
+ * с одинаковым хэш-значением можно подобрать заранее. Если ключи приходят из недоверенного источника
+ * (например, из параметров запроса), стоит использовать стратегии со случайным ключом: без знания ключа
+ * подобрать такие ключи нельзя. </p>
+ */
+public final class MyHashStrategies {
+
+    private MyHashStrategies(){
+    }
+
+    private static final MyHashStrategy<Object> NATURAL = new MyHashStrategy<>() {
+        @Override
+        public int hash(Object key) {
+            return key.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object a, Object b) {
+            return a.equals(b);
+        }
+    };
+
+    private static final MyHashStrategy<Object> IDENTITY = new MyHashStrategy<>() {
+        @Override
+        public int hash(Object key) {
+            return System.identityHashCode(key);
+        }
+
+        @Override
+        public boolean equals(Object a, Object b) {
+            return a == b;
+        }
+    };
+
+    public static final MyHashStrategy<byte[]> BYTE_ARRAY = new MyHashStrategy<>() {
+        @Override
+        public int hash(byte[] key) {
+            return Arrays.hashCode(key);
+        }
+
+        @Override
+        public boolean equals(byte[] a, byte[] b) {
+            return Arrays.equals(a, b);
+        }
+    };
+
+    public static final MyHashStrategy<String> CASE_INSENSITIVE = new MyHashStrategy<>() {
+        @Override
+        public int hash(String key) {
+            int h = 0;
+            for(int i = 0; i < key.length(); i++)
+                h = 31 * h + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+            return h;
+        }
+
+        @Override
+        public boolean equals(String a, String b) {
+            return a.equalsIgnoreCase(b);
+        }
+    };
+
+    /**
+     * @return стратегия, использующая методы hashCode и equals ключей
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> MyHashStrategy<T> natural(){
+        return (MyHashStrategy<T>) NATURAL;
+    }
+
+    /**
+     * @return стратегия, считающая равными только один и тот же объект
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> MyHashStrategy<T> identity(){
+        return (MyHashStrategy<T>) IDENTITY;
+    }
+
+    /**
+     * @param seed значение, из которого получается ключ хэш-функции
+     * @return стратегия для строк с хэш-функцией SipHash-1-3
+     */
+    public static MyHashStrategy<String> seededStrings(long seed){
+        var sipHash = new SipHash(seed, mix(seed));
+        return new MyHashStrategy<>() {
+            @Override
+            public int hash(String key) {
+                return sipHash.hash(key);
+            }
+
+            @Override
+            public boolean equals(String a, String b) {
+                return a.equals(b);
+            }
+        };
+    }
+
+    /**
+     * @param seed значение, из которого получается ключ хэш-функции
+     * @return стратегия для массивов byte[] с хэш-функцией SipHash-1-3
+     */
+    public static MyHashStrategy<byte[]> seededByteArrays(long seed){
+        var sipHash = new SipHash(seed, mix(seed));
+        return new MyHashStrategy<>() {
+            @Override
+            public int hash(byte[] key) {
+                return sipHash.hash(key);
+            }
+
+            @Override
+            public boolean equals(byte[] a, byte[] b) {
+                return Arrays.equals(a, b);
+            }
+        };
+    }
+
+    /**
+     * @return стратегия для строк с хэш-функцией SipHash-1-3 и случайным ключом
+     */
+    public static MyHashStrategy<String> randomizedStrings(){
+        return seededStrings(RandomSeeds.next());
+    }
+
+    /**
+     * @return стратегия для массивов byte[] с хэш-функцией SipHash-1-3 и случайным ключом
+     */
+    public static MyHashStrategy<byte[]> randomizedByteArrays(){
+        return seededByteArrays(RandomSeeds.next());
+    }
+
+    /**
+     * Перемешивает биты числа (функция SplitMix64). Используется, чтобы получить вторую половину
+     * 128-битного ключа SipHash из seed.
+     */
+    private static long mix(long z){
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Источник случайных значений seed. SecureRandom создается при первом обращении к стратегиям
+     * со случайным ключом.
+     */
+    private static final class RandomSeeds {
+        private static final SecureRandom RANDOM = new SecureRandom();
+
+        static long next(){
+            return RANDOM.nextLong();
+        }
+    }
+
+    /**
+     * Хэш-функция SipHash-1-3 с 128-битным ключом: одно сжатие на каждые 8 байт данных и три раунда
+     * в конце. Строки хэшируются как последовательность символов UTF-16 по 2 байта.
+     */
+    static final class SipHash {
+        private static final VarHandle LONGS =
+                MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+        private final long k0, k1;
+
+        SipHash(long k0, long k1){
+            this.k0 = k0;
+            this.k1 = k1;
+        }
+
+        /**
+         * Сжимает последнее слово, содержащее остаток данных и младший байт их длины, и выполняет
+         * завершающие раунды. Состояние v0..v3 передается аргументами, а раунды записаны прямо в коде,
+         * чтобы вычисление хэш-значения не создавало объектов.
+         */
+        private static int finish(long v0, long v1, long v2, long v3, long last){
+            v3 ^= last;
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+            v0 ^= last;
+
+            v2 ^= 0xFF;
+            for(int r = 0; r < 3; r++){
+                v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+                v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+                v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+                v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+            }
+            long h = v0 ^ v1 ^ v2 ^ v3;
+            return (int) (h ^ (h >>> 32));
+        }
+
+        int hash(byte[] bytes){
+            long v0 = k0 ^ 0x736F6D6570736575L, v1 = k1 ^ 0x646F72616E646F6DL,
+                    v2 = k0 ^ 0x6C7967656E657261L, v3 = k1 ^ 0x7465646279746573L;
+            int i = 0, end = bytes.length & ~7;
+            for(; i < end; i += 8){
+                long word = (long) LONGS.get(bytes, i);
+                v3 ^= word;
+                v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+                v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+                v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+                v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+                v0 ^= word;
+            }
+
+            long last = (long) bytes.length << 56;
+            for(int shift = 0; i < bytes.length; i++, shift += 8)
+                last |= (bytes[i] & 0xFFL) << shift;
+            return finish(v0, v1, v2, v3, last);
+        }
+
+        int hash(String s){
+            long v0 = k0 ^ 0x736F6D6570736575L, v1 = k1 ^ 0x646F72616E646F6DL,
+                    v2 = k0 ^ 0x6C7967656E657261L, v3 = k1 ^ 0x7465646279746573L;
+            int n = s.length(), i = 0, end = n & ~3;
+            for(; i < end; i += 4){
+                long word = s.charAt(i) | (long) s.charAt(i + 1) << 16
+                        | (long) s.charAt(i + 2) << 32 | (long) s.charAt(i + 3) << 48;
+                v3 ^= word;
+                v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+                v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+                v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+                v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+                v0 ^= word;
+            }
+
+            long last = (long) n * 2 << 56;
+            for(int shift = 0; i < n; i++, shift += 16)
+                last |= (long) s.charAt(i) << shift;
+            return finish(v0, v1, v2, v3, last);
+        }
+    }
+}
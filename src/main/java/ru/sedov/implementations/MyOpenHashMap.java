@@ -0,0 +1,396 @@
+package ru.sedov.implementations;
+
+import ru.sedov.MyMap;
+
+import java.lang.reflect.Array;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * <p>Реализация интерфейса MyMap с открытой адресацией. В отличие от MyHashMap коллекция не создает
+ * объектов MyEntry и списков для каждой ячейки: ключи, значения и хэш-значения ключей хранятся
+ * в трех параллельных массивах keys, values и hashes одинакового размера, который всегда является степенью двойки.</p>
+ * <br>
+ * <p> Коллизии решаются линейным пробированием по схеме Robin Hood: при вставке объект, который находится
+ * дальше от своей исходной ячейки, вытесняет объект, находящийся ближе к своей. Благодаря этому длины
+ * цепочек пробирования остаются короткими, а поиск отсутствующего ключа прекращается, как только встречена
+ * ячейка с меньшим расстоянием пробирования. При удалении последующие объекты цепочки сдвигаются назад,
+ * поэтому в массиве не остается специальных отметок удаленных ячеек. </p>
+ * <br>
+ * <p> Когда количество объектов превышает произведение размера массивов на коэффициент загрузки
+ * (по умолчанию 0.75), массивы увеличиваются вдвое и все объекты размещаются заново. </p>
+ * <ul> Для работы с коллекций были определены следующий методы:
+ *     <li>containsKey(key) - проверка, находится ли в коллекции заданный ключ</li>
+ *     <li>containsValue(value) - проверка, находится ли в коллекции заданное значение</li>
+ *     <li>get(key) - получить значение по ключу</li>
+ *     <li>put(key, value) - поместить пару ключ/значение в коллекцию</li>
+ *     <li>remove(key) - удалить объект по ключу</li>
+ *     <li>size() - получить количество объектов в коллекции</li>
+ *     <li>isEmpty() - проверить пуста ли коллекция</li>
+ *     <li>toKeyArray(clazz) - конвертировать все ключи в коллекции в массив</li>
+ *     <li>toValueArray(clazz) - конвертировать все значения в коллекции в массив</li>
+ *     <li>iterator(), stream() - обойти объекты коллекции</li>
+ * </ul>
+ * @param <K> тип ключа объекта коллекции
+ * @param <V> тип значения объекта коллекции
+ */
+public class MyOpenHashMap<K, V> implements MyMap<K, V> {
+
+    /**
+     * Стандартный размер массивов для хранения объектов.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Стандартный коэффициент загрузки коллекции.
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * Максимальный размер массивов для хранения объектов.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * Коэффициент загрузки, при превышении которого массивы увеличиваются вдвое.
+     */
+    private final float loadFactor;
+
+    /**
+     * Количество объектов, при превышении которого массивы увеличиваются вдвое.
+     */
+    private int threshold;
+
+    private int size = 0;
+
+    /**
+     * Ключи объектов. Пустая ячейка обозначается значением null.
+     */
+    private Object[] keys;
+
+    /**
+     * Значения объектов, хранящиеся в тех же ячейках, что и их ключи.
+     */
+    private Object[] values;
+
+    /**
+     * Хэш-значения ключей, хранящиеся в тех же ячейках, что и их ключи.
+     */
+    private int[] hashes;
+
+    /**
+     * Количество структурных изменений коллекции. Используется итераторами, чтобы обнаружить изменение
+     * коллекции во время обхода.
+     */
+    private int modCount = 0;
+
+    public MyOpenHashMap(int capacity, float loadFactor){
+        if (capacity < 0)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        if (loadFactor <= 0 || loadFactor >= 1 || Float.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+
+        this.loadFactor = loadFactor;
+        allocate(tableSizeFor((int) Math.min(MAXIMUM_CAPACITY, Math.ceil(capacity / loadFactor))));
+    }
+    public MyOpenHashMap(int capacity){
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+    public MyOpenHashMap(){
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Округляет размер массива вверх до ближайшей степени двойки.
+     * @param capacity желаемый размер массива
+     * @return степень двойки не меньшая capacity
+     */
+    private static int tableSizeFor(int capacity){
+        if (capacity >= MAXIMUM_CAPACITY)
+            return MAXIMUM_CAPACITY;
+        return capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Перемешивает биты хэш-кода ключа. При линейном пробировании последовательные хэш-коды (например, у Integer)
+     * образуют длинные непрерывные кластеры, поэтому хэш-код сначала умножается на нечетную константу
+     * золотого сечения, а затем старшие биты смешиваются с младшими, используемыми при выборе ячейки.
+     * @param key ключ объекта
+     * @return хэш-значение ключа
+     */
+    private static int spread(Object key){
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Создает пустые массивы заданного размера.
+     * @param capacity размер массивов
+     */
+    private void allocate(int capacity){
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        threshold = capacity == MAXIMUM_CAPACITY ? capacity - 1 : (int) (capacity * loadFactor);
+    }
+
+    /**
+     * Вычисляет, на сколько ячеек объект в ячейке index удален от своей исходной ячейки.
+     * @param index номер ячейки
+     * @return расстояние пробирования
+     */
+    private int probeDistance(int index){
+        int mask = keys.length - 1;
+        return (index - (hashes[index] & mask)) & mask;
+    }
+
+    /**
+     * Находит ячейку, в которой хранится объект с заданным ключом.
+     * @param key ключ объекта
+     * @param hash хэш-значение ключа
+     * @return номер ячейки или -1, если такого объекта нет
+     */
+    private int indexOf(Object key, int hash){
+        int mask = keys.length - 1;
+        int index = hash & mask;
+        for(int distance = 0; keys[index] != null; distance++){
+            if (probeDistance(index) < distance)
+                return -1;
+            if (hashes[index] == hash && keys[index].equals(key))
+                return index;
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Размещает новый объект, ключа которого заведомо нет в коллекции, вытесняя объекты,
+     * находящиеся ближе к своим исходным ячейкам.
+     * @param key ключ объекта
+     * @param value значение объекта
+     * @param hash хэш-значение ключа
+     */
+    private void insert(Object key, Object value, int hash){
+        int mask = keys.length - 1;
+        int index = hash & mask;
+        for(int distance = 0; ; distance++){
+            if (keys[index] == null){
+                keys[index] = key;
+                values[index] = value;
+                hashes[index] = hash;
+                return;
+            }
+
+            int existing = probeDistance(index);
+            if (existing < distance){
+                Object k = keys[index], v = values[index];
+                int h = hashes[index];
+                keys[index] = key;
+                values[index] = value;
+                hashes[index] = hash;
+                key = k;
+                value = v;
+                hash = h;
+                distance = existing;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Увеличивает массивы вдвое и заново размещает в них все объекты.
+     */
+    private void resize(){
+        Object[] oldKeys = keys, oldValues = values;
+        int[] oldHashes = hashes;
+        allocate(keys.length * 2);
+        for(int i = 0; i < oldKeys.length; i++)
+            if (oldKeys[i] != null)
+                insert(oldKeys[i], oldValues[i], oldHashes[i]);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return indexOf(key, spread(key)) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        for(int i = 0; i < keys.length; i++)
+            if (keys[i] != null && Objects.equals(values[i], value))
+                return true;
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(K key) {
+        int index = indexOf(key, spread(key));
+        return index < 0 ? null : (V) values[index];
+    }
+
+    @Override
+    public void put(K key, V value) {
+        int hash = spread(key);
+        int index = indexOf(key, hash);
+        if (index >= 0){
+            values[index] = value;
+            return;
+        }
+
+        if (size >= threshold){
+            if (keys.length == MAXIMUM_CAPACITY)
+                throw new IllegalStateException("Map is full");
+            resize();
+        }
+        insert(key, value, hash);
+        size++;
+        modCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V remove(K key) {
+        int index = indexOf(key, spread(key));
+        if (index < 0)
+            return null;
+
+        V value = (V) values[index];
+        int mask = keys.length - 1;
+        int next = (index + 1) & mask;
+        while(keys[next] != null && probeDistance(next) > 0){
+            keys[index] = keys[next];
+            values[index] = values[next];
+            hashes[index] = hashes[next];
+            index = next;
+            next = (next + 1) & mask;
+        }
+        keys[index] = null;
+        values[index] = null;
+        hashes[index] = 0;
+        size--;
+        modCount++;
+        return value;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public K[] toKeyArray(Class<K> clazz) {
+        K[] arr = (K[]) Array.newInstance(clazz, size);
+        int j = 0;
+        for(int i = 0; i < keys.length; i++)
+            if (keys[i] != null)
+                arr[j++] = (K) keys[i];
+        return arr;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V[] toValueArray(Class<V> clazz) {
+        V[] arr = (V[]) Array.newInstance(clazz, size);
+        int j = 0;
+        for(int i = 0; i < keys.length; i++)
+            if (keys[i] != null)
+                arr[j++] = (V) values[i];
+        return arr;
+    }
+
+    /**
+     * Возвращает итератор объектов коллекции в порядке ячеек массива. Метод setValue возвращаемых объектов
+     * записывает значение прямо в массив values. Итератор не поддерживает удаление, так как при удалении
+     * последующие объекты цепочки сдвигаются назад.
+     * @return итератор объектов коллекции
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new Iterator<>() {
+            private int index = nextSlot(0);
+            private final int expectedModCount = modCount;
+
+            private int nextSlot(int from){
+                while(from < keys.length && keys[from] == null)
+                    from++;
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return index < keys.length;
+            }
+
+            @Override
+            public Entry<K, V> next() {
+                if (modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                if (index >= keys.length)
+                    throw new NoSuchElementException();
+
+                var entry = new SlotEntry(index);
+                index = nextSlot(index + 1);
+                return entry;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for(int i = 0; i < keys.length; i++)
+            if (keys[i] != null)
+                sb.append(keys[i]).append(" : ").append(values[i]).append(", ");
+
+        return (sb.length() > 1 ? sb.substring(0, sb.length() - 2) : sb.toString()) + "]";
+    }
+
+    /**
+     * Объект коллекции, ссылающийся на ячейку массивов. Остается связан с ячейкой до следующего
+     * структурного изменения коллекции, после которого методы getValue и setValue выбрасывают
+     * ConcurrentModificationException.
+     */
+    private final class SlotEntry implements Entry<K, V> {
+        private final int index;
+        private final K key;
+        private final int expectedModCount = modCount;
+
+        @SuppressWarnings("unchecked")
+        SlotEntry(int index){
+            this.index = index;
+            this.key = (K) keys[index];
+        }
+
+        private void checkForComodification(){
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V getValue() {
+            checkForComodification();
+            return (V) values[index];
+        }
+
+        @Override
+        public void setValue(V value) {
+            checkForComodification();
+            values[index] = value;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package ru.sedov.implementations;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <p> Параллельная устойчивая сортировка слиянием участка массива объектов в пуле ForkJoinPool,
+ * по умолчанию в общем. </p>
+ * <br>
+ * <p> Участок делится пополам, пока его длина больше порога, половины сортируются параллельно, а затем
+ * сливаются во временный массив. Слияние тоже выполняется параллельно: большая из двух половин делится
+ * по среднему элементу, и бинарным поиском находится соответствующая точка деления второй половины.
+ * Участки не длиннее порога сортируются последовательно с помощью MyTimSort. </p>
+ * <br>
+ * <p> Если участок короче MIN_PARALLEL_SORT или в пуле всего один поток, сортировка выполняется
+ * последовательно в вызывающем потоке. </p>
+ */
+final class MyParallelSort {
+
+    /**
+     * Минимальная длина участка, при которой сортировка выполняется параллельно.
+     */
+    static final int MIN_PARALLEL_SORT = 1 << 13;
+
+    /**
+     * Минимальная суммарная длина сливаемых участков, при которой слияние делится на подзадачи.
+     */
+    private static final int MIN_PARALLEL_MERGE = 1 << 12;
+
+    private MyParallelSort(){}
+
+    /**
+     * Сортирует элементы массива с индексами от from включительно до to не включительно.
+     * Равные элементы сохраняют свой взаимный порядок.
+     * @param items массив элементов
+     * @param from индекс первого сортируемого элемента
+     * @param to индекс, следующий за последним сортируемым элементом
+     * @param comparator компаратор для сравнения элементов
+     * @param <T> тип сортируемых элементов
+     * @throws NullPointerException если компаратор равен null
+     */
+    static <T> void sort(Object[] items, int from, int to, Comparator<? super T> comparator){
+        sort(items, from, to, comparator, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Сортирует элементы массива с индексами от from включительно до to не включительно в заданном пуле.
+     * @param items массив элементов
+     * @param from индекс первого сортируемого элемента
+     * @param to индекс, следующий за последним сортируемым элементом
+     * @param comparator компаратор для сравнения элементов
+     * @param pool пул потоков для подзадач сортировки
+     * @param <T> тип сортируемых элементов
+     * @throws NullPointerException если компаратор равен null
+     */
+    static <T> void sort(Object[] items, int from, int to, Comparator<? super T> comparator, ForkJoinPool pool){
+        Objects.requireNonNull(comparator);
+        int n = to - from, parallelism = pool.getParallelism();
+        if (n < MIN_PARALLEL_SORT || parallelism <= 1){
+            MyTimSort.sort(items, from, to, comparator);
+            return;
+        }
+
+        int grain = Math.max(n / (parallelism << 2), MIN_PARALLEL_SORT);
+        pool.invoke(new Sorter<>(items, new Object[to], from, to, grain, comparator));
+    }
+
+    /**
+     * Задача сортировки участка массива items. Массив buffer используется для слияния отсортированных половин.
+     */
+    private static final class Sorter<T> extends RecursiveAction {
+
+        private final Object[] items, buffer;
+
+        private final int lo, hi, grain;
+
+        private final Comparator<? super T> comparator;
+
+        Sorter(Object[] items, Object[] buffer, int lo, int hi, int grain, Comparator<? super T> comparator){
+            this.items = items;
+            this.buffer = buffer;
+            this.lo = lo;
+            this.hi = hi;
+            this.grain = grain;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= grain){
+                MyTimSort.sort(items, lo, hi, comparator);
+                return;
+            }
+
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new Sorter<>(items, buffer, lo, mid, grain, comparator),
+                    new Sorter<>(items, buffer, mid, hi, grain, comparator));
+            new Merger<>(items, buffer, lo, mid, mid, hi, lo, comparator).invoke();
+            System.arraycopy(buffer, lo, items, lo, hi - lo);
+        }
+    }
+
+    /**
+     * Задача слияния отсортированных участков [lo1, hi1) и [lo2, hi2) массива items в массив buffer,
+     * начиная с индекса dest.
+     */
+    private static final class Merger<T> extends RecursiveAction {
+
+        private final Object[] items, buffer;
+
+        private final int lo1, hi1, lo2, hi2, dest;
+
+        private final Comparator<? super T> comparator;
+
+        Merger(Object[] items, Object[] buffer, int lo1, int hi1, int lo2, int hi2, int dest,
+               Comparator<? super T> comparator){
+            this.items = items;
+            this.buffer = buffer;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.dest = dest;
+            this.comparator = comparator;
+        }
+
+        @SuppressWarnings("unchecked")
+        private int compare(Object a, Object b){
+            return comparator.compare((T) a, (T) b);
+        }
+
+        @Override
+        protected void compute() {
+            int len1 = hi1 - lo1, len2 = hi2 - lo2;
+            if (len1 + len2 <= MIN_PARALLEL_MERGE || len1 == 0 || len2 == 0){
+                merge();
+                return;
+            }
+
+            int split1, split2;
+            if (len1 >= len2){
+                split1 = (lo1 + hi1) >>> 1;
+                split2 = lowerBound(items[split1], lo2, hi2);
+            } else {
+                split2 = (lo2 + hi2) >>> 1;
+                split1 = upperBound(items[split2], lo1, hi1);
+            }
+
+            int rightDest = dest + (split1 - lo1) + (split2 - lo2);
+            invokeAll(new Merger<>(items, buffer, lo1, split1, lo2, split2, dest, comparator),
+                    new Merger<>(items, buffer, split1, hi1, split2, hi2, rightDest, comparator));
+        }
+
+        /**
+         * Последовательно сливает участки. При равенстве первым записывается элемент первого участка.
+         */
+        private void merge(){
+            int i = lo1, j = lo2, k = dest;
+            while(i < hi1 && j < hi2)
+                buffer[k++] = compare(items[j], items[i]) < 0 ? items[j++] : items[i++];
+            System.arraycopy(items, i, buffer, k, hi1 - i);
+            System.arraycopy(items, j, buffer, k + hi1 - i, hi2 - j);
+        }
+
+        /**
+         * @return индекс первого элемента участка [lo, hi), не меньшего ключа
+         */
+        private int lowerBound(Object key, int lo, int hi){
+            while(lo < hi){
+                int mid = (lo + hi) >>> 1;
+                if (compare(items[mid], key) < 0)
+                    lo = mid + 1;
+                else
+                    hi = mid;
+            }
+            return lo;
+        }
+
+        /**
+         * @return индекс первого элемента участка [lo, hi), большего ключа
+         */
+        private int upperBound(Object key, int lo, int hi){
+            while(lo < hi){
+                int mid = (lo + hi) >>> 1;
+                if (compare(items[mid], key) <= 0)
+                    lo = mid + 1;
+                else
+                    hi = mid;
+            }
+            return lo;
+        }
+    }
+}
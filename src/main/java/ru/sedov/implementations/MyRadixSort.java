@@ -0,0 +1,125 @@
+package ru.sedov.implementations;
+
+/**
+ * <p> Поразрядная сортировка (LSD radix sort) участков массивов int[] и long[] по байтам, начиная с младшего. </p>
+ * <br>
+ * <p> За один проход по массиву подсчитываются гистограммы всех байтов, после чего каждый байт, значения
+ * которого различаются, распределяется устойчивым проходом во вспомогательный массив и обратно.
+ * Байты, одинаковые у всех элементов, пропускаются, поэтому, например, небольшие неотрицательные числа
+ * сортируются за один-два прохода. Знаковый бит инвертируется, чтобы отрицательные числа оказались
+ * перед положительными. Участки короче SMALL_SORT сортируются вставками. </p>
+ */
+final class MyRadixSort {
+
+    /**
+     * Участки короче этой длины сортируются вставками.
+     */
+    private static final int SMALL_SORT = 64;
+
+    private MyRadixSort(){}
+
+    /**
+     * Сортирует по возрастанию элементы массива с индексами от from включительно до to не включительно.
+     * @param a массив элементов
+     * @param from индекс первого сортируемого элемента
+     * @param to индекс, следующий за последним сортируемым элементом
+     */
+    static void sort(int[] a, int from, int to){
+        int n = to - from;
+        if (n < SMALL_SORT){
+            for(int i = from + 1; i < to; i++){
+                int value = a[i], j = i - 1;
+                for(; j >= from && a[j] > value; j--)
+                    a[j + 1] = a[j];
+                a[j + 1] = value;
+            }
+            return;
+        }
+
+        int[][] counts = new int[4][257];
+        for(int i = from; i < to; i++){
+            int key = a[i] ^ Integer.MIN_VALUE;
+            for(int d = 0; d < 4; d++)
+                counts[d][((key >>> (d << 3)) & 0xFF) + 1]++;
+        }
+
+        int[] src = a, dst = new int[n];
+        int srcFrom = from, dstFrom = 0;
+        for(int d = 0; d < 4; d++){
+            int[] count = counts[d];
+            if (isSingleBucket(count, n))
+                continue;
+            for(int b = 0; b < 256; b++)
+                count[b + 1] += count[b];
+
+            int shift = d << 3;
+            for(int i = srcFrom; i < srcFrom + n; i++)
+                dst[dstFrom + count[((src[i] ^ Integer.MIN_VALUE) >>> shift) & 0xFF]++] = src[i];
+
+            int[] tmp = src; src = dst; dst = tmp;
+            int tmpFrom = srcFrom; srcFrom = dstFrom; dstFrom = tmpFrom;
+        }
+
+        if (src != a)
+            System.arraycopy(src, srcFrom, a, from, n);
+    }
+
+    /**
+     * Сортирует по возрастанию элементы массива с индексами от from включительно до to не включительно.
+     * @param a массив элементов
+     * @param from индекс первого сортируемого элемента
+     * @param to индекс, следующий за последним сортируемым элементом
+     */
+    static void sort(long[] a, int from, int to){
+        int n = to - from;
+        if (n < SMALL_SORT){
+            for(int i = from + 1; i < to; i++){
+                long value = a[i];
+                int j = i - 1;
+                for(; j >= from && a[j] > value; j--)
+                    a[j + 1] = a[j];
+                a[j + 1] = value;
+            }
+            return;
+        }
+
+        int[][] counts = new int[8][257];
+        for(int i = from; i < to; i++){
+            long key = a[i] ^ Long.MIN_VALUE;
+            for(int d = 0; d < 8; d++)
+                counts[d][(int) ((key >>> (d << 3)) & 0xFF) + 1]++;
+        }
+
+        long[] src = a, dst = new long[n];
+        int srcFrom = from, dstFrom = 0;
+        for(int d = 0; d < 8; d++){
+            int[] count = counts[d];
+            if (isSingleBucket(count, n))
+                continue;
+            for(int b = 0; b < 256; b++)
+                count[b + 1] += count[b];
+
+            int shift = d << 3;
+            for(int i = srcFrom; i < srcFrom + n; i++)
+                dst[dstFrom + count[(int) (((src[i] ^ Long.MIN_VALUE) >>> shift) & 0xFF)]++] = src[i];
+
+            long[] tmp = src; src = dst; dst = tmp;
+            int tmpFrom = srcFrom; srcFrom = dstFrom; dstFrom = tmpFrom;
+        }
+
+        if (src != a)
+            System.arraycopy(src, srcFrom, a, from, n);
+    }
+
+    /**
+     * @param count гистограмма байта, сдвинутая на одну ячейку вправо
+     * @param n количество элементов
+     * @return true, если у всех элементов байт одинаковый и проход по нему не нужен
+     */
+    private static boolean isSingleBucket(int[] count, int n){
+        for(int b = 1; b <= 256; b++)
+            if (count[b] != 0)
+                return count[b] == n;
+        return true;
+    }
+}
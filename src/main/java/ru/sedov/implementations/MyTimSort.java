@@ -0,0 +1,313 @@
+package ru.sedov.implementations;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * <p> Устойчивая адаптивная сортировка слиянием (TimSort) для участка массива объектов. </p>
+ * <br>
+ * <p> Массив разбивается на уже упорядоченные серии: неубывающие серии остаются как есть, строго убывающие
+ * разворачиваются. Короткие серии дополняются до минимальной длины сортировкой бинарными вставками.
+ * Серии помещаются в стек и сливаются попарно так, чтобы длины соседних серий были сбалансированы,
+ * поэтому сортировка выполняется за O(n log n) в худшем случае и за O(n) на уже отсортированных данных. </p>
+ * <br>
+ * <p> Перед слиянием двух серий отбрасываются элементы, которые уже стоят на своих местах: начало первой серии,
+ * не превосходящее первого элемента второй, и конец второй серии, не меньший последнего элемента первой.
+ * Во временный массив копируется только меньшая из оставшихся частей. </p>
+ * @param <T> тип сортируемых элементов
+ */
+final class MyTimSort<T> {
+
+    /**
+     * Участки короче этой длины сортируются бинарными вставками без слияний.
+     */
+    private static final int MIN_MERGE = 32;
+
+    /**
+     * Размер стека серий, достаточный для массива любой допустимой длины.
+     */
+    private static final int MAX_RUNS = 49;
+
+    private final Object[] items;
+
+    private final Comparator<? super T> comparator;
+
+    /**
+     * Временный массив для слияния серий.
+     */
+    private Object[] tmp;
+
+    private final int[] runBase = new int[MAX_RUNS];
+
+    private final int[] runLen = new int[MAX_RUNS];
+
+    private int stackSize = 0;
+
+    private MyTimSort(Object[] items, Comparator<? super T> comparator){
+        this.items = items;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Сортирует элементы массива с индексами от from включительно до to не включительно.
+     * Равные элементы сохраняют свой взаимный порядок.
+     * @param items массив элементов
+     * @param from индекс первого сортируемого элемента
+     * @param to индекс, следующий за последним сортируемым элементом
+     * @param comparator компаратор для сравнения элементов
+     * @param <T> тип сортируемых элементов
+     * @throws NullPointerException если компаратор равен null
+     */
+    static <T> void sort(Object[] items, int from, int to, Comparator<? super T> comparator){
+        Objects.requireNonNull(comparator);
+        if (to - from < 2)
+            return;
+
+        MyTimSort<T> sort = new MyTimSort<>(items, comparator);
+        int minRun = minRunLength(to - from);
+        for(int lo = from; lo < to;){
+            int len = sort.countRunAndMakeAscending(lo, to);
+            if (len < minRun){
+                int force = Math.min(minRun, to - lo);
+                sort.binaryInsertionSort(lo, lo + force, lo + len);
+                len = force;
+            }
+            sort.pushRun(lo, len);
+            sort.mergeCollapse();
+            lo += len;
+        }
+        sort.mergeForceCollapse();
+    }
+
+    /**
+     * Вычисляет минимальную длину серии так, чтобы количество серий было равно степени двойки
+     * или немного меньше нее, тогда слияния получаются сбалансированными.
+     * @param n длина сортируемого участка
+     * @return минимальная длина серии
+     */
+    private static int minRunLength(int n){
+        int r = 0;
+        while(n >= MIN_MERGE){
+            r |= n & 1;
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object a, Object b){
+        return comparator.compare((T) a, (T) b);
+    }
+
+    /**
+     * Находит длину серии, начинающейся с индекса lo. Строго убывающая серия разворачивается,
+     * чтобы не нарушить порядок равных элементов.
+     * @param lo индекс начала серии
+     * @param hi индекс, следующий за последним элементом участка
+     * @return длина серии
+     */
+    private int countRunAndMakeAscending(int lo, int hi){
+        int runHi = lo + 1;
+        if (runHi == hi)
+            return 1;
+
+        if (compare(items[runHi++], items[lo]) < 0){
+            while(runHi < hi && compare(items[runHi], items[runHi - 1]) < 0)
+                runHi++;
+            reverse(lo, runHi);
+        } else {
+            while(runHi < hi && compare(items[runHi], items[runHi - 1]) >= 0)
+                runHi++;
+        }
+        return runHi - lo;
+    }
+
+    private void reverse(int lo, int hi){
+        for(hi--; lo < hi; lo++, hi--){
+            Object tmp = items[lo];
+            items[lo] = items[hi];
+            items[hi] = tmp;
+        }
+    }
+
+    /**
+     * Сортирует участок бинарными вставками, если его начало от lo до start уже отсортировано.
+     * @param lo индекс начала участка
+     * @param hi индекс, следующий за последним элементом участка
+     * @param start индекс первого неотсортированного элемента
+     */
+    private void binaryInsertionSort(int lo, int hi, int start){
+        for(; start < hi; start++){
+            Object pivot = items[start];
+            int left = lo, right = start;
+            while(left < right){
+                int mid = (left + right) >>> 1;
+                if (compare(pivot, items[mid]) < 0)
+                    right = mid;
+                else
+                    left = mid + 1;
+            }
+            System.arraycopy(items, left, items, left + 1, start - left);
+            items[left] = pivot;
+        }
+    }
+
+    private void pushRun(int base, int len){
+        runBase[stackSize] = base;
+        runLen[stackSize] = len;
+        stackSize++;
+    }
+
+    /**
+     * Сливает серии на вершине стека, пока длины серий не убывают достаточно быстро:
+     * каждая серия должна быть длиннее суммы двух следующих за ней.
+     */
+    private void mergeCollapse(){
+        while(stackSize > 1){
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                    || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]){
+                if (runLen[n - 1] < runLen[n + 1])
+                    n--;
+            } else if (runLen[n] > runLen[n + 1]){
+                break;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Сливает все оставшиеся в стеке серии в одну.
+     */
+    private void mergeForceCollapse(){
+        while(stackSize > 1){
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] < runLen[n + 1])
+                n--;
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Сливает серии стека с номерами i и i + 1.
+     * @param i номер первой серии
+     */
+    private void mergeAt(int i){
+        int base1 = runBase[i], len1 = runLen[i],
+                base2 = runBase[i + 1], len2 = runLen[i + 1];
+
+        runLen[i] = len1 + len2;
+        if (i == stackSize - 3){
+            runBase[i + 1] = runBase[i + 2];
+            runLen[i + 1] = runLen[i + 2];
+        }
+        stackSize--;
+
+        int k = gallopRight(items[base2], base1, len1);
+        base1 += k;
+        len1 -= k;
+        if (len1 == 0)
+            return;
+
+        len2 = gallopLeft(items[base1 + len1 - 1], base2, len2);
+        if (len2 == 0)
+            return;
+
+        if (len1 <= len2)
+            mergeLo(base1, len1, base2, len2);
+        else
+            mergeHi(base1, len1, base2, len2);
+    }
+
+    /**
+     * Экспоненциальным, а затем бинарным поиском находит количество элементов отсортированного участка,
+     * не превосходящих ключ.
+     * @param key ключ поиска
+     * @param base индекс начала участка
+     * @param len длина участка
+     * @return количество элементов, меньших или равных ключу
+     */
+    private int gallopRight(Object key, int base, int len){
+        int lo = 0, step = 1;
+        while(step <= len - lo && compare(key, items[base + lo + step - 1]) >= 0){
+            lo += step;
+            step <<= 1;
+        }
+
+        int hi = lo + Math.min(step, len - lo);
+        while(lo < hi){
+            int mid = (lo + hi) >>> 1;
+            if (compare(key, items[base + mid]) < 0)
+                hi = mid;
+            else
+                lo = mid + 1;
+        }
+        return lo;
+    }
+
+    /**
+     * Экспоненциальным, а затем бинарным поиском находит количество элементов отсортированного участка,
+     * меньших ключа.
+     * @param key ключ поиска
+     * @param base индекс начала участка
+     * @param len длина участка
+     * @return количество элементов, строго меньших ключа
+     */
+    private int gallopLeft(Object key, int base, int len){
+        int lo = 0, step = 1;
+        while(step <= len - lo && compare(key, items[base + lo + step - 1]) > 0){
+            lo += step;
+            step <<= 1;
+        }
+
+        int hi = lo + Math.min(step, len - lo);
+        while(lo < hi){
+            int mid = (lo + hi) >>> 1;
+            if (compare(key, items[base + mid]) <= 0)
+                hi = mid;
+            else
+                lo = mid + 1;
+        }
+        return lo;
+    }
+
+    private Object[] ensureCapacity(int len){
+        if (tmp == null || tmp.length < len)
+            tmp = new Object[len];
+        return tmp;
+    }
+
+    /**
+     * Сливает соседние серии слева направо, копируя во временный массив первую, более короткую серию.
+     */
+    private void mergeLo(int base1, int len1, int base2, int len2){
+        Object[] tmp = ensureCapacity(len1);
+        System.arraycopy(items, base1, tmp, 0, len1);
+
+        int cursor1 = 0, cursor2 = base2, dest = base1, end2 = base2 + len2;
+        while(cursor1 < len1 && cursor2 < end2)
+            if (compare(items[cursor2], tmp[cursor1]) < 0)
+                items[dest++] = items[cursor2++];
+            else
+                items[dest++] = tmp[cursor1++];
+
+        System.arraycopy(tmp, cursor1, items, dest, len1 - cursor1);
+    }
+
+    /**
+     * Сливает соседние серии справа налево, копируя во временный массив вторую, более короткую серию.
+     */
+    private void mergeHi(int base1, int len1, int base2, int len2){
+        Object[] tmp = ensureCapacity(len2);
+        System.arraycopy(items, base2, tmp, 0, len2);
+
+        int cursor1 = base1 + len1 - 1, cursor2 = len2 - 1, dest = base2 + len2 - 1;
+        while(cursor1 >= base1 && cursor2 >= 0)
+            if (compare(tmp[cursor2], items[cursor1]) < 0)
+                items[dest--] = items[cursor1--];
+            else
+                items[dest--] = tmp[cursor2--];
+
+        System.arraycopy(tmp, 0, items, dest - cursor2, cursor2 + 1);
+    }
+}
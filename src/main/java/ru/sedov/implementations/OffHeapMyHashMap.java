@@ -0,0 +1,564 @@
+package ru.sedov.implementations;
+
+import ru.sedov.MyCodec;
+import ru.sedov.MyMap;
+
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * <p>Реализация интерфейса MyMap, хранящая объекты вне кучи Java, в прямых (direct) буферах ByteBuffer.
+ * Ключи и значения преобразуются в байты с помощью объектов MyCodec, переданных в конструктор, поэтому
+ * количество объектов в куче не зависит от количества объектов в коллекции и не увеличивает время сборки мусора.</p>
+ * <br>
+ * <p> Коллекция состоит из двух частей:</p>
+ * <ul>
+ *     <li>индекс - прямой буфер из ячеек по 16 байт, содержащих адрес записи и хэш-значение ключа. Коллизии
+ *     решаются линейным пробированием, при удалении последующие ячейки цепочки сдвигаются назад. Когда
+ *     количество объектов превышает 3/4 количества ячеек, индекс увеличивается вдвое без чтения записей;</li>
+ *     <li>страницы - прямые буферы фиксированного размера (по умолчанию 16 МБ), в конец которых
+ *     последовательно добавляются записи вида [длина ключа][длина значения][ключ][значение].
+ *     Запись, не помещающаяся в страницу стандартного размера, получает отдельную страницу.</li>
+ * </ul>
+ * <p> Если новое значение занимает столько же байт, сколько старое, оно записывается на место старого. Иначе
+ * добавляется новая запись, а старая становится мусором. Когда мусор занимает больше половины записанных
+ * байт, все живые записи переписываются в новые страницы. </p>
+ * <br>
+ * <p> Ключи сравниваются по их байтовому представлению, поэтому кодек ключа должен преобразовывать
+ * равные ключи в одинаковые байты. Память страниц освобождается, когда коллекция становится недостижимой;
+ * ее общий объем ограничен параметром JVM -XX:MaxDirectMemorySize. Индекс содержит не более 2^26 ячеек. </p>
+ * <ul> Для работы с коллекций были определены следующий методы:
+ *     <li>containsKey(key) - проверка, находится ли в коллекции заданный ключ</li>
+ *     <li>containsValue(value) - проверка, находится ли в коллекции заданное значение</li>
+ *     <li>get(key) - получить значение по ключу</li>
+ *     <li>put(key, value) - поместить пару ключ/значение в коллекцию</li>
+ *     <li>remove(key) - удалить объект по ключу</li>
+ *     <li>size() - получить количество объектов в коллекции</li>
+ *     <li>isEmpty() - проверить пуста ли коллекция</li>
+ *     <li>toKeyArray(clazz) - конвертировать все ключи в коллекции в массив</li>
+ *     <li>toValueArray(clazz) - конвертировать все значения в коллекции в массив</li>
+ *     <li>iterator(), stream() - обойти объекты коллекции</li>
+ * </ul>
+ * @param <K> тип ключа объекта коллекции
+ * @param <V> тип значения объекта коллекции
+ */
+public class OffHeapMyHashMap<K, V> implements MyMap<K, V> {
+
+    /**
+     * Стандартное количество ячеек индекса.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Стандартный размер страницы в байтах.
+     */
+    private static final int DEFAULT_PAGE_SIZE = 1 << 24;
+
+    /**
+     * Максимальное количество ячеек индекса.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 26;
+
+    /**
+     * Размер ячейки индекса: адрес записи (8 байт), хэш-значение ключа (4 байта) и выравнивание (4 байта).
+     */
+    private static final int SLOT_SIZE = 16;
+
+    /**
+     * Размер заголовка записи: длина ключа и длина значения.
+     */
+    private static final int HEADER_SIZE = 8;
+
+    private final MyCodec<K> keyCodec;
+
+    private final MyCodec<V> valueCodec;
+
+    private final int pageSize;
+
+    /**
+     * Индекс коллекции. Адрес 0 обозначает пустую ячейку, поэтому хранится адрес записи, увеличенный на 1.
+     */
+    private ByteBuffer index;
+
+    /**
+     * Количество ячеек индекса.
+     */
+    private int capacity;
+
+    private int threshold;
+
+    private int size = 0;
+
+    /**
+     * Количество добавлений и удалений объектов. Используется итераторами, чтобы обнаружить изменение
+     * коллекции во время обхода.
+     */
+    private int modCount = 0;
+
+    /**
+     * Страницы с записями. Адрес записи состоит из номера страницы (старшие 32 бита) и смещения в ней.
+     */
+    private List<ByteBuffer> pages = new ArrayList<>();
+
+    /**
+     * Смещение, с которого в последнюю страницу будет добавлена следующая запись.
+     */
+    private int pageOffset;
+
+    /**
+     * Количество байт, занятых записями, включая мусор.
+     */
+    private long usedBytes;
+
+    /**
+     * Количество байт, занятых удаленными и замененными записями.
+     */
+    private long garbageBytes;
+
+    /**
+     * Буфер для байтового представления ключа текущей операции.
+     */
+    private ByteBuffer scratch = ByteBuffer.allocate(64);
+
+    public OffHeapMyHashMap(MyCodec<K> keyCodec, MyCodec<V> valueCodec, int capacity, int pageSize){
+        if (capacity < 0)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        if (pageSize < HEADER_SIZE)
+            throw new IllegalArgumentException("Illegal page size: " + pageSize);
+
+        this.keyCodec = Objects.requireNonNull(keyCodec);
+        this.valueCodec = Objects.requireNonNull(valueCodec);
+        this.pageSize = pageSize;
+        allocateIndex(tableSizeFor(capacity + (capacity >>> 1) + 1));
+    }
+    public OffHeapMyHashMap(MyCodec<K> keyCodec, MyCodec<V> valueCodec, int capacity){
+        this(keyCodec, valueCodec, capacity, DEFAULT_PAGE_SIZE);
+    }
+    public OffHeapMyHashMap(MyCodec<K> keyCodec, MyCodec<V> valueCodec){
+        this(keyCodec, valueCodec, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Округляет количество ячеек вверх до ближайшей степени двойки.
+     * @param capacity желаемое количество ячеек
+     * @return степень двойки не меньшая capacity
+     */
+    private static int tableSizeFor(int capacity){
+        if (capacity >= MAXIMUM_CAPACITY || capacity < 0)
+            return MAXIMUM_CAPACITY;
+        return capacity <= 4 ? 4 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Создает пустой индекс с заданным количеством ячеек.
+     * @param capacity количество ячеек
+     */
+    private void allocateIndex(int capacity){
+        this.capacity = capacity;
+        index = ByteBuffer.allocateDirect(capacity * SLOT_SIZE);
+        threshold = capacity == MAXIMUM_CAPACITY ? capacity - 1 : capacity - (capacity >>> 2);
+    }
+
+    private long addressAt(int slot){
+        return index.getLong(slot * SLOT_SIZE);
+    }
+
+    private int hashAt(int slot){
+        return index.getInt(slot * SLOT_SIZE + 8);
+    }
+
+    private void setSlot(int slot, long address, int hash){
+        index.putLong(slot * SLOT_SIZE, address);
+        index.putInt(slot * SLOT_SIZE + 8, hash);
+    }
+
+    private ByteBuffer pageOf(long address){
+        return pages.get((int) ((address - 1) >>> 32));
+    }
+
+    private static int offsetOf(long address){
+        return (int) (address - 1);
+    }
+
+    /**
+     * Записывает байтовое представление ключа в буфер scratch.
+     * @param key ключ объекта
+     * @return длина представления ключа в байтах
+     */
+    private int encodeKey(K key){
+        int length = keyCodec.size(key);
+        if (scratch.capacity() < length)
+            scratch = ByteBuffer.allocate(Math.max(length, scratch.capacity() * 2));
+
+        scratch.clear();
+        keyCodec.write(key, scratch);
+        if (scratch.position() != length)
+            throw new IllegalStateException("Codec wrote " + scratch.position() + " bytes instead of " + length);
+        scratch.flip();
+        return length;
+    }
+
+    /**
+     * Вычисляет хэш-значение байтового представления ключа, находящегося в буфере scratch.
+     * @param length длина представления ключа в байтах
+     * @return хэш-значение ключа
+     */
+    private int hashKey(int length){
+        int h = 1;
+        for(int i = 0; i < length; i++)
+            h = 31 * h + scratch.get(i);
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Сравнивает ключ записи с ключом, находящимся в буфере scratch.
+     * @param address адрес записи
+     * @param length длина представления ключа в байтах
+     * @return true - если ключи совпадают
+     */
+    private boolean keyEquals(long address, int length){
+        var page = pageOf(address);
+        int offset = offsetOf(address);
+        if (page.getInt(offset) != length)
+            return false;
+
+        offset += HEADER_SIZE;
+        int i = 0;
+        for(; i + Long.BYTES <= length; i += Long.BYTES)
+            if (page.getLong(offset + i) != scratch.getLong(i))
+                return false;
+        for(; i < length; i++)
+            if (page.get(offset + i) != scratch.get(i))
+                return false;
+        return true;
+    }
+
+    /**
+     * Находит ячейку индекса с ключом, находящимся в буфере scratch.
+     * @param hash хэш-значение ключа
+     * @param length длина представления ключа в байтах
+     * @return номер ячейки или (-номер первой пустой ячейки - 1), если такого ключа нет
+     */
+    private int findSlot(int hash, int length){
+        int mask = capacity - 1;
+        for(int slot = hash & mask; ; slot = (slot + 1) & mask){
+            long address = addressAt(slot);
+            if (address == 0)
+                return -slot - 1;
+            if (hashAt(slot) == hash && keyEquals(address, length))
+                return slot;
+        }
+    }
+
+    /**
+     * Возвращает страницу, в которую будет добавлена запись заданного размера, создавая новую при необходимости.
+     * @param recordSize размер записи в байтах
+     * @return последняя страница
+     */
+    private ByteBuffer pageFor(int recordSize){
+        ByteBuffer page = pages.isEmpty() ? null : pages.get(pages.size() - 1);
+        if (page == null || page.capacity() - pageOffset < recordSize){
+            page = ByteBuffer.allocateDirect(Math.max(pageSize, recordSize));
+            pages.add(page);
+            pageOffset = 0;
+        }
+        return page;
+    }
+
+    /**
+     * Добавляет запись с ключом из буфера scratch и заданным значением.
+     * @param keyLength длина представления ключа в байтах
+     * @param value значение объекта
+     * @return адрес записи
+     */
+    private long append(int keyLength, V value){
+        int valueLength = valueCodec.size(value);
+        int recordSize = HEADER_SIZE + keyLength + valueLength;
+        var page = pageFor(recordSize);
+
+        int offset = pageOffset;
+        page.position(offset);
+        page.putInt(keyLength).putInt(valueLength).put(scratch);
+        scratch.rewind();
+        valueCodec.write(value, page);
+        if (page.position() != offset + recordSize)
+            throw new IllegalStateException("Codec wrote " + (page.position() - offset - HEADER_SIZE - keyLength)
+                    + " bytes instead of " + valueLength);
+
+        pageOffset += recordSize;
+        usedBytes += recordSize;
+        return ((long) (pages.size() - 1) << 32 | offset) + 1;
+    }
+
+    private int recordSize(long address){
+        var page = pageOf(address);
+        int offset = offsetOf(address);
+        return HEADER_SIZE + page.getInt(offset) + page.getInt(offset + 4);
+    }
+
+    private K readKey(long address){
+        var page = pageOf(address);
+        int offset = offsetOf(address);
+        page.position(offset + HEADER_SIZE);
+        return keyCodec.read(page, page.getInt(offset));
+    }
+
+    private V readValue(long address){
+        var page = pageOf(address);
+        int offset = offsetOf(address);
+        int keyLength = page.getInt(offset);
+        page.position(offset + HEADER_SIZE + keyLength);
+        return valueCodec.read(page, page.getInt(offset + 4));
+    }
+
+    /**
+     * Увеличивает индекс вдвое. Записи не читаются, так как хэш-значения ключей хранятся в индексе.
+     */
+    private void resize(){
+        if (capacity == MAXIMUM_CAPACITY)
+            throw new IllegalStateException("Map is full");
+
+        var oldIndex = index;
+        int oldCapacity = capacity;
+        allocateIndex(capacity * 2);
+
+        int mask = capacity - 1;
+        for(int i = 0; i < oldCapacity; i++){
+            long address = oldIndex.getLong(i * SLOT_SIZE);
+            if (address == 0)
+                continue;
+
+            int hash = oldIndex.getInt(i * SLOT_SIZE + 8);
+            int slot = hash & mask;
+            while(addressAt(slot) != 0)
+                slot = (slot + 1) & mask;
+            setSlot(slot, address, hash);
+        }
+    }
+
+    /**
+     * Освобождает ячейку индекса и сдвигает назад ячейки, для которых она находится в цепочке пробирования.
+     * @param gap номер освобождаемой ячейки
+     */
+    private void shiftBack(int gap){
+        int mask = capacity - 1;
+        for(int slot = (gap + 1) & mask; addressAt(slot) != 0; slot = (slot + 1) & mask){
+            int home = hashAt(slot) & mask;
+            if (((slot - home) & mask) >= ((slot - gap) & mask)){
+                setSlot(gap, addressAt(slot), hashAt(slot));
+                gap = slot;
+            }
+        }
+        setSlot(gap, 0, 0);
+    }
+
+    /**
+     * Переписывает живые записи в новые страницы, если мусор занимает больше половины записанных байт.
+     */
+    private void compactIfNeeded(){
+        if (garbageBytes < pageSize || garbageBytes * 2 <= usedBytes)
+            return;
+
+        var oldPages = pages;
+        pages = new ArrayList<>();
+        pageOffset = 0;
+        usedBytes = 0;
+        garbageBytes = 0;
+
+        for(int slot = 0; slot < capacity; slot++){
+            long address = addressAt(slot);
+            if (address == 0)
+                continue;
+
+            var oldPage = oldPages.get((int) ((address - 1) >>> 32));
+            int oldOffset = offsetOf(address);
+            int recordSize = HEADER_SIZE + oldPage.getInt(oldOffset) + oldPage.getInt(oldOffset + 4);
+
+            var page = pageFor(recordSize);
+            page.put(pageOffset, oldPage, oldOffset, recordSize);
+            index.putLong(slot * SLOT_SIZE, ((long) (pages.size() - 1) << 32 | pageOffset) + 1);
+            pageOffset += recordSize;
+            usedBytes += recordSize;
+        }
+    }
+
+    /**
+     * @return количество байт, занятых страницами коллекции вне кучи Java
+     */
+    public long offHeapBytes() {
+        long bytes = (long) capacity * SLOT_SIZE;
+        for(var page : pages)
+            bytes += page.capacity();
+        return bytes;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        int length = encodeKey(key);
+        return findSlot(hashKey(length), length) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        for(int slot = 0; slot < capacity; slot++){
+            long address = addressAt(slot);
+            if (address != 0 && Objects.equals(readValue(address), value))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public V get(K key) {
+        int length = encodeKey(key);
+        int slot = findSlot(hashKey(length), length);
+        return slot < 0 ? null : readValue(addressAt(slot));
+    }
+
+    @Override
+    public void put(K key, V value) {
+        int length = encodeKey(key);
+        int hash = hashKey(length);
+        int slot = findSlot(hash, length);
+        if (slot >= 0){
+            long address = addressAt(slot);
+            var page = pageOf(address);
+            int offset = offsetOf(address);
+            if (page.getInt(offset + 4) == valueCodec.size(value)){
+                page.position(offset + HEADER_SIZE + length);
+                valueCodec.write(value, page);
+                return;
+            }
+
+            garbageBytes += recordSize(address);
+            setSlot(slot, append(length, value), hash);
+            compactIfNeeded();
+            return;
+        }
+
+        setSlot(-slot - 1, append(length, value), hash);
+        modCount++;
+        if (++size > threshold)
+            resize();
+    }
+
+    @Override
+    public V remove(K key) {
+        int length = encodeKey(key);
+        int slot = findSlot(hashKey(length), length);
+        if (slot < 0)
+            return null;
+
+        long address = addressAt(slot);
+        V value = readValue(address);
+        garbageBytes += recordSize(address);
+        shiftBack(slot);
+        size--;
+        modCount++;
+        compactIfNeeded();
+        return value;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public K[] toKeyArray(Class<K> clazz) {
+        K[] keys = (K[]) Array.newInstance(clazz, size);
+        int i = 0;
+        for(int slot = 0; slot < capacity; slot++){
+            long address = addressAt(slot);
+            if (address != 0)
+                keys[i++] = readKey(address);
+        }
+        return keys;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V[] toValueArray(Class<V> clazz) {
+        V[] values = (V[]) Array.newInstance(clazz, size);
+        int i = 0;
+        for(int slot = 0; slot < capacity; slot++){
+            long address = addressAt(slot);
+            if (address != 0)
+                values[i++] = readValue(address);
+        }
+        return values;
+    }
+
+    /**
+     * Возвращает итератор объектов коллекции в порядке ячеек индекса. Ключ и значение каждого объекта
+     * читаются из страниц при вызове next(), метод setValue объекта записывает новое значение в коллекцию.
+     * Замена значения существующего ключа не мешает обходу, а добавление и удаление объектов приводят
+     * к ConcurrentModificationException.
+     * @return итератор объектов коллекции
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new Iterator<>() {
+            private int slot = nextSlot(0);
+            private final int expectedModCount = modCount;
+
+            private int nextSlot(int from){
+                while(from < capacity && addressAt(from) == 0)
+                    from++;
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return slot < capacity;
+            }
+
+            @Override
+            public Entry<K, V> next() {
+                if (modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                if (slot >= capacity)
+                    throw new NoSuchElementException();
+
+                long address = addressAt(slot);
+                slot = nextSlot(slot + 1);
+                return new DecodedEntry(readKey(address), readValue(address));
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for(int slot = 0; slot < capacity; slot++){
+            long address = addressAt(slot);
+            if (address != 0)
+                sb.append(readKey(address)).append(" : ").append(readValue(address)).append(", ");
+        }
+
+        return (sb.length() > 1 ? sb.substring(0, sb.length() - 2) : sb.toString()) + "]";
+    }
+
+    /**
+     * Объект коллекции, прочитанный из страницы. Метод setValue записывает новое значение в коллекцию.
+     */
+    private final class DecodedEntry extends MyEntry<K, V> {
+        DecodedEntry(K key, V value){
+            super(key, value);
+        }
+
+        @Override
+        public void setValue(V value) {
+            super.setValue(value);
+            put(getKey(), value);
+        }
+    }
+}
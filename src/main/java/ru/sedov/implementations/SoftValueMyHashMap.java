@@ -0,0 +1,247 @@
+package ru.sedov.implementations;
+
+import ru.sedov.MyHashStrategy;
+import ru.sedov.MyMap;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Array;
+import java.util.*;
+
+/**
+ * <p> Реализация интерфейса MyMap, которая хранит значения по мягким ссылкам. Если на значение нет обычных
+ * ссылок вне коллекции, сборщик мусора может удалить его при нехватке памяти, после чего объект исчезает
+ * из коллекции. Такая коллекция подходит для кэша, который занимает свободную память и уступает ее
+ * остальной программе, не доводя до OutOfMemoryError. </p>
+ * <br>
+ * <p> Объекты хранятся в MyHashMap. Мягкие ссылки на значения регистрируются в ReferenceQueue, и объекты
+ * с удаленными значениями убираются из коллекции в начале операций put, remove, size, isEmpty и при создании
+ * итератора: каждый такой объект удаляется один раз за O(1), без просмотра всей коллекции. Поэтому размер
+ * коллекции может включать объекты, значения которых уже удалены, но еще не попали в очередь. Операции get,
+ * containsKey и containsValue такие объекты не видят и коллекцию не изменяют. </p>
+ * <br>
+ * <p> Равенство ключей определяется стратегией MyHashStrategy, по умолчанию методами hashCode и equals.
+ * Ключи и значения не могут быть равны null. Итератор возвращает снимки объектов, метод setValue
+ * которых не поддерживается. </p>
+ * <ul> Для работы с коллекций были определены следующий методы:
+ *     <li>containsKey(key) - проверка, находится ли в коллекции заданный ключ</li>
+ *     <li>containsValue(value) - проверка, находится ли в коллекции заданное значение</li>
+ *     <li>get(key) - получить значение по ключу</li>
+ *     <li>put(key, value) - поместить пару ключ/значение в коллекцию</li>
+ *     <li>remove(key) - удалить объект по ключу</li>
+ *     <li>size() - получить количество объектов в коллекции</li>
+ *     <li>isEmpty() - проверить пуста ли коллекция</li>
+ *     <li>toKeyArray(clazz) - конвертировать все ключи в коллекции в массив</li>
+ *     <li>toValueArray(clazz) - конвертировать все значения в коллекции в массив</li>
+ *     <li>iterator(), stream(), parallelStream() - обойти объекты коллекции</li>
+ * </ul>
+ * @param <K> тип ключа объекта коллекции
+ * @param <V> тип значения объекта коллекции
+ */
+public class SoftValueMyHashMap<K, V> implements MyMap<K, V> {
+
+    /**
+     * Стандартное количество списков для хранения объектов.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Стандартный коэффициент загрузки коллекции.
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * Мягкие ссылки на значения по ключу.
+     */
+    private final MyHashMap<K, SoftValue<K, V>> table;
+
+    /**
+     * Очередь, в которую сборщик мусора помещает ссылки на удаленные значения.
+     */
+    private final ReferenceQueue<V> queue = new ReferenceQueue<>();
+
+    /**
+     * @param capacity исходное количество списков для хранения объектов
+     * @param strategy стратегия хэш-значения и равенства ключей
+     * @throws IllegalArgumentException если capacity отрицательно
+     */
+    public SoftValueMyHashMap(int capacity, MyHashStrategy<? super K> strategy){
+        table = new MyHashMap<>(capacity, DEFAULT_LOAD_FACTOR, strategy);
+    }
+    public SoftValueMyHashMap(int capacity){
+        this(capacity, MyHashStrategies.natural());
+    }
+    public SoftValueMyHashMap(){
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Мягкая ссылка на значение, знающая ключ своего объекта, чтобы удалить его после удаления значения.
+     */
+    private static final class SoftValue<K, V> extends SoftReference<V> {
+
+        private final K key;
+
+        SoftValue(K key, V value, ReferenceQueue<V> queue){
+            super(value, queue);
+            this.key = key;
+        }
+    }
+
+    /**
+     * Снимок объекта коллекции, возвращаемый итератором.
+     */
+    private static final class SnapshotEntry<K, V> implements Entry<K, V> {
+        private final K key;
+        private final V value;
+
+        SnapshotEntry(K key, V value){
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public void setValue(V value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Удаляет из коллекции объекты, значения которых удалены сборщиком мусора. Если ключ к этому времени
+     * получил новое значение, объект не удаляется.
+     */
+    @SuppressWarnings("unchecked")
+    private void expungeStaleEntries(){
+        for(SoftValue<K, V> ref; (ref = (SoftValue<K, V>) queue.poll()) != null; )
+            if (table.get(ref.key) == ref)
+                table.remove(ref.key);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        if (value == null)
+            return false;
+
+        for(var entry : table)
+            if (value.equals(entry.getValue().get()))
+                return true;
+        return false;
+    }
+
+    @Override
+    public V get(K key) {
+        var ref = table.get(key);
+        return ref == null ? null : ref.get();
+    }
+
+    @Override
+    public void put(K key, V value) {
+        Objects.requireNonNull(value);
+        expungeStaleEntries();
+        table.put(key, new SoftValue<>(key, value, queue));
+    }
+
+    @Override
+    public V remove(K key) {
+        expungeStaleEntries();
+        var ref = table.remove(key);
+        return ref == null ? null : ref.get();
+    }
+
+    /**
+     * @return количество объектов в коллекции, включая объекты, значения которых удалены сборщиком мусора,
+     * но еще не попали в очередь
+     */
+    @Override
+    public int size() {
+        expungeStaleEntries();
+        return table.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public K[] toKeyArray(Class<K> clazz) {
+        List<K> keys = new ArrayList<>(size());
+        for(var entry : table)
+            if (entry.getValue().get() != null)
+                keys.add(entry.getKey());
+        return keys.toArray((K[]) Array.newInstance(clazz, keys.size()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V[] toValueArray(Class<V> clazz) {
+        List<V> values = new ArrayList<>(size());
+        for(var entry : table){
+            V value = entry.getValue().get();
+            if (value != null)
+                values.add(value);
+        }
+        return values.toArray((V[]) Array.newInstance(clazz, values.size()));
+    }
+
+    /**
+     * Возвращает итератор снимков объектов коллекции, значения которых еще не удалены. Итератор
+     * не поддерживает удаление и выбрасывает ConcurrentModificationException, если коллекция была
+     * изменена после его создания.
+     * @return итератор объектов коллекции
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        expungeStaleEntries();
+        var it = table.iterator();
+        return new Iterator<>() {
+            private Entry<K, V> next;
+
+            @Override
+            public boolean hasNext() {
+                while(next == null && it.hasNext()){
+                    var entry = it.next();
+                    V value = entry.getValue().get();
+                    if (value != null)
+                        next = new SnapshotEntry<>(entry.getKey(), value);
+                }
+                return next != null;
+            }
+
+            @Override
+            public Entry<K, V> next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                var entry = next;
+                next = null;
+                return entry;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for(var entry : this)
+            sb.append(entry.getKey()).append(" : ").append(entry.getValue()).append(", ");
+
+        return (sb.length() > 1 ? sb.substring(0, sb.length() - 2) : sb.toString()) + "]";
+    }
+}
@@ -0,0 +1,375 @@
+package ru.sedov.implementations;
+
+import ru.sedov.MyList;
+
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * <p> Реализация интерфейса MyList в виде многоуровневого массива (tiered vector), в которой вставка и
+ * удаление по индексу в середине коллекции выполняются за O(√n) вместо O(n) у MyArrayList. </p>
+ * <br>
+ * <p> Элементы хранятся в блоках одинаковой емкости C, являющейся степенью двойки. Каждый блок является
+ * кольцевым буфером со своим началом, и все блоки, кроме последнего, заполнены полностью. Поэтому элемент
+ * с индексом i находится в блоке i / C на позиции i % C от начала блока, и get(index) выполняется за O(1). </p>
+ * <br>
+ * <p> При вставке элементы сдвигаются только внутри блока, в который выполняется вставка, а из каждого
+ * следующего блока последний элемент переносится в начало следующего за ним блока сдвигом начала кольцевого
+ * буфера, без сдвига остальных элементов. Удаление выполняется симметрично. Емкость блока поддерживается
+ * близкой к √n: когда количество блоков становится больше 2C или меньше C / 4, коллекция перестраивается
+ * с вдвое большей или меньшей емкостью блока, поэтому вставка и удаление стоят O(C + n / C) = O(√n). </p>
+ * <br>
+ * <p> Групповые операции (addAll по индексу, removeIf, removeRange, retainAll) и сортировка копируют
+ * элементы в обычный массив, выполняют операцию над ним и перестраивают блоки за O(n). </p>
+ * <br>
+ * Для работы с коллекцией используются следующие методы:
+ *  <ul>
+ *      <li>size() - получение текущего количества элементов в коллекции.</li>
+ *      <li>add(element) - добавление элемента в коллекцию</li>
+ *      <li>add(element, index) - добавление элемента в коллекцию на заданный индекс за O(√n)</li>
+ *      <li>get(index) - получение элемента по заданному индексу за O(1)</li>
+ *      <li>remove(index) - удаление элемента по индексу за O(√n)</li>
+ *      <li>addAll(elements), addAll(elements, index) - добавление всех элементов другой коллекции</li>
+ *      <li>removeIf(filter) - удаление всех элементов, удовлетворяющих условию</li>
+ *      <li>removeRange(from, to) - удаление элементов с индексами от from до to</li>
+ *      <li>clear() - очистка коллекции</li>
+ *      <li>sort(comparator) - устойчивая сортировка коллекции по компаратору (TimSort)</li>
+ *      <li>replace(element, index) - замена значения элемента по индексу</li>
+ *      <li>iterator(), stream(), parallelStream() - обход элементов коллекции</li>
+ *  </ul>
+ * @param <T> тип хранимых элементов в коллекции.
+ */
+public class TieredMyArrayList<T> implements MyList<T> {
+
+    /**
+     * Двоичный логарифм наименьшей емкости блока.
+     */
+    private static final int MIN_SHIFT = 4;
+
+    private int size = 0;
+
+    /**
+     * Двоичный логарифм емкости блока C.
+     */
+    private int shift = MIN_SHIFT;
+
+    private int mask = (1 << MIN_SHIFT) - 1;
+
+    /**
+     * Блоки элементов. Используются первые chunkCount ячеек массива.
+     */
+    private Object[][] chunks = new Object[4][];
+
+    /**
+     * Позиции начала кольцевых буферов блоков.
+     */
+    private int[] heads = new int[4];
+
+    private int chunkCount = 0;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void checkIndex(int index){
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+    }
+
+    /**
+     * @return количество элементов в блоке с номером chunk
+     */
+    private int chunkSize(int chunk){
+        return chunk < chunkCount - 1 ? mask + 1 : size - (chunk << shift);
+    }
+
+    /**
+     * Добавляет пустой блок в конец коллекции.
+     */
+    private void addChunk(){
+        if (chunkCount == chunks.length){
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+            heads = Arrays.copyOf(heads, chunkCount * 2);
+        }
+        chunks[chunkCount] = new Object[mask + 1];
+        heads[chunkCount] = 0;
+        chunkCount++;
+    }
+
+    /**
+     * Удаляет последний блок, если в нем не осталось элементов.
+     */
+    private void trimChunks(){
+        if (chunkCount > 0 && size <= (chunkCount - 1) << shift){
+            chunkCount--;
+            chunks[chunkCount] = null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index) {
+        checkIndex(index);
+        int chunk = index >>> shift;
+        return (T) chunks[chunk][(heads[chunk] + index) & mask];
+    }
+
+    @Override
+    public void replace(T element, int index) {
+        checkIndex(index);
+        int chunk = index >>> shift;
+        chunks[chunk][(heads[chunk] + index) & mask] = element;
+    }
+
+    @Override
+    public void add(T element) {
+        if (size == chunkCount << shift)
+            addChunk();
+
+        int chunk = size >>> shift;
+        chunks[chunk][(heads[chunk] + size) & mask] = element;
+        size++;
+        rebalance();
+    }
+
+    /**
+     * Добавляет элемент на заданную позицию. Последние элементы всех блоков после блока вставки переносятся
+     * в начало следующих блоков, а внутри блока вставки сдвигается меньшая из двух частей.
+     * @param element добавляемый элемент
+     * @param index индекс позиции, на которую будет добавлен элемент
+     * @throws IndexOutOfBoundsException если index меньше 0 или больше количества элементов коллекции
+     */
+    @Override
+    public void add(T element, int index) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException();
+        if (index == size){
+            add(element);
+            return;
+        }
+
+        if (size == chunkCount << shift)
+            addChunk();
+
+        int target = index >>> shift;
+        for(int chunk = chunkCount - 1; chunk > target; chunk--){
+            Object[] prev = chunks[chunk - 1];
+            int last = (heads[chunk - 1] + mask) & mask;
+            heads[chunk] = (heads[chunk] - 1) & mask;
+            chunks[chunk][heads[chunk]] = prev[last];
+            prev[last] = null;
+        }
+
+        int count = target == chunkCount - 1 ? size - (target << shift) : mask;
+        insertIntoChunk(target, index & mask, count, element);
+        size++;
+        rebalance();
+    }
+
+    /**
+     * Вставляет элемент в блок, содержащий count элементов, сдвигая меньшую из двух частей блока.
+     */
+    private void insertIntoChunk(int chunk, int offset, int count, Object element){
+        Object[] items = chunks[chunk];
+        int head = heads[chunk];
+        if (offset < count - offset){
+            head = (head - 1) & mask;
+            for(int i = 0; i < offset; i++)
+                items[(head + i) & mask] = items[(head + i + 1) & mask];
+            heads[chunk] = head;
+        } else {
+            for(int i = count; i > offset; i--)
+                items[(head + i) & mask] = items[(head + i - 1) & mask];
+        }
+        items[(head + offset) & mask] = element;
+    }
+
+    /**
+     * Удаляет элемент по индексу. Внутри блока удаления сдвигается меньшая из двух частей, а первые
+     * элементы всех следующих блоков переносятся в конец предыдущих блоков.
+     * @param index индекс удаляемого элемента
+     * @throws IndexOutOfBoundsException если index меньше 0 или не меньше количества элементов коллекции
+     */
+    @Override
+    public void remove(int index) {
+        checkIndex(index);
+
+        int target = index >>> shift;
+        removeFromChunk(target, index & mask, chunkSize(target));
+        for(int chunk = target + 1; chunk < chunkCount; chunk++){
+            Object[] next = chunks[chunk];
+            int first = heads[chunk];
+            chunks[chunk - 1][(heads[chunk - 1] + mask) & mask] = next[first];
+            next[first] = null;
+            heads[chunk] = (first + 1) & mask;
+        }
+        size--;
+        trimChunks();
+        rebalance();
+    }
+
+    /**
+     * Удаляет элемент из блока, содержащего count элементов, сдвигая меньшую из двух частей блока.
+     * В обоих случаях освободившаяся ячейка оказывается в конце кольцевого буфера.
+     */
+    private void removeFromChunk(int chunk, int offset, int count){
+        Object[] items = chunks[chunk];
+        int head = heads[chunk];
+        if (offset < count - offset - 1){
+            for(int i = offset; i > 0; i--)
+                items[(head + i) & mask] = items[(head + i - 1) & mask];
+            items[head] = null;
+            heads[chunk] = (head + 1) & mask;
+        } else {
+            for(int i = offset; i < count - 1; i++)
+                items[(head + i) & mask] = items[(head + i + 1) & mask];
+            items[(head + count - 1) & mask] = null;
+        }
+    }
+
+    /**
+     * Перестраивает блоки, если их количество слишком сильно отличается от их емкости.
+     */
+    private void rebalance(){
+        if (chunkCount > (2 << shift))
+            rebuild(toObjectArray(), size, shift + 1);
+        else if (shift > MIN_SHIFT && chunkCount < (1 << shift) / 4)
+            rebuild(toObjectArray(), size, shift - 1);
+    }
+
+    /**
+     * @return двоичный логарифм емкости блока, близкой к √n для n элементов
+     */
+    private static int shiftFor(int n){
+        int bits = 32 - Integer.numberOfLeadingZeros(Math.max(n - 1, 1));
+        return Math.max(MIN_SHIFT, (bits + 1) >>> 1);
+    }
+
+    /**
+     * Заполняет блоки элементами массива, начиная с пустых блоков заданной емкости.
+     * @param items элементы коллекции
+     * @param n количество элементов
+     * @param shift двоичный логарифм емкости блока
+     */
+    private void rebuild(Object[] items, int n, int shift){
+        this.shift = shift;
+        this.mask = (1 << shift) - 1;
+        int count = (n + mask) >>> shift;
+        chunks = new Object[Math.max(count, 4)][];
+        heads = new int[chunks.length];
+        chunkCount = 0;
+        size = n;
+        for(int i = 0; i < count; i++){
+            chunks[i] = new Object[mask + 1];
+            System.arraycopy(items, i << shift, chunks[i], 0, Math.min(mask + 1, n - (i << shift)));
+        }
+        chunkCount = count;
+    }
+
+    /**
+     * @return массив элементов коллекции в порядке индексов
+     */
+    private Object[] toObjectArray(){
+        Object[] arr = new Object[size];
+        for(int chunk = 0; chunk < chunkCount; chunk++){
+            Object[] items = chunks[chunk];
+            int head = heads[chunk], count = chunkSize(chunk), base = chunk << shift;
+            int first = Math.min(count, mask + 1 - head);
+            System.arraycopy(items, head, arr, base, first);
+            System.arraycopy(items, 0, arr, base + first, count - first);
+        }
+        return arr;
+    }
+
+    @Override
+    public void addAll(MyList<? extends T> elements) {
+        Object[] added = new Object[elements.size()];
+        for(int i = 0; i < added.length; i++)
+            added[i] = elements.get(i);
+        for(Object element : added){
+            @SuppressWarnings("unchecked")
+            T e = (T) element;
+            add(e);
+        }
+    }
+
+    @Override
+    public void addAll(MyList<? extends T> elements, int index) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException();
+
+        int added = elements.size();
+        Object[] arr = new Object[size + added];
+        Object[] old = toObjectArray();
+        System.arraycopy(old, 0, arr, 0, index);
+        for(int i = 0; i < added; i++)
+            arr[index + i] = elements.get(i);
+        System.arraycopy(old, index, arr, index + added, size - index);
+        rebuild(arr, arr.length, shiftFor(arr.length));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+        Object[] arr = toObjectArray();
+        int w = 0;
+        for(Object element : arr)
+            if (!filter.test((T) element))
+                arr[w++] = element;
+        if (w == size)
+            return false;
+
+        rebuild(arr, w, shiftFor(w));
+        return true;
+    }
+
+    @Override
+    public void removeRange(int from, int to) {
+        if (from < 0 || to > size || from > to)
+            throw new IndexOutOfBoundsException();
+
+        Object[] arr = toObjectArray();
+        System.arraycopy(arr, to, arr, from, size - to);
+        int n = size - (to - from);
+        rebuild(arr, n, shiftFor(n));
+    }
+
+    @Override
+    public void clear() {
+        rebuild(new Object[0], 0, MIN_SHIFT);
+    }
+
+    @Override
+    public void sort(Comparator<T> comparator) {
+        Object[] arr = toObjectArray();
+        MyTimSort.sort(arr, 0, arr.length, comparator);
+        rebuild(arr, arr.length, shift);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T[] toArray(Class<T> clazz) {
+        T[] arr = (T[]) Array.newInstance(clazz, size);
+        System.arraycopy(toObjectArray(), 0, arr, 0, size);
+        return arr;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder()
+                .append("[");
+
+        for(int i = 0; i < size - 1; i++)
+            sb.append(get(i))
+                    .append(", ");
+
+        if (size > 0)
+            sb.append(get(size - 1));
+
+        sb.append("]");
+        return sb.toString();
+    }
+}
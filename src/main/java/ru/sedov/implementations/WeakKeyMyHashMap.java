@@ -0,0 +1,282 @@
+package ru.sedov.implementations;
+
+import ru.sedov.MyHashStrategy;
+import ru.sedov.MyMap;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.util.*;
+
+/**
+ * <p> Реализация интерфейса MyMap, которая хранит ключи по слабым ссылкам. Если на ключ больше нет обычных
+ * ссылок вне коллекции, сборщик мусора может его удалить, после чего объект с этим ключом исчезает
+ * из коллекции. Так к короткоживущим объектам можно привязать дополнительные данные, не продлевая
+ * время их жизни. Значение не должно ссылаться на свой ключ, иначе ключ никогда не будет удален. </p>
+ * <br>
+ * <p> Объекты хранятся в MyHashMap. Слабые ссылки на ключи регистрируются в ReferenceQueue, и удаленные
+ * сборщиком мусора объекты убираются из коллекции в начале операций put, remove, size, isEmpty и при создании
+ * итератора: каждый такой объект удаляется один раз за O(1), без просмотра всей коллекции. Поэтому размер
+ * коллекции может включать объекты, ключи которых уже удалены, но еще не попали в очередь. Операции get,
+ * containsKey и containsValue коллекцию не изменяют, и их можно вызывать во время обхода. </p>
+ * <br>
+ * <p> Равенство ключей определяется стратегией MyHashStrategy, по умолчанию методами hashCode и equals.
+ * Ключи не могут быть равны null. </p>
+ * <ul> Для работы с коллекций были определены следующий методы:
+ *     <li>containsKey(key) - проверка, находится ли в коллекции заданный ключ</li>
+ *     <li>containsValue(value) - проверка, находится ли в коллекции заданное значение</li>
+ *     <li>get(key) - получить значение по ключу</li>
+ *     <li>put(key, value) - поместить пару ключ/значение в коллекцию</li>
+ *     <li>remove(key) - удалить объект по ключу</li>
+ *     <li>size() - получить количество объектов в коллекции</li>
+ *     <li>isEmpty() - проверить пуста ли коллекция</li>
+ *     <li>toKeyArray(clazz) - конвертировать все ключи в коллекции в массив</li>
+ *     <li>toValueArray(clazz) - конвертировать все значения в коллекции в массив</li>
+ *     <li>iterator(), stream(), parallelStream() - обойти объекты коллекции</li>
+ * </ul>
+ * @param <K> тип ключа объекта коллекции
+ * @param <V> тип значения объекта коллекции
+ */
+public class WeakKeyMyHashMap<K, V> implements MyMap<K, V> {
+
+    /**
+     * Стандартное количество списков для хранения объектов.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Стандартный коэффициент загрузки коллекции.
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * Объекты коллекции. Ключом внутренней коллекции служит сам объект WeakKey, а при поиске - ключ
+     * пользователя, их сравнивает стратегия KeyStrategy.
+     */
+    private final MyHashMap<Object, WeakKey<K, V>> table;
+
+    /**
+     * Стратегия внутренней коллекции, по которой вычисляется хэш-значение нового ключа.
+     */
+    private final KeyStrategy<K> strategy;
+
+    /**
+     * Очередь, в которую сборщик мусора помещает ссылки на удаленные ключи.
+     */
+    private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+
+    /**
+     * @param capacity исходное количество списков для хранения объектов
+     * @param strategy стратегия хэш-значения и равенства ключей
+     * @throws IllegalArgumentException если capacity отрицательно
+     */
+    public WeakKeyMyHashMap(int capacity, MyHashStrategy<? super K> strategy){
+        this.strategy = new KeyStrategy<>(strategy);
+        table = new MyHashMap<>(capacity, DEFAULT_LOAD_FACTOR, this.strategy);
+    }
+    public WeakKeyMyHashMap(int capacity){
+        this(capacity, MyHashStrategies.natural());
+    }
+    public WeakKeyMyHashMap(){
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Объект коллекции со слабой ссылкой на ключ. Хэш-значение ключа сохраняется, чтобы найти и удалить
+     * объект после удаления ключа. После удаления ключа сборщиком мусора getKey возвращает null.
+     */
+    private static final class WeakKey<K, V> extends WeakReference<K> implements MyMap.Entry<K, V> {
+
+        private final int hash;
+
+        private V value;
+
+        WeakKey(K key, int hash, V value, ReferenceQueue<K> queue){
+            super(key, queue);
+            this.hash = hash;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return get();
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public void setValue(V value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Стратегия внутренней коллекции, сравнивающая объекты WeakKey с ключами пользователя по их ключам.
+     * Объект с удаленным ключом равен только самому себе.
+     */
+    private static final class KeyStrategy<K> implements MyHashStrategy<Object> {
+
+        private final MyHashStrategy<? super K> strategy;
+
+        KeyStrategy(MyHashStrategy<? super K> strategy){
+            this.strategy = Objects.requireNonNull(strategy);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public int hash(Object key) {
+            return key instanceof WeakKey<?, ?> weakKey ? weakKey.hash : strategy.hash((K) key);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean equals(Object a, Object b) {
+            if (a == b)
+                return true;
+
+            Object keyA = a instanceof WeakKey<?, ?> weakKey ? weakKey.get() : a;
+            Object keyB = b instanceof WeakKey<?, ?> weakKey ? weakKey.get() : b;
+            return keyA != null && keyB != null && strategy.equals((K) keyA, (K) keyB);
+        }
+    }
+
+    /**
+     * Удаляет из коллекции объекты, ключи которых удалены сборщиком мусора.
+     */
+    private void expungeStaleEntries(){
+        for(Reference<? extends K> ref; (ref = queue.poll()) != null; )
+            table.remove(ref);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return table.containsKey(Objects.requireNonNull(key));
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        for(var entry : table)
+            if (entry.getValue().get() != null && Objects.equals(entry.getValue().value, value))
+                return true;
+        return false;
+    }
+
+    @Override
+    public V get(K key) {
+        var entry = table.get(Objects.requireNonNull(key));
+        return entry == null ? null : entry.value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        Objects.requireNonNull(key);
+        expungeStaleEntries();
+
+        var entry = table.get(key);
+        if (entry != null){
+            entry.value = value;
+            return;
+        }
+
+        var weakKey = new WeakKey<>(key, strategy.hash(key), value, queue);
+        table.put(weakKey, weakKey);
+    }
+
+    @Override
+    public V remove(K key) {
+        Objects.requireNonNull(key);
+        expungeStaleEntries();
+
+        var entry = table.remove(key);
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * @return количество объектов в коллекции, включая объекты, ключи которых удалены сборщиком мусора,
+     * но еще не попали в очередь
+     */
+    @Override
+    public int size() {
+        expungeStaleEntries();
+        return table.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public K[] toKeyArray(Class<K> clazz) {
+        List<K> keys = new ArrayList<>(size());
+        for(var entry : table){
+            K key = entry.getValue().get();
+            if (key != null)
+                keys.add(key);
+        }
+        return keys.toArray((K[]) Array.newInstance(clazz, keys.size()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V[] toValueArray(Class<V> clazz) {
+        List<V> values = new ArrayList<>(size());
+        for(var entry : table)
+            if (entry.getValue().get() != null)
+                values.add(entry.getValue().value);
+        return values.toArray((V[]) Array.newInstance(clazz, values.size()));
+    }
+
+    /**
+     * Возвращает итератор объектов коллекции, ключи которых еще не удалены. Итератор хранит обычную ссылку
+     * на ключ следующего объекта, поэтому между hasNext и next ключ не может быть удален. Итератор
+     * не поддерживает удаление и выбрасывает ConcurrentModificationException, если коллекция была
+     * изменена после его создания.
+     * @return итератор объектов коллекции
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        expungeStaleEntries();
+        var it = table.iterator();
+        return new Iterator<>() {
+            private WeakKey<K, V> next;
+
+            private K nextKey;
+
+            @Override
+            public boolean hasNext() {
+                while(nextKey == null && it.hasNext()){
+                    next = it.next().getValue();
+                    nextKey = next.get();
+                }
+                return nextKey != null;
+            }
+
+            @Override
+            public Entry<K, V> next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                nextKey = null;
+                return next;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for(var entry : this){
+            K key = entry.getKey();
+            if (key != null)
+                sb.append(key).append(" : ").append(entry.getValue()).append(", ");
+        }
+
+        return (sb.length() > 1 ? sb.substring(0, sb.length() - 2) : sb.toString()) + "]";
+    }
+}
@@ -0,0 +1,192 @@
+package ru.sedov.implementations;
+
+import org.junit.jupiter.api.Test;
+import ru.sedov.MyMap;
+import ru.sedov.MySortedMap;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BTreeMyMapTest {
+
+    /**
+     * @return коллекция BTreeMyMap&lt;String, Integer&gt; заполненная пятью элементами.
+     */
+    public MySortedMap<String, Integer> getMap(){
+        return new BTreeMyMap<>(){{
+            put("One", 1);
+            put("Two", 2);
+            put("Three", 3);
+            put("Four", 4);
+            put("Five", 5);
+        }};
+    }
+
+    private static List<Integer> keys(MyMap<Integer, ?> map){
+        List<Integer> keys = new ArrayList<>();
+        for(var entry : map)
+            keys.add(entry.getKey());
+        return keys;
+    }
+
+    @Test
+    void basicOperations(){
+        MySortedMap<String, Integer> map = getMap();
+        assertEquals(5, map.size());
+        assertEquals(3, map.get("Three"));
+        assertNull(map.get("Zero"));
+        assertTrue(map.containsKey("Two"));
+        assertTrue(map.containsValue(4));
+        assertFalse(map.containsValue(null));
+
+        map.put("Two", 22);
+        assertEquals(22, map.remove("Two"));
+        assertNull(map.remove("Two"));
+        assertEquals(4, map.size());
+        assertEquals("[Five : 5, Four : 4, One : 1, Three : 3]", map.toString());
+        assertArrayEquals(new String[] { "Five", "Four", "One", "Three" }, map.toKeyArray(String.class));
+        assertArrayEquals(new Integer[] { 5, 4, 1, 3 }, map.toValueArray(Integer.class));
+        assertThrows(NullPointerException.class, () -> map.put(null, 0));
+    }
+
+    @Test
+    void nearestKeys(){
+        MySortedMap<Integer, String> map = new BTreeMyMap<>();
+        assertThrows(NoSuchElementException.class, map::firstKey);
+        assertNull(map.floorEntry(5));
+        assertNull(map.ceilingKey(5));
+
+        for(int i = 0; i < 1000; i += 10)
+            map.put(i, "v" + i);
+        assertEquals(0, map.firstKey());
+        assertEquals(990, map.lastKey());
+        assertEquals(150, map.floorKey(155));
+        assertEquals(150, map.floorKey(150));
+        assertEquals(160, map.ceilingKey(151));
+        assertNull(map.floorKey(-1));
+        assertNull(map.ceilingKey(991));
+
+        var entry = map.floorEntry(505);
+        assertEquals("v500", entry.getValue());
+        entry.setValue("five hundred");
+        assertEquals("five hundred", map.get(500));
+        map.put(505, "new");
+        assertThrows(ConcurrentModificationException.class, entry::getValue);
+    }
+
+    @Test
+    void ranges(){
+        MySortedMap<Integer, Integer> map = new BTreeMyMap<>();
+        for(int i = 0; i < 500; i++)
+            map.put(i * 2, i);
+
+        MySortedMap<Integer, Integer> sub = map.subMap(100, 120);
+        assertEquals(List.of(100, 102, 104, 106, 108, 110, 112, 114, 116, 118), keys(sub));
+        assertEquals(10, sub.size());
+        assertEquals(100, sub.firstKey());
+        assertEquals(118, sub.lastKey());
+        assertEquals(118, sub.floorKey(500));
+        assertEquals(100, sub.ceilingKey(0));
+        assertNull(sub.get(120));
+        assertFalse(sub.containsKey(98));
+
+        assertEquals(List.of(104, 106), keys(sub.subMap(103, 107)));
+        assertEquals(List.of(116, 118), keys(sub.tailMap(115)));
+        assertEquals(List.of(0, 2), keys(map.headMap(3)));
+        assertEquals(List.of(996, 998), keys(map.tailMap(995)));
+        assertTrue(map.subMap(3, 3).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> map.subMap(5, 3));
+
+        sub.put(101, -1);
+        assertEquals(-1, map.get(101));
+        assertEquals(11, sub.size());
+        assertThrows(IllegalArgumentException.class, () -> sub.put(120, 0));
+        assertNull(sub.remove(0));
+        assertEquals(0, map.get(0));
+        assertEquals(50, sub.remove(100));
+        assertEquals(500, map.size());
+        assertEquals(101, sub.firstKey());
+    }
+
+    @Test
+    void comparator(){
+        MySortedMap<String, Integer> map = new BTreeMyMap<>(String.CASE_INSENSITIVE_ORDER.reversed());
+        map.put("b", 2);
+        map.put("A", 1);
+        map.put("C", 3);
+        map.put("B", 22);
+        assertEquals("[C : 3, b : 22, A : 1]", map.toString());
+        assertEquals("A", map.lastKey());
+    }
+
+    @Test
+    void iterator(){
+        MySortedMap<String, Integer> map = getMap();
+        var it = map.iterator();
+        assertEquals("Five", it.next().getKey());
+        map.remove("One");
+        assertThrows(ConcurrentModificationException.class, it::next);
+
+        assertEquals(14, map.stream().mapToInt(MyMap.Entry::getValue).sum());
+        assertThrows(NoSuchElementException.class, () -> new BTreeMyMap<Integer, Integer>().iterator().next());
+
+        // После слияния листьев ячейка, на которую указывает итератор, может оказаться пустой
+        MySortedMap<Integer, Integer> numbers = new BTreeMyMap<>();
+        for(int i = 0; i < 1000; i++)
+            numbers.put(i, i);
+        var range = numbers.subMap(100, 900).iterator();
+        for(int i = 0; i < 50; i++)
+            range.next();
+        for(int i = 100; i < 900; i++)
+            numbers.remove(i);
+        assertThrows(ConcurrentModificationException.class, range::hasNext);
+        assertThrows(ConcurrentModificationException.class, range::next);
+    }
+
+    /**
+     * Сравнивает коллекцию с TreeMap после случайной последовательности добавлений и удалений,
+     * достаточно длинной, чтобы дерево несколько раз росло и уменьшалось в высоту.
+     */
+    @Test
+    void randomOperations(){
+        Random random = new Random(7);
+        MySortedMap<Integer, Integer> map = new BTreeMyMap<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+
+        for(int round = 0; round < 4; round++){
+            for(int i = 0; i < 20_000; i++){
+                int key = random.nextInt(30_000);
+                if (random.nextInt(3) == 0)
+                    assertEquals(expected.remove(key), map.remove(key));
+                else {
+                    map.put(key, i);
+                    expected.put(key, i);
+                }
+            }
+            assertEquals(expected.size(), map.size());
+            assertEquals(new ArrayList<>(expected.keySet()), keys(map));
+
+            for(int i = 0; i < 1000; i++){
+                int key = random.nextInt(30_000);
+                assertEquals(expected.get(key), map.get(key));
+                assertEquals(expected.floorKey(key), map.floorKey(key));
+                assertEquals(expected.ceilingKey(key), map.ceilingKey(key));
+            }
+            int from = random.nextInt(30_000), to = from + random.nextInt(1000);
+            assertEquals(new ArrayList<>(expected.subMap(from, to).keySet()), keys(map.subMap(from, to)));
+
+            for(int key : new ArrayList<>(expected.keySet()))
+                if (random.nextBoolean())
+                    assertEquals(expected.remove(key), map.remove(key));
+            assertEquals(new ArrayList<>(expected.keySet()), keys(map));
+        }
+
+        for(int key : new ArrayList<>(expected.keySet()))
+            map.remove(key);
+        assertTrue(map.isEmpty());
+        assertEquals(List.of(), keys(map));
+        map.put(1, 1);
+        assertEquals("[1 : 1]", map.toString());
+    }
+}
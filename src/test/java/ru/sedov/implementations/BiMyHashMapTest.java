@@ -0,0 +1,191 @@
+package ru.sedov.implementations;
+
+import org.junit.jupiter.api.Test;
+import ru.sedov.MyMap;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BiMyHashMapTest {
+
+    /**
+     * @return коллекция BiMyHashMap&lt;String, Integer&gt; заполненная пятью элементами.
+     */
+    public BiMyHashMap<String, Integer> getMap(){
+        return new BiMyHashMap<>(){{
+            put("One", 1);
+            put("Two", 2);
+            put("Three", 3);
+            put("Four", 4);
+            put("Five", 5);
+        }};
+    }
+
+    @Test
+    void basicOperations(){
+        var map = getMap();
+        assertEquals(5, map.size());
+        assertEquals(3, map.get("Three"));
+        assertNull(map.get("Zero"));
+        assertTrue(map.containsKey("Two"));
+        assertTrue(map.containsValue(4));
+        assertFalse(map.containsValue(6));
+        assertFalse(map.containsValue(null));
+        assertEquals("Four", map.getKeyForValue(4));
+        assertNull(map.getKeyForValue(6));
+        assertNull(map.getKeyForValue(null));
+
+        assertEquals(2, map.remove("Two"));
+        assertNull(map.remove("Two"));
+        assertFalse(map.containsValue(2));
+        assertEquals("Three", map.removeValue(3));
+        assertNull(map.removeValue(3));
+        assertFalse(map.containsKey("Three"));
+        assertEquals(3, map.size());
+        assertEquals(10, map.stream().mapToInt(MyMap.Entry::getValue).sum());
+        assertThrows(NullPointerException.class, () -> map.put("Six", null));
+        assertThrows(NullPointerException.class, () -> map.put(null, 6));
+        assertTrue(new BiMyHashMap<>().isEmpty());
+    }
+
+    @Test
+    void uniqueValues(){
+        var map = getMap();
+        assertThrows(IllegalArgumentException.class, () -> map.put("Six", 1));
+        assertFalse(map.containsKey("Six"));
+        assertEquals("One", map.getKeyForValue(1));
+        assertThrows(IllegalArgumentException.class, () -> map.put("Two", 1));
+        assertEquals(2, map.get("Two"));
+
+        map.put("One", 1);
+        map.put("One", 10);
+        assertFalse(map.containsValue(1));
+        assertEquals("One", map.getKeyForValue(10));
+        map.put("Six", 1);
+        assertEquals("Six", map.getKeyForValue(1));
+
+        assertEquals("Six", map.forcePut("Seven", 1));
+        assertFalse(map.containsKey("Six"));
+        assertEquals("Seven", map.getKeyForValue(1));
+        assertNull(map.forcePut("Seven", 1));
+        assertEquals("Seven", map.forcePut("Two", 1));
+        assertFalse(map.containsValue(2));
+        assertEquals("Two", map.getKeyForValue(1));
+        assertEquals(5, map.size());
+    }
+
+    @Test
+    void entrySetValue(){
+        var map = getMap();
+        MyMap.Entry<String, Integer> one = null;
+        for(var entry : map)
+            if (entry.getKey().equals("One"))
+                one = entry;
+
+        one.setValue(100);
+        assertEquals(100, map.get("One"));
+        assertEquals("One", map.getKeyForValue(100));
+        assertFalse(map.containsValue(1));
+        var entry = one;
+        assertThrows(IllegalArgumentException.class, () -> entry.setValue(2));
+        assertEquals(100, entry.getValue());
+
+        map.remove("One");
+        assertThrows(IllegalStateException.class, () -> entry.setValue(1));
+        assertFalse(map.containsValue(1));
+    }
+
+    @Test
+    void strategies(){
+        var map = new BiMyHashMap<String, String>(4, MyHashStrategies.natural(), MyHashStrategies.CASE_INSENSITIVE);
+        map.put("a", "ID-1");
+        assertTrue(map.containsValue("id-1"));
+        assertEquals("a", map.getKeyForValue("Id-1"));
+        assertThrows(IllegalArgumentException.class, () -> map.put("b", "id-1"));
+        assertThrows(IllegalArgumentException.class, () -> new BiMyHashMap<>(-1));
+    }
+
+    /**
+     * Значение, равное старому по стратегии, заменяет старый объект и в обратном индексе, поэтому
+     * старый объект может быть удален сборщиком мусора.
+     */
+    @Test
+    void equalValueReplacesReverseKey() throws InterruptedException {
+        var map = new BiMyHashMap<String, String>(4, MyHashStrategies.natural(), MyHashStrategies.CASE_INSENSITIVE);
+        var old = new WeakReference<>(new String("ID-1"));
+        map.put("a", old.get());
+        map.put("a", "id-1");
+        assertEquals("id-1", map.get("a"));
+        assertEquals("a", map.getKeyForValue("Id-1"));
+
+        for(int i = 0; i < 100 && old.get() != null; i++){
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(old.get());
+    }
+
+    @Test
+    void iterator(){
+        var map = getMap();
+        var it = map.iterator();
+        it.next();
+        map.put("Six", 6);
+        assertThrows(ConcurrentModificationException.class, it::next);
+
+        var keys = new HashSet<>(Arrays.asList(map.toKeyArray(String.class)));
+        assertEquals(Set.of("One", "Two", "Three", "Four", "Five", "Six"), keys);
+        var values = new HashSet<>(Arrays.asList(map.toValueArray(Integer.class)));
+        assertEquals(Set.of(1, 2, 3, 4, 5, 6), values);
+        assertEquals("[]", new BiMyHashMap<>().toString());
+        assertThrows(NoSuchElementException.class, () -> new BiMyHashMap<>().iterator().next());
+    }
+
+    /**
+     * Сравнивает коллекцию с парой HashMap после случайной последовательности изменений.
+     */
+    @Test
+    void randomOperations(){
+        Random random = new Random(5);
+        var map = new BiMyHashMap<Integer, Integer>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Map<Integer, Integer> inverse = new HashMap<>();
+
+        for(int i = 0; i < 50_000; i++){
+            int key = random.nextInt(2000), value = random.nextInt(2000);
+            switch(random.nextInt(4)){
+                case 0 -> {
+                    Integer old = expected.remove(key);
+                    assertEquals(old, map.remove(key));
+                    if (old != null)
+                        inverse.remove(old);
+                }
+                case 1 -> {
+                    Integer owner = inverse.remove(value);
+                    assertEquals(owner, map.removeValue(value));
+                    if (owner != null)
+                        expected.remove(owner);
+                }
+                default -> {
+                    Integer owner = inverse.get(value);
+                    Integer displaced = owner == null || owner == key ? null : owner;
+                    assertEquals(displaced, map.forcePut(key, value));
+                    if (displaced != null)
+                        expected.remove(displaced);
+                    Integer old = expected.put(key, value);
+                    if (old != null)
+                        inverse.remove(old);
+                    inverse.put(value, key);
+                }
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for(int i = 0; i < 2000; i++){
+            assertEquals(expected.get(i), map.get(i));
+            assertEquals(inverse.get(i), map.getKeyForValue(i));
+            assertEquals(inverse.containsKey(i), map.containsValue(i));
+        }
+    }
+}
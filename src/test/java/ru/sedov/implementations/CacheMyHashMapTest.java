@@ -0,0 +1,150 @@
+package ru.sedov.implementations;
+
+import org.junit.jupiter.api.Test;
+import ru.sedov.MyMap;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheMyHashMapTest {
+
+    /**
+     * @return коллекция CacheMyHashMap<String, Integer> на 5 объектов, заполненная пятью элементами.
+     */
+    public CacheMyHashMap<String, Integer> getMap(){
+        return new CacheMyHashMap<>(5){{
+            put("One", 1);
+            put("Two", 2);
+            put("Three", 3);
+            put("Four", 4);
+            put("Five", 5);
+        }};
+    }
+
+    @Test
+    void constructor(){
+        assertThrows(IllegalArgumentException.class, () -> new CacheMyHashMap<>(-1));
+        assertThrows(NullPointerException.class, () -> new CacheMyHashMap<>(1, null));
+        assertTrue(new CacheMyHashMap<>(0).isEmpty());
+    }
+
+    @Test
+    void get(){
+        var map = getMap();
+        assertEquals(1, map.get("One"));
+        assertNull(map.get("Six"));
+        assertTrue(map.containsKey("Five"));
+        assertTrue(map.containsValue(3));
+        assertFalse(map.containsValue(6));
+        assertEquals("[One : 1, Five : 5, Four : 4, Three : 3, Two : 2]", map.toString());
+    }
+
+    @Test
+    void evictLeastRecentlyUsed(){
+        List<String> evicted = new ArrayList<>();
+        var map = new CacheMyHashMap<String, Integer>(3, CacheMyHashMap.Admission.ALWAYS,
+                (k, v) -> evicted.add(k + "=" + v));
+        map.put("One", 1);
+        map.put("Two", 2);
+        map.put("Three", 3);
+        map.get("One");
+        map.put("Four", 4);
+        assertEquals(List.of("Two=2"), evicted);
+        assertArrayEquals(new String[] {"Four", "One", "Three"}, map.toKeyArray(String.class));
+
+        map.put("Three", 30);
+        map.put("Five", 5);
+        assertEquals(List.of("Two=2", "One=1"), evicted);
+        assertArrayEquals(new Integer[] {5, 30, 4}, map.toValueArray(Integer.class));
+
+        assertEquals(4, map.remove("Four"));
+        assertNull(map.remove("Four"));
+        assertEquals(2, map.size());
+        assertEquals(List.of("Two=2", "One=1"), evicted);
+    }
+
+    @Test
+    void evictByWeight(){
+        List<String> evicted = new ArrayList<>();
+        var map = new CacheMyHashMap<String, String>(10, (k, v) -> v.length(),
+                CacheMyHashMap.Admission.ALWAYS, (k, v) -> evicted.add(k));
+        map.put("a", "xxxx");
+        map.put("b", "xxxx");
+        assertEquals(8, map.weight());
+        map.put("c", "xxxxxx");
+        assertEquals(List.of("a"), evicted);
+        assertEquals(10, map.weight());
+
+        map.put("d", "xxxxxxxxxxxx");
+        assertEquals(List.of("a", "b", "c", "d"), evicted);
+        assertEquals(0, map.weight());
+        assertTrue(map.isEmpty());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new CacheMyHashMap<String, String>(10, (k, v) -> -1,
+                        CacheMyHashMap.Admission.ALWAYS, (k, v) -> {}).put("e", "x"));
+    }
+
+    @Test
+    void frequencyAdmission(){
+        var map = new CacheMyHashMap<Integer, Integer>(100, CacheMyHashMap.Admission.FREQUENCY);
+        for(int i = 0; i < 100; i++)
+            map.put(i, i);
+
+        for(int i = 1000; i < 10_000; i++){
+            map.put(i, i);
+            map.get(i % 100);
+        }
+
+        int hot = 0;
+        for(int i = 0; i < 100; i++)
+            if (map.containsKey(i))
+                hot++;
+        assertTrue(hot > 90, "hot keys left: " + hot);
+        assertEquals(100, map.size());
+
+        var lru = new CacheMyHashMap<Integer, Integer>(100);
+        for(int i = 0; i < 100; i++)
+            lru.put(i, i);
+        for(int i = 1000; i < 10_000; i++){
+            lru.put(i, i);
+            lru.get(i % 100);
+        }
+        assertEquals(100, lru.size());
+        assertFalse(lru.containsKey(0));
+    }
+
+    @Test
+    void computeOperations(){
+        var map = getMap();
+        assertEquals(11, map.merge("One", 10, Integer::sum));
+        assertEquals(3, map.computeIfAbsent("Six", String::length));
+        assertFalse(map.containsKey("Two"));
+        assertNull(map.compute("Three", (k, v) -> null));
+        assertEquals(4, map.size());
+    }
+
+    @Test
+    void iterator(){
+        var map = getMap();
+        List<String> keys = new ArrayList<>();
+        for(var entry : map)
+            keys.add(entry.getKey());
+        assertEquals(List.of("Five", "Four", "Three", "Two", "One"), keys);
+        assertEquals(15, map.stream().mapToInt(MyMap.Entry::getValue).sum());
+
+        for(var entry : map)
+            entry.setValue(entry.getValue() * 10);
+        assertEquals(10, map.get("One"));
+
+        var it = map.iterator();
+        it.next();
+        map.get("Two");
+        assertThrows(ConcurrentModificationException.class, it::next);
+
+        var entry = map.iterator().next();
+        map.remove(entry.getKey());
+        assertThrows(IllegalStateException.class, () -> entry.setValue(0));
+    }
+}
@@ -0,0 +1,147 @@
+package ru.sedov.implementations;
+
+import org.junit.jupiter.api.Test;
+import ru.sedov.MyList;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentChunkedMyListTest {
+
+    @Test
+    void addAndGet(){
+        var list = new ConcurrentChunkedMyList<Integer>();
+        for(int i = 0; i < 5_000; i++)
+            list.add(i);
+        assertEquals(5_000, list.size());
+        for(int i = 0; i < 5_000; i++)
+            assertEquals(i, list.get(i));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(5_000));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+        assertThrows(NullPointerException.class, () -> list.add(null));
+
+        list.replace(-1, 1_024);
+        assertEquals(-1, list.get(1_024));
+
+        Integer[] arr = list.toArray(Integer.class);
+        assertEquals(5_000, arr.length);
+        assertEquals(4_999, arr[4_999]);
+        assertEquals(-1, arr[1_024]);
+    }
+
+    @Test
+    void unsupportedOperations(){
+        var list = new ConcurrentChunkedMyList<Integer>();
+        list.add(1);
+        assertThrows(UnsupportedOperationException.class, () -> list.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> list.add(0, 0));
+        assertThrows(UnsupportedOperationException.class, list::clear);
+        assertThrows(UnsupportedOperationException.class, () -> list.sort(Comparator.naturalOrder()));
+        assertThrows(UnsupportedOperationException.class, () -> list.removeIf(a -> true));
+        assertEquals("[1]", list.toString());
+    }
+
+    @Test
+    void addAll(){
+        var list = new ConcurrentChunkedMyList<Integer>();
+        MyList<Integer> added = new MyArrayList<>();
+        for(int i = 0; i < 3_000; i++)
+            added.add(i);
+        list.add(-1);
+        list.addAll(added);
+        list.addAll(new MyArrayList<>());
+        assertEquals(3_001, list.size());
+        assertEquals(2_999, list.get(3_000));
+        assertEquals(-1 + 2_999L * 3_000 / 2, list.stream().mapToLong(Integer::longValue).sum());
+    }
+
+    @Test
+    void iterator(){
+        var list = new ConcurrentChunkedMyList<Integer>();
+        for(int i = 0; i < 3_000; i++)
+            list.add(i);
+
+        List<Integer> seen = new ArrayList<>();
+        for(Integer a : list){
+            seen.add(a);
+            if (a % 2 == 0)
+                list.add(a);
+        }
+        assertEquals(3_000, seen.size());
+        assertEquals(4_500, list.size());
+        assertEquals(4_500, list.parallelStream().count());
+        assertEquals(list.stream().mapToLong(Integer::longValue).sum(),
+                list.parallelStream().mapToLong(Integer::longValue).sum());
+    }
+
+    @Test
+    void concurrentAppend() throws InterruptedException {
+        var list = new ConcurrentChunkedMyList<Integer>();
+        var failed = new AtomicBoolean();
+        int threads = 4, perThread = 50_000;
+        Thread[] writers = new Thread[threads];
+        for(int t = 0; t < threads; t++){
+            int base = t * perThread;
+            writers[t] = new Thread(() -> {
+                for(int i = 0; i < perThread; i++)
+                    list.add(base + i);
+            });
+        }
+        Thread reader = new Thread(() -> {
+            while(list.size() < threads * perThread){
+                int size = list.size();
+                for(int i = Math.max(0, size - 100); i < size; i++)
+                    if (list.get(i) == null)
+                        failed.set(true);
+            }
+        });
+        reader.start();
+        for(var writer : writers)
+            writer.start();
+        for(var writer : writers)
+            writer.join();
+        reader.join();
+
+        assertFalse(failed.get());
+        assertEquals(threads * perThread, list.size());
+        boolean[] seen = new boolean[threads * perThread];
+        for(Integer a : list){
+            assertFalse(seen[a]);
+            seen[a] = true;
+        }
+    }
+
+    /**
+     * Многократно запускает несколько потоков, одновременно добавляющих по несколько элементов, и проверяет,
+     * что после их завершения опубликованы все элементы, включая добавленные последними.
+     */
+    @Test
+    void lastAppendIsPublished() throws InterruptedException {
+        int threads = 4, perThread = 3;
+        for(int round = 0; round < 2000; round++){
+            var list = new ConcurrentChunkedMyList<Integer>();
+            Thread[] writers = new Thread[threads];
+            for(int t = 0; t < threads; t++){
+                int base = t * perThread;
+                writers[t] = new Thread(() -> {
+                    list.add(base);
+                    list.addAll(new MyArrayList<>(){{
+                        for(int i = 1; i < perThread; i++)
+                            add(base + i);
+                    }});
+                });
+            }
+            for(var writer : writers)
+                writer.start();
+            for(var writer : writers)
+                writer.join();
+
+            assertEquals(threads * perThread, list.size());
+            assertEquals(threads * perThread, list.toArray(Integer.class).length);
+        }
+    }
+}
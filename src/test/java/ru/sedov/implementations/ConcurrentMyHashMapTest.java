@@ -0,0 +1,253 @@
+package ru.sedov.implementations;
+
+import org.junit.jupiter.api.Test;
+import ru.sedov.MyMap;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentMyHashMapTest {
+
+    /**
+     * @return пустая коллекция ConcurrentMyHashMap<Integer, Integer>.
+     */
+    public ConcurrentMyHashMap<String, Integer> getEmptyMap(){
+        return new ConcurrentMyHashMap<>();
+    }
+
+    /**
+     * @return не пустая коллекция ConcurrentMyHashMap<Integer, Integer> заполненная пятью элементами.
+     */
+    public MyMap<String, Integer> getMap(){
+        return new ConcurrentMyHashMap<>(){{
+            put("One", 1);
+            put("Two", 2);
+            put("Three", 3);
+            put("Four", 4);
+            put("Five", 5);
+        }};
+    }
+
+    /**
+     * Генератор для создания не пустой коллекции ConcurrentMyHashMap<Integer, Integer> состоящей с
+     * ограничениями на ключ от 0 до 999.
+     * @return не пустая коллекция ConcurrentMyHashMap<Integer, Integer>
+     */
+    public MyMap<Integer, Integer> getBigMap(){
+        long seed = 154852600264L;
+        Random rnd = new Random(seed);
+        return new ConcurrentMyHashMap<>(){{
+            for(int i = 0; i < 100000; i++)
+                put(rnd.nextInt() % 1000, rnd.nextInt());
+        }};
+    }
+
+    @Test
+    void toKeyArray(){
+        assertEquals(0, Arrays.compare(getEmptyMap().toKeyArray(String.class), new String[] { }));
+
+        String[] keyArr = getMap().toKeyArray(String.class),
+                arr = new String[] { "One", "Two", "Three", "Four", "Five" };
+        Arrays.sort(keyArr);
+        Arrays.sort(arr);
+        assertEquals(0, Arrays.compare(keyArr, arr));
+    }
+
+    @Test
+    void toValueArray(){
+        assertEquals(0, Arrays.compare(getEmptyMap().toValueArray(Integer.class), new Integer[] { }));
+
+        Integer[] valueArr = getMap().toValueArray(Integer.class),
+                arr = new Integer[] { 1,2,3,4,5 };
+        Arrays.sort(valueArr);
+        Arrays.sort(arr);
+        assertEquals(0, Arrays.compare(valueArr, arr));
+    }
+
+    @Test
+    void size(){
+        assertEquals(0, getEmptyMap().size());
+        assertEquals(5, getMap().size());
+    }
+
+    @Test
+    void isEmpty(){
+        assertTrue(getEmptyMap().isEmpty());
+        assertFalse(getMap().isEmpty());
+    }
+
+    @Test
+    void put(){
+        long seed = 154852600264L;
+        Random rnd = new Random(seed);
+        int size = 100000;
+        MyMap<Integer, Integer> map = new ConcurrentMyHashMap<>();
+        Set<Integer> keys  = new HashSet<>(),
+                values  = new HashSet<>();
+        for(int i = 0; i < size; i++){
+            int key = rnd.nextInt() % 10000;
+            int value = rnd.nextInt();
+
+            if (map.containsKey(key))
+                values.remove(map.get(key));
+
+            map.put(key, value);
+            keys.add(key);
+            values.add(value);
+        }
+
+        Integer[] k = keys.toArray(new Integer[]{});
+        Integer[] v = values.toArray(new Integer[]{});
+        Arrays.sort(k);
+        Arrays.sort(v);
+
+        Integer[] entryKeys = map.toKeyArray(Integer.class);
+        Arrays.sort(entryKeys);
+        assertEquals(0, Arrays.compare(entryKeys, k));
+
+        Integer[] entryValues = map.toValueArray(Integer.class);
+        Arrays.sort(entryValues);
+        assertEquals(0, Arrays.compare(entryValues, v));
+    }
+
+    @Test
+    void get(){
+        MyMap<Integer, Integer> map = getBigMap();
+        map.put(767, 202);
+
+        assertEquals(202, map.get(767));
+        assertNull(map.get(2002));
+    }
+
+    @Test
+    void remove(){
+        MyMap<Integer, Integer> map = getBigMap();
+        assertNull(map.remove(2002));
+
+        map.put(767, 202);
+        map.remove(767);
+        assertNull(map.get(767));
+    }
+
+    @Test
+    void containsKey(){
+        MyMap<String, Integer> map = getEmptyMap();
+        assertFalse(map.containsKey("One"));
+
+        map = getMap();
+        assertTrue(map.containsKey("One"));
+        assertFalse(map.containsKey("Zero"));
+    }
+
+    @Test
+    void containsValue(){
+        MyMap<String, Integer> map = getEmptyMap();
+        assertFalse(map.containsValue(1));
+
+        map = getMap();
+        assertTrue(map.containsValue(1));
+        assertFalse(map.containsValue(0));
+    }
+
+    @Test
+    void atomicOperations(){
+        ConcurrentMyHashMap<String, Integer> map = getEmptyMap();
+
+        assertNull(map.putIfAbsent("One", 1));
+        assertEquals(1, map.putIfAbsent("One", 11));
+        assertEquals(1, map.get("One"));
+
+        assertEquals(2, map.computeIfAbsent("Two", key -> 2));
+        assertEquals(2, map.computeIfAbsent("Two", key -> 22));
+        assertNull(map.computeIfAbsent("Three", key -> null));
+        assertFalse(map.containsKey("Three"));
+
+        assertEquals(20, map.computeIfPresent("Two", (key, value) -> value * 10));
+        assertNull(map.computeIfPresent("Three", (key, value) -> 3));
+        assertNull(map.computeIfPresent("Two", (key, value) -> null));
+        assertFalse(map.containsKey("Two"));
+
+        assertEquals(4, map.compute("Four", (key, value) -> value == null ? 4 : value + 1));
+        assertEquals(5, map.compute("Four", (key, value) -> value == null ? 4 : value + 1));
+
+        assertEquals(1, map.merge("Five", 1, Integer::sum));
+        assertEquals(2, map.merge("Five", 1, Integer::sum));
+        assertNull(map.merge("Five", 1, (a, b) -> null));
+
+        assertEquals(2, map.size());
+        assertThrows(NullPointerException.class, () -> map.put("Six", null));
+    }
+
+    @Test
+    void concurrentUpdates() throws Exception {
+        ConcurrentMyHashMap<Integer, Integer> map = new ConcurrentMyHashMap<>(1);
+        int threads = 8, keys = 20000, rounds = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for(int t = 0; t < threads; t++){
+                int id = t;
+                futures.add(executor.submit(() -> {
+                    for(int r = 0; r < rounds; r++)
+                        for(int i = 0; i < keys; i++){
+                            map.merge(i, 1, Integer::sum);
+                            map.put(keys * (id + 1) + i, i);
+                            assertNotNull(map.get(i));
+                        }
+                }));
+            }
+            for(var future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(keys * (threads + 1), map.size());
+        assertEquals(map.size(), map.toKeyArray(Integer.class).length);
+        for(int i = 0; i < keys; i++)
+            assertEquals(threads * rounds, map.get(i));
+        for(int t = 0; t < threads; t++)
+            for(int i = 0; i < keys; i++)
+                assertEquals(i, map.get(keys * (t + 1) + i));
+    }
+
+    @Test
+    void iterator(){
+        MyMap<String, Integer> map = getMap();
+        Map<String, Integer> seen = new HashMap<>();
+        for(var entry : map)
+            seen.put(entry.getKey(), entry.getValue());
+        assertEquals(Map.of("One", 1, "Two", 2, "Three", 3, "Four", 4, "Five", 5), seen);
+
+        Map<String, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(seen, visited);
+
+        assertEquals(15, map.stream().mapToInt(MyMap.Entry::getValue).sum());
+        assertEquals(15, map.parallelStream().mapToInt(MyMap.Entry::getValue).sum());
+        assertThrows(NoSuchElementException.class, () -> {
+            var it = map.iterator();
+            while(true)
+                it.next();
+        });
+
+        var entry = map.iterator().next();
+        assertThrows(UnsupportedOperationException.class, () -> entry.setValue(0));
+
+        var it = map.iterator();
+        for(int i = 0; i < 1000; i++)
+            map.put("Key" + i, i);
+        int count = 0;
+        while(it.hasNext()){
+            it.next();
+            count++;
+        }
+        assertTrue(count >= 5);
+    }
+}
@@ -0,0 +1,245 @@
+package ru.sedov.implementations;
+
+import org.junit.jupiter.api.Test;
+import ru.sedov.MyMap;
+import ru.sedov.MySortedMap;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentSkipListMyMapTest {
+
+    /**
+     * @return коллекция ConcurrentSkipListMyMap&lt;String, Integer&gt; заполненная пятью элементами.
+     */
+    public MySortedMap<String, Integer> getMap(){
+        return new ConcurrentSkipListMyMap<>(){{
+            put("One", 1);
+            put("Two", 2);
+            put("Three", 3);
+            put("Four", 4);
+            put("Five", 5);
+        }};
+    }
+
+    private static List<Integer> keys(MyMap<Integer, ?> map){
+        List<Integer> keys = new ArrayList<>();
+        for(var entry : map)
+            keys.add(entry.getKey());
+        return keys;
+    }
+
+    @Test
+    void basicOperations(){
+        MySortedMap<String, Integer> map = getMap();
+        assertEquals(5, map.size());
+        assertEquals(3, map.get("Three"));
+        assertNull(map.get("Zero"));
+        assertTrue(map.containsKey("Two"));
+        assertTrue(map.containsValue(4));
+        assertFalse(map.containsValue(null));
+
+        map.put("Two", 22);
+        assertEquals(22, map.remove("Two"));
+        assertNull(map.remove("Two"));
+        assertEquals(4, map.size());
+        assertEquals("[Five : 5, Four : 4, One : 1, Three : 3]", map.toString());
+        assertArrayEquals(new String[] { "Five", "Four", "One", "Three" }, map.toKeyArray(String.class));
+        assertArrayEquals(new Integer[] { 5, 4, 1, 3 }, map.toValueArray(Integer.class));
+        assertThrows(NullPointerException.class, () -> map.put(null, 0));
+        assertThrows(NullPointerException.class, () -> map.put("Six", null));
+
+        var entry = map.iterator().next();
+        assertThrows(UnsupportedOperationException.class, () -> entry.setValue(0));
+    }
+
+    @Test
+    void computeOperations(){
+        MySortedMap<String, Integer> map = getMap();
+        assertEquals(1, map.putIfAbsent("One", 10));
+        assertNull(map.putIfAbsent("Six", 6));
+        assertEquals(6, map.get("Six"));
+
+        assertEquals(5, map.computeIfAbsent("Seven", String::length));
+        assertEquals(5, map.computeIfAbsent("Seven", key -> 0));
+        assertEquals(20, map.computeIfPresent("Two", (key, value) -> value * 10));
+        assertNull(map.computeIfPresent("Zero", (key, value) -> 0));
+        assertNull(map.compute("Three", (key, value) -> null));
+        assertFalse(map.containsKey("Three"));
+        assertEquals(2, map.merge("One", 1, Integer::sum));
+        assertEquals(1, map.merge("Eight", 1, Integer::sum));
+        assertEquals(7, map.size());
+    }
+
+    @Test
+    void nearestKeysAndRanges(){
+        MySortedMap<Integer, Integer> map = new ConcurrentSkipListMyMap<>();
+        assertThrows(NoSuchElementException.class, map::lastKey);
+        assertNull(map.floorKey(5));
+        assertTrue(map.isEmpty());
+
+        for(int i = 0; i < 500; i++)
+            map.put(i * 2, i);
+        assertEquals(0, map.firstKey());
+        assertEquals(998, map.lastKey());
+        assertEquals(150, map.floorKey(151));
+        assertEquals(150, map.floorKey(150));
+        assertEquals(152, map.ceilingKey(151));
+        assertEquals(76, map.ceilingEntry(151).getValue());
+        assertNull(map.floorKey(-1));
+        assertNull(map.ceilingKey(999));
+
+        MySortedMap<Integer, Integer> sub = map.subMap(100, 110);
+        assertEquals(List.of(100, 102, 104, 106, 108), keys(sub));
+        assertEquals(5, sub.size());
+        assertEquals(108, sub.lastKey());
+        assertEquals(108, sub.floorKey(500));
+        assertEquals(100, sub.ceilingKey(0));
+        assertEquals(List.of(104, 106), keys(sub.subMap(103, 107)));
+        assertEquals(List.of(0, 2), keys(map.headMap(3)));
+        assertEquals(List.of(996, 998), keys(map.tailMap(995)));
+        assertThrows(IllegalArgumentException.class, () -> sub.put(110, 0));
+        assertThrows(IllegalArgumentException.class, () -> sub.merge(111, 0, Integer::sum));
+        assertThrows(IllegalArgumentException.class, () -> sub.computeIfAbsent(99, key -> 0));
+        assertThrows(IllegalArgumentException.class, () -> sub.computeIfPresent(0, (key, value) -> 0));
+        assertFalse(map.containsKey(111));
+        assertFalse(map.containsKey(99));
+        assertEquals(0, map.get(0));
+
+        sub.put(101, -1);
+        assertEquals(-1, map.get(101));
+        map.remove(100);
+        assertEquals(101, sub.firstKey());
+        assertEquals(500, map.size());
+    }
+
+    @Test
+    void comparator(){
+        MySortedMap<String, Integer> map = new ConcurrentSkipListMyMap<>(Comparator.reverseOrder());
+        map.put("a", 1);
+        map.put("c", 3);
+        map.put("b", 2);
+        assertEquals("[c : 3, b : 2, a : 1]", map.toString());
+        assertEquals("a", map.lastKey());
+    }
+
+    @Test
+    void randomOperations(){
+        Random random = new Random(11);
+        MySortedMap<Integer, Integer> map = new ConcurrentSkipListMyMap<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+
+        for(int i = 0; i < 100_000; i++){
+            int key = random.nextInt(20_000);
+            if (random.nextInt(3) == 0)
+                assertEquals(expected.remove(key), map.remove(key));
+            else {
+                map.put(key, i);
+                expected.put(key, i);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        assertEquals(new ArrayList<>(expected.keySet()), keys(map));
+        for(int i = 0; i < 1000; i++){
+            int key = random.nextInt(20_000);
+            assertEquals(expected.get(key), map.get(key));
+            assertEquals(expected.floorKey(key), map.floorKey(key));
+            assertEquals(expected.ceilingKey(key), map.ceilingKey(key));
+        }
+        assertEquals(new ArrayList<>(expected.subMap(5000, 6000).keySet()), keys(map.subMap(5000, 6000)));
+
+        for(int key : new ArrayList<>(expected.keySet()))
+            assertEquals(expected.remove(key), map.remove(key));
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.size());
+    }
+
+    /**
+     * Несколько потоков одновременно добавляют и удаляют объекты и считают вхождения с помощью merge,
+     * а поток-читатель в это время проверяет, что обход диапазона всегда идет по возрастанию ключей.
+     */
+    @Test
+    void concurrentUpdates() throws Exception {
+        ConcurrentSkipListMyMap<Integer, Integer> map = new ConcurrentSkipListMyMap<>();
+        int threads = 4, keys = 10000, rounds = 3;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for(int t = 0; t < threads; t++){
+                int id = t;
+                futures.add(executor.submit(() -> {
+                    for(int r = 0; r < rounds; r++)
+                        for(int i = 0; i < keys; i++){
+                            map.merge(i, 1, Integer::sum);
+                            int own = keys * (id + 1) + i;
+                            map.put(own, i);
+                            if (r < rounds - 1)
+                                assertEquals(i, map.remove(own));
+                        }
+                }));
+            }
+            Future<?> reader = executor.submit(() -> {
+                for(int r = 0; r < 20; r++){
+                    int previous = Integer.MIN_VALUE;
+                    for(var entry : map.subMap(keys / 2, keys * 3)){
+                        assertTrue(entry.getKey() > previous);
+                        previous = entry.getKey();
+                    }
+                }
+            });
+            for(var future : futures)
+                future.get();
+            reader.get();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(keys * (threads + 1), map.size());
+        assertEquals(map.size(), keys(map).size());
+        for(int i = 0; i < keys; i++)
+            assertEquals(threads * rounds, map.get(i));
+        for(int t = 0; t < threads; t++)
+            for(int i = 0; i < keys; i++)
+                assertEquals(i, map.get(keys * (t + 1) + i));
+    }
+
+    /**
+     * Несколько потоков считают вхождения с помощью merge через представление диапазона:
+     * ни одно увеличение счетчика не должно потеряться.
+     */
+    @Test
+    void concurrentMergeThroughView() throws Exception {
+        ConcurrentSkipListMyMap<Integer, Integer> map = new ConcurrentSkipListMyMap<>();
+        MySortedMap<Integer, Integer> view = map.subMap(100, 200);
+        int threads = 4, rounds = 5000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for(int t = 0; t < threads; t++)
+                futures.add(executor.submit(() -> {
+                    for(int r = 0; r < rounds; r++){
+                        view.merge(100 + r % 10, 1, Integer::sum);
+                        view.computeIfAbsent(150 + r % 10, key -> 0);
+                        view.computeIfPresent(150 + r % 10, (key, value) -> value + 1);
+                    }
+                }));
+            for(var future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        for(int i = 0; i < 10; i++){
+            assertEquals(threads * rounds / 10, map.get(100 + i));
+            assertEquals(threads * rounds / 10, map.get(150 + i));
+        }
+        assertEquals(20, view.size());
+    }
+}
@@ -0,0 +1,121 @@
+package ru.sedov.implementations;
+
+import org.junit.jupiter.api.Test;
+import ru.sedov.MyList;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CopyOnWriteMyArrayListTest {
+
+    /**
+     * @return коллекция CopyOnWriteMyArrayList<Integer>, заполненная числами от 0 до 9.
+     */
+    public CopyOnWriteMyArrayList<Integer> getList(){
+        var list = new CopyOnWriteMyArrayList<Integer>();
+        for(int i = 0; i < 10; i++)
+            list.add(i);
+        return list;
+    }
+
+    @Test
+    void addAndRemove(){
+        var list = getList();
+        list.add(-1, 0);
+        list.add(10, 11);
+        assertEquals("[-1, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10]", list.toString());
+        list.remove(0);
+        list.remove(10);
+        assertEquals("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9]", list.toString());
+        list.replace(100, 0);
+        assertEquals(100, list.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(10));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(1, 11));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(-1));
+        list.clear();
+        assertEquals(0, list.size());
+    }
+
+    @Test
+    void bulkOperations(){
+        var list = getList();
+        list.addAll(list);
+        assertEquals(20, list.size());
+        list.addAll(new CopyOnWriteMyArrayList<>(getList()), 10);
+        assertEquals(30, list.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(getList(), -1));
+
+        assertTrue(list.removeIf(a -> a % 2 == 0));
+        assertFalse(list.removeIf(a -> a % 2 == 0));
+        assertEquals(15, list.size());
+        list.removeRange(5, 15);
+        assertEquals("[1, 3, 5, 7, 9]", list.toString());
+
+        MyList<Integer> keep = new MyArrayList<>();
+        keep.add(3);
+        keep.add(9);
+        assertTrue(list.retainAll(keep));
+        list.replaceAll(a -> a * 10);
+        assertEquals("[30, 90]", list.toString());
+
+        list.sort(Comparator.reverseOrder());
+        assertEquals("[90, 30]", list.toString());
+        list.parallelSort(Comparator.naturalOrder());
+        assertArrayEquals(new Integer[] {30, 90}, list.toArray(Integer.class));
+    }
+
+    @Test
+    void snapshotIteration(){
+        var list = getList();
+        List<Integer> seen = new ArrayList<>();
+        for(Integer a : list){
+            seen.add(a);
+            list.add(a);
+        }
+        assertEquals(10, seen.size());
+        assertEquals(20, list.size());
+        assertThrows(UnsupportedOperationException.class, () -> {
+            var it = list.iterator();
+            it.next();
+            it.remove();
+        });
+
+        MyList<Integer> frozen = list.freeze();
+        list.clear();
+        assertEquals(20, frozen.size());
+        assertEquals(90, frozen.stream().mapToInt(Integer::intValue).sum());
+        assertThrows(UnsupportedOperationException.class, () -> frozen.add(1));
+    }
+
+    @Test
+    void concurrentReadersAndWriter() throws InterruptedException {
+        var list = getList();
+        var failed = new AtomicBoolean();
+        Thread[] readers = new Thread[4];
+        for(int t = 0; t < readers.length; t++){
+            readers[t] = new Thread(() -> {
+                for(int round = 0; round < 2_000; round++){
+                    int sum = 0, size = 0;
+                    for(Integer a : list){
+                        sum += a;
+                        size++;
+                    }
+                    if (size < 10 || sum != size * (size - 1) / 2)
+                        failed.set(true);
+                }
+            });
+            readers[t].start();
+        }
+        for(int i = 10; i < 1_000; i++)
+            list.add(i);
+        for(var reader : readers)
+            reader.join();
+
+        assertFalse(failed.get());
+        assertEquals(1_000, list.size());
+    }
+}
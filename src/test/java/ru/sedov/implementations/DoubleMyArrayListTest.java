@@ -0,0 +1,126 @@
+package ru.sedov.implementations;
+
+import org.junit.jupiter.api.Test;
+import ru.sedov.MyList;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DoubleMyArrayListTest {
+
+    /**
+     * Генератор для создания не пустой коллекции DoubleMyArrayList заполненной тремя элементами.
+     * @return не пустую коллекцию DoubleMyArrayList
+     */
+    private static DoubleMyArrayList getList() {
+        DoubleMyArrayList list = new DoubleMyArrayList();
+        list.add(1);
+        list.add(3);
+        list.add(2);
+        return list;
+    }
+
+    @Test
+    void add(){
+        DoubleMyArrayList list = new DoubleMyArrayList(0);
+
+        int size = 1500;
+        double[] arr = new double[size];
+        for(int i = 0; i < size; i++){
+            arr[i] = i;
+            list.add(i);
+        }
+
+        assertEquals(size, list.size());
+        assertArrayEquals(arr, list.toArray());
+
+        list.addAll(arr);
+        assertEquals(2 * size, list.size());
+        assertEquals(size - 1, list.get(2 * size - 1));
+    }
+
+    @Test
+    void addByIndex(){
+        DoubleMyArrayList list = getList();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(5, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(5, -1));
+
+        list.add(6, 0);
+        list.add(7, 3);
+        assertArrayEquals(new double[] { 6, 1, 3, 7, 2 }, list.toArray());
+    }
+
+    @Test
+    void getReplaceRemove(){
+        DoubleMyArrayList list = getList();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.replace(0, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(3));
+
+        list.replace(11, 0);
+        assertEquals(11, list.get(0));
+
+        list.remove(1);
+        assertArrayEquals(new double[] { 11, 2 }, list.toArray());
+
+        list.clear();
+        assertEquals(0, list.size());
+        assertEquals("[]", list.toString());
+    }
+
+    @Test
+    void array(){
+        DoubleMyArrayList list = getList();
+        double[] items = list.array();
+        assertTrue(items.length >= 3);
+
+        items[0] = 10;
+        assertEquals(10, list.get(0));
+        assertEquals("[10.0, 3.0, 2.0]", list.toString());
+    }
+
+    @Test
+    void sort(){
+        DoubleMyArrayList list = getList();
+        list.sort();
+        assertArrayEquals(new double[] { 1, 2, 3 }, list.toArray());
+
+        list.addAll(Double.NaN, 0.0, -0.0, Double.NEGATIVE_INFINITY, -5.5);
+        list.sort();
+        assertArrayEquals(new double[] { Double.NEGATIVE_INFINITY, -5.5, -0.0, 0.0, 1, 2, 3, Double.NaN }, list.toArray());
+
+        double[] arr = new Random(11).doubles(100_000, -1e6, 1e6).toArray();
+        list = new DoubleMyArrayList();
+        list.addAll(arr);
+        list.sort();
+        Arrays.sort(arr);
+        assertArrayEquals(arr, list.toArray());
+    }
+
+    @Test
+    void asMyList(){
+        DoubleMyArrayList list = getList();
+        MyList<Double> view = list.asMyList();
+
+        assertEquals(3, view.size());
+        assertEquals(3.0, view.get(1));
+
+        view.add(5.0);
+        view.add(4.0, 0);
+        assertArrayEquals(new double[] { 4, 1, 3, 2, 5 }, list.toArray());
+
+        view.sort(Comparator.reverseOrder());
+        assertEquals(0, Arrays.compare(view.toArray(Double.class), new Double[] { 5.0, 4.0, 3.0, 2.0, 1.0 }));
+
+        view.removeIf(a -> a % 2 == 0);
+        assertArrayEquals(new double[] { 5, 3, 1 }, list.toArray());
+        assertEquals(list.toString(), view.toString());
+
+        assertThrows(NullPointerException.class, () -> view.add(null));
+    }
+}
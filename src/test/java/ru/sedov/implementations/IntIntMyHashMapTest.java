@@ -0,0 +1,138 @@
+package ru.sedov.implementations;
+
+import org.junit.jupiter.api.Test;
+import ru.sedov.MyMap;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntIntMyHashMapTest {
+
+    /**
+     * @return не пустая коллекция IntIntMyHashMap заполненная пятью элементами, включая ключ 0.
+     */
+    public IntIntMyHashMap getMap(){
+        return new IntIntMyHashMap(){{
+            put(0, 10);
+            put(1, 11);
+            put(-1, 9);
+            put(Integer.MIN_VALUE, 1);
+            put(Integer.MAX_VALUE, 2);
+        }};
+    }
+
+    @Test
+    void sizeAndIsEmpty(){
+        assertTrue(new IntIntMyHashMap().isEmpty());
+        assertEquals(5, getMap().size());
+        assertFalse(getMap().isEmpty());
+    }
+
+    @Test
+    void get(){
+        IntIntMyHashMap map = getMap();
+        assertEquals(10, map.get(0));
+        assertEquals(9, map.get(-1));
+        assertEquals(1, map.get(Integer.MIN_VALUE));
+        assertEquals(0, map.get(2));
+
+        IntIntMyHashMap sentinel = new IntIntMyHashMap(4, -1);
+        assertEquals(-1, sentinel.getNoEntryValue());
+        assertEquals(-1, sentinel.get(0));
+        assertEquals(-1, sentinel.put(5, 0));
+        assertEquals(0, sentinel.put(5, 7));
+        assertEquals(7, sentinel.remove(5));
+        assertEquals(-1, sentinel.remove(5));
+    }
+
+    @Test
+    void putAndRemove(){
+        Random rnd = new Random(154852600264L);
+        IntIntMyHashMap map = new IntIntMyHashMap(1);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for(int i = 0; i < 200000; i++){
+            int key = rnd.nextInt() % 10000;
+            if (rnd.nextInt(3) == 0){
+                Integer old = expected.remove(key);
+                assertEquals(old == null ? 0 : old, map.remove(key));
+            }
+            else {
+                int value = rnd.nextInt();
+                Integer old = expected.put(key, value);
+                assertEquals(old == null ? 0 : old, map.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for(var entry : expected.entrySet()){
+            assertTrue(map.containsKey(entry.getKey()));
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+
+        int[] keys = map.toKeyArray();
+        Arrays.sort(keys);
+        assertArrayEquals(expected.keySet().stream().mapToInt(Integer::intValue).sorted().toArray(), keys);
+
+        int[] values = map.toValueArray();
+        Arrays.sort(values);
+        assertArrayEquals(expected.values().stream().mapToInt(Integer::intValue).sorted().toArray(), values);
+    }
+
+    @Test
+    void containsValue(){
+        IntIntMyHashMap map = getMap();
+        assertTrue(map.containsValue(10));
+        assertTrue(map.containsValue(2));
+        assertFalse(map.containsValue(3));
+    }
+
+    @Test
+    void asMyMap(){
+        IntIntMyHashMap map = getMap();
+        MyMap<Integer, Integer> view = map.asMyMap();
+
+        assertEquals(10, view.get(0));
+        assertNull(view.get(2));
+        assertNull(view.get(null));
+        assertTrue(view.containsKey(-1));
+        assertTrue(view.containsValue(11));
+
+        view.put(2, 12);
+        assertEquals(12, map.get(2));
+        assertEquals(12, view.remove(2));
+        assertNull(view.remove(2));
+        assertEquals(10, view.remove(0));
+        assertNull(view.remove(0));
+
+        Integer[] keys = view.toKeyArray(Integer.class);
+        Arrays.sort(keys);
+        assertEquals(0, Arrays.compare(keys, new Integer[] { Integer.MIN_VALUE, -1, 1, Integer.MAX_VALUE }));
+        assertEquals(4, view.size());
+    }
+
+    @Test
+    void iterator(){
+        IntIntMyHashMap map = getMap();
+        MyMap<Integer, Integer> view = map.asMyMap();
+
+        Map<Integer, Integer> seen = new HashMap<>();
+        for(var entry : view)
+            seen.put(entry.getKey(), entry.getValue());
+        assertEquals(5, seen.size());
+        assertEquals(10, seen.get(0));
+
+        view.forEach((k, v) -> assertEquals(seen.get(k), v));
+        assertEquals(5, view.stream().count());
+
+        for(var entry : view)
+            if (entry.getKey() == 1)
+                entry.setValue(100);
+        assertEquals(100, map.get(1));
+
+        var it = view.iterator();
+        it.next();
+        map.remove(1);
+        assertThrows(ConcurrentModificationException.class, it::next);
+    }
+}
@@ -0,0 +1,161 @@
+package ru.sedov.implementations;
+
+import org.junit.jupiter.api.Test;
+import ru.sedov.MyList;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntMyArrayListTest {
+
+    /**
+     * Генератор для создания не пустой коллекции IntMyArrayList заполненной тремя элементами.
+     * @return не пустую коллекцию IntMyArrayList
+     */
+    private static IntMyArrayList getList() {
+        IntMyArrayList list = new IntMyArrayList();
+        list.add(1);
+        list.add(3);
+        list.add(2);
+        return list;
+    }
+
+    @Test
+    void add(){
+        IntMyArrayList list = new IntMyArrayList(0);
+
+        int size = 1500;
+        int[] arr = new int[size];
+        for(int i = 0; i < size; i++){
+            arr[i] = i;
+            list.add(i);
+        }
+
+        assertEquals(size, list.size());
+        assertArrayEquals(arr, list.toArray());
+
+        list.addAll(arr);
+        assertEquals(2 * size, list.size());
+        assertEquals(size - 1, list.get(2 * size - 1));
+    }
+
+    @Test
+    void addByIndex(){
+        IntMyArrayList list = getList();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(5, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(5, -1));
+
+        list.add(6, 0);
+        list.add(7, 3);
+        assertArrayEquals(new int[] { 6, 1, 3, 7, 2 }, list.toArray());
+    }
+
+    @Test
+    void getReplaceRemove(){
+        IntMyArrayList list = getList();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.replace(0, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(3));
+
+        list.replace(11, 0);
+        assertEquals(11, list.get(0));
+
+        list.remove(1);
+        assertArrayEquals(new int[] { 11, 2 }, list.toArray());
+
+        list.clear();
+        assertEquals(0, list.size());
+        assertEquals("[]", list.toString());
+    }
+
+    @Test
+    void array(){
+        IntMyArrayList list = getList();
+        int[] items = list.array();
+        assertTrue(items.length >= 3);
+
+        items[0] = 10;
+        assertEquals(10, list.get(0));
+        assertEquals("[10, 3, 2]", list.toString());
+    }
+
+    @Test
+    void sort(){
+        IntMyArrayList list = getList();
+        list.sort();
+        assertArrayEquals(new int[] { 1, 2, 3 }, list.toArray());
+
+        Random rnd = new Random(11);
+        for(int size : new int[] { 0, 1, 63, 64, 1000, 100_000 }){
+            int[][] inputs = {
+                    rnd.ints(size).toArray(),
+                    rnd.ints(size, -100, 100).toArray(),
+                    rnd.ints(size, 0, 1000).toArray(),
+                    new int[size]
+            };
+            for(int[] arr : inputs){
+                list = new IntMyArrayList();
+                list.addAll(arr);
+                list.add(Integer.MIN_VALUE);
+                list.add(Integer.MAX_VALUE);
+
+                list.sort();
+                int[] expected = Arrays.copyOf(arr, size + 2);
+                expected[size] = Integer.MIN_VALUE;
+                expected[size + 1] = Integer.MAX_VALUE;
+                Arrays.sort(expected);
+                assertArrayEquals(expected, list.toArray());
+            }
+        }
+    }
+
+    @Test
+    void asMyList(){
+        IntMyArrayList list = getList();
+        MyList<Integer> view = list.asMyList();
+
+        assertEquals(3, view.size());
+        assertEquals(3, view.get(1));
+
+        view.add(5);
+        view.add(4, 0);
+        assertArrayEquals(new int[] { 4, 1, 3, 2, 5 }, list.toArray());
+
+        view.sort(Comparator.reverseOrder());
+        assertEquals(0, Arrays.compare(view.toArray(Integer.class), new Integer[] { 5, 4, 3, 2, 1 }));
+
+        view.removeIf(a -> a % 2 == 0);
+        assertArrayEquals(new int[] { 5, 3, 1 }, list.toArray());
+        assertEquals(list.toString(), view.toString());
+
+        assertThrows(NullPointerException.class, () -> view.add(null));
+    }
+
+    @Test
+    void stream(){
+        IntMyArrayList list = getList();
+        assertEquals(6, list.stream().sum());
+
+        MyList<Integer> view = list.asMyList();
+        int sum = 0;
+        for(int a : view)
+            sum += a;
+        assertEquals(6, sum);
+        assertEquals(6, view.parallelStream().mapToInt(Integer::intValue).sum());
+
+        var it = view.iterator();
+        it.next();
+        it.remove();
+        assertArrayEquals(new int[] { 3, 2 }, list.toArray());
+
+        it.next();
+        list.add(5);
+        assertThrows(ConcurrentModificationException.class, it::next);
+    }
+}
@@ -0,0 +1,138 @@
+package ru.sedov.implementations;
+
+import org.junit.jupiter.api.Test;
+import ru.sedov.MyMap;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongLongMyHashMapTest {
+
+    /**
+     * @return не пустая коллекция LongLongMyHashMap заполненная пятью элементами, включая ключ 0.
+     */
+    public LongLongMyHashMap getMap(){
+        return new LongLongMyHashMap(){{
+            put(0, 10);
+            put(1, 11);
+            put(-1, 9);
+            put(Long.MIN_VALUE, 1);
+            put(Long.MAX_VALUE, 2);
+        }};
+    }
+
+    @Test
+    void sizeAndIsEmpty(){
+        assertTrue(new LongLongMyHashMap().isEmpty());
+        assertEquals(5, getMap().size());
+        assertFalse(getMap().isEmpty());
+    }
+
+    @Test
+    void get(){
+        LongLongMyHashMap map = getMap();
+        assertEquals(10, map.get(0));
+        assertEquals(9, map.get(-1));
+        assertEquals(1, map.get(Long.MIN_VALUE));
+        assertEquals(0, map.get(2));
+
+        LongLongMyHashMap sentinel = new LongLongMyHashMap(4, -1);
+        assertEquals(-1, sentinel.getNoEntryValue());
+        assertEquals(-1, sentinel.get(0));
+        assertEquals(-1, sentinel.put(5, 0));
+        assertEquals(0, sentinel.put(5, 7));
+        assertEquals(7, sentinel.remove(5));
+        assertEquals(-1, sentinel.remove(5));
+    }
+
+    @Test
+    void putAndRemove(){
+        Random rnd = new Random(154852600264L);
+        LongLongMyHashMap map = new LongLongMyHashMap(1);
+        Map<Long, Long> expected = new HashMap<>();
+        for(int i = 0; i < 200000; i++){
+            long key = rnd.nextLong() % 10000;
+            if (rnd.nextInt(3) == 0){
+                Long old = expected.remove(key);
+                assertEquals(old == null ? 0L : old, map.remove(key));
+            }
+            else {
+                long value = rnd.nextLong();
+                Long old = expected.put(key, value);
+                assertEquals(old == null ? 0L : old, map.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for(var entry : expected.entrySet()){
+            assertTrue(map.containsKey(entry.getKey()));
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+
+        long[] keys = map.toKeyArray();
+        Arrays.sort(keys);
+        assertArrayEquals(expected.keySet().stream().mapToLong(Long::longValue).sorted().toArray(), keys);
+
+        long[] values = map.toValueArray();
+        Arrays.sort(values);
+        assertArrayEquals(expected.values().stream().mapToLong(Long::longValue).sorted().toArray(), values);
+    }
+
+    @Test
+    void containsValue(){
+        LongLongMyHashMap map = getMap();
+        assertTrue(map.containsValue(10));
+        assertTrue(map.containsValue(2));
+        assertFalse(map.containsValue(3));
+    }
+
+    @Test
+    void asMyMap(){
+        LongLongMyHashMap map = getMap();
+        MyMap<Long, Long> view = map.asMyMap();
+
+        assertEquals(10L, view.get(0L));
+        assertNull(view.get(2L));
+        assertNull(view.get(null));
+        assertTrue(view.containsKey(-1L));
+        assertTrue(view.containsValue(11L));
+
+        view.put(2L, 12L);
+        assertEquals(12, map.get(2));
+        assertEquals(12L, view.remove(2L));
+        assertNull(view.remove(2L));
+        assertEquals(10L, view.remove(0L));
+        assertNull(view.remove(0L));
+
+        Long[] keys = view.toKeyArray(Long.class);
+        Arrays.sort(keys);
+        assertEquals(0, Arrays.compare(keys, new Long[] { Long.MIN_VALUE, -1L, 1L, Long.MAX_VALUE }));
+        assertEquals(4, view.size());
+    }
+
+    @Test
+    void iterator(){
+        LongLongMyHashMap map = getMap();
+        MyMap<Long, Long> view = map.asMyMap();
+
+        Map<Long, Long> seen = new HashMap<>();
+        for(var entry : view)
+            seen.put(entry.getKey(), entry.getValue());
+        assertEquals(5, seen.size());
+        assertEquals(10L, seen.get(0L));
+
+        view.forEach((k, v) -> assertEquals(seen.get(k), v));
+        assertEquals(5, view.stream().count());
+
+        for(var entry : view)
+            if (entry.getKey() == 1)
+                entry.setValue(100L);
+        assertEquals(100L, map.get(1));
+
+        var it = view.iterator();
+        it.next();
+        map.remove(1);
+        assertThrows(ConcurrentModificationException.class, it::next);
+    }
+}
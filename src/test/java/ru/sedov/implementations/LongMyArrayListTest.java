@@ -0,0 +1,138 @@
+package ru.sedov.implementations;
+
+import org.junit.jupiter.api.Test;
+import ru.sedov.MyList;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongMyArrayListTest {
+
+    /**
+     * Генератор для создания не пустой коллекции LongMyArrayList заполненной тремя элементами.
+     * @return не пустую коллекцию LongMyArrayList
+     */
+    private static LongMyArrayList getList() {
+        LongMyArrayList list = new LongMyArrayList();
+        list.add(1);
+        list.add(3);
+        list.add(2);
+        return list;
+    }
+
+    @Test
+    void add(){
+        LongMyArrayList list = new LongMyArrayList(0);
+
+        int size = 1500;
+        long[] arr = new long[size];
+        for(int i = 0; i < size; i++){
+            arr[i] = i;
+            list.add(i);
+        }
+
+        assertEquals(size, list.size());
+        assertArrayEquals(arr, list.toArray());
+
+        list.addAll(arr);
+        assertEquals(2 * size, list.size());
+        assertEquals(size - 1, list.get(2 * size - 1));
+    }
+
+    @Test
+    void addByIndex(){
+        LongMyArrayList list = getList();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(5, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(5, -1));
+
+        list.add(6, 0);
+        list.add(7, 3);
+        assertArrayEquals(new long[] { 6, 1, 3, 7, 2 }, list.toArray());
+    }
+
+    @Test
+    void getReplaceRemove(){
+        LongMyArrayList list = getList();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.replace(0, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(3));
+
+        list.replace(11, 0);
+        assertEquals(11, list.get(0));
+
+        list.remove(1);
+        assertArrayEquals(new long[] { 11, 2 }, list.toArray());
+
+        list.clear();
+        assertEquals(0, list.size());
+        assertEquals("[]", list.toString());
+    }
+
+    @Test
+    void array(){
+        LongMyArrayList list = getList();
+        long[] items = list.array();
+        assertTrue(items.length >= 3);
+
+        items[0] = 10;
+        assertEquals(10, list.get(0));
+        assertEquals("[10, 3, 2]", list.toString());
+    }
+
+    @Test
+    void sort(){
+        LongMyArrayList list = getList();
+        list.sort();
+        assertArrayEquals(new long[] { 1, 2, 3 }, list.toArray());
+
+        Random rnd = new Random(11);
+        for(int size : new int[] { 0, 1, 63, 64, 1000, 100_000 }){
+            long[][] inputs = {
+                    rnd.longs(size).toArray(),
+                    rnd.longs(size, -100, 100).toArray(),
+                    rnd.longs(size, 0, 1L << 40).toArray(),
+                    new long[size]
+            };
+            for(long[] arr : inputs){
+                list = new LongMyArrayList();
+                list.addAll(arr);
+                list.add(Long.MIN_VALUE);
+                list.add(Long.MAX_VALUE);
+
+                list.sort();
+                long[] expected = Arrays.copyOf(arr, size + 2);
+                expected[size] = Long.MIN_VALUE;
+                expected[size + 1] = Long.MAX_VALUE;
+                Arrays.sort(expected);
+                assertArrayEquals(expected, list.toArray());
+            }
+        }
+    }
+
+    @Test
+    void asMyList(){
+        LongMyArrayList list = getList();
+        MyList<Long> view = list.asMyList();
+
+        assertEquals(3, view.size());
+        assertEquals(3L, view.get(1));
+
+        view.add(5L);
+        view.add(4L, 0);
+        assertArrayEquals(new long[] { 4, 1, 3, 2, 5 }, list.toArray());
+
+        view.sort(Comparator.reverseOrder());
+        assertEquals(0, Arrays.compare(view.toArray(Long.class), new Long[] { 5L, 4L, 3L, 2L, 1L }));
+
+        view.removeIf(a -> a % 2 == 0);
+        assertArrayEquals(new long[] { 5, 3, 1 }, list.toArray());
+        assertEquals(list.toString(), view.toString());
+
+        assertThrows(NullPointerException.class, () -> view.add(null));
+    }
+}
@@ -0,0 +1,126 @@
+package ru.sedov.implementations;
+
+import org.junit.jupiter.api.Test;
+import ru.sedov.MyMap;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongObjectMyHashMapTest {
+
+    /**
+     * @return не пустая коллекция LongObjectMyHashMap заполненная пятью элементами, включая ключ 0.
+     */
+    public LongObjectMyHashMap<String> getMap(){
+        return new LongObjectMyHashMap<>(){{
+            put(0, "Zero");
+            put(1, "One");
+            put(-1, "MinusOne");
+            put(Long.MIN_VALUE, "Min");
+            put(Long.MAX_VALUE, "Max");
+        }};
+    }
+
+    @Test
+    void sizeAndIsEmpty(){
+        assertTrue(new LongObjectMyHashMap<String>().isEmpty());
+        assertEquals(5, getMap().size());
+        assertFalse(getMap().isEmpty());
+    }
+
+    @Test
+    void get(){
+        LongObjectMyHashMap<String> map = getMap();
+        assertEquals("Zero", map.get(0));
+        assertEquals("MinusOne", map.get(-1));
+        assertEquals("Min", map.get(Long.MIN_VALUE));
+        assertNull(map.get(2));
+    }
+
+    @Test
+    void putAndRemove(){
+        Random rnd = new Random(154852600264L);
+        LongObjectMyHashMap<String> map = new LongObjectMyHashMap<>(1);
+        Map<Long, String> expected = new HashMap<>();
+        for(int i = 0; i < 200000; i++){
+            long key = rnd.nextLong() % 10000;
+            if (rnd.nextInt(3) == 0)
+                assertEquals(expected.remove(key), map.remove(key));
+            else {
+                String value = Integer.toString(rnd.nextInt());
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for(var entry : expected.entrySet()){
+            assertTrue(map.containsKey(entry.getKey()));
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+
+        long[] keys = map.toKeyArray();
+        Arrays.sort(keys);
+        assertArrayEquals(expected.keySet().stream().mapToLong(Long::longValue).sorted().toArray(), keys);
+
+        String[] values = map.toValueArray(String.class);
+        Arrays.sort(values);
+        assertArrayEquals(expected.values().stream().sorted().toArray(String[]::new), values);
+    }
+
+    @Test
+    void containsValue(){
+        LongObjectMyHashMap<String> map = getMap();
+        assertTrue(map.containsValue("Zero"));
+        assertTrue(map.containsValue("Max"));
+        assertFalse(map.containsValue("Two"));
+        assertFalse(map.containsValue(null));
+    }
+
+    @Test
+    void asMyMap(){
+        LongObjectMyHashMap<String> map = getMap();
+        MyMap<Long, String> view = map.asMyMap();
+
+        assertEquals("Zero", view.get(0L));
+        assertNull(view.get(2L));
+        assertNull(view.get(null));
+        assertTrue(view.containsKey(-1L));
+        assertTrue(view.containsValue("One"));
+
+        view.put(2L, "Two");
+        assertEquals("Two", map.get(2));
+        assertEquals("Two", view.remove(2L));
+        assertEquals("Zero", view.remove(0L));
+
+        Long[] keys = view.toKeyArray(Long.class);
+        Arrays.sort(keys);
+        assertEquals(0, Arrays.compare(keys, new Long[] { Long.MIN_VALUE, -1L, 1L, Long.MAX_VALUE }));
+        assertEquals(4, view.size());
+    }
+
+    @Test
+    void iterator(){
+        LongObjectMyHashMap<String> map = getMap();
+        MyMap<Long, String> view = map.asMyMap();
+
+        Map<Long, String> seen = new HashMap<>();
+        for(var entry : view)
+            seen.put(entry.getKey(), entry.getValue());
+        assertEquals(5, seen.size());
+        assertEquals("Zero", seen.get(0L));
+
+        view.forEach((k, v) -> assertEquals(seen.get(k), v));
+        assertEquals(5, view.stream().count());
+
+        for(var entry : view)
+            if (entry.getKey() == 1)
+                entry.setValue("Uno");
+        assertEquals("Uno", map.get(1));
+
+        var it = view.iterator();
+        it.next();
+        map.remove(1);
+        assertThrows(ConcurrentModificationException.class, it::next);
+    }
+}
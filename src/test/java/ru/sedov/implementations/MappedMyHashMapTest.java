@@ -0,0 +1,154 @@
+package ru.sedov.implementations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.sedov.MyMap;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedMyHashMapTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * @return снимок коллекции MyHashMap&lt;String, Integer&gt; заполненной пятью элементами.
+     */
+    public MyMap<String, Integer> getMap() throws IOException {
+        MyHashMap<String, Integer> map = new MyHashMap<>(){{
+            put("One", 1);
+            put("Two", 2);
+            put("Three", 3);
+            put("Four", 4);
+            put("Five", 5);
+        }};
+        Path path = dir.resolve("map.snapshot");
+        map.writeSnapshot(path, MyCodecs.STRING, MyCodecs.INTEGER);
+        return MappedMyHashMap.open(path, MyCodecs.STRING, MyCodecs.INTEGER);
+    }
+
+    @Test
+    void get() throws IOException {
+        MyMap<String, Integer> map = getMap();
+        assertEquals(5, map.size());
+        assertFalse(map.isEmpty());
+        assertEquals(1, map.get("One"));
+        assertEquals(5, map.get("Five"));
+        assertNull(map.get("Zero"));
+        assertTrue(map.containsKey("Three"));
+        assertFalse(map.containsKey("Six"));
+        assertTrue(map.containsValue(4));
+        assertFalse(map.containsValue(0));
+    }
+
+    @Test
+    void toArrays() throws IOException {
+        MyMap<String, Integer> map = getMap();
+
+        String[] keys = map.toKeyArray(String.class);
+        Arrays.sort(keys);
+        assertEquals(0, Arrays.compare(keys, new String[] { "Five", "Four", "One", "Three", "Two" }));
+
+        Integer[] values = map.toValueArray(Integer.class);
+        Arrays.sort(values);
+        assertEquals(0, Arrays.compare(values, new Integer[] { 1, 2, 3, 4, 5 }));
+    }
+
+    @Test
+    void readOnly() throws IOException {
+        MyMap<String, Integer> map = getMap();
+        assertThrows(UnsupportedOperationException.class, () -> map.put("Six", 6));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove("One"));
+    }
+
+    @Test
+    void empty() throws IOException {
+        Path path = dir.resolve("empty.snapshot");
+        new MyHashMap<Integer, Integer>().writeSnapshot(path, MyCodecs.INTEGER, MyCodecs.INTEGER);
+
+        MyMap<Integer, Integer> map = MappedMyHashMap.open(path, MyCodecs.INTEGER, MyCodecs.INTEGER);
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+        assertEquals(0, map.toKeyArray(Integer.class).length);
+    }
+
+    @Test
+    void bigMap() throws IOException {
+        Random rnd = new Random(154852600264L);
+        MyHashMap<Integer, String> source = new MyHashMap<>();
+        for(int i = 0; i < 100000; i++)
+            source.put(rnd.nextInt(), "value-" + i);
+
+        Path path = dir.resolve("big.snapshot");
+        source.writeSnapshot(path, MyCodecs.INTEGER, MyCodecs.STRING);
+        MyMap<Integer, String> map = MappedMyHashMap.open(path, MyCodecs.INTEGER, MyCodecs.STRING);
+
+        assertEquals(source.size(), map.size());
+        for(Integer key : source.toKeyArray(Integer.class))
+            assertEquals(source.get(key), map.get(key));
+    }
+
+    @Test
+    void failedWriteKeepsPreviousSnapshot() throws IOException {
+        MyMap<String, Integer> old = getMap();
+        Path path = dir.resolve("map.snapshot");
+
+        MyHashMap<String, Integer> broken = new MyHashMap<>();
+        broken.put("One", 10);
+        broken.put("Null", null);
+        var e = assertThrows(NullPointerException.class,
+                () -> broken.writeSnapshot(path, MyCodecs.STRING, MyCodecs.INTEGER));
+        assertTrue(e.getMessage().contains("null"));
+
+        MyMap<String, Integer> reopened = MappedMyHashMap.open(path, MyCodecs.STRING, MyCodecs.INTEGER);
+        assertEquals(5, reopened.size());
+        assertEquals(1, reopened.get("One"));
+        try (var files = Files.list(dir)) {
+            assertEquals(List.of(path), files.toList());
+        }
+
+        MyHashMap<String, Integer> replacement = new MyHashMap<>();
+        replacement.put("Six", 6);
+        replacement.writeSnapshot(path, MyCodecs.STRING, MyCodecs.INTEGER);
+        assertEquals(6, MappedMyHashMap.open(path, MyCodecs.STRING, MyCodecs.INTEGER).get("Six"));
+        assertEquals(5, old.size());
+        assertEquals(3, old.get("Three"));
+    }
+
+    @Test
+    void corruptedFile() throws IOException {
+        Path path = dir.resolve("broken.snapshot");
+        Files.write(path, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16,
+                17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32 });
+        assertThrows(IOException.class, () -> MappedMyHashMap.open(path, MyCodecs.INTEGER, MyCodecs.INTEGER));
+    }
+
+    @Test
+    void iterator() throws IOException {
+        MyMap<String, Integer> map = getMap();
+        Map<String, Integer> seen = new HashMap<>();
+        for(var entry : map)
+            seen.put(entry.getKey(), entry.getValue());
+        assertEquals(Map.of("One", 1, "Two", 2, "Three", 3, "Four", 4, "Five", 5), seen);
+
+        Map<String, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(seen, visited);
+
+        assertEquals(15, map.stream().mapToInt(MyMap.Entry::getValue).sum());
+        assertEquals(15, map.parallelStream().mapToInt(MyMap.Entry::getValue).sum());
+        assertThrows(NoSuchElementException.class, () -> {
+            var it = map.iterator();
+            while(true)
+                it.next();
+        });
+
+        var entry = map.iterator().next();
+        assertThrows(UnsupportedOperationException.class, () -> entry.setValue(0));
+    }
+}
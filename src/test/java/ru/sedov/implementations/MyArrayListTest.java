@@ -5,7 +5,17 @@ import ru.sedov.MyList;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -168,4 +178,368 @@ public class MyArrayListTest {
         Arrays.sort(arr);
         assertEquals(0, Arrays.compare(list.toArray(Integer.class), arr));
     }
+
+    @Test
+    void sortNull(){
+        assertThrows(NullPointerException.class, () -> getList().sort(null));
+    }
+
+    @Test
+    void sortLarge(){
+        int size = 100_000;
+        Random rnd = new Random(17);
+        List<Integer[]> inputs = new ArrayList<>();
+        inputs.add(rnd.ints(size).boxed().toArray(Integer[]::new));
+        inputs.add(rnd.ints(size, 0, 3).boxed().toArray(Integer[]::new));
+        inputs.add(IntStream.range(0, size).boxed().toArray(Integer[]::new));
+        inputs.add(IntStream.range(0, size).map(i -> size - i).boxed().toArray(Integer[]::new));
+        inputs.add(IntStream.range(0, size).map(i -> i % 1000).boxed().toArray(Integer[]::new));
+        inputs.add(IntStream.range(0, size).map(i -> rnd.nextInt(100) == 0 ? rnd.nextInt() : i).boxed().toArray(Integer[]::new));
+        inputs.add(new Integer[size]);
+        Arrays.fill(inputs.get(inputs.size() - 1), 5);
+
+        for(Integer[] arr : inputs){
+            MyList<Integer> list = getEmptyList();
+            for(var a : arr)
+                list.add(a);
+
+            list.sort(Integer::compare);
+            Arrays.sort(arr);
+            assertEquals(0, Arrays.compare(list.toArray(Integer.class), arr));
+        }
+    }
+
+    @Test
+    void sortStable(){
+        MyList<int[]> list = new MyArrayList<>();
+        Random rnd = new Random(42);
+        for(int i = 0; i < 10_000; i++)
+            list.add(new int[] { rnd.nextInt(50), i });
+
+        list.sort(Comparator.comparingInt(a -> a[0]));
+        for(int i = 1; i < list.size(); i++){
+            int[] prev = list.get(i - 1), cur = list.get(i);
+            assertTrue(prev[0] < cur[0] || prev[0] == cur[0] && prev[1] < cur[1]);
+        }
+    }
+
+    @Test
+    void parallelSort(){
+        assertThrows(NullPointerException.class, () -> getList().parallelSort(null));
+
+        MyList<Integer> list = getList();
+        list.parallelSort(Integer::compare);
+        assertEquals(0, Arrays.compare(list.toArray(Integer.class), new Integer[] { 1, 2, 3 }));
+
+        int size = 300_000;
+        Random rnd = new Random(7);
+        for(Integer[] arr : List.of(rnd.ints(size).boxed().toArray(Integer[]::new),
+                rnd.ints(size, 0, 10).boxed().toArray(Integer[]::new),
+                IntStream.range(0, size).map(i -> size - i).boxed().toArray(Integer[]::new))){
+            list = getEmptyList();
+            for(var a : arr)
+                list.add(a);
+
+            list.parallelSort(Integer::compare);
+            Arrays.sort(arr);
+            assertEquals(0, Arrays.compare(list.toArray(Integer.class), arr));
+        }
+    }
+
+    @Test
+    void parallelSortStable(){
+        MyList<int[]> list = new MyArrayList<>();
+        Random rnd = new Random(42);
+        for(int i = 0; i < 100_000; i++)
+            list.add(new int[] { rnd.nextInt(50), i });
+
+        list.parallelSort(Comparator.comparingInt(a -> a[0]));
+        for(int i = 1; i < list.size(); i++){
+            int[] prev = list.get(i - 1), cur = list.get(i);
+            assertTrue(prev[0] < cur[0] || prev[0] == cur[0] && prev[1] < cur[1]);
+        }
+    }
+
+    @Test
+    void parallelSortInPool(){
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random rnd = new Random(3);
+            for(int size : new int[] { 10_000, 100_000, 262_145 }){
+                Integer[] arr = rnd.ints(size, 0, size / 4).boxed().toArray(Integer[]::new);
+                Object[] items = Arrays.copyOf(arr, size + 5, Object[].class);
+
+                MyParallelSort.sort(items, 0, size, Comparator.<Integer>naturalOrder(), pool);
+                Arrays.sort(arr);
+                assertEquals(0, Arrays.compare(Arrays.copyOf(items, size, Integer[].class), arr));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void addAll(){
+        MyList<Integer> list = getList();
+        list.addAll(getList());
+        assertEquals(0, Arrays.compare(list.toArray(Integer.class), new Integer[] { 1, 3, 2, 1, 3, 2 }));
+
+        list.addAll(list);
+        assertEquals(12, list.size());
+
+        list = getEmptyList();
+        MyList<Integer> big = getEmptyList();
+        for(int i = 0; i < 1500; i++)
+            big.add(i);
+        list.addAll(big);
+        assertEquals(0, Arrays.compare(list.toArray(Integer.class), big.toArray(Integer.class)));
+    }
+
+    @Test
+    void addAllByIndex(){
+        MyList<Integer> list = getList();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(getList(), 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(getList(), -1));
+
+        list.addAll(getList(), 1);
+        assertEquals(0, Arrays.compare(list.toArray(Integer.class), new Integer[] { 1, 1, 3, 2, 3, 2 }));
+
+        list.addAll(getEmptyList(), 6);
+        list.addAll(list, 0);
+        assertEquals(0, Arrays.compare(list.toArray(Integer.class),
+                new Integer[] { 1, 1, 3, 2, 3, 2, 1, 1, 3, 2, 3, 2 }));
+    }
+
+    @Test
+    void removeIf(){
+        assertThrows(NullPointerException.class, () -> getList().removeIf(null));
+
+        MyList<Integer> list = getList();
+        assertFalse(list.removeIf(a -> a > 3));
+        assertTrue(list.removeIf(a -> a == 3));
+        assertEquals(0, Arrays.compare(list.toArray(Integer.class), new Integer[] { 1, 2 }));
+
+        list = getEmptyList();
+        for(int i = 0; i < 1500; i++)
+            list.add(i);
+        assertTrue(list.removeIf(a -> a % 3 != 0 || a > 1000));
+        assertEquals(334, list.size());
+        for(int i = 0; i < list.size(); i++)
+            assertEquals(i * 3, list.get(i));
+
+        MyList<Integer> failing = getList();
+        assertThrows(IllegalStateException.class, () -> failing.removeIf(a -> {
+            if (a == 2)
+                throw new IllegalStateException();
+            return true;
+        }));
+        assertEquals(0, Arrays.compare(failing.toArray(Integer.class), new Integer[] { 1, 3, 2 }));
+
+        assertTrue(failing.removeIf(a -> true));
+        assertEquals(0, failing.size());
+    }
+
+    @Test
+    void removeRange(){
+        assertThrows(IndexOutOfBoundsException.class, () -> getList().removeRange(-1, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> getList().removeRange(0, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> getList().removeRange(2, 1));
+
+        MyList<Integer> list = getList();
+        list.removeRange(1, 1);
+        assertEquals(3, list.size());
+
+        list.removeRange(0, 2);
+        assertEquals(0, Arrays.compare(list.toArray(Integer.class), new Integer[] { 2 }));
+
+        list.removeRange(0, 1);
+        assertEquals(0, Arrays.compare(list.toArray(Integer.class), new Integer[] { }));
+    }
+
+    @Test
+    void retainAll(){
+        MyList<Integer> list = getList();
+        list.add(3);
+
+        MyList<Integer> retained = getEmptyList();
+        retained.add(3);
+        retained.add(5);
+        assertTrue(list.retainAll(retained));
+        assertEquals(0, Arrays.compare(list.toArray(Integer.class), new Integer[] { 3, 3 }));
+
+        assertFalse(list.retainAll(retained));
+        assertTrue(list.retainAll(getEmptyList()));
+        assertEquals(0, list.size());
+    }
+
+    @Test
+    void replaceAll(){
+        assertThrows(NullPointerException.class, () -> getList().replaceAll(null));
+
+        MyList<Integer> list = getList();
+        list.replaceAll(a -> a * 10);
+        assertEquals(0, Arrays.compare(list.toArray(Integer.class), new Integer[] { 10, 30, 20 }));
+
+        var it = list.iterator();
+        it.next();
+        list.replaceAll(a -> a + 1);
+        assertThrows(ConcurrentModificationException.class, it::next);
+    }
+
+    @Test
+    void iterator(){
+        MyList<Integer> list = getList();
+        List<Integer> seen = new ArrayList<>();
+        for(var a : list)
+            seen.add(a);
+        assertEquals(List.of(1, 3, 2), seen);
+
+        var it = list.iterator();
+        assertThrows(IllegalStateException.class, it::remove);
+        while(it.hasNext())
+            if (it.next() == 3)
+                it.remove();
+        assertEquals(0, Arrays.compare(list.toArray(Integer.class), new Integer[] { 1, 2 }));
+        assertThrows(NoSuchElementException.class, it::next);
+
+        var failing = list.iterator();
+        failing.next();
+        list.add(4);
+        assertThrows(ConcurrentModificationException.class, failing::next);
+        assertThrows(ConcurrentModificationException.class, () -> {
+            for(var a : list)
+                list.remove(0);
+        });
+    }
+
+    @Test
+    void stream(){
+        MyList<Integer> list = getEmptyList();
+        long sum = 0;
+        for(int i = 0; i < 100_000; i++){
+            list.add(i);
+            sum += i;
+        }
+
+        assertEquals(sum, list.stream().mapToLong(Integer::longValue).sum());
+        assertEquals(sum, list.parallelStream().mapToLong(Integer::longValue).sum());
+        assertEquals(List.of(0, 1, 2), list.parallelStream().limit(3).toList());
+        assertEquals(100_000, list.spliterator().getExactSizeIfKnown());
+        assertThrows(ConcurrentModificationException.class, () -> list.stream().forEach(a -> list.add(a)));
+    }
+
+    @Test
+    void stats(){
+        MyArrayList<Integer> list = new MyArrayList<>();
+        list.add(1);
+        assertEquals(0, list.stats().resizes());
+
+        list.enableStats();
+        for(int i = 0; i < 16; i++)
+            list.add(i);
+        list.add(-1, 0);
+        list.add(-2, 17);
+        list.remove(0);
+
+        var stats = list.stats();
+        assertEquals(18, stats.size());
+        assertEquals(32, stats.capacity());
+        assertEquals(1, stats.resizes());
+        assertEquals(16, stats.elementsCopied());
+        assertEquals(16 * MyArrayListStats.REFERENCE_SIZE, stats.bytesCopied());
+        assertEquals(3, stats.shifts());
+        assertEquals(18, stats.maxShiftDistance());
+        assertEquals((17 + 1 + 18) / 3.0, stats.averageShiftDistance());
+    }
+
+    @Test
+    void resizeEvent() throws Exception {
+        Path file = Files.createTempFile("MyArrayList", ".jfr");
+        try (Recording recording = new Recording()){
+            recording.enable("ru.sedov.MyArrayListResize");
+            recording.start();
+            MyArrayList<Integer> list = new MyArrayList<>();
+            for(int i = 0; i < 100; i++)
+                list.add(i);
+            recording.stop();
+            recording.dump(file);
+
+            // Списки могут увеличиваться и в потоках, оставшихся от других тестов
+            long thread = Thread.currentThread().threadId();
+            var events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getThread().getJavaThreadId() == thread)
+                    .toList();
+            assertEquals(3, events.size());
+            assertEquals(16, events.get(0).getInt("oldCapacity"));
+            assertEquals(32, events.get(0).getInt("newCapacity"));
+            assertEquals(16L * MyArrayListStats.REFERENCE_SIZE, events.get(0).getLong("bytesCopied"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void statisticsEvent() throws Exception {
+        Path file = Files.createTempFile("MyArrayListStatistics", ".jfr");
+        try (Recording recording = new Recording()){
+            recording.enable("ru.sedov.MyArrayListStatistics").withPeriod(java.time.Duration.ofMillis(50));
+            MyArrayList<Integer> list = new MyArrayList<>();
+            list.enableStats();
+            for(int i = 0; i < 100; i++)
+                list.add(i);
+            list.add(-1, 0);
+
+            recording.start();
+            Thread.sleep(300);
+            recording.stop();
+            recording.dump(file);
+
+            var events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getInt("collectionId") == System.identityHashCode(list))
+                    .toList();
+            assertFalse(events.isEmpty());
+            var event = events.get(events.size() - 1);
+            assertEquals(101, event.getInt("size"));
+            assertEquals(3, event.getLong("resizes"));
+            assertEquals(1, event.getLong("shifts"));
+            assertEquals(100, event.getLong("maxShiftDistance"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void freeze(){
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for(int i = 0; i < 10; i++)
+            list.add(i);
+
+        MyList<Integer> frozen = list.freeze();
+        list.add(10);
+        list.replace(-1, 0);
+        list.remove(1);
+        list.sort(Comparator.reverseOrder());
+        assertEquals("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9]", frozen.toString());
+        assertEquals(10, frozen.size());
+        assertEquals(10, list.size());
+
+        MyList<Integer> second = list.freeze();
+        list.clear();
+        assertEquals(0, list.size());
+        assertEquals("[10, 9, 8, 7, 6, 5, 4, 3, 2, -1]", second.toString());
+        assertEquals(45, frozen.stream().mapToInt(Integer::intValue).sum());
+
+        MyList<Integer> third = list.freeze();
+        list.add(1);
+        list.removeIf(a -> a == 1);
+        assertEquals(0, third.size());
+
+        assertThrows(UnsupportedOperationException.class, () -> frozen.add(1));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.removeIf(a -> false));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.sort(Comparator.naturalOrder()));
+        assertThrows(IndexOutOfBoundsException.class, () -> frozen.get(10));
+        assertArrayEquals(new Integer[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, frozen.toArray(Integer.class));
+    }
 }
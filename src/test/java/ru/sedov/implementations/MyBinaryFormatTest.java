@@ -0,0 +1,229 @@
+package ru.sedov.implementations;
+
+import org.junit.jupiter.api.Test;
+import ru.sedov.MyList;
+import ru.sedov.MyMap;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyBinaryFormatTest {
+
+    /**
+     * Канал для чтения, который за один вызов read возвращает не больше трех байт.
+     */
+    private static ReadableByteChannel slowChannel(byte[] bytes){
+        ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(bytes));
+        return new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer dst) throws IOException {
+                ByteBuffer part = dst.slice(dst.position(), Math.min(3, dst.remaining()));
+                int count = channel.read(part);
+                if (count > 0)
+                    dst.position(dst.position() + count);
+                return count;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return channel.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+
+    @Test
+    void list() throws IOException {
+        MyList<String> list = new MyArrayList<>(){{
+            add("One");
+            add(null);
+            add("");
+            add("Четыре");
+        }};
+        var out = new ByteArrayOutputStream();
+        MyBinaryFormat format = new MyBinaryFormat();
+        format.writeList(list, MyCodecs.STRING, Channels.newChannel(out));
+
+        MyArrayList<String> result = format.readList(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())),
+                MyCodecs.STRING);
+        assertEquals(list.toString(), result.toString());
+        assertEquals(4, result.stats().capacity());
+    }
+
+    @Test
+    void listIsCompact() throws IOException {
+        MyList<Integer> list = new MyArrayList<>();
+        for(int i = 0; i < 60_000; i++)
+            list.add(i);
+        var out = new ByteArrayOutputStream();
+        new MyBinaryFormat(64).writeList(list, MyCodecs.INTEGER, Channels.newChannel(out));
+        assertEquals(12 + 60_000 * 5, out.size());
+
+        MyArrayList<Integer> result = new MyBinaryFormat(64)
+                .readList(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())), MyCodecs.INTEGER);
+        assertEquals(60_000, result.size());
+        assertEquals(60_000, result.stats().capacity());
+        for(int i = 0; i < 60_000; i++)
+            assertEquals(i, result.get(i));
+    }
+
+    @Test
+    void map() throws IOException {
+        MyHashMap<String, Integer> map = new MyHashMap<>();
+        for(int i = 0; i < 1000; i++)
+            map.put("key" + i, i % 10 == 0 ? null : i);
+        var out = new ByteArrayOutputStream();
+        MyBinaryFormat format = new MyBinaryFormat();
+        format.writeMap(map, MyCodecs.STRING, MyCodecs.INTEGER, Channels.newChannel(out));
+
+        MyHashMap<String, Integer> result = format.readMap(
+                Channels.newChannel(new ByteArrayInputStream(out.toByteArray())), MyCodecs.STRING, MyCodecs.INTEGER);
+        assertEquals(1000, result.size());
+        for(int i = 0; i < 1000; i++){
+            assertTrue(result.containsKey("key" + i));
+            assertEquals(i % 10 == 0 ? null : i, result.get("key" + i));
+        }
+        assertEquals(2048, result.stats().capacity());
+    }
+
+    @Test
+    void sequentialMessages() throws IOException {
+        MyMap<Integer, byte[]> map = new MyHashMap<>();
+        map.put(1, new byte[100]);
+        map.put(2, new byte[] { 1, 2, 3 });
+        MyList<Long> list = new MyArrayList<>(){{
+            add(-1L);
+            add(Long.MAX_VALUE);
+        }};
+
+        var out = new ByteArrayOutputStream();
+        WritableByteChannel channel = Channels.newChannel(out);
+        MyBinaryFormat writer = new MyBinaryFormat(16);
+        writer.writeMap(map, MyCodecs.INTEGER, MyCodecs.BYTES, channel);
+        writer.writeList(list, MyCodecs.LONG, channel);
+        writer.writeList(new MyArrayList<>(), MyCodecs.LONG, channel);
+
+        ReadableByteChannel in = slowChannel(out.toByteArray());
+        MyBinaryFormat reader = new MyBinaryFormat(16);
+        MyHashMap<Integer, byte[]> resultMap = reader.readMap(in, MyCodecs.INTEGER, MyCodecs.BYTES);
+        assertArrayEquals(new byte[100], resultMap.get(1));
+        assertArrayEquals(new byte[] { 1, 2, 3 }, resultMap.get(2));
+        assertEquals("[-1, 9223372036854775807]", reader.readList(in, MyCodecs.LONG).toString());
+        assertEquals(0, reader.readList(in, MyCodecs.LONG).size());
+        assertThrows(EOFException.class, () -> reader.readList(in, MyCodecs.LONG));
+    }
+
+    @Test
+    void corruptedStreams() throws IOException {
+        MyList<Integer> list = new MyArrayList<>(){{
+            add(1);
+            add(2);
+        }};
+        var out = new ByteArrayOutputStream();
+        new MyBinaryFormat().writeList(list, MyCodecs.INTEGER, Channels.newChannel(out));
+        byte[] bytes = out.toByteArray();
+
+        var exception = assertThrows(IOException.class, () -> new MyBinaryFormat()
+                .readMap(Channels.newChannel(new ByteArrayInputStream(bytes)), MyCodecs.INTEGER, MyCodecs.INTEGER));
+        assertEquals("Stream contains a list, not a map", exception.getMessage());
+
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+        assertThrows(EOFException.class, () -> new MyBinaryFormat()
+                .readList(Channels.newChannel(new ByteArrayInputStream(truncated)), MyCodecs.INTEGER));
+
+        byte[] wrongMagic = bytes.clone();
+        wrongMagic[0] = 0;
+        assertThrows(IOException.class, () -> new MyBinaryFormat()
+                .readList(Channels.newChannel(new ByteArrayInputStream(wrongMagic)), MyCodecs.INTEGER));
+
+        assertThrows(IllegalArgumentException.class, () -> new MyBinaryFormat(4));
+    }
+
+    /**
+     * Сообщения с огромным количеством объектов в заголовке или огромной длиной записи должны приводить
+     * к IOException, а не к попытке выделить гигабайты памяти.
+     */
+    @Test
+    void hostileSizes() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(12).putInt(0x4D594246).putShort((short) 1).putShort((short) 1)
+                .putInt(Integer.MAX_VALUE);
+        assertThrows(EOFException.class, () -> new MyBinaryFormat()
+                .readList(Channels.newChannel(new ByteArrayInputStream(header.array())), MyCodecs.INTEGER));
+        header.putShort(6, (short) 2);
+        assertThrows(EOFException.class, () -> new MyBinaryFormat()
+                .readMap(Channels.newChannel(new ByteArrayInputStream(header.array())), MyCodecs.INTEGER,
+                        MyCodecs.INTEGER));
+
+        byte[] hugeRecord = Arrays.copyOf(header.putShort(6, (short) 1).putInt(8, 1).array(), 17);
+        hugeRecord[12] = (byte) 0xFF;
+        hugeRecord[13] = (byte) 0xFF;
+        hugeRecord[14] = (byte) 0xFF;
+        hugeRecord[15] = (byte) 0xFF;
+        hugeRecord[16] = (byte) 0x07;
+        var exception = assertThrows(IOException.class, () -> new MyBinaryFormat()
+                .readList(Channels.newChannel(new ByteArrayInputStream(hugeRecord)), MyCodecs.INTEGER));
+        assertTrue(exception.getMessage().startsWith("Corrupted stream: illegal record size"));
+
+        MyList<String> list = new MyArrayList<>(){{
+            add("short");
+            add("a longer string");
+        }};
+        var out = new ByteArrayOutputStream();
+        new MyBinaryFormat().writeList(list, MyCodecs.STRING, Channels.newChannel(out));
+        assertThrows(IOException.class, () -> new MyBinaryFormat(64, 8)
+                .readList(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())), MyCodecs.STRING));
+        assertThrows(IllegalArgumentException.class, () -> new MyBinaryFormat(64, 8)
+                .writeList(list, MyCodecs.STRING, Channels.newChannel(new ByteArrayOutputStream())));
+        assertThrows(IllegalArgumentException.class, () -> new MyBinaryFormat(64, 0));
+
+        MyList<Integer> big = new MyArrayList<>();
+        for(int i = 0; i < 100_000; i++)
+            big.add(i);
+        var bigOut = new ByteArrayOutputStream();
+        new MyBinaryFormat().writeList(big, MyCodecs.INTEGER, Channels.newChannel(bigOut));
+        var result = new MyBinaryFormat()
+                .readList(Channels.newChannel(new ByteArrayInputStream(bigOut.toByteArray())), MyCodecs.INTEGER);
+        assertEquals(100_000, result.size());
+        assertEquals(99_999, result.get(99_999));
+    }
+
+    /**
+     * Поврежденная длина записи с кодеком фиксированного размера должна приводить к IOException,
+     * а кодек не должен читать байты следующей записи.
+     */
+    @Test
+    void corruptedRecordLength() throws IOException {
+        MyList<Integer> list = new MyArrayList<>(){{
+            add(1);
+            add(2);
+            add(3);
+        }};
+        var out = new ByteArrayOutputStream();
+        new MyBinaryFormat().writeList(list, MyCodecs.INTEGER, Channels.newChannel(out));
+        byte[] bytes = out.toByteArray();
+        assertEquals(Integer.BYTES + 1, bytes[12]);
+
+        bytes[12] = 3;
+        var exception = assertThrows(IOException.class, () -> new MyBinaryFormat()
+                .readList(Channels.newChannel(new ByteArrayInputStream(bytes)), MyCodecs.INTEGER));
+        assertTrue(exception.getMessage().startsWith("Corrupted stream"));
+
+        bytes[12] = 9;
+        exception = assertThrows(IOException.class, () -> new MyBinaryFormat()
+                .readList(Channels.newChannel(new ByteArrayInputStream(bytes)), MyCodecs.INTEGER));
+        assertTrue(exception.getMessage().startsWith("Corrupted stream"));
+    }
+}
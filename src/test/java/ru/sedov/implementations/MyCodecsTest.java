@@ -0,0 +1,47 @@
+package ru.sedov.implementations;
+
+import org.junit.jupiter.api.Test;
+import ru.sedov.MyCodec;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyCodecsTest {
+
+    /**
+     * Записывает объект в буфер и читает его обратно, проверяя, что кодек записал ровно size(value) байт.
+     */
+    private static <T> T roundTrip(MyCodec<T> codec, T value){
+        int size = codec.size(value);
+        ByteBuffer buffer = ByteBuffer.allocate(size + 3);
+        buffer.position(3);
+        codec.write(value, buffer);
+        assertEquals(size + 3, buffer.position());
+
+        buffer.position(3);
+        T result = codec.read(buffer, size);
+        assertEquals(size + 3, buffer.position());
+        return result;
+    }
+
+    @Test
+    void numbers(){
+        assertEquals(-5, roundTrip(MyCodecs.INTEGER, -5));
+        assertEquals(Long.MIN_VALUE, roundTrip(MyCodecs.LONG, Long.MIN_VALUE));
+        assertEquals(0.25, roundTrip(MyCodecs.DOUBLE, 0.25));
+    }
+
+    @Test
+    void string(){
+        assertEquals("", roundTrip(MyCodecs.STRING, ""));
+        assertEquals("One", roundTrip(MyCodecs.STRING, "One"));
+        assertEquals("Один 😀 ∑", roundTrip(MyCodecs.STRING, "Один 😀 ∑"));
+        assertEquals("?", roundTrip(MyCodecs.STRING, "\uD83D"));
+    }
+
+    @Test
+    void bytes(){
+        assertArrayEquals(new byte[] { 1, 2, 3 }, roundTrip(MyCodecs.BYTES, new byte[] { 1, 2, 3 }));
+    }
+}
@@ -1,8 +1,14 @@
 package ru.sedov.implementations;
 
 import org.junit.jupiter.api.Test;
+import ru.sedov.MyHashStrategy;
 import ru.sedov.MyMap;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -148,7 +154,443 @@ public class MyHashMapTest {
         map = getMap();
         assertTrue(map.containsValue(1));
         assertFalse(map.containsValue(0));
+        assertFalse(map.containsValue(null));
+
+        map.put("Null", null);
+        assertTrue(map.containsValue(null));
+        assertTrue(map.containsValue(5));
+    }
+
+    /**
+     * Ключ, у всех объектов которого одинаковый хэш-код.
+     */
+    private record CollidingKey(int id) implements Comparable<CollidingKey> {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public int compareTo(CollidingKey o) {
+            return Integer.compare(id, o.id);
+        }
+    }
+
+    /**
+     * Ключ, у всех объектов которого одинаковый хэш-код и который не реализует Comparable.
+     */
+    private record IncomparableKey(int id) {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    @Test
+    void collisions(){
+        MyMap<Object, Integer> map = new MyHashMap<>(64);
+        int size = 2000;
+        for(int i = 0; i < size; i++){
+            map.put(new CollidingKey(i), i);
+            map.put(new IncomparableKey(i), -i);
+        }
+        assertEquals(size * 2, map.size());
+
+        for(int i = 0; i < size; i++){
+            assertEquals(i, map.get(new CollidingKey(i)));
+            assertEquals(-i, map.get(new IncomparableKey(i)));
+        }
+        assertNull(map.get(new CollidingKey(size)));
+        assertNull(map.get(new IncomparableKey(size)));
+
+        for(int i = 0; i < size; i++)
+            if (i % 2 == 0){
+                assertEquals(i, map.remove(new CollidingKey(i)));
+                assertEquals(-i, map.remove(new IncomparableKey(i)));
+            }
+        assertEquals(size, map.size());
+
+        for(int i = 0; i < size; i++){
+            assertEquals(i % 2 != 0, map.containsKey(new CollidingKey(i)));
+            assertEquals(i % 2 != 0, map.containsKey(new IncomparableKey(i)));
+        }
+
+        for(int i = 0; i < size; i++)
+            if (i % 2 != 0){
+                map.remove(new CollidingKey(i));
+                map.remove(new IncomparableKey(i));
+            }
+        assertTrue(map.isEmpty());
+    }
+
+    /**
+     * Равные ключи разных классов с одинаковым хэш-значением должны находиться в дереве.
+     */
+    @Test
+    void mixedClassEqualKeys(){
+        MyMap<List<CollidingKey>, Integer> map = new MyHashMap<>(64);
+        int size = 40;
+        for(int i = 0; i < size; i++)
+            map.put(new ArrayList<>(List.of(new CollidingKey(i))), i);
+        assertEquals(1, ((MyHashMap<?, ?>) map).stats().treeBuckets());
+
+        for(int i = 0; i < size; i++){
+            assertEquals(i, map.get(List.of(new CollidingKey(i))));
+            assertEquals(i, map.get(new LinkedList<>(List.of(new CollidingKey(i)))));
+        }
+        for(int i = 0; i < size; i++)
+            map.put(List.of(new CollidingKey(i)), -i);
+        assertEquals(size, map.size());
+        for(int i = 0; i < size; i++)
+            assertEquals(-i, map.remove(new LinkedList<>(List.of(new CollidingKey(i)))));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void resize(){
+        MyMap<Integer, Integer> map = new MyHashMap<>(1);
+        int size = 200000;
+        for(int i = 0; i < size; i++){
+            map.put(i, -i);
+            if (i % 3 == 0)
+                assertEquals(-i, map.remove(i));
+        }
+
+        assertEquals(size - (size + 2) / 3, map.size());
+        for(int i = 0; i < size; i++)
+            if (i % 3 == 0)
+                assertFalse(map.containsKey(i));
+            else
+                assertEquals(-i, map.get(i));
+
+        assertEquals(map.size(), map.toKeyArray(Integer.class).length);
+    }
+
+
+
+    @Test
+    void iterator(){
+        MyMap<String, Integer> map = getMap();
+        Map<String, Integer> seen = new HashMap<>();
+        for(var entry : map)
+            seen.put(entry.getKey(), entry.getValue());
+        assertEquals(Map.of("One", 1, "Two", 2, "Three", 3, "Four", 4, "Five", 5), seen);
+
+        Map<String, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(seen, visited);
+
+        assertEquals(15, map.stream().mapToInt(MyMap.Entry::getValue).sum());
+        assertEquals(15, map.parallelStream().mapToInt(MyMap.Entry::getValue).sum());
+        assertThrows(NoSuchElementException.class, () -> {
+            var it = map.iterator();
+            while(true)
+                it.next();
+        });
+
+        for(var entry : map)
+            entry.setValue(entry.getValue() * 10);
+        assertEquals(10, map.get("One"));
+        assertEquals(50, map.get("Five"));
+
+        var it = map.iterator();
+        it.next();
+        map.put("Six", 6);
+        assertThrows(ConcurrentModificationException.class, it::next);
+    }
+
+    @Test
+    void parallelStream(){
+        MyMap<Integer, Integer> map = new MyHashMap<>();
+        long sum = 0;
+        for(int i = 0; i < 100_000; i++){
+            map.put(i, i);
+            sum += i;
+        }
+        assertEquals(sum, map.parallelStream().mapToLong(MyMap.Entry::getValue).sum());
+        assertEquals(100_000, map.stream().map(MyMap.Entry::getKey).distinct().count());
+
+        Map<Integer, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(100_000, visited.size());
+
+        assertThrows(ConcurrentModificationException.class, () -> map.forEach((k, v) -> map.remove(k)));
+    }
+
+    @Test
+    void computeOperations(){
+        MyMap<String, Integer> map = getMap();
+        assertEquals(1, map.getOrDefault("One", 0));
+        assertEquals(0, map.getOrDefault("Zero", 0));
+
+        assertEquals(1, map.putIfAbsent("One", 10));
+        assertNull(map.putIfAbsent("Six", 6));
+        assertEquals(6, map.get("Six"));
+
+        assertEquals(2, map.computeIfAbsent("Two", k -> 20));
+        assertEquals(5, map.computeIfAbsent("Seven", String::length));
+        assertNull(map.computeIfAbsent("Eight", k -> null));
+        assertNull(map.get("Eight"));
+
+        assertEquals(30, map.computeIfPresent("Three", (k, v) -> v * 10));
+        assertNull(map.computeIfPresent("Nine", (k, v) -> 9));
+        assertNull(map.computeIfPresent("Four", (k, v) -> null));
+        assertNull(map.get("Four"));
+
+        assertEquals(6, map.compute("Five", (k, v) -> v + 1));
+        assertEquals(10, map.compute("Ten", (k, v) -> v == null ? 10 : v));
+        assertNull(map.compute("Ten", (k, v) -> null));
+        assertNull(map.get("Ten"));
+
+        assertEquals(11, map.merge("One", 10, Integer::sum));
+        assertEquals(11, map.merge("Eleven", 11, Integer::sum));
+        assertNull(map.merge("Eleven", 0, (a, b) -> null));
+        assertNull(map.get("Eleven"));
+        assertThrows(NullPointerException.class, () -> map.merge("One", null, Integer::sum));
+
+        assertEquals(6, map.size());
+        assertThrows(ConcurrentModificationException.class,
+                () -> map.computeIfAbsent("Twelve", k -> {
+                    map.put("Thirteen", 13);
+                    return 12;
+                }));
+    }
+
+    @Test
+    void computeOperationsLarge(){
+        MyMap<Integer, Integer> map = new MyHashMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random rnd = new Random(154852600264L);
+        for(int i = 0; i < 100_000; i++){
+            int key = rnd.nextInt(5_000);
+            map.merge(key, 1, Integer::sum);
+            expected.merge(key, 1, Integer::sum);
+            if (i % 7 == 0){
+                map.computeIfPresent(key, (k, v) -> v > 10 ? null : v);
+                expected.computeIfPresent(key, (k, v) -> v > 10 ? null : v);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        expected.forEach((k, v) -> assertEquals(v, map.get(k)));
+    }
+
+    @Test
+    void computeOperationsHashOnce(){
+        MyMap<CountingKey, Integer> map = new MyHashMap<>();
+        for(int i = 0; i < 100; i++)
+            map.put(new CountingKey(i), i);
+
+        CountingKey key = new CountingKey(1000);
+        map.merge(key, 1, Integer::sum);
+        map.merge(key, 1, Integer::sum);
+        map.compute(key, (k, v) -> v + 1);
+        map.computeIfPresent(key, (k, v) -> v + 1);
+        map.computeIfAbsent(key, k -> 0);
+        map.putIfAbsent(key, 0);
+        map.getOrDefault(key, 0);
+        assertEquals(7, key.hashes);
+        assertEquals(4, map.get(key));
     }
 
+    /**
+     * Ключ, подсчитывающий количество вызовов hashCode().
+     */
+    private static final class CountingKey {
+
+        private final int value;
+
+        private int hashes = 0;
+
+        CountingKey(int value){
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            hashes++;
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CountingKey key && key.value == value;
+        }
+    }
+
+    @Test
+    void stats(){
+        MyHashMap<Integer, Integer> map = new MyHashMap<>();
+        map.put(1, 1);
+        var stats = map.stats();
+        assertEquals(1, stats.size());
+        assertEquals(16, stats.capacity());
+        assertEquals(1, stats.occupiedBuckets());
+        assertEquals(1, stats.chainLengthHistogram()[1]);
+        assertEquals(0, stats.puts());
+
+        map.enableStats();
+        for(int i = 0; i < 100; i++)
+            map.put(i, i);
+        for(int i = 0; i < 200; i++)
+            map.get(i);
+        map.merge(0, 1, Integer::sum);
+
+        stats = map.stats();
+        assertEquals(101, stats.puts());
+        assertEquals(200, stats.gets());
+        assertEquals(1.0, stats.averageGetProbes(), 0.5);
+        assertEquals(4, stats.resizes());
+        assertTrue(stats.rehashedEntries() > 0);
+        assertEquals(100, sumChains(stats));
+    }
 
+    private static long sumChains(MyHashMapStats stats){
+        long[] histogram = stats.chainLengthHistogram();
+        long sum = 0;
+        for(int i = 0; i < histogram.length; i++)
+            sum += i * histogram[i];
+        return sum;
+    }
+
+    @Test
+    void statsCollisions(){
+        MyHashMap<CollidingKey, Integer> map = new MyHashMap<>(64);
+        map.enableStats();
+        for(int i = 0; i < 20; i++)
+            map.put(new CollidingKey(i), i);
+        for(int i = 0; i < 20; i++)
+            map.get(new CollidingKey(i));
+
+        var stats = map.stats();
+        assertEquals(1, stats.occupiedBuckets());
+        assertEquals(1, stats.treeBuckets());
+        assertEquals(1, stats.chainLengthHistogram()[MyHashMapStats.HISTOGRAM_SIZE - 1]);
+        assertTrue(stats.averageGetProbes() <= 5, stats.toString());
+    }
+
+    @Test
+    void smallTableGrowsInsteadOfTreeifying(){
+        MyHashMap<CollidingKey, Integer> map = new MyHashMap<>(16);
+        map.enableStats();
+        for(int i = 0; i < 8; i++)
+            map.put(new CollidingKey(i), i);
+
+        var stats = map.stats();
+        assertEquals(1, stats.resizes());
+        assertEquals(0, stats.treeBuckets());
+        for(int i = 8; i < 20; i++)
+            map.put(new CollidingKey(i), i);
+        for(int i = 0; i < 20; i++)
+            assertEquals(i, map.get(new CollidingKey(i)));
+        assertEquals(1, map.stats().treeBuckets());
+    }
+
+    @Test
+    void statisticsEvent() throws Exception {
+        Path file = Files.createTempFile("MyHashMapStatistics", ".jfr");
+        try (Recording recording = new Recording()){
+            recording.enable("ru.sedov.MyHashMapStatistics").withPeriod(java.time.Duration.ofMillis(50));
+            MyHashMap<Integer, Integer> map = new MyHashMap<>();
+            map.enableStats();
+            for(int i = 0; i < 100; i++)
+                map.put(i, i);
+            map.get(1);
+            new MyHashMap<Integer, Integer>().put(1, 1);
+
+            recording.start();
+            Thread.sleep(300);
+            recording.stop();
+            recording.dump(file);
+
+            var events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getInt("collectionId") == System.identityHashCode(map))
+                    .toList();
+            assertFalse(events.isEmpty());
+            var event = events.get(events.size() - 1);
+            assertEquals(100, event.getInt("size"));
+            assertEquals(map.stats().capacity(), event.getInt("capacity"));
+            assertEquals(1, event.getLong("gets"));
+            assertEquals(1.0, event.getDouble("averageGetProbes"));
+            assertTrue(event.getString("chainLengthHistogram").startsWith("[0, "));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void resizeEvent() throws Exception {
+        Path file = Files.createTempFile("MyHashMap", ".jfr");
+        try (Recording recording = new Recording()){
+            recording.enable("ru.sedov.MyHashMapResize");
+            recording.start();
+            MyMap<Integer, Integer> map = new MyHashMap<>();
+            for(int i = 0; i < 100; i++)
+                map.put(i, i);
+            recording.stop();
+            recording.dump(file);
+
+            // Коллекции могут увеличиваться и в потоках, оставшихся от других тестов
+            long thread = Thread.currentThread().threadId();
+            var events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getThread().getJavaThreadId() == thread)
+                    .toList();
+            assertEquals(4, events.size());
+            assertEquals(16, events.get(0).getInt("oldCapacity"));
+            assertEquals(32, events.get(0).getInt("newCapacity"));
+            assertEquals(13, events.get(0).getInt("size"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void hashStrategies(){
+        MyMap<byte[], Integer> bytes = new MyHashMap<>(MyHashStrategies.BYTE_ARRAY);
+        bytes.put(new byte[] { 1, 2 }, 1);
+        bytes.put(new byte[] { 1, 2 }, 2);
+        bytes.put(new byte[0], 3);
+        assertEquals(2, bytes.size());
+        assertEquals(2, bytes.get(new byte[] { 1, 2 }));
+        assertEquals(3, bytes.remove(new byte[0]));
+
+        MyMap<String, Integer> strings = new MyHashMap<>(MyHashStrategies.CASE_INSENSITIVE);
+        strings.put("Key", 1);
+        strings.merge("KEY", 1, Integer::sum);
+        assertEquals(1, strings.size());
+        assertEquals(2, strings.get("key"));
+        assertEquals("[Key : 2]", strings.toString());
+
+        MyMap<String, Integer> seeded = new MyHashMap<>(MyHashStrategies.randomizedStrings());
+        for(int i = 0; i < 1000; i++)
+            seeded.put("key" + i, i);
+        for(int i = 0; i < 1000; i++)
+            assertEquals(i, seeded.get("key" + i));
+    }
+
+    @Test
+    void hashStrategyTreeBuckets(){
+        MyHashStrategy<String> constant = new MyHashStrategy<>() {
+            @Override
+            public int hash(String key) {
+                return 0;
+            }
+
+            @Override
+            public boolean equals(String a, String b) {
+                return a.equalsIgnoreCase(b);
+            }
+        };
+        MyHashMap<String, Integer> map = new MyHashMap<>(64, 0.75f, constant);
+        for(int i = 0; i < 40; i++)
+            map.put("key" + i, i);
+        assertEquals(1, map.stats().treeBuckets());
+
+        for(int i = 0; i < 40; i++)
+            assertEquals(i, map.get("KEY" + i));
+        map.put("KEY7", -7);
+        assertEquals(40, map.size());
+        for(int i = 0; i < 40; i++)
+            assertEquals(i == 7 ? -7 : i, map.remove("Key" + i));
+        assertTrue(map.isEmpty());
+    }
 }
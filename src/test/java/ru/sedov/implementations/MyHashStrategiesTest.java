@@ -0,0 +1,77 @@
+package ru.sedov.implementations;
+
+import org.junit.jupiter.api.Test;
+import ru.sedov.MyHashStrategy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyHashStrategiesTest {
+
+    @Test
+    void standardStrategies(){
+        MyHashStrategy<Object> natural = MyHashStrategies.natural();
+        assertEquals("One".hashCode(), natural.hash("One"));
+        assertTrue(natural.equals("One", new String("One")));
+
+        MyHashStrategy<Object> identity = MyHashStrategies.identity();
+        assertFalse(identity.equals("One", new String("One")));
+
+        assertEquals(MyHashStrategies.BYTE_ARRAY.hash(new byte[] { 1, 2, 3 }),
+                MyHashStrategies.BYTE_ARRAY.hash(new byte[] { 1, 2, 3 }));
+        assertTrue(MyHashStrategies.BYTE_ARRAY.equals(new byte[] { 1, 2, 3 }, new byte[] { 1, 2, 3 }));
+
+        assertEquals(MyHashStrategies.CASE_INSENSITIVE.hash("Straße"),
+                MyHashStrategies.CASE_INSENSITIVE.hash("STRAßE"));
+        assertTrue(MyHashStrategies.CASE_INSENSITIVE.equals("Один", "оДИН"));
+        assertFalse(MyHashStrategies.CASE_INSENSITIVE.equals("One", "Two"));
+    }
+
+    @Test
+    void seededStrategies(){
+        var first = MyHashStrategies.seededStrings(42);
+        var second = MyHashStrategies.seededStrings(42);
+        var other = MyHashStrategies.seededStrings(43);
+        assertEquals(first.hash("Some key"), second.hash("Some key"));
+        assertNotEquals(first.hash("Some key"), other.hash("Some key"));
+
+        // Строки "Aa" и "BB" имеют одинаковый hashCode, поэтому из них легко составить много коллизий
+        Set<Integer> hashes = new HashSet<>();
+        for(int i = 0; i < 256; i++){
+            StringBuilder sb = new StringBuilder();
+            for(int bit = 0; bit < 8; bit++)
+                sb.append((i >> bit & 1) == 0 ? "Aa" : "BB");
+            assertEquals("AaAaAaAaAaAaAaAa".hashCode(), sb.toString().hashCode());
+            hashes.add(first.hash(sb.toString()));
+        }
+        assertTrue(hashes.size() > 250);
+
+        var bytes = MyHashStrategies.seededByteArrays(42);
+        for(int length = 0; length < 20; length++){
+            byte[] a = new byte[length], b = new byte[length];
+            assertEquals(bytes.hash(a), bytes.hash(b));
+            assertTrue(bytes.equals(a, b));
+            if (length > 0){
+                b[length - 1] = 1;
+                assertNotEquals(bytes.hash(a), bytes.hash(b));
+            }
+        }
+        assertNotEquals(bytes.hash(new byte[0]), bytes.hash(new byte[1]));
+
+        var randomized = MyHashStrategies.randomizedByteArrays();
+        byte[] key = "key".getBytes(StandardCharsets.UTF_8);
+        assertEquals(randomized.hash(key), randomized.hash(key.clone()));
+    }
+
+    @Test
+    void sipHash(){
+        // Строка хэшируется как байты UTF-16LE
+        var sipHash = new MyHashStrategies.SipHash(0x0706050403020100L, 0x0F0E0D0C0B0A0908L);
+        assertEquals(sipHash.hash(new byte[0]), sipHash.hash(""));
+        assertEquals(sipHash.hash("Key Ключ".getBytes(StandardCharsets.UTF_16LE)), sipHash.hash("Key Ключ"));
+        assertNotEquals(sipHash.hash(new byte[] { 'a', 0 }), sipHash.hash(new byte[] { 'a' }));
+    }
+}
@@ -0,0 +1,102 @@
+package ru.sedov.implementations;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SoftValueMyHashMapTest {
+
+    /**
+     * Занимает память массивами по 8 МБ, пока не будет выброшен OutOfMemoryError, и затем освобождает ее.
+     * Перед тем как выбросить OutOfMemoryError, сборщик мусора обязан очистить все мягкие ссылки на объекты,
+     * на которые нет обычных ссылок. Размер массивов ограничен, поэтому память заканчивается при любом
+     * максимальном размере кучи.
+     */
+    private static void clearSoftReferences(){
+        List<long[]> chunks = new ArrayList<>();
+        try {
+            while(true)
+                chunks.add(new long[1 << 20]);
+        } catch (OutOfMemoryError expected){
+            chunks = null;
+        }
+    }
+
+    /**
+     * Ждет, пока очищенные ссылки попадут в очередь и размер коллекции станет равен expected.
+     */
+    private static void awaitSize(SoftValueMyHashMap<?, ?> map, int expected) throws InterruptedException {
+        for(int i = 0; i < 100 && map.size() != expected; i++)
+            Thread.sleep(10);
+        assertEquals(expected, map.size());
+    }
+
+    @Test
+    void basicOperations(){
+        var map = new SoftValueMyHashMap<String, Integer>();
+        assertTrue(map.isEmpty());
+        map.put("One", 1);
+        map.put("Two", 2);
+        map.put("Two", 22);
+
+        assertEquals(2, map.size());
+        assertEquals(1, map.get("One"));
+        assertEquals(22, map.get("Two"));
+        assertNull(map.get("Three"));
+        assertTrue(map.containsKey("One"));
+        assertTrue(map.containsValue(22));
+        assertFalse(map.containsValue(2));
+        assertFalse(map.containsValue(null));
+
+        assertEquals(1, map.remove("One"));
+        assertNull(map.remove("One"));
+        assertEquals("[Two : 22]", map.toString());
+        assertArrayEquals(new String[] { "Two" }, map.toKeyArray(String.class));
+        assertArrayEquals(new Integer[] { 22 }, map.toValueArray(Integer.class));
+        assertThrows(NullPointerException.class, () -> map.put("Three", null));
+
+        var entry = map.iterator().next();
+        assertThrows(UnsupportedOperationException.class, () -> entry.setValue(0));
+        assertThrows(NoSuchElementException.class, () -> new SoftValueMyHashMap<>().iterator().next());
+    }
+
+    @Test
+    void strategy(){
+        var map = new SoftValueMyHashMap<String, Integer>(4, MyHashStrategies.CASE_INSENSITIVE);
+        map.put("Key", 1);
+        map.put("KEY", 2);
+        assertEquals(2, map.get("key"));
+        assertEquals(1, map.size());
+        assertThrows(IllegalArgumentException.class, () -> new SoftValueMyHashMap<>(-1));
+    }
+
+    @Test
+    void clearedValuesAreExpunged() throws InterruptedException {
+        var map = new SoftValueMyHashMap<Integer, int[]>();
+        List<int[]> alive = new ArrayList<>();
+        for(int i = 0; i < 1000; i++){
+            var value = new int[] { i };
+            map.put(i, value);
+            if (i % 2 == 0)
+                alive.add(value);
+        }
+
+        clearSoftReferences();
+        assertNull(map.get(1));
+        assertFalse(map.containsKey(1));
+        assertEquals(2, map.get(2)[0]);
+        awaitSize(map, 500);
+        for(var entry : map)
+            assertEquals(0, entry.getKey() % 2);
+        assertEquals(500, map.toKeyArray(Integer.class).length);
+
+        map.put(1, new int[] { 1 });
+        assertEquals(1, map.get(1)[0]);
+        alive.clear();
+        clearSoftReferences();
+        awaitSize(map, 0);
+        assertTrue(map.isEmpty());
+    }
+}
@@ -0,0 +1,117 @@
+package ru.sedov.implementations;
+
+import org.junit.jupiter.api.Test;
+import ru.sedov.MyList;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TieredMyArrayListTest {
+
+    private static void assertSame(List<Integer> expected, MyList<Integer> actual){
+        assertEquals(expected.size(), actual.size());
+        for(int i = 0; i < expected.size(); i++)
+            assertEquals(expected.get(i), actual.get(i), "index " + i);
+    }
+
+    @Test
+    void addAndGet(){
+        MyList<Integer> list = new TieredMyArrayList<>();
+        for(int i = 0; i < 1_000; i++)
+            list.add(i);
+        for(int i = 0; i < 1_000; i++)
+            assertEquals(i, list.get(i));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1_000));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(0, 1_001));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(-1));
+        list.replace(-1, 500);
+        assertEquals(-1, list.get(500));
+    }
+
+    @Test
+    void randomInsertAndRemove(){
+        MyList<Integer> list = new TieredMyArrayList<>();
+        List<Integer> expected = new ArrayList<>();
+        Random rnd = new Random(154852600264L);
+        for(int step = 0; step < 30_000; step++){
+            if (expected.isEmpty() || rnd.nextInt(3) > 0){
+                int index = rnd.nextInt(expected.size() + 1);
+                list.add(step, index);
+                expected.add(index, step);
+            } else {
+                int index = rnd.nextInt(expected.size());
+                list.remove(index);
+                expected.remove(index);
+            }
+        }
+        assertSame(expected, list);
+
+        while(!expected.isEmpty()){
+            int index = rnd.nextInt(expected.size());
+            list.remove(index);
+            expected.remove(index);
+        }
+        assertEquals(0, list.size());
+        assertEquals("[]", list.toString());
+    }
+
+    @Test
+    void insertAtFront(){
+        MyList<Integer> list = new TieredMyArrayList<>();
+        List<Integer> expected = new ArrayList<>();
+        for(int i = 0; i < 5_000; i++){
+            list.add(i, 0);
+            expected.add(0, i);
+        }
+        assertSame(expected, list);
+        for(int i = 0; i < 2_500; i++){
+            list.remove(0);
+            expected.remove(0);
+        }
+        assertSame(expected, list);
+    }
+
+    @Test
+    void bulkOperations(){
+        MyList<Integer> list = new TieredMyArrayList<>();
+        List<Integer> expected = new ArrayList<>();
+        MyList<Integer> added = new MyArrayList<>();
+        for(int i = 0; i < 1_000; i++){
+            list.add(i);
+            expected.add(i);
+            added.add(-i);
+        }
+
+        list.addAll(added, 500);
+        expected.addAll(500, List.of(added.toArray(Integer.class)));
+        assertSame(expected, list);
+
+        list.addAll(added);
+        expected.addAll(List.of(added.toArray(Integer.class)));
+        assertSame(expected, list);
+
+        assertTrue(list.removeIf(a -> a % 3 == 0));
+        expected.removeIf(a -> a % 3 == 0);
+        assertSame(expected, list);
+
+        list.removeRange(100, 900);
+        expected.subList(100, 900).clear();
+        assertSame(expected, list);
+
+        list.sort(Comparator.naturalOrder());
+        expected.sort(Comparator.naturalOrder());
+        assertSame(expected, list);
+        assertArrayEquals(expected.toArray(new Integer[0]), list.toArray(Integer.class));
+        assertEquals(expected.stream().mapToLong(Integer::longValue).sum(),
+                list.stream().mapToLong(Integer::longValue).sum());
+
+        list.clear();
+        assertEquals(0, list.size());
+        list.add(1);
+        assertEquals("[1]", list.toString());
+    }
+}
@@ -0,0 +1,97 @@
+package ru.sedov.implementations;
+
+import org.junit.jupiter.api.Test;
+import ru.sedov.MyMap;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeakKeyMyHashMapTest {
+
+    /**
+     * Ключ, равенство которого определяется номером, а не ссылкой.
+     */
+    private record Key(int id) {
+    }
+
+    /**
+     * Вызывает сборку мусора, пока размер коллекции не станет равен expected.
+     */
+    private static void awaitSize(MyMap<?, ?> map, int expected) throws InterruptedException {
+        for(int i = 0; i < 100 && map.size() != expected; i++){
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(expected, map.size());
+    }
+
+    @Test
+    void basicOperations(){
+        var one = new Key(1);
+        var two = new Key(2);
+        var map = new WeakKeyMyHashMap<Key, String>();
+        assertTrue(map.isEmpty());
+        map.put(one, "one");
+        map.put(two, "two");
+        map.put(new Key(2), "zwei");
+
+        assertEquals(2, map.size());
+        assertEquals("one", map.get(new Key(1)));
+        assertEquals("zwei", map.get(two));
+        assertNull(map.get(new Key(3)));
+        assertTrue(map.containsKey(new Key(1)));
+        assertTrue(map.containsValue("zwei"));
+        assertFalse(map.containsValue("two"));
+        assertFalse(map.containsValue(null));
+
+        assertEquals("one", map.remove(new Key(1)));
+        assertNull(map.remove(one));
+        assertEquals("[Key[id=2] : zwei]", map.toString());
+        assertArrayEquals(new Key[] { two }, map.toKeyArray(Key.class));
+        assertArrayEquals(new String[] { "zwei" }, map.toValueArray(String.class));
+        assertThrows(NullPointerException.class, () -> map.put(null, ""));
+
+        var entry = map.iterator().next();
+        entry.setValue("deux");
+        assertEquals("deux", map.get(two));
+        assertThrows(NoSuchElementException.class, () -> new WeakKeyMyHashMap<>().iterator().next());
+    }
+
+    @Test
+    void identityStrategy(){
+        var map = new WeakKeyMyHashMap<Key, Integer>(4, MyHashStrategies.identity());
+        var key = new Key(1);
+        map.put(key, 1);
+        map.put(new Key(1), 2);
+        assertEquals(1, map.get(key));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void collectedKeysAreExpunged() throws InterruptedException {
+        var map = new WeakKeyMyHashMap<Key, int[]>();
+        List<Key> alive = new ArrayList<>();
+        for(int i = 0; i < 1000; i++){
+            var key = new Key(i);
+            map.put(key, new int[] { i });
+            if (i % 2 == 0)
+                alive.add(key);
+        }
+
+        awaitSize(map, 500);
+        for(var key : alive)
+            assertEquals(key.id(), map.get(new Key(key.id()))[0]);
+        assertNull(map.get(new Key(1)));
+        assertFalse(map.containsKey(new Key(1)));
+        for(var entry : map)
+            assertEquals(0, entry.getKey().id() % 2);
+
+        map.put(new Key(1), new int[] { 1 });
+        assertEquals(501, map.size());
+        awaitSize(map, 500);
+        alive.clear();
+        awaitSize(map, 0);
+        assertTrue(map.isEmpty());
+    }
+}